@@ -24,9 +24,11 @@ import quickdocs.model.ModelManager;
 import quickdocs.model.QuickDocs;
 import quickdocs.model.ReadOnlyUserPrefs;
 import quickdocs.model.UserPrefs;
-import quickdocs.storage.JsonQuickDocsStorage;
+import quickdocs.storage.AsyncQuickDocsStorage;
+import quickdocs.storage.JournalQuickDocsStorage;
 import quickdocs.storage.JsonUserPrefsStorage;
 import quickdocs.storage.QuickDocsStorage;
+import quickdocs.storage.ShardedQuickDocsStorage;
 import quickdocs.storage.Storage;
 import quickdocs.storage.StorageManager;
 import quickdocs.storage.UserPrefsStorage;
@@ -65,7 +67,8 @@ public class MainApp extends Application {
         UserPrefsStorage userPrefsStorage = new JsonUserPrefsStorage(config.getUserPrefsFilePath());
         UserPrefs userPrefs = initPrefs(userPrefsStorage);
 
-        QuickDocsStorage quickDocsStorage = new JsonQuickDocsStorage(userPrefs.getQuickDocsFilePath());
+        QuickDocsStorage quickDocsStorage = new AsyncQuickDocsStorage(new JournalQuickDocsStorage(
+                new ShardedQuickDocsStorage(userPrefs.getQuickDocsFilePath(), userPrefs.getStorageFormat())));
         storage = new StorageManager(userPrefsStorage, quickDocsStorage);
 
         initLogging(config);
@@ -82,6 +85,7 @@ public class MainApp extends Application {
      * Returns a {@code ModelManager} with the data from {@code storage}'s address book and {@code userPrefs}. <br>
      * The data from the sample address book will be used instead if {@code storage}'s address book is not found,
      * or an empty address book will be used instead if errors occur when reading {@code storage}'s address book.
+     * Changes journaled since the last snapshot of the data are replayed while reading from {@code storage}.
      */
     private Model initModelManager(Storage storage, ReadOnlyUserPrefs userPrefs) {
 
@@ -188,6 +192,11 @@ public class MainApp extends Application {
         } catch (IOException e) {
             logger.severe("Failed to save preferences " + StringUtil.getDetails(e));
         }
+        try {
+            storage.flushQuickDocs();
+        } catch (IOException e) {
+            logger.severe("Failed to save data " + StringUtil.getDetails(e));
+        }
     }
 
     public static void main(String[] args) {
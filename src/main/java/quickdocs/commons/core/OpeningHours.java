@@ -0,0 +1,129 @@
+package quickdocs.commons.core;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.Serializable;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * A Serializable class that contains the opening hours of the clinic on a day of the week,
+ * with an optional lunch break in which no appointments are made.
+ * Guarantees: immutable.
+ */
+public class OpeningHours implements Serializable {
+
+    public static final LocalTime DEFAULT_OPENING = LocalTime.of(9, 0);
+    public static final LocalTime DEFAULT_CLOSING = LocalTime.of(18, 0);
+
+    private static final long serialVersionUID = 1L;
+
+    private final LocalTime opening;
+    private final LocalTime closing;
+    private final LocalTime lunchStart;
+    private final LocalTime lunchEnd;
+
+    public OpeningHours() {
+        this(DEFAULT_OPENING, DEFAULT_CLOSING);
+    }
+
+    public OpeningHours(LocalTime opening, LocalTime closing) {
+        this(opening, closing, null, null);
+    }
+
+    /**
+     * Creates the opening hours from {@code opening} to {@code closing}, with a lunch break from
+     * {@code lunchStart} to {@code lunchEnd}. There is no lunch break if they are both null.
+     */
+    public OpeningHours(LocalTime opening, LocalTime closing, LocalTime lunchStart, LocalTime lunchEnd) {
+        requireNonNull(opening);
+        requireNonNull(closing);
+        if ((lunchStart == null) != (lunchEnd == null)) {
+            throw new IllegalArgumentException("A lunch break needs both a start and an end");
+        }
+        this.opening = opening;
+        this.closing = closing;
+        this.lunchStart = lunchStart;
+        this.lunchEnd = lunchEnd;
+    }
+
+    /**
+     * Returns the default opening hours for every day of the week, which are the same on every day.
+     */
+    public static Map<DayOfWeek, OpeningHours> getDefaultWeek() {
+        Map<DayOfWeek, OpeningHours> week = new EnumMap<>(DayOfWeek.class);
+        for (DayOfWeek day : DayOfWeek.values()) {
+            week.put(day, new OpeningHours());
+        }
+        return week;
+    }
+
+    public LocalTime getOpening() {
+        return opening;
+    }
+
+    public LocalTime getClosing() {
+        return closing;
+    }
+
+    public LocalTime getLunchStart() {
+        return lunchStart;
+    }
+
+    public LocalTime getLunchEnd() {
+        return lunchEnd;
+    }
+
+    public boolean hasLunchBreak() {
+        return lunchStart != null && lunchEnd != null;
+    }
+
+    /**
+     * Returns true if {@code time} is from the opening to the closing time inclusive.
+     */
+    public boolean isWithinHours(LocalTime time) {
+        return !time.isBefore(opening) && !time.isAfter(closing);
+    }
+
+    /**
+     * Returns true if the time from {@code start} to {@code end} overlaps the lunch break, if there is one.
+     */
+    public boolean overlapsLunchBreak(LocalTime start, LocalTime end) {
+        return hasLunchBreak() && start.isBefore(lunchEnd) && lunchStart.isBefore(end);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof OpeningHours)) { //this handles null as well.
+            return false;
+        }
+
+        OpeningHours o = (OpeningHours) other;
+
+        return opening.equals(o.opening)
+                && closing.equals(o.closing)
+                && Objects.equals(lunchStart, o.lunchStart)
+                && Objects.equals(lunchEnd, o.lunchEnd);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(opening, closing, lunchStart, lunchEnd);
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(opening + " to " + closing);
+        if (hasLunchBreak()) {
+            sb.append(", lunch " + lunchStart + " to " + lunchEnd);
+        }
+        return sb.toString();
+    }
+}
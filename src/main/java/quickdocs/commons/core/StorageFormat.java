@@ -0,0 +1,10 @@
+package quickdocs.commons.core;
+
+/**
+ * The formats that the data of QuickDocs can be saved in.
+ * Data saved in any of the formats can be read regardless of the format chosen for saving.
+ */
+public enum StorageFormat {
+    JSON,
+    BINARY
+}
@@ -0,0 +1,82 @@
+package quickdocs.commons.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Helper functions for reading and writing lines of comma separated values.
+ * Values containing commas or quotes are enclosed in double quotes, with the quotes in them doubled.
+ */
+public class CsvUtil {
+
+    public static final String MESSAGE_UNCLOSED_QUOTE = "A quoted value is not closed";
+
+    private static final char SEPARATOR = ',';
+    private static final char QUOTE = '"';
+
+    /**
+     * Returns the values in a single line of comma separated values.
+     *
+     * @throws IllegalArgumentException if a quoted value is not closed before the end of the line.
+     */
+    public static List<String> splitLine(String line) {
+        requireNonNull(line);
+        List<String> values = new ArrayList<>();
+        StringBuilder value = new StringBuilder();
+        boolean isQuoted = false;
+        for (int i = 0; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (isQuoted) {
+                if (c != QUOTE) {
+                    value.append(c);
+                } else if (i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+                    value.append(QUOTE);
+                    i++;
+                } else {
+                    isQuoted = false;
+                }
+            } else if (c == QUOTE) {
+                isQuoted = true;
+            } else if (c == SEPARATOR) {
+                values.add(value.toString());
+                value.setLength(0);
+            } else {
+                value.append(c);
+            }
+        }
+
+        if (isQuoted) {
+            throw new IllegalArgumentException(MESSAGE_UNCLOSED_QUOTE);
+        }
+        values.add(value.toString());
+        return values;
+    }
+
+    /**
+     * Returns a line of comma separated values holding {@code values}, quoting the values that need it,
+     * without a line separator at the end.
+     */
+    public static String joinLine(List<String> values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                line.append(SEPARATOR);
+            }
+            line.append(toValue(values.get(i)));
+        }
+        return line.toString();
+    }
+
+    /**
+     * Returns {@code value} as it is written in a line of comma separated values.
+     */
+    private static String toValue(String value) {
+        if (value.indexOf(SEPARATOR) < 0 && value.indexOf(QUOTE) < 0 && value.indexOf('\n') < 0
+                && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return QUOTE + value.replace("\"", "\"\"") + QUOTE;
+    }
+}
@@ -0,0 +1,118 @@
+package quickdocs.commons.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes records to a file one at a time, so that exporting many records does not hold them all in memory.
+ * Files ending in {@code .ndjson}, {@code .jsonl} or {@code .json} are written as one JSON object per line,
+ * and other files as comma separated values under a line naming the columns.
+ */
+public class ExportWriter implements Closeable {
+
+    /**
+     * The formats that records can be written in
+     */
+    public enum Format {
+        CSV,
+        NDJSON;
+
+        /**
+         * Returns the format of the file at {@code filePath}, by its extension.
+         */
+        public static Format of(Path filePath) {
+            String fileName = filePath.getFileName() == null ? "" : filePath.getFileName().toString().toLowerCase();
+            for (String extension : NDJSON_EXTENSIONS) {
+                if (fileName.endsWith(extension)) {
+                    return NDJSON;
+                }
+            }
+            return CSV;
+        }
+    }
+
+    public static final String[] NDJSON_EXTENSIONS = {".ndjson", ".jsonl", ".json"};
+
+    // joins the values of a column holding a list in comma separated values, as a cell cannot hold a list
+    static final String CSV_LIST_SEPARATOR = "; ";
+
+    private final BufferedWriter writer;
+    private final Format format;
+    private final List<String> columns;
+
+    /**
+     * Creates the file at {@code filePath}, or overwrites it, to write records with the given {@code columns}.
+     *
+     * @throws IOException if the file cannot be created.
+     */
+    public ExportWriter(Path filePath, List<String> columns) throws IOException {
+        requireNonNull(filePath);
+        requireNonNull(columns);
+        this.format = Format.of(filePath);
+        this.columns = new ArrayList<>(columns);
+        FileUtil.createParentDirsOfFile(filePath);
+        this.writer = Files.newBufferedWriter(filePath, StandardCharsets.UTF_8);
+        if (format == Format.CSV) {
+            writeLine(CsvUtil.joinLine(this.columns));
+        }
+    }
+
+    /**
+     * Writes a record holding {@code values}, one for each column in order.
+     * Each value is a {@code String}, a {@code Number}, or a {@code List} of strings.
+     *
+     * @throws IOException if the record cannot be written.
+     */
+    public void writeRecord(List<?> values) throws IOException {
+        if (values.size() != columns.size()) {
+            throw new IllegalArgumentException("Expected " + columns.size() + " values but found " + values.size());
+        }
+
+        if (format == Format.NDJSON) {
+            Map<String, Object> record = new LinkedHashMap<>();
+            for (int i = 0; i < columns.size(); i++) {
+                record.put(columns.get(i), values.get(i));
+            }
+            writeLine(JsonUtil.toCompactJsonString(record));
+            return;
+        }
+
+        List<String> cells = new ArrayList<>();
+        for (Object value : values) {
+            if (value instanceof List) {
+                List<String> items = new ArrayList<>();
+                for (Object item : (List<?>) value) {
+                    items.add(String.valueOf(item));
+                }
+                cells.add(String.join(CSV_LIST_SEPARATOR, items));
+            } else {
+                cells.add(value == null ? "" : String.valueOf(value));
+            }
+        }
+        writeLine(CsvUtil.joinLine(cells));
+    }
+
+    private void writeLine(String line) throws IOException {
+        writer.write(line);
+        writer.newLine();
+    }
+
+    public Format getFormat() {
+        return format;
+    }
+
+    @Override
+    public void close() throws IOException {
+        writer.close();
+    }
+}
@@ -0,0 +1,43 @@
+package quickdocs.commons.util;
+
+import static java.util.Objects.requireNonNull;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * A pool of canonical instances of immutable values, so that equal values read from many records share a single
+ * instance instead of each record holding its own copy.
+ * Values are only weakly held by the pool, so those no longer used by any record can still be garbage collected.
+ * The pool can be used from several threads at once.
+ *
+ * @param <T> the type of the values, which has to be immutable and implement {@code equals} and {@code hashCode}.
+ */
+public class Interner<T> {
+
+    private final Map<T, WeakReference<T>> pool = new WeakHashMap<>();
+
+    /**
+     * Returns the canonical instance equal to {@code value}, making {@code value} the canonical instance
+     * if there is none yet.
+     */
+    public synchronized T intern(T value) {
+        requireNonNull(value);
+        WeakReference<T> reference = pool.get(value);
+        T canonical = reference == null ? null : reference.get();
+        if (canonical == null) {
+            pool.put(value, new WeakReference<>(value));
+            canonical = value;
+        }
+        return canonical;
+    }
+
+    /**
+     * Returns the number of canonical instances in the pool, including those that are no longer used
+     * but not yet garbage collected.
+     */
+    public synchronized int size() {
+        return pool.size();
+    }
+}
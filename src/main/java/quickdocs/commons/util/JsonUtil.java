@@ -3,6 +3,8 @@ package quickdocs.commons.util;
 import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
@@ -11,10 +13,15 @@ import java.util.logging.Logger;
 
 import com.fasterxml.jackson.annotation.JsonAutoDetect;
 import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
 import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.util.DefaultPrettyPrinter;
 import com.fasterxml.jackson.databind.DeserializationContext;
 import com.fasterxml.jackson.databind.DeserializationFeature;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.databind.deser.std.FromStringDeserializer;
 import com.fasterxml.jackson.databind.module.SimpleModule;
@@ -39,13 +46,27 @@ public class JsonUtil {
                     .addSerializer(Level.class, new ToStringSerializer())
                     .addDeserializer(Level.class, new LevelDeserializer(Level.class)));
 
+    // writes values into generators that are flushed when they are closed
+    private static ObjectWriter valueWriter = objectMapper.writer()
+            .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+    /**
+     * Writes the instance of a class straight to the json file, without holding the whole json string in memory
+     */
     static <T> void serializeObjectToJsonFile(Path jsonFile, T objectToSerialize) throws IOException {
-        FileUtil.writeToFile(jsonFile, toJsonString(objectToSerialize));
+        try (OutputStream outputStream = Files.newOutputStream(jsonFile)) {
+            objectMapper.writerWithDefaultPrettyPrinter().writeValue(outputStream, objectToSerialize);
+        }
     }
 
+    /**
+     * Reads the json file straight into an instance of a class, without holding the whole json string in memory
+     */
     static <T> T deserializeObjectFromJsonFile(Path jsonFile, Class<T> classOfObjectToDeserialize)
             throws IOException {
-        return fromJsonString(FileUtil.readFromFile(jsonFile), classOfObjectToDeserialize);
+        try (InputStream inputStream = Files.newInputStream(jsonFile)) {
+            return objectMapper.readValue(inputStream, classOfObjectToDeserialize);
+        }
     }
 
     /**
@@ -110,6 +131,71 @@ public class JsonUtil {
         return objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(instance);
     }
 
+    /**
+     * Converts a given instance of a class into its JSON data string representation on a single line,
+     * without any pretty printing
+     * @param instance The T object to be converted into the JSON string
+     * @param <T> The generic type to create an instance of
+     * @return JSON data representation of the given class instance, in a single line string
+     */
+    public static <T> String toCompactJsonString(T instance) throws JsonProcessingException {
+        return objectMapper.writeValueAsString(instance);
+    }
+
+    /**
+     * Creates a parser that reads the json file token by token, so that large files can be read
+     * without holding all of their contents in memory
+     * @param jsonFile cannot be null
+     * @throws IOException if there was an error opening the file
+     */
+    public static JsonParser createParser(Path jsonFile) throws IOException {
+        requireNonNull(jsonFile);
+        return objectMapper.getFactory().createParser(Files.newInputStream(jsonFile));
+    }
+
+    /**
+     * Creates a generator that writes a json file token by token, formatted the same way as
+     * {@link #saveJsonFile(Object, Path)}.
+     * Overwrites existing file if it exists, creates a new file if it doesn't.
+     * @param jsonFile cannot be null
+     * @throws IOException if there was an error opening the file
+     */
+    public static JsonGenerator createGenerator(Path jsonFile) throws IOException {
+        requireNonNull(jsonFile);
+        return createGenerator(Files.newOutputStream(jsonFile));
+    }
+
+    /**
+     * Creates a generator that writes json to {@code output} token by token, formatted the same way as
+     * {@link #saveJsonFile(Object, Path)}. Closing the generator closes {@code output}.
+     * @param output cannot be null
+     * @throws IOException if there was an error writing to the output
+     */
+    public static JsonGenerator createGenerator(OutputStream output) throws IOException {
+        requireNonNull(output);
+        return objectMapper.getFactory().createGenerator(output, JsonEncoding.UTF8)
+                .setPrettyPrinter(new DefaultPrettyPrinter());
+    }
+
+    /**
+     * Reads the json value that {@code parser} is positioned at into an instance of a class
+     * @param <T> The generic type to create an instance of
+     * @return The instance of T with the values of the json value
+     */
+    public static <T> T readValue(JsonParser parser, Class<T> instanceClass) throws IOException {
+        return objectMapper.readValue(parser, instanceClass);
+    }
+
+    /**
+     * Writes a given instance of a class as the next json value of {@code generator}, without flushing
+     * the generator
+     * @param instance The T object to be written as json
+     * @param <T> The generic type of the instance
+     */
+    public static <T> void writeValue(JsonGenerator generator, T instance) throws IOException {
+        valueWriter.writeValue(generator, instance);
+    }
+
     /**
      * Contains methods that retrieve logging level from serialized string.
      */
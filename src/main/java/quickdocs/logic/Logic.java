@@ -1,6 +1,7 @@
 package quickdocs.logic;
 
 import java.util.ArrayList;
+import java.util.function.Consumer;
 
 import javafx.beans.property.ReadOnlyProperty;
 import javafx.collections.ObservableList;
@@ -29,6 +30,14 @@ public interface Logic {
      * The list is ordered from the least recent command to the most recent command.
      */
     ObservableList<String> getHistory();
+
+    /**
+     * Sets the handler that is given the error message when saved data could not be written to file,
+     * after the command that saved it has returned.
+     * The handler may be called from a thread other than the one executing commands.
+     */
+    void setSaveFailureHandler(Consumer<String> handler);
+
     /**
      * Returns the user prefs' GUI settings.
      */
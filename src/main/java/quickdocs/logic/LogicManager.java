@@ -2,6 +2,7 @@ package quickdocs.logic;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import javafx.beans.property.ReadOnlyProperty;
@@ -66,6 +67,11 @@ public class LogicManager implements Logic {
         return history.getHistory();
     }
 
+    @Override
+    public void setSaveFailureHandler(Consumer<String> handler) {
+        storage.setQuickDocsWriteFailureHandler(ioe -> handler.accept(FILE_OPS_ERROR_MESSAGE + ioe));
+    }
+
     @Override
     public GuiSettings getGuiSettings() {
         return model.getGuiSettings();
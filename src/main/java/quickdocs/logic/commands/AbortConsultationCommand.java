@@ -3,9 +3,10 @@ package quickdocs.logic.commands;
 import quickdocs.logic.CommandHistory;
 import quickdocs.logic.commands.exceptions.CommandException;
 import quickdocs.model.Model;
+import quickdocs.model.consultation.ConsultationSessions;
 
 /**
- * Aborts the current consultation
+ * Aborts the current consultation of a doctor or room
  */
 public class AbortConsultationCommand extends Command {
 
@@ -15,15 +16,37 @@ public class AbortConsultationCommand extends Command {
     public static final String NO_CURRENT_CONSULTATION = "No ongoing session to abort\n";
     public static final String ABORT_CONSULT_FEEDBACK = "Consultation session aborted\n";
 
+    private final String sessionId;
+
+    public AbortConsultationCommand() {
+        this(ConsultationSessions.DEFAULT_SESSION_ID);
+    }
+
+    public AbortConsultationCommand(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
     @Override
     public CommandResult execute(Model model, CommandHistory history) throws CommandException {
 
-        if (model.getCurrentConsultation() == null) {
+        if (model.getCurrentConsultation(sessionId) == null) {
             throw new CommandException(NO_CURRENT_CONSULTATION);
         }
 
-        model.abortConsultation();
+        model.abortConsultation(sessionId);
 
         return new CommandResult(ABORT_CONSULT_FEEDBACK);
     }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this
+                || (other instanceof AbortConsultationCommand
+                && sessionId.equals(((AbortConsultationCommand) other).sessionId));
+    }
+
+    @Override
+    public int hashCode() {
+        return sessionId.hashCode();
+    }
 }
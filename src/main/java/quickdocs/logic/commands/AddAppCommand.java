@@ -11,11 +11,11 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Optional;
 
+import quickdocs.commons.core.OpeningHours;
 import quickdocs.logic.CommandHistory;
 import quickdocs.logic.commands.exceptions.CommandException;
 import quickdocs.model.Model;
 import quickdocs.model.appointment.Appointment;
-import quickdocs.model.appointment.AppointmentManager;
 import quickdocs.model.patient.Nric;
 import quickdocs.model.patient.Patient;
 
@@ -47,6 +47,7 @@ public class AddAppCommand extends Command {
     public static final String MESSAGE_START_EQUALS_END = "Appointment start time and end time should not be the same.";
     public static final String MESSAGE_START_AFTER_END = "Appointment start time should not be after end time.";
     public static final String MESSAGE_NON_OFFICE_HOURS = "Appointment timing is outside of office hours.";
+    public static final String MESSAGE_LUNCH_BREAK = "Appointment timing overlaps the lunch break.";
 
     private final Nric nric;
     private final LocalDate date;
@@ -75,9 +76,9 @@ public class AddAppCommand extends Command {
             throw new CommandException(MESSAGE_PATIENT_NOT_FOUND);
         }
 
-        // check if given start and end timings are valid
-        if (start.isBefore(AppointmentManager.OPENING_HOUR) || start.isAfter(AppointmentManager.CLOSING_HOUR)
-                || end.isBefore(AppointmentManager.OPENING_HOUR) || end.isAfter(AppointmentManager.CLOSING_HOUR)) {
+        // check if given start and end timings are within the opening hours of that day, which freeapp lists
+        OpeningHours hours = model.getUserPrefs().getOpeningHours().get(date.getDayOfWeek());
+        if (hours == null || !hours.isWithinHours(start) || !hours.isWithinHours(end)) {
             throw new CommandException(MESSAGE_NON_OFFICE_HOURS);
         }
 
@@ -90,6 +91,10 @@ public class AddAppCommand extends Command {
         }
         assert start.isBefore(end);
 
+        if (hours.overlapsLunchBreak(start, end)) {
+            throw new CommandException(MESSAGE_LUNCH_BREAK);
+        }
+
         // create the appointment and check if it has time conflicts with existing appointments
         Appointment appToAdd = new Appointment(patientToAdd.get(), date, start, end, comment);
         if (model.hasTimeConflicts(appToAdd)) {
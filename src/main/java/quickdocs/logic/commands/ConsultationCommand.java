@@ -4,10 +4,12 @@ import quickdocs.logic.CommandHistory;
 import quickdocs.logic.commands.exceptions.CommandException;
 import quickdocs.logic.parser.ConsultationCommandParser;
 import quickdocs.model.Model;
+import quickdocs.model.consultation.ConsultationSessions;
 import quickdocs.model.patient.Patient;
 
 /**
- * Starts a consultation session for the specified patient using his or her NRIC
+ * Starts a consultation session for the specified patient using his or her NRIC.
+ * The session is held by a doctor or room, so that several doctors can consult their patients at once
  */
 public class ConsultationCommand extends Command {
 
@@ -16,13 +18,21 @@ public class ConsultationCommand extends Command {
     public static final String NO_PATIENT_FOUND = "No patient with NRIC: %s found.\n";
     public static final String CONSULTATION_START = "Consultation session for: %s started\n";
     public static final String MESSAGE_USAGE = COMMAND_WORD + ": starts a consultation session for a patient.\n"
-            + "Parameters: " + ConsultationCommandParser.PREFIX_NRIC + "NRIC of current patient.\n"
-            + "Example: " + COMMAND_WORD + " " + ConsultationCommandParser.PREFIX_NRIC + "S9237162A\n";
+            + "Parameters: " + ConsultationCommandParser.PREFIX_NRIC + "NRIC of current patient "
+            + "[" + ConsultationCommandParser.PREFIX_SESSION + "DOCTOR OR ROOM]\n"
+            + "Example: " + COMMAND_WORD + " " + ConsultationCommandParser.PREFIX_NRIC + "S9237162A "
+            + ConsultationCommandParser.PREFIX_SESSION + "room2\n";
 
     private String nric;
+    private String sessionId;
 
     public ConsultationCommand(String nric) {
+        this(nric, ConsultationSessions.DEFAULT_SESSION_ID);
+    }
+
+    public ConsultationCommand(String nric, String sessionId) {
         this.nric = nric;
+        this.sessionId = sessionId;
     }
 
     @Override
@@ -32,7 +42,7 @@ public class ConsultationCommand extends Command {
             throw new CommandException(String.format(NO_PATIENT_FOUND, nric));
         }
 
-        model.createConsultation(patient);
+        model.createConsultation(sessionId, patient);
 
         String consultationResult = String.format(CONSULTATION_START, nric);
 
@@ -43,10 +53,15 @@ public class ConsultationCommand extends Command {
         return nric;
     }
 
+    public String getSessionId() {
+        return sessionId;
+    }
+
     @Override
     public boolean equals(Object other) {
         return other == this
                 || (other instanceof ConsultationCommand
-                && nric.equals(((ConsultationCommand) other).getNric()));
+                && nric.equals(((ConsultationCommand) other).getNric())
+                && sessionId.equals(((ConsultationCommand) other).getSessionId()));
     }
 }
@@ -8,11 +8,11 @@ import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.Optional;
 
+import quickdocs.commons.core.OpeningHours;
 import quickdocs.logic.CommandHistory;
 import quickdocs.logic.commands.exceptions.CommandException;
 import quickdocs.model.Model;
 import quickdocs.model.appointment.Appointment;
-import quickdocs.model.appointment.AppointmentManager;
 
 
 /**
@@ -49,8 +49,9 @@ public class DeleteAppCommand extends Command {
     public CommandResult execute(Model model, CommandHistory history) throws CommandException {
         requireNonNull(model);
 
-        // check if start time is within office hours
-        if (start.isBefore(AppointmentManager.OPENING_HOUR) || start.isAfter(AppointmentManager.CLOSING_HOUR)) {
+        // check if start time is within the opening hours of that day
+        OpeningHours hours = model.getUserPrefs().getOpeningHours().get(date.getDayOfWeek());
+        if (hours == null || !hours.isWithinHours(start)) {
             throw new CommandException(MESSAGE_NON_OFFICE_HOURS);
         }
 
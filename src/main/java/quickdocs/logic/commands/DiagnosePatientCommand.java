@@ -5,8 +5,10 @@ import java.util.logging.Logger;
 import quickdocs.commons.core.LogsCenter;
 import quickdocs.logic.CommandHistory;
 import quickdocs.logic.commands.exceptions.CommandException;
+import quickdocs.logic.parser.ConsultationCommandParser;
 import quickdocs.logic.parser.DiagnosePatientCommandParser;
 import quickdocs.model.Model;
+import quickdocs.model.consultation.ConsultationSessions;
 import quickdocs.model.consultation.Diagnosis;
 
 /**
@@ -22,7 +24,8 @@ public class DiagnosePatientCommand extends Command {
             + "Parameters: "
             + DiagnosePatientCommandParser.PREFIX_SYMPTOM + "symptom 1 "
             + DiagnosePatientCommandParser.PREFIX_SYMPTOM + "symptom 2 " + " ... "
-            + DiagnosePatientCommandParser.PREFIX_ASSESSMENT + "assessment\n"
+            + DiagnosePatientCommandParser.PREFIX_ASSESSMENT + "assessment "
+            + "[" + ConsultationCommandParser.PREFIX_SESSION + "DOCTOR OR ROOM]\n"
             + "Example: "
             + DiagnosePatientCommandParser.PREFIX_SYMPTOM + "runny nose "
             + DiagnosePatientCommandParser.PREFIX_SYMPTOM + "sore throat "
@@ -32,20 +35,27 @@ public class DiagnosePatientCommand extends Command {
     private static final Logger logger = LogsCenter.getLogger(DiagnosePatientCommand.class);
 
     private Diagnosis patientDiagnosis;
+    private String sessionId;
 
     public DiagnosePatientCommand(Diagnosis diagnosis) {
+        this(diagnosis, ConsultationSessions.DEFAULT_SESSION_ID);
+    }
+
+    public DiagnosePatientCommand(Diagnosis diagnosis, String sessionId) {
         this.patientDiagnosis = diagnosis;
+        this.sessionId = sessionId;
     }
 
     @Override
     public CommandResult execute(Model model, CommandHistory history) throws CommandException {
 
-        // diagnosis can only be given when there's an ongoing consultation session
-        if (model.checkConsultation() == false) {
+        // diagnosis can only be given when there's an ongoing consultation session,
+        // which is checked as the diagnosis is recorded in case the session is ended at the same time
+        try {
+            model.diagnosePatient(sessionId, patientDiagnosis);
+        } catch (IllegalArgumentException iae) {
             throw new CommandException(NO_ONGOING_CONSULTATION);
         }
-
-        model.diagnosePatient(patientDiagnosis);
         logger.info("Diagnosis entered or replaced for current consultation");
 
         return new CommandResult(patientDiagnosis.toString());
@@ -55,10 +65,15 @@ public class DiagnosePatientCommand extends Command {
         return patientDiagnosis;
     }
 
+    public String getSessionId() {
+        return sessionId;
+    }
+
     @Override
     public boolean equals(Object other) {
         return other == this
                 || (other instanceof DiagnosePatientCommand
-                && patientDiagnosis.equals(((DiagnosePatientCommand) other).getPatientDiagnosis()));
+                && patientDiagnosis.equals(((DiagnosePatientCommand) other).getPatientDiagnosis())
+                && sessionId.equals(((DiagnosePatientCommand) other).getSessionId()));
     }
 }
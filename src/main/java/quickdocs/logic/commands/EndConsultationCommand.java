@@ -6,12 +6,13 @@ import quickdocs.logic.CommandHistory;
 import quickdocs.logic.commands.exceptions.CommandException;
 import quickdocs.model.Model;
 import quickdocs.model.consultation.Consultation;
+import quickdocs.model.consultation.ConsultationSessions;
 import quickdocs.model.consultation.Prescription;
 import quickdocs.model.patient.Nric;
 import quickdocs.model.record.ConsultationRecord;
 
 /**
- * End the current consultation session and store the consultation details
+ * End the current consultation session of a doctor or room and store the consultation details
  */
 public class EndConsultationCommand extends Command {
     public static final String COMMAND_WORD = "endconsult";
@@ -21,10 +22,20 @@ public class EndConsultationCommand extends Command {
     public static final String PRESCRIPTION_EXCEPTION = "No prescription given for current consultation yet";
     public static final String END_CONSULT_FEEDBACK = "Consultation for %s ended\n";
 
+    private final String sessionId;
+
+    public EndConsultationCommand() {
+        this(ConsultationSessions.DEFAULT_SESSION_ID);
+    }
+
+    public EndConsultationCommand(String sessionId) {
+        this.sessionId = sessionId;
+    }
+
     @Override
     public CommandResult execute(Model model, CommandHistory history) throws CommandException {
 
-        Consultation currentConsultation = model.getCurrentConsultation();
+        Consultation currentConsultation = model.getCurrentConsultation(sessionId);
 
         if (currentConsultation == null) {
             throw new CommandException(NO_CONSULT_EXCEPTION);
@@ -56,8 +67,20 @@ public class EndConsultationCommand extends Command {
 
         Nric patientNric = currentConsultation.getPatient().getNric();
 
-        model.endConsultation();
+        model.endConsultation(sessionId);
 
         return new CommandResult(String.format(END_CONSULT_FEEDBACK, patientNric.getNric()));
     }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this
+                || (other instanceof EndConsultationCommand
+                && sessionId.equals(((EndConsultationCommand) other).sessionId));
+    }
+
+    @Override
+    public int hashCode() {
+        return sessionId.hashCode();
+    }
 }
@@ -0,0 +1,127 @@
+package quickdocs.logic.commands;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import quickdocs.commons.util.ExportWriter;
+import quickdocs.logic.CommandHistory;
+import quickdocs.logic.commands.exceptions.CommandException;
+import quickdocs.model.Model;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.consultation.ConsultationIndexEntry;
+import quickdocs.model.consultation.Prescription;
+import quickdocs.model.consultation.Symptom;
+
+/**
+ * Command to write the past consultation records in QuickDocs to a CSV or NDJSON file, such as for audits.
+ * The consultations are found through the consultation index, and loaded and written one at a time,
+ * so that exporting them does not hold all of them in memory.
+ */
+public class ExportConsultationCommand extends Command {
+    public static final String COMMAND_WORD = "exportconsult";
+    public static final String COMMAND_ALIAS = "xc";
+
+    public static final List<String> COLUMNS = Collections.unmodifiableList(Arrays.asList("index", "session",
+            "nric", "name", "symptoms", "assessment", "prescriptions"));
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Writes the past consultation records to a file.\n"
+            + "Files ending with .ndjson, .jsonl or .json have a JSON object on each line, "
+            + "and other files are written as CSV.\n"
+            + "Parameters: FILE PATH [r/NRIC] [from/DATE] [to/DATE]\n"
+            + "If they are entered, only the consultations of patients whose NRIC starts with NRIC "
+            + "and that were held between the dates are written.\n"
+            + "Example: " + COMMAND_WORD + " audit/consultations.ndjson from/2019-01-01 to/2019-03-31\n";
+    public static final String MESSAGE_SUCCESS = "%d consultation records exported to %s\n";
+    public static final String PRESCRIPTION_FORMAT = "%s x%d";
+
+    private final Path filePath;
+    private final String nricPrefix;
+    private final LocalDate fromDate;
+    private final LocalDate toDate;
+
+    /**
+     * Creates an ExportConsultationCommand that writes the consultations of the patients whose NRIC starts with
+     * {@code nricPrefix}, held from {@code fromDate} to {@code toDate} inclusive, to the file at {@code filePath}.
+     */
+    public ExportConsultationCommand(Path filePath, String nricPrefix, LocalDate fromDate, LocalDate toDate) {
+        requireNonNull(filePath);
+        requireNonNull(nricPrefix);
+        requireNonNull(fromDate);
+        requireNonNull(toDate);
+        this.filePath = filePath;
+        this.nricPrefix = nricPrefix.toUpperCase();
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+    }
+
+    @Override
+    public CommandResult execute(Model model, CommandHistory history) throws CommandException {
+        List<Integer> positions = model.findConsultationPositions(this::isExported);
+        List<Consultation> consultations = model.getConsultationList();
+        try (ExportWriter writer = new ExportWriter(filePath, COLUMNS)) {
+            for (int position : positions) {
+                writer.writeRecord(toRecord(position + 1, consultations.get(position)));
+            }
+        } catch (IOException ioe) {
+            throw new CommandException(String.format(ExportPatientCommand.MESSAGE_FILE_NOT_WRITTEN,
+                    ioe.getMessage()), ioe);
+        } catch (IllegalStateException ise) {
+            // past consultations are loaded from storage as they are exported
+            throw new CommandException(ise.getMessage(), ise);
+        }
+        return new CommandResult(String.format(MESSAGE_SUCCESS, positions.size(), filePath));
+    }
+
+    private boolean isExported(ConsultationIndexEntry entry) {
+        LocalDate date = entry.getSession().toLocalDate();
+        return entry.getNric().startsWith(nricPrefix) && !date.isBefore(fromDate) && !date.isAfter(toDate);
+    }
+
+    /**
+     * Returns the values of {@code consultation}, listed at {@code index} by {@link ListConsultationCommand},
+     * in the order of {@link #COLUMNS}.
+     */
+    private static List<Object> toRecord(int index, Consultation consultation) {
+        List<String> symptoms = new ArrayList<>();
+        for (Symptom symptom : consultation.getDiagnosis().getSymptoms()) {
+            symptoms.add(symptom.getSymptom());
+        }
+        List<String> prescriptions = new ArrayList<>();
+        for (Prescription prescription : consultation.getPrescriptions()) {
+            prescriptions.add(String.format(PRESCRIPTION_FORMAT, prescription.getMedicine().name,
+                    prescription.getQuantity()));
+        }
+        return Arrays.asList(index, consultation.getSession().toString(),
+                consultation.getPatient().getNric().toString(), consultation.getPatient().getName().toString(),
+                symptoms, consultation.getDiagnosis().getAssessment().getAssessment(), prescriptions);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof ExportConsultationCommand)) {
+            return false;
+        }
+
+        ExportConsultationCommand otherCommand = (ExportConsultationCommand) other;
+        return filePath.equals(otherCommand.filePath)
+                && nricPrefix.equals(otherCommand.nricPrefix)
+                && fromDate.equals(otherCommand.fromDate)
+                && toDate.equals(otherCommand.toDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(filePath, nricPrefix, fromDate, toDate);
+    }
+}
@@ -0,0 +1,122 @@
+package quickdocs.logic.commands;
+
+import static java.util.Objects.requireNonNull;
+import static quickdocs.logic.commands.ImportPatientCommand.COLUMN_TAGS;
+import static quickdocs.logic.commands.ImportPatientCommand.REQUIRED_COLUMNS;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import quickdocs.commons.util.ExportWriter;
+import quickdocs.logic.CommandHistory;
+import quickdocs.logic.commands.exceptions.CommandException;
+import quickdocs.model.Model;
+import quickdocs.model.patient.Patient;
+import quickdocs.model.tag.Tag;
+
+/**
+ * Command to write the patient records in QuickDocs to a CSV or NDJSON file, such as for audits.
+ * The records are written one at a time straight to the file, so that exporting every record
+ * does not hold a copy of all of them in memory.
+ * Patient records exported to a CSV file can be added back with {@link ImportPatientCommand}.
+ */
+public class ExportPatientCommand extends Command {
+    public static final String COMMAND_WORD = "exportpat";
+    public static final String COMMAND_ALIAS = "xp";
+
+    public static final List<String> COLUMNS = createColumns();
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Writes the patient records to a file.\n"
+            + "Files ending with .ndjson, .jsonl or .json have a JSON object on each line, "
+            + "and other files are written as CSV.\n"
+            + "Parameters: FILE PATH [r/NRIC] [from/DATE OF BIRTH] [to/DATE OF BIRTH]\n"
+            + "If they are entered, only the patients whose NRIC starts with NRIC "
+            + "and who were born between the dates are written.\n"
+            + "Example: " + COMMAND_WORD + " audit/patients.csv r/S92 from/1990-01-01\n";
+    public static final String MESSAGE_SUCCESS = "%d patient records exported to %s\n";
+    public static final String MESSAGE_FILE_NOT_WRITTEN = "Could not write file: %s";
+
+    private final Path filePath;
+    private final String nricPrefix;
+    private final LocalDate fromDate;
+    private final LocalDate toDate;
+
+    /**
+     * Creates an ExportPatientCommand that writes the patients whose NRIC starts with {@code nricPrefix},
+     * born from {@code fromDate} to {@code toDate} inclusive, to the file at {@code filePath}.
+     */
+    public ExportPatientCommand(Path filePath, String nricPrefix, LocalDate fromDate, LocalDate toDate) {
+        requireNonNull(filePath);
+        requireNonNull(nricPrefix);
+        requireNonNull(fromDate);
+        requireNonNull(toDate);
+        this.filePath = filePath;
+        this.nricPrefix = nricPrefix;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+    }
+
+    @Override
+    public CommandResult execute(Model model, CommandHistory history) throws CommandException {
+        int exportedCount = 0;
+        try (ExportWriter writer = new ExportWriter(filePath, COLUMNS)) {
+            for (Patient patient : model.getPatientsByNricPrefix(nricPrefix)) {
+                LocalDate dob = patient.getDob().getDob();
+                if (dob.isBefore(fromDate) || dob.isAfter(toDate)) {
+                    continue;
+                }
+                writer.writeRecord(toRecord(patient));
+                exportedCount++;
+            }
+        } catch (IOException ioe) {
+            throw new CommandException(String.format(MESSAGE_FILE_NOT_WRITTEN, ioe.getMessage()), ioe);
+        }
+        return new CommandResult(String.format(MESSAGE_SUCCESS, exportedCount, filePath));
+    }
+
+    /**
+     * Returns the values of {@code patient} in the order of {@link #COLUMNS}.
+     */
+    private static List<Object> toRecord(Patient patient) {
+        List<String> tags = new ArrayList<>();
+        for (Tag tag : patient.getTagList()) {
+            tags.add(tag.tagName);
+        }
+        return Arrays.asList(patient.getName().toString(), patient.getNric().toString(),
+                patient.getDob().toString(), patient.getAddress().toString(), patient.getEmail().toString(),
+                patient.getContact().toString(), patient.getGender().toString(), tags);
+    }
+
+    private static List<String> createColumns() {
+        List<String> columns = new ArrayList<>(REQUIRED_COLUMNS);
+        columns.add(COLUMN_TAGS);
+        return Collections.unmodifiableList(columns);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof ExportPatientCommand)) {
+            return false;
+        }
+
+        ExportPatientCommand otherCommand = (ExportPatientCommand) other;
+        return filePath.equals(otherCommand.filePath)
+                && nricPrefix.equals(otherCommand.nricPrefix)
+                && fromDate.equals(otherCommand.fromDate)
+                && toDate.equals(otherCommand.toDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(filePath, nricPrefix, fromDate, toDate);
+    }
+}
@@ -0,0 +1,213 @@
+package quickdocs.logic.commands;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import quickdocs.commons.util.CsvUtil;
+import quickdocs.logic.CommandHistory;
+import quickdocs.logic.commands.exceptions.CommandException;
+import quickdocs.model.Model;
+import quickdocs.model.patient.Address;
+import quickdocs.model.patient.Contact;
+import quickdocs.model.patient.Dob;
+import quickdocs.model.patient.Email;
+import quickdocs.model.patient.Gender;
+import quickdocs.model.patient.Name;
+import quickdocs.model.patient.Nric;
+import quickdocs.model.patient.Patient;
+import quickdocs.model.tag.Tag;
+
+/**
+ * Command to add the patient records in a CSV file into QuickDocs.
+ * The rows of the file are read one at a time, and the valid rows are added together,
+ * so that QuickDocs is only saved once however many records are imported.
+ */
+public class ImportPatientCommand extends Command {
+    public static final String COMMAND_WORD = "importpat";
+    public static final String COMMAND_ALIAS = "ip";
+
+    public static final String COLUMN_NAME = "name";
+    public static final String COLUMN_NRIC = "nric";
+    public static final String COLUMN_DOB = "dob";
+    public static final String COLUMN_ADDRESS = "address";
+    public static final String COLUMN_EMAIL = "email";
+    public static final String COLUMN_CONTACT = "contact";
+    public static final String COLUMN_GENDER = "gender";
+    public static final String COLUMN_TAGS = "tags";
+    public static final List<String> REQUIRED_COLUMNS = Collections.unmodifiableList(Arrays.asList(COLUMN_NAME,
+            COLUMN_NRIC, COLUMN_DOB, COLUMN_ADDRESS, COLUMN_EMAIL, COLUMN_CONTACT, COLUMN_GENDER));
+
+    public static final String MESSAGE_USAGE = COMMAND_WORD + ": Adds the patients in a CSV file to QuickDocs.\n"
+            + "The first line of the file names the columns: "
+            + String.join(", ", REQUIRED_COLUMNS) + " and optionally " + COLUMN_TAGS + ", "
+            + "with the tags of a patient separated by spaces or semicolons.\n"
+            + "Rows that are not valid patient records are left out and listed with their line numbers.\n"
+            + "Parameters: FILE PATH\n"
+            + "Example: " + COMMAND_WORD + " data/patients.csv\n";
+    public static final String MESSAGE_SUCCESS = "%d patient records imported from %s\n";
+    public static final String MESSAGE_REJECTED = "%d rows left out:\n";
+    public static final String MESSAGE_REJECTED_ROW = "Line %d: %s\n";
+    public static final String MESSAGE_MORE_REJECTED = "... and %d more\n";
+    public static final String MESSAGE_FILE_NOT_READ = "Could not read file: %s";
+    public static final String MESSAGE_MISSING_COLUMN = "The first line of the file does not name the column: %s";
+    public static final String MESSAGE_DUPLICATE_COLUMN =
+            "The first line of the file names the column more than once: %s";
+    public static final String MESSAGE_WRONG_VALUE_COUNT = "Expected %d values but found %d";
+    public static final String MESSAGE_DUPLICATE_NRIC = "Patient with same NRIC is on line %d";
+
+    static final int REJECTED_ROWS_SHOWN = 50;
+
+    private static final String BYTE_ORDER_MARK = "\uFEFF";
+
+    private final Path filePath;
+
+    public ImportPatientCommand(Path filePath) {
+        requireNonNull(filePath);
+        this.filePath = filePath;
+    }
+
+    @Override
+    public CommandResult execute(Model model, CommandHistory history) throws CommandException {
+        List<Patient> patientsToAdd = new ArrayList<>();
+        Map<Nric, Integer> lineOfNric = new HashMap<>();
+        List<String> rejectedRows = new ArrayList<>();
+        int rejectedCount = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(filePath, StandardCharsets.UTF_8)) {
+            String header = reader.readLine();
+            Map<String, Integer> columns = getColumns(header == null ? "" : header);
+            int lineNumber = 1;
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.trim().isEmpty()) {
+                    continue;
+                }
+
+                String rejection;
+                try {
+                    Patient patient = toPatient(CsvUtil.splitLine(line), columns);
+                    Integer duplicateLine = lineOfNric.putIfAbsent(patient.getNric(), lineNumber);
+                    if (duplicateLine != null) {
+                        rejection = String.format(MESSAGE_DUPLICATE_NRIC, duplicateLine);
+                    } else if (model.duplicatePatient(patient)) {
+                        rejection = AddPatientCommand.CONFLICTING_NRIC;
+                    } else {
+                        patientsToAdd.add(patient);
+                        continue;
+                    }
+                } catch (IllegalArgumentException iae) {
+                    rejection = iae.getMessage();
+                }
+
+                rejectedCount++;
+                if (rejectedRows.size() < REJECTED_ROWS_SHOWN) {
+                    rejectedRows.add(String.format(MESSAGE_REJECTED_ROW, lineNumber, rejection));
+                }
+            }
+        } catch (IOException ioe) {
+            throw new CommandException(String.format(MESSAGE_FILE_NOT_READ, ioe.getMessage()), ioe);
+        }
+
+        boolean isAdded = model.addAllPatients(patientsToAdd);
+        assert isAdded : "Patients with the same NRIC should have been left out";
+
+        StringBuilder sb = new StringBuilder(String.format(MESSAGE_SUCCESS, patientsToAdd.size(), filePath));
+        if (rejectedCount > 0) {
+            sb.append(String.format(MESSAGE_REJECTED, rejectedCount));
+            rejectedRows.forEach(sb::append);
+            if (rejectedCount > rejectedRows.size()) {
+                sb.append(String.format(MESSAGE_MORE_REJECTED, rejectedCount - rejectedRows.size()));
+            }
+        }
+        return new CommandResult(sb.toString());
+    }
+
+    /**
+     * Returns the position of each column named in the {@code header} line of the file.
+     *
+     * @throws CommandException if a required column is not named, or a column is named more than once.
+     */
+    private static Map<String, Integer> getColumns(String header) throws CommandException {
+        Map<String, Integer> columns = new HashMap<>();
+        List<String> columnNames;
+        try {
+            // files saved by spreadsheet programs may start with a byte order mark
+            columnNames = CsvUtil.splitLine(header.startsWith(BYTE_ORDER_MARK) ? header.substring(1) : header);
+        } catch (IllegalArgumentException iae) {
+            throw new CommandException(String.format(MESSAGE_MISSING_COLUMN, COLUMN_NAME));
+        }
+        for (int i = 0; i < columnNames.size(); i++) {
+            String column = columnNames.get(i).trim().toLowerCase();
+            if (columns.put(column, i) != null) {
+                throw new CommandException(String.format(MESSAGE_DUPLICATE_COLUMN, column));
+            }
+        }
+
+        for (String column : REQUIRED_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new CommandException(String.format(MESSAGE_MISSING_COLUMN, column));
+            }
+        }
+        return columns;
+    }
+
+    /**
+     * Returns the patient record in a row of the file holding {@code values}.
+     *
+     * @throws IllegalArgumentException if the row does not hold a valid patient record.
+     */
+    private static Patient toPatient(List<String> values, Map<String, Integer> columns) {
+        if (values.size() != columns.size()) {
+            throw new IllegalArgumentException(String.format(MESSAGE_WRONG_VALUE_COUNT,
+                    columns.size(), values.size()));
+        }
+
+        Name name = new Name(getValue(values, columns, COLUMN_NAME));
+        Nric nric = new Nric(getValue(values, columns, COLUMN_NRIC));
+        Email email = new Email(getValue(values, columns, COLUMN_EMAIL));
+        Address address = new Address(getValue(values, columns, COLUMN_ADDRESS));
+        Contact contact = new Contact(getValue(values, columns, COLUMN_CONTACT));
+        Gender gender = new Gender(getValue(values, columns, COLUMN_GENDER));
+        Dob dob = new Dob(getValue(values, columns, COLUMN_DOB));
+        ArrayList<Tag> tagList = new ArrayList<>();
+        String tags = columns.containsKey(COLUMN_TAGS) ? getValue(values, columns, COLUMN_TAGS) : "";
+        if (!tags.isEmpty()) {
+            for (String tagName : tags.split("[\\s;]+")) {
+                tagList.add(Tag.of(tagName));
+            }
+        }
+        return new Patient(name, nric, email, address, contact, gender, dob, tagList);
+    }
+
+    private static String getValue(List<String> values, Map<String, Integer> columns, String column) {
+        return values.get(columns.get(column)).trim();
+    }
+
+    public Path getFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this
+                || (other instanceof ImportPatientCommand
+                && filePath.equals(((ImportPatientCommand) other).getFilePath()));
+    }
+
+    @Override
+    public int hashCode() {
+        return filePath.hashCode();
+    }
+}
@@ -6,6 +6,7 @@ import static quickdocs.logic.parser.ListAppCommandParser.PREFIX_FORMAT;
 import static quickdocs.logic.parser.ListAppCommandParser.PREFIX_NRIC;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.Optional;
 
@@ -20,6 +21,15 @@ import quickdocs.model.patient.Patient;
  */
 public class ListAppCommand extends Command {
 
+    /**
+     * The appointments of a patient to list
+     */
+    public enum View {
+        ALL,
+        UPCOMING,
+        PAST
+    }
+
     public static final String COMMAND_WORD = "listapp";
     public static final String COMMAND_ALIAS = "la";
     public static final String MESSAGE_USAGE = COMMAND_WORD + ": Lists filtered appointments.\n"
@@ -30,20 +40,28 @@ public class ListAppCommand extends Command {
             + PREFIX_FORMAT + "day "
             + PREFIX_DATE + "2019-10-23\n"
             + "OR\n"
-            + "Parameters:" + PREFIX_NRIC + "NRIC\n"
+            + "Parameters: " + PREFIX_NRIC + "NRIC [" + PREFIX_FORMAT + "upcoming OR past]\n"
             + "Example: " + COMMAND_WORD + " "
-            + PREFIX_NRIC + "S9637645A";
+            + PREFIX_NRIC + "S9637645A "
+            + PREFIX_FORMAT + "upcoming";
     public static final String MESSAGE_SUCCESS_BY_DATE =
             "Listing all appointments from %1$s to %2$s:\n"
             + "============================================\n";
     public static final String MESSAGE_SUCCESS_BY_NRIC =
             "Listing all appointments for %1$s:\n"
             + "============================================\n";
+    public static final String MESSAGE_SUCCESS_UPCOMING =
+            "Listing upcoming appointments for %1$s:\n"
+            + "============================================\n";
+    public static final String MESSAGE_SUCCESS_PAST =
+            "Listing past appointments for %1$s:\n"
+            + "============================================\n";
     public static final String MESSAGE_PATIENT_NOT_FOUND = "No patient with the given NRIC found";
 
     private final LocalDate start;
     private final LocalDate end;
     private final Nric nric;
+    private final View view;
 
     /**
      * Creates a {@code ListAppCommand} to list {@code Appointment}(s) in the given search range of dates.
@@ -52,6 +70,7 @@ public class ListAppCommand extends Command {
         this.start = start;
         this.end = end;
         nric = null;
+        view = View.ALL;
     }
 
     /**
@@ -59,7 +78,17 @@ public class ListAppCommand extends Command {
      * the given {@code Nric}.
      */
     public ListAppCommand(Nric nric) {
+        this(nric, View.ALL);
+    }
+
+    /**
+     * Creates a {@code ListAppCommand} to list the {@code Appointment}(s) in {@code view} made by
+     * a {@code Patient} with the given {@code Nric}.
+     */
+    public ListAppCommand(Nric nric, View view) {
+        requireNonNull(view);
         this.nric = nric;
+        this.view = view;
         start = null;
         end = null;
     }
@@ -83,9 +112,19 @@ public class ListAppCommand extends Command {
                 throw new CommandException(MESSAGE_PATIENT_NOT_FOUND);
             }
 
-            String result = model.listApp(patientToList.get());
-            return new CommandResult(String.format(MESSAGE_SUCCESS_BY_NRIC, patientToList.get().getName()) + result,
-                    false, false);
+            Patient patient = patientToList.get();
+            switch (view) {
+            case UPCOMING:
+                return new CommandResult(String.format(MESSAGE_SUCCESS_UPCOMING, patient.getName())
+                        + model.listApp(patient, LocalDateTime.now(), true), false, false);
+            case PAST:
+                return new CommandResult(String.format(MESSAGE_SUCCESS_PAST, patient.getName())
+                        + model.listApp(patient, LocalDateTime.now(), false), false, false);
+            default:
+                String result = model.listApp(patient);
+                return new CommandResult(String.format(MESSAGE_SUCCESS_BY_NRIC, patient.getName()) + result,
+                        false, false);
+            }
         }
     }
 
@@ -95,6 +134,7 @@ public class ListAppCommand extends Command {
         return other == this // short circuit if same object
                 || (other instanceof ListAppCommand // instanceof handles nulls
                 && Objects.equals(nric, ((ListAppCommand) other).nric)
+                && view == ((ListAppCommand) other).view
                 && Objects.equals(start, ((ListAppCommand) other).start)
                 && Objects.equals(end, ((ListAppCommand) other).end));
     }
@@ -1,7 +1,12 @@
 package quickdocs.logic.commands;
 
+import static java.util.Objects.requireNonNull;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Objects;
 import java.util.logging.Logger;
 
 import quickdocs.commons.core.LogsCenter;
@@ -13,7 +18,8 @@ import quickdocs.model.consultation.Consultation;
 /**
  * List previous consultation sessions of a single patient if the NRIC of the patient
  * is supplied. If the index is supplied instead, then display the details of the
- * specific consultation session
+ * specific consultation session. If a range of dates is supplied, list the consultation
+ * sessions held within the range, optionally of a single patient or for a single assessment
  */
 public class ListConsultationCommand extends Command {
 
@@ -25,14 +31,18 @@ public class ListConsultationCommand extends Command {
             + ": list all past consultation records of a single patient using patient's NRIC "
             + "or details of a single consultation record through its index.\n"
             + "Parameters: "
-            + "INDEX OR NRIC\n"
+            + "INDEX OR NRIC OR from/DATE [to/DATE] [r/NRIC] [a/ASSESSMENT]\n"
             + "Example: " + COMMAND_WORD + " r/S9237161A\n"
-            + "or: " + COMMAND_WORD + " 10\n";
+            + "or: " + COMMAND_WORD + " 10\n"
+            + "or: " + COMMAND_WORD + " from/2019-03-01 to/2019-03-15 a/flu\n";
 
     private static final Logger logger = LogsCenter.getLogger(ListConsultationCommand.class);
 
     private int index;
     private String nric;
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private String assessment;
 
     private int constructedBy;
 
@@ -48,6 +58,22 @@ public class ListConsultationCommand extends Command {
         logger.info("Listing consultation using NRIC");
     }
 
+    /**
+     * Creates a ListConsultationCommand that lists the consultations held from {@code fromDate} to
+     * {@code toDate} inclusive. If they are not null, only the consultations of the patient with
+     * {@code nric}, and those whose assessment contains {@code assessment} regardless of case, are listed.
+     */
+    public ListConsultationCommand(LocalDate fromDate, LocalDate toDate, String nric, String assessment) {
+        requireNonNull(fromDate);
+        requireNonNull(toDate);
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+        this.nric = nric;
+        this.assessment = assessment;
+        constructedBy = 3;
+        logger.info("Listing consultation using range of dates");
+    }
+
     @Override
     public CommandResult execute(Model model, CommandHistory history) throws CommandException {
 
@@ -55,14 +81,46 @@ public class ListConsultationCommand extends Command {
             throw new CommandException(INVALID_INDEX);
         }
 
-        if (constructedBy == 1) {
-            return new CommandResult(model.listConsultation(index).toString());
+        try {
+            if (constructedBy == 1) {
+                return new CommandResult(model.listConsultation(index).toString());
+            }
+
+            if (constructedBy == 3) {
+                return new CommandResult(listingConsultations(listConsultationsInRange(model)));
+            }
+
+            ArrayList<Consultation> consultations = model.listConsultation(nric);
+            String result = listingConsultations(consultations);
+
+            return new CommandResult(result);
+        } catch (IllegalStateException ise) {
+            // past consultations are loaded from storage as they are listed
+            throw new CommandException(ise.getMessage(), ise);
         }
+    }
 
-        ArrayList<Consultation> consultations = model.listConsultation(nric);
-        String result = listingConsultations(consultations);
+    /**
+     * Returns the past consultations held within the range of dates, narrowed down through the index of
+     * sessions before the NRIC and assessment are checked.
+     */
+    private ArrayList<Consultation> listConsultationsInRange(Model model) {
+        ArrayList<Consultation> consultations = model.listConsultation(fromDate.atStartOfDay(),
+                toDate.atTime(LocalTime.MAX), entry -> nric == null || nric.equals(entry.getNric()));
+        if (assessment == null) {
+            return consultations;
+        }
 
-        return new CommandResult(result);
+        String assessmentSought = assessment.toLowerCase();
+        ArrayList<Consultation> consultationsFound = new ArrayList<>();
+        for (Consultation consultation : consultations) {
+            if (consultation.getDiagnosis() != null && consultation.getDiagnosis().getAssessment() != null
+                    && consultation.getDiagnosis().getAssessment().toString().toLowerCase()
+                    .contains(assessmentSought)) {
+                consultationsFound.add(consultation);
+            }
+        }
+        return consultationsFound;
     }
 
     /**
@@ -99,6 +157,18 @@ public class ListConsultationCommand extends Command {
         return nric;
     }
 
+    public LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    public LocalDate getToDate() {
+        return toDate;
+    }
+
+    public String getAssessment() {
+        return assessment;
+    }
+
     @Override
     public boolean equals(Object other) {
         return other == this
@@ -113,6 +183,14 @@ public class ListConsultationCommand extends Command {
      */
     public boolean checkEquals(ListConsultationCommand other) {
 
+        if (constructedBy == 3 || other.constructedBy == 3) {
+            return constructedBy == other.constructedBy
+                    && fromDate.equals(other.getFromDate())
+                    && toDate.equals(other.getToDate())
+                    && Objects.equals(nric, other.getNric())
+                    && Objects.equals(assessment, other.getAssessment());
+        }
+
         if (nric == null && other.getNric() == null) {
             return getIndex() == other.getIndex();
         }
@@ -8,6 +8,7 @@ import quickdocs.logic.commands.exceptions.CommandException;
 import quickdocs.model.Model;
 import quickdocs.model.patient.Patient;
 import quickdocs.model.tag.Tag;
+import quickdocs.model.tag.TagQuery;
 
 /**
  * Returns either a specific patient's record or a list
@@ -19,24 +20,40 @@ public class ListPatientCommand extends Command {
     public static final String COMMAND_ALIAS = "lp";
     public static final String NO_PATIENTS = "No medical records to list.\n";
     public static final String NO_PATIENT_FOUND_NAME = "No patient by the name: %s found";
+    public static final String NO_PATIENT_FOUND_FUZZY_NAME = "No patient with a name close to: %s found";
     public static final String NO_PATIENT_FOUND_NRIC = "No patient by NRIC: %s found";
     public static final String NO_PATIENT_FOUND_TAG = "No patient with tag: %s found";
+    public static final String NO_PATIENT_ON_PAGE = "No patient records on page %d";
+    public static final String NO_PATIENT_AFTER_NRIC = "No patient records after NRIC: %s";
 
     public static final String INVALID_INDEX = "Invalid index to find patient records.\n";
     public static final String MESSAGE_USAGE =
             COMMAND_WORD + ": List patient details using a particular index, name or nric.\n"
                     + " A list of patients with the same tags can also be displayed by entering the tag.\n"
-                    + " If no parameters are entered, QuickDocs will try to list at least 50 patients\n"
+                    + " Patients must have every tag entered, one of the tags separated by "
+                    + TagQuery.OR_SEPARATOR + ", and none of the tags starting with " + TagQuery.NOT_PREFIX + ".\n"
+                    + " Names that may be misspelt can be searched for with f/, listing the closest names.\n"
+                    + " If no parameters are entered, QuickDocs will list the first page of 50 patients.\n"
+                    + " Other pages can be listed by their page number, or by the NRIC that the patients\n"
+                    + " listed, in the order of their NRIC, come after.\n"
                     + "Parameters: "
                     + "INDEX OR"
                     + "n/NAME OR"
+                    + "f/NAME OR"
                     + "r/NRIC OR"
-                    + "t/TAG\n"
+                    + "t/TAG OR"
+                    + "page/PAGE OR"
+                    + "after/NRIC\n"
                     + "Examples: " + COMMAND_WORD + "\n"
                     + COMMAND_WORD + "10" + "\n"
                     + COMMAND_WORD + "r/S9214538C" + "\n"
                     + COMMAND_WORD + "n/Tan Ah Kow" + "\n"
-                    + COMMAND_WORD + "t/diabetes" + "\n";
+                    + COMMAND_WORD + "f/Tan Ah Kou" + "\n"
+                    + COMMAND_WORD + "t/diabetes" + "\n"
+                    + COMMAND_WORD + "t/diabetes t/hypertension" + TagQuery.OR_SEPARATOR + "gout t/"
+                    + TagQuery.NOT_PREFIX + "smoker" + "\n"
+                    + COMMAND_WORD + "page/3" + "\n"
+                    + COMMAND_WORD + "after/S9214538C" + "\n";
 
     private static final Logger logger = LogsCenter.getLogger(ListPatientCommand.class);
 
@@ -45,7 +62,10 @@ public class ListPatientCommand extends Command {
     private int index = -1;
     private String name;
     private String nric;
-    private Tag tag;
+    private TagQuery tagQuery;
+    private int page = 1;
+    private String afterNric;
+    private String fuzzyName;
 
     /**
      * Indicates that the search is conducted by an index during the
@@ -75,16 +95,55 @@ public class ListPatientCommand extends Command {
     }
 
     public ListPatientCommand(Tag tag) {
+        this(TagQuery.of(tag));
+    }
+
+    public ListPatientCommand(TagQuery tagQuery) {
         logger.info("ListPatientCommand: Listing patient by tag");
-        this.tag = tag;
+        this.tagQuery = tagQuery;
         constructedBy = 4;
     }
 
     public ListPatientCommand() {
-        logger.info("ListPatientCommand: Listing first 50 patients");
+        logger.info("ListPatientCommand: Listing a page of patients");
         constructedBy = 5;
     }
 
+    /**
+     * Returns a command listing the patient records with the names closest to the given name,
+     * which may be misspelt
+     */
+    public static ListPatientCommand byFuzzyName(String name) {
+        ListPatientCommand command = new ListPatientCommand();
+        command.fuzzyName = name;
+        command.constructedBy = 7;
+        return command;
+    }
+
+    /**
+     * Returns a command listing the patient records on the given page of the patient list
+     *
+     * @param page 1-based page number
+     */
+    public static ListPatientCommand onPage(int page) {
+        ListPatientCommand command = new ListPatientCommand();
+        command.page = page;
+        return command;
+    }
+
+    /**
+     * Returns a command listing the patient records whose NRICs come after the given NRIC,
+     * in the order of their NRICs
+     *
+     * @param nric the NRIC, or the start of one, that the listed NRICs come after
+     */
+    public static ListPatientCommand afterNric(String nric) {
+        ListPatientCommand command = new ListPatientCommand();
+        command.afterNric = nric;
+        command.constructedBy = 6;
+        return command;
+    }
+
     @Override
     public CommandResult execute(Model model, CommandHistory history) throws CommandException {
         if (model.isPatientListEmpty()) {
@@ -120,18 +179,39 @@ public class ListPatientCommand extends Command {
             return constructResult(result);
         }
 
-        // find patient records with the given tag
+        // find patient records with the given tags
         if (constructedBy == 4) {
-            String result = model.findPatientsByTag(tag);
+            String result = model.findPatientsByTags(tagQuery);
             if (result.equals("No patient record found")) {
-                throw new CommandException(String.format(NO_PATIENT_FOUND_TAG, tag));
+                throw new CommandException(String.format(NO_PATIENT_FOUND_TAG, tagQuery));
             }
 
             return constructResult(result);
         }
 
-        // list as many patient records if no parameters are provided
-        String result = model.listFiftyPatients();
+        // handles patient record search by names that may be misspelt
+        if (constructedBy == 7) {
+            String result = model.findPatientsByFuzzyName(fuzzyName);
+            if (result.equals("No patient record found")) {
+                throw new CommandException(String.format(NO_PATIENT_FOUND_FUZZY_NAME, fuzzyName));
+            }
+            return constructResult(result);
+        }
+
+        // list the page of patient records after the given NRIC
+        if (constructedBy == 6) {
+            String result = model.listPatientsAfterNric(afterNric);
+            if (result.equals("No patient record found")) {
+                throw new CommandException(String.format(NO_PATIENT_AFTER_NRIC, afterNric));
+            }
+            return constructResult(result);
+        }
+
+        // list a page of patient records, the first page if no parameters are provided
+        String result = model.listPatientsOnPage(page);
+        if (result.equals("No patient record found")) {
+            throw new CommandException(String.format(NO_PATIENT_ON_PAGE, page));
+        }
         return constructResult(result);
     }
 
@@ -162,8 +242,20 @@ public class ListPatientCommand extends Command {
         return nric;
     }
 
-    public Tag getTag() {
-        return tag;
+    public TagQuery getTagQuery() {
+        return tagQuery;
+    }
+
+    public int getPage() {
+        return page;
+    }
+
+    public String getAfterNric() {
+        return afterNric;
+    }
+
+    public String getFuzzyName() {
+        return fuzzyName;
     }
 
     @Override
@@ -186,7 +278,13 @@ public class ListPatientCommand extends Command {
         case 3:
             return nric.equals(other.getNric());
         case 4:
-            return tag.equals(other.getTag());
+            return tagQuery.equals(other.getTagQuery());
+        case 5:
+            return page == other.getPage();
+        case 6:
+            return afterNric.equals(other.getAfterNric());
+        case 7:
+            return fuzzyName.equals(other.getFuzzyName());
         default:
             return true;
         }
@@ -8,8 +8,10 @@ import java.util.logging.Logger;
 import quickdocs.commons.core.LogsCenter;
 import quickdocs.logic.CommandHistory;
 import quickdocs.logic.commands.exceptions.CommandException;
+import quickdocs.logic.parser.ConsultationCommandParser;
 import quickdocs.logic.parser.PrescriptionCommandParser;
 import quickdocs.model.Model;
+import quickdocs.model.consultation.ConsultationSessions;
 import quickdocs.model.consultation.Prescription;
 import quickdocs.model.medicine.Medicine;
 
@@ -34,6 +36,8 @@ public class PrescriptionCommand extends Command {
             + PrescriptionCommandParser.PREFIX_QUANTITY + "QUANTITY FOR MEDICINE 2 " + " ... \n"
             + "OR: " + PrescriptionCommandParser.PREFIX_MEDICINE + "MEDICINE 1 "
             + PrescriptionCommandParser.PREFIX_QUANTITY + "QUANTITY FOR MEDICINE 1" + " ... \n"
+            + "Add " + ConsultationCommandParser.PREFIX_SESSION + "DOCTOR OR ROOM to prescribe in a session "
+            + "held by a doctor or room.\n"
             + "Example: "
             + COMMAND_WORD + " m/Ibuprofen q/1 m/Afrin Spray q/2\n";
 
@@ -41,10 +45,17 @@ public class PrescriptionCommand extends Command {
 
     private ArrayList<String> medicineList;
     private ArrayList<Integer> quantityList;
+    private String sessionId;
 
     public PrescriptionCommand(ArrayList<String> medicineList, ArrayList<Integer> quantityList) {
+        this(medicineList, quantityList, ConsultationSessions.DEFAULT_SESSION_ID);
+    }
+
+    public PrescriptionCommand(ArrayList<String> medicineList, ArrayList<Integer> quantityList,
+                               String sessionId) {
         this.medicineList = medicineList;
         this.quantityList = quantityList;
+        this.sessionId = sessionId;
     }
 
     public ArrayList<String> getMedicineList() {
@@ -55,10 +66,14 @@ public class PrescriptionCommand extends Command {
         return quantityList;
     }
 
+    public String getSessionId() {
+        return sessionId;
+    }
+
     @Override
     public CommandResult execute(Model model, CommandHistory history) throws CommandException {
 
-        if (model.checkConsultation() == false) {
+        if (model.checkConsultation(sessionId) == false) {
             throw new CommandException(NO_ONGOING_CONSULTATION);
         }
 
@@ -86,7 +101,12 @@ public class PrescriptionCommand extends Command {
             prescriptions.add(new Prescription(foundMedicine.get(), quantityList.get(i)));
         }
 
-        model.prescribeMedicine(prescriptions);
+        // the session may have been ended since it was checked
+        try {
+            model.prescribeMedicine(sessionId, prescriptions);
+        } catch (IllegalArgumentException iae) {
+            throw new CommandException(NO_ONGOING_CONSULTATION);
+        }
 
         logger.info("Prescription entered or replaced for current consultation");
 
@@ -113,6 +133,7 @@ public class PrescriptionCommand extends Command {
      */
     public boolean checkAttributes(PrescriptionCommand other) {
         return Arrays.equals(getMedicineList().toArray(), other.getMedicineList().toArray())
-                && getQuantityList().equals(other.getQuantityList());
+                && getQuantityList().equals(other.getQuantityList())
+                && getSessionId().equals(other.getSessionId());
     }
 }
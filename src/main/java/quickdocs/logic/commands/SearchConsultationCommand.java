@@ -0,0 +1,117 @@
+package quickdocs.logic.commands;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Collectors;
+
+import quickdocs.logic.CommandHistory;
+import quickdocs.logic.commands.exceptions.CommandException;
+import quickdocs.model.Model;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.consultation.ConsultationIndexEntry;
+import quickdocs.model.consultation.ConsultationTextQuery;
+import quickdocs.model.consultation.Symptom;
+
+/**
+ * Search past consultation records by the words in their assessments and symptoms, listing the best
+ * matches first. Only the consultations held within the range of dates entered are listed.
+ */
+public class SearchConsultationCommand extends Command {
+
+    public static final String COMMAND_WORD = "searchconsult";
+    public static final String COMMAND_ALIAS = "sc";
+    public static final String MESSAGE_USAGE = COMMAND_WORD
+            + ": search past consultation records by the words in their assessments and symptoms.\n"
+            + "Every word and quoted phrase entered has to be found in a consultation record for it to be listed.\n"
+            + "Parameters: SEARCH TEXT [from/DATE] [to/DATE]\n"
+            + "Example: " + COMMAND_WORD + " rash AND \"sore throat\" from/2019-01-01\n";
+    public static final String MESSAGE_HEADER = "%d consultation records found for %s\n";
+    public static final String MESSAGE_MORE_RESULTS = "... and %d more consultation records\n";
+    public static final int RESULTS_SHOWN = 50;
+
+    private final ConsultationTextQuery query;
+    private final LocalDate fromDate;
+    private final LocalDate toDate;
+
+    /**
+     * Creates a SearchConsultationCommand that lists the consultations held from {@code fromDate} to
+     * {@code toDate} inclusive whose diagnoses match {@code query}.
+     */
+    public SearchConsultationCommand(ConsultationTextQuery query, LocalDate fromDate, LocalDate toDate) {
+        requireNonNull(query);
+        requireNonNull(fromDate);
+        requireNonNull(toDate);
+        this.query = query;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+    }
+
+    @Override
+    public CommandResult execute(Model model, CommandHistory history) throws CommandException {
+        try {
+            List<Integer> positions = model.searchConsultations(query, this::isHeldWithinRange);
+
+            StringBuilder sb = new StringBuilder();
+            sb.append(String.format(MESSAGE_HEADER, positions.size(), query));
+            sb.append("====================\n");
+            if (positions.isEmpty()) {
+                sb.append(ListConsultationCommand.NO_RECORDS);
+                return new CommandResult(sb.toString());
+            }
+
+            DateTimeFormatter formatter = DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm");
+            List<Consultation> consultations = model.getConsultationList();
+            for (int position : positions.subList(0, Math.min(RESULTS_SHOWN, positions.size()))) {
+                Consultation con = consultations.get(position);
+                sb.append(1 + con.getIndex() + ") ");
+                sb.append(" visit for " + con.getDiagnosis().getAssessment() + " ");
+                sb.append(" on " + con.getSession().format(formatter));
+                sb.append(" with " + con.getDiagnosis().getSymptoms().stream()
+                        .map(Symptom::getSymptom).collect(Collectors.joining(", ")));
+                sb.append("\n");
+            }
+            if (positions.size() > RESULTS_SHOWN) {
+                sb.append(String.format(MESSAGE_MORE_RESULTS, positions.size() - RESULTS_SHOWN));
+            }
+            return new CommandResult(sb.toString());
+        } catch (IllegalStateException ise) {
+            // past consultations are loaded from storage as they are searched
+            throw new CommandException(ise.getMessage(), ise);
+        }
+    }
+
+    /**
+     * Returns true if the consultation of {@code entry} was held within the range of dates.
+     */
+    private boolean isHeldWithinRange(ConsultationIndexEntry entry) {
+        if (entry.getSession() == null) {
+            return false;
+        }
+        LocalDate date = entry.getSession().toLocalDate();
+        return !date.isBefore(fromDate) && !date.isAfter(toDate);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (other == this) {
+            return true;
+        }
+        if (!(other instanceof SearchConsultationCommand)) {
+            return false;
+        }
+
+        SearchConsultationCommand otherCommand = (SearchConsultationCommand) other;
+        return query.equals(otherCommand.query)
+                && fromDate.equals(otherCommand.fromDate)
+                && toDate.equals(otherCommand.toDate);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(query, fromDate, toDate);
+    }
+}
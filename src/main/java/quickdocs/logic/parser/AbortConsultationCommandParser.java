@@ -0,0 +1,16 @@
+package quickdocs.logic.parser;
+
+import quickdocs.logic.commands.AbortConsultationCommand;
+import quickdocs.logic.parser.exceptions.ParseException;
+
+/**
+ * Parses the doctor or room entered by the user into a AbortConsultationCommand
+ */
+public class AbortConsultationCommandParser implements Parser<AbortConsultationCommand> {
+
+    @Override
+    public AbortConsultationCommand parse(String args) throws ParseException {
+        ArgumentMultimap argMultimap = ArgumentTokenizer.tokenize(args, ConsultationCommandParser.PREFIX_SESSION);
+        return new AbortConsultationCommand(ConsultationCommandParser.parseSessionId(argMultimap));
+    }
+}
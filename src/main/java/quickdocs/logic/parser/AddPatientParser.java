@@ -106,6 +106,6 @@ public class AddPatientParser implements Parser<AddPatientCommand> {
      */
     public static Tag parseTag(String tag) {
         String trimmedTag = tag.trim();
-        return new Tag(trimmedTag);
+        return Tag.of(trimmedTag);
     }
 }
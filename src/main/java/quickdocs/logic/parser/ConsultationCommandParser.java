@@ -2,10 +2,12 @@ package quickdocs.logic.parser;
 
 import static quickdocs.logic.commands.ConsultationCommand.MESSAGE_USAGE;
 
+import java.util.regex.Pattern;
 import java.util.stream.Stream;
 
 import quickdocs.logic.commands.ConsultationCommand;
 import quickdocs.logic.parser.exceptions.ParseException;
+import quickdocs.model.consultation.ConsultationSessions;
 
 /**
  * Parses the arguments to search for a patient and start the consultation
@@ -13,19 +15,42 @@ import quickdocs.logic.parser.exceptions.ParseException;
 public class ConsultationCommandParser implements Parser<ConsultationCommand> {
 
     public static final Prefix PREFIX_NRIC = new Prefix("r/");
+    // the doctor or room holding the consultation session
+    public static final Prefix PREFIX_SESSION = new Prefix("id/");
+    public static final String INVALID_SESSION_ID =
+            "Doctor or room should only contain alphanumeric characters and dashes but not blank";
     public static final String INVALID_CONSULTATION_ARGUMENTS = "Invalid arguments entered for consultation command.\n"
             + MESSAGE_USAGE;
 
+    private static final Pattern SESSION_ID_FORMAT = Pattern.compile("[\\p{Alnum}][\\p{Alnum}-]*");
+
     @Override
     public ConsultationCommand parse(String args) throws ParseException {
         ArgumentMultimap argMultimap =
-                ArgumentTokenizer.tokenize(args, PREFIX_NRIC);
+                ArgumentTokenizer.tokenize(args, PREFIX_NRIC, PREFIX_SESSION);
 
         if (!arePrefixesPresent(argMultimap, PREFIX_NRIC)) {
             throw new ParseException(INVALID_CONSULTATION_ARGUMENTS);
         }
 
-        return new ConsultationCommand(argMultimap.getValue(PREFIX_NRIC).get());
+        return new ConsultationCommand(argMultimap.getValue(PREFIX_NRIC).get(), parseSessionId(argMultimap));
+    }
+
+    /**
+     * Returns the doctor or room entered with {@link #PREFIX_SESSION}, or the default session if none is entered.
+     *
+     * @throws ParseException if the doctor or room entered is invalid
+     */
+    public static String parseSessionId(ArgumentMultimap argMultimap) throws ParseException {
+        if (!argMultimap.getValue(PREFIX_SESSION).isPresent()) {
+            return ConsultationSessions.DEFAULT_SESSION_ID;
+        }
+
+        String sessionId = argMultimap.getValue(PREFIX_SESSION).get().trim();
+        if (!SESSION_ID_FORMAT.matcher(sessionId).matches()) {
+            throw new ParseException(INVALID_SESSION_ID);
+        }
+        return sessionId;
     }
 
     private static boolean arePrefixesPresent(ArgumentMultimap argumentMultimap, Prefix... prefixes) {
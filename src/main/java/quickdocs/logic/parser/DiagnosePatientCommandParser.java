@@ -26,16 +26,18 @@ public class DiagnosePatientCommandParser implements Parser<DiagnosePatientComma
     public DiagnosePatientCommand parse(String args) throws ParseException {
 
         ArgumentMultimap argMultimap =
-                ArgumentTokenizer.tokenize(args, PREFIX_ASSESSMENT, PREFIX_SYMPTOM);
+                ArgumentTokenizer.tokenize(args, PREFIX_ASSESSMENT, PREFIX_SYMPTOM,
+                        ConsultationCommandParser.PREFIX_SESSION);
 
         if (!arePrefixesPresent(argMultimap, PREFIX_ASSESSMENT, PREFIX_SYMPTOM)) {
             throw new ParseException(INVALID_ARGUMENTS_DIAGNOSIS);
         }
 
-        Assessment assessment = new Assessment(argMultimap.getValue(PREFIX_ASSESSMENT).get());
+        Assessment assessment = Assessment.of(argMultimap.getValue(PREFIX_ASSESSMENT).get());
         ArrayList<Symptom> symptoms = parseSymptoms(argMultimap.getAllValues(PREFIX_SYMPTOM));
 
-        return new DiagnosePatientCommand(new Diagnosis(assessment, symptoms));
+        return new DiagnosePatientCommand(new Diagnosis(assessment, symptoms),
+                ConsultationCommandParser.parseSessionId(argMultimap));
     }
 
     // parsing methods
@@ -53,7 +55,7 @@ public class DiagnosePatientCommandParser implements Parser<DiagnosePatientComma
     public static ArrayList<Symptom> parseSymptoms(Collection<String> symptoms) {
         final ArrayList<Symptom> symptomList = new ArrayList<>();
         for (String symptom : symptoms) {
-            symptomList.add(new Symptom(symptom));
+            symptomList.add(Symptom.of(symptom));
         }
         return symptomList;
     }
@@ -121,6 +121,6 @@ public class EditPatientParser implements Parser<EditPatientCommand> {
      */
     public static Tag parseTag(String tag) {
         String trimmedTag = tag.trim();
-        return new Tag(trimmedTag);
+        return Tag.of(trimmedTag);
     }
 }
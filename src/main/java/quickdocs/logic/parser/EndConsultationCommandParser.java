@@ -0,0 +1,16 @@
+package quickdocs.logic.parser;
+
+import quickdocs.logic.commands.EndConsultationCommand;
+import quickdocs.logic.parser.exceptions.ParseException;
+
+/**
+ * Parses the doctor or room entered by the user into a EndConsultationCommand
+ */
+public class EndConsultationCommandParser implements Parser<EndConsultationCommand> {
+
+    @Override
+    public EndConsultationCommand parse(String args) throws ParseException {
+        ArgumentMultimap argMultimap = ArgumentTokenizer.tokenize(args, ConsultationCommandParser.PREFIX_SESSION);
+        return new EndConsultationCommand(ConsultationCommandParser.parseSessionId(argMultimap));
+    }
+}
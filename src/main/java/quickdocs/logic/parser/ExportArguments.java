@@ -0,0 +1,82 @@
+package quickdocs.logic.parser;
+
+import static quickdocs.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+
+import quickdocs.logic.parser.exceptions.ParseException;
+
+/**
+ * The arguments shared by the commands that export records to a file: the path of the file,
+ * followed by an optional NRIC prefix and an optional range of dates that the exported records are filtered by.
+ */
+class ExportArguments {
+
+    static final Prefix PREFIX_NRIC = new Prefix("r/");
+    static final Prefix PREFIX_FROM = new Prefix("from/");
+    static final Prefix PREFIX_TO = new Prefix("to/");
+
+    static final String INVALID_DATE_RANGE = "The from/ date cannot be after the to/ date";
+
+    private final Path filePath;
+    private final String nricPrefix;
+    private final LocalDate fromDate;
+    private final LocalDate toDate;
+
+    private ExportArguments(Path filePath, String nricPrefix, LocalDate fromDate, LocalDate toDate) {
+        this.filePath = filePath;
+        this.nricPrefix = nricPrefix;
+        this.fromDate = fromDate;
+        this.toDate = toDate;
+    }
+
+    /**
+     * Parses the arguments entered by the user for an export command with the given {@code usage}.
+     * Dates that are not entered are unbounded.
+     *
+     * @throws ParseException if no file path is entered, or any of the arguments are invalid
+     */
+    static ExportArguments parse(String args, String usage) throws ParseException {
+        ArgumentMultimap argMultimap = ArgumentTokenizer.tokenize(args, PREFIX_NRIC, PREFIX_FROM, PREFIX_TO);
+        String rawPath = argMultimap.getPreamble().trim();
+        if (rawPath.isEmpty()) {
+            throw new ParseException(String.format(MESSAGE_INVALID_COMMAND_FORMAT, usage));
+        }
+
+        Path filePath;
+        try {
+            filePath = Paths.get(rawPath);
+        } catch (InvalidPathException ipe) {
+            throw new ParseException(String.format(ImportPatientParser.INVALID_FILE_PATH, rawPath));
+        }
+
+        String nricPrefix = argMultimap.getValue(PREFIX_NRIC).orElse("").trim().toUpperCase();
+        LocalDate fromDate = argMultimap.getValue(PREFIX_FROM).isPresent()
+                ? ParserUtil.parseDate(argMultimap.getValue(PREFIX_FROM).get().trim()) : LocalDate.MIN;
+        LocalDate toDate = argMultimap.getValue(PREFIX_TO).isPresent()
+                ? ParserUtil.parseDate(argMultimap.getValue(PREFIX_TO).get().trim()) : LocalDate.MAX;
+        if (fromDate.isAfter(toDate)) {
+            throw new ParseException(INVALID_DATE_RANGE);
+        }
+        return new ExportArguments(filePath, nricPrefix, fromDate, toDate);
+    }
+
+    Path getFilePath() {
+        return filePath;
+    }
+
+    String getNricPrefix() {
+        return nricPrefix;
+    }
+
+    LocalDate getFromDate() {
+        return fromDate;
+    }
+
+    LocalDate getToDate() {
+        return toDate;
+    }
+}
@@ -0,0 +1,17 @@
+package quickdocs.logic.parser;
+
+import quickdocs.logic.commands.ExportConsultationCommand;
+import quickdocs.logic.parser.exceptions.ParseException;
+
+/**
+ * Parses the file path and filters entered by the user into an ExportConsultationCommand
+ */
+public class ExportConsultationParser implements Parser<ExportConsultationCommand> {
+
+    @Override
+    public ExportConsultationCommand parse(String args) throws ParseException {
+        ExportArguments arguments = ExportArguments.parse(args, ExportConsultationCommand.MESSAGE_USAGE);
+        return new ExportConsultationCommand(arguments.getFilePath(), arguments.getNricPrefix(),
+                arguments.getFromDate(), arguments.getToDate());
+    }
+}
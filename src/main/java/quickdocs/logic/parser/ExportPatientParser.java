@@ -0,0 +1,17 @@
+package quickdocs.logic.parser;
+
+import quickdocs.logic.commands.ExportPatientCommand;
+import quickdocs.logic.parser.exceptions.ParseException;
+
+/**
+ * Parses the file path and filters entered by the user into an ExportPatientCommand
+ */
+public class ExportPatientParser implements Parser<ExportPatientCommand> {
+
+    @Override
+    public ExportPatientCommand parse(String args) throws ParseException {
+        ExportArguments arguments = ExportArguments.parse(args, ExportPatientCommand.MESSAGE_USAGE);
+        return new ExportPatientCommand(arguments.getFilePath(), arguments.getNricPrefix(),
+                arguments.getFromDate(), arguments.getToDate());
+    }
+}
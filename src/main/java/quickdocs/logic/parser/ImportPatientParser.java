@@ -0,0 +1,40 @@
+package quickdocs.logic.parser;
+
+import static quickdocs.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+
+import quickdocs.logic.commands.ImportPatientCommand;
+import quickdocs.logic.parser.exceptions.ParseException;
+
+/**
+ * Parses the path of the CSV file entered by the user into an ImportPatientCommand
+ */
+public class ImportPatientParser implements Parser<ImportPatientCommand> {
+
+    public static final String INVALID_FILE_PATH = "Invalid file path entered: %s";
+
+    /**
+     * Parse the file path entered by the user to create an ImportPatientCommand for the
+     * logic manager to execute
+     *
+     * @param args the path of the CSV file holding the patient records
+     * @return an ImportPatientCommand that imports the patient records in the file
+     * @throws ParseException when no file path is entered or the file path is not valid
+     */
+    @Override
+    public ImportPatientCommand parse(String args) throws ParseException {
+        String trimmedArgs = args.trim();
+        if (trimmedArgs.isEmpty()) {
+            throw new ParseException(
+                    String.format(MESSAGE_INVALID_COMMAND_FORMAT, ImportPatientCommand.MESSAGE_USAGE));
+        }
+
+        try {
+            return new ImportPatientCommand(Paths.get(trimmedArgs));
+        } catch (InvalidPathException ipe) {
+            throw new ParseException(String.format(INVALID_FILE_PATH, trimmedArgs));
+        }
+    }
+}
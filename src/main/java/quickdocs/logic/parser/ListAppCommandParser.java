@@ -18,6 +18,13 @@ public class ListAppCommandParser implements Parser<ListAppCommand> {
     public static final Prefix PREFIX_DATE = new Prefix("d/");
     public static final Prefix PREFIX_NRIC = new Prefix("r/");
 
+    public static final String VIEW_UPCOMING = "upcoming";
+    public static final String VIEW_PAST = "past";
+    public static final String MESSAGE_INVALID_VIEW = "Invalid keywords for listing the appointments of a patient.\n"
+            + "Only the following keywords are allowed: "
+            + VIEW_UPCOMING + ", "
+            + VIEW_PAST;
+
     /**
      * Parses the given {@code String} of arguments in the context of the {@code ListAppCommand}
      * and returns a {@code ListAppCommand} object for execution.
@@ -58,11 +65,30 @@ public class ListAppCommandParser implements Parser<ListAppCommand> {
             return new ListAppCommand(dates.get(0), dates.get(1));
         }
 
-        // List appointments by patient's nric
+        // List appointments by patient's nric, with the format choosing the upcoming or past appointments
         assert listByNric;
 
         Nric nric = new Nric(argMultimap.getValue(PREFIX_NRIC).get().trim());
-        return new ListAppCommand(nric);
+        if (!argMultimap.getValue(PREFIX_FORMAT).isPresent()) {
+            return new ListAppCommand(nric);
+        }
+        return new ListAppCommand(nric, parseView(argMultimap.getValue(PREFIX_FORMAT).get().trim()));
+    }
+
+    /**
+     * Parses the keyword for the appointments of a patient to list.
+     *
+     * @throws ParseException if the keyword is neither {@value #VIEW_UPCOMING} nor {@value #VIEW_PAST}.
+     */
+    private static ListAppCommand.View parseView(String view) throws ParseException {
+        switch (view.toLowerCase()) {
+        case VIEW_UPCOMING:
+            return ListAppCommand.View.UPCOMING;
+        case VIEW_PAST:
+            return ListAppCommand.View.PAST;
+        default:
+            throw new ParseException(MESSAGE_INVALID_VIEW);
+        }
     }
 
     /**
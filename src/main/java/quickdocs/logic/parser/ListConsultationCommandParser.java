@@ -2,6 +2,8 @@ package quickdocs.logic.parser;
 
 //import java.util.stream.Stream;
 
+import java.time.LocalDate;
+
 import quickdocs.logic.commands.ListConsultationCommand;
 import quickdocs.logic.parser.exceptions.ParseException;
 
@@ -13,15 +15,20 @@ public class ListConsultationCommandParser implements Parser<ListConsultationCom
     public static final String NO_LIST_ARGUMENTS = "Search parameters are missing for the listing of consultation\n"
             + ListConsultationCommand.MESSAGE_USAGE;
     public static final String INVALID_INDEX = "Index should be numeric";
+    public static final String INVALID_DATE_RANGE = "The from/ date cannot be after the to/ date";
     public static final Prefix PREFIX_NRIC = new Prefix("r/");
+    public static final Prefix PREFIX_FROM = new Prefix("from/");
+    public static final Prefix PREFIX_TO = new Prefix("to/");
+    public static final Prefix PREFIX_ASSESSMENT = new Prefix("a/");
 
     @Override
     public ListConsultationCommand parse(String args) throws ParseException {
 
         ArgumentMultimap argMultimap =
-                ArgumentTokenizer.tokenize(args, PREFIX_NRIC);
+                ArgumentTokenizer.tokenize(args, PREFIX_NRIC, PREFIX_FROM, PREFIX_TO, PREFIX_ASSESSMENT);
 
-        if (argMultimap.getPreamble().isEmpty() && !argMultimap.getValue(PREFIX_NRIC).isPresent()) {
+        if (argMultimap.getPreamble().isEmpty() && !argMultimap.getValue(PREFIX_NRIC).isPresent()
+                && !isRangeEntered(argMultimap)) {
             throw new ParseException(NO_LIST_ARGUMENTS);
         }
 
@@ -34,8 +41,36 @@ public class ListConsultationCommandParser implements Parser<ListConsultationCom
             return new ListConsultationCommand(index);
         }
 
+        if (isRangeEntered(argMultimap)) {
+            return parseRange(argMultimap);
+        }
+
         String nric = argMultimap.getValue(PREFIX_NRIC).get();
         return new ListConsultationCommand(nric);
 
     }
+
+    private static boolean isRangeEntered(ArgumentMultimap argMultimap) {
+        return argMultimap.getValue(PREFIX_FROM).isPresent() || argMultimap.getValue(PREFIX_TO).isPresent();
+    }
+
+    /**
+     * Parses the range of dates, and the NRIC and assessment that the consultations within it are filtered by.
+     * Dates that are not entered are unbounded.
+     *
+     * @throws ParseException if a date is invalid, or the from/ date is after the to/ date
+     */
+    private static ListConsultationCommand parseRange(ArgumentMultimap argMultimap) throws ParseException {
+        LocalDate fromDate = argMultimap.getValue(PREFIX_FROM).isPresent()
+                ? ParserUtil.parseDate(argMultimap.getValue(PREFIX_FROM).get().trim()) : LocalDate.MIN;
+        LocalDate toDate = argMultimap.getValue(PREFIX_TO).isPresent()
+                ? ParserUtil.parseDate(argMultimap.getValue(PREFIX_TO).get().trim()) : LocalDate.MAX;
+        if (fromDate.isAfter(toDate)) {
+            throw new ParseException(INVALID_DATE_RANGE);
+        }
+
+        String nric = argMultimap.getValue(PREFIX_NRIC).map(String::trim).orElse(null);
+        String assessment = argMultimap.getValue(PREFIX_ASSESSMENT).map(String::trim).orElse(null);
+        return new ListConsultationCommand(fromDate, toDate, nric, assessment);
+    }
 }
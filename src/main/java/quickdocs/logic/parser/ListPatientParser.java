@@ -2,7 +2,7 @@ package quickdocs.logic.parser;
 
 import quickdocs.logic.commands.ListPatientCommand;
 import quickdocs.logic.parser.exceptions.ParseException;
-import quickdocs.model.tag.Tag;
+import quickdocs.model.tag.TagQuery;
 
 /**
  * Parses arguments entered by user into a ListPatientCommand to list
@@ -14,13 +14,18 @@ public class ListPatientParser implements Parser<ListPatientCommand> {
     public static final String INDEX_INVALID_RANGE = "Index is beyond the valid range";
     public static final String INDEX_NUMERIC = "Index should be numeric";
     public static final Prefix PREFIX_NAME = new Prefix("n/");
+    public static final Prefix PREFIX_FUZZY_NAME = new Prefix("f/");
     public static final Prefix PREFIX_NRIC = new Prefix("r/");
     public static final Prefix PREFIX_TAG = new Prefix("t/");
+    public static final Prefix PREFIX_PAGE = new Prefix("page/");
+    public static final Prefix PREFIX_AFTER = new Prefix("after/");
+    public static final String PAGE_INVALID = "Page should be a positive number";
 
     @Override
     public ListPatientCommand parse(String args) throws ParseException {
         ArgumentMultimap argMultimap =
-                ArgumentTokenizer.tokenize(args, PREFIX_NAME, PREFIX_NRIC, PREFIX_TAG);
+                ArgumentTokenizer.tokenize(args, PREFIX_NAME, PREFIX_FUZZY_NAME, PREFIX_NRIC, PREFIX_TAG,
+                        PREFIX_PAGE, PREFIX_AFTER);
 
         if (!argMultimap.getPreamble().isEmpty()) {
 
@@ -48,6 +53,11 @@ public class ListPatientParser implements Parser<ListPatientCommand> {
             return new ListPatientCommand(name, true);
         }
 
+        if (argMultimap.getValue(PREFIX_FUZZY_NAME).isPresent()) {
+            // list patients with the closest names, allowing for misspelt names
+            return ListPatientCommand.byFuzzyName(argMultimap.getValue(PREFIX_FUZZY_NAME).get());
+        }
+
         if (argMultimap.getValue(PREFIX_NRIC).isPresent()) {
             // list patient by name, can get multiple records
             String nric = argMultimap.getValue(PREFIX_NRIC).get();
@@ -55,11 +65,25 @@ public class ListPatientParser implements Parser<ListPatientCommand> {
         }
 
         if (argMultimap.getValue(PREFIX_TAG).isPresent()) {
-            // list all patients with the same tag
-            return new ListPatientCommand(new Tag(argMultimap.getValue(PREFIX_TAG).get()));
+            // list all patients whose tags match every tag parameter
+            return new ListPatientCommand(TagQuery.parse(argMultimap.getAllValues(PREFIX_TAG)));
+        }
+
+        if (argMultimap.getValue(PREFIX_PAGE).isPresent()) {
+            // list a page of the patient list
+            String page = argMultimap.getValue(PREFIX_PAGE).get().trim();
+            if (!page.matches("\\d{1,9}") || Integer.parseInt(page) < 1) {
+                throw new ParseException(PAGE_INVALID);
+            }
+            return ListPatientCommand.onPage(Integer.parseInt(page));
+        }
+
+        if (argMultimap.getValue(PREFIX_AFTER).isPresent()) {
+            // list a page of patients in the order of their NRICs
+            return ListPatientCommand.afterNric(argMultimap.getValue(PREFIX_AFTER).get().trim());
         }
 
-        // if nothing is supplied, will try to list all the patients, maximum 50;
+        // if nothing is supplied, will list the first page of patients
         return new ListPatientCommand();
     }
 }
@@ -27,7 +27,8 @@ public class PrescriptionCommandParser implements Parser<PrescriptionCommand> {
     public PrescriptionCommand parse(String args) throws ParseException {
 
         ArgumentMultimap argMultimap =
-                ArgumentTokenizer.tokenize(args, PREFIX_MEDICINE, PREFIX_QUANTITY);
+                ArgumentTokenizer.tokenize(args, PREFIX_MEDICINE, PREFIX_QUANTITY,
+                        ConsultationCommandParser.PREFIX_SESSION);
 
         if (!arePrefixesPresent(argMultimap, PREFIX_MEDICINE, PREFIX_QUANTITY)) {
             throw new ParseException(INVALID_ARGUMENTS_PRESCRIPTION);
@@ -45,7 +46,7 @@ public class PrescriptionCommandParser implements Parser<PrescriptionCommand> {
             throw new ParseException(EXTRA_QUANTITIES);
         }
 
-        return new PrescriptionCommand(medList, qtyList);
+        return new PrescriptionCommand(medList, qtyList, ConsultationCommandParser.parseSessionId(argMultimap));
     }
 
     // parsing methods
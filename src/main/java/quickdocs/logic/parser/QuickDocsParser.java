@@ -22,15 +22,19 @@ import quickdocs.logic.commands.DiagnosePatientCommand;
 import quickdocs.logic.commands.EditPatientCommand;
 import quickdocs.logic.commands.EndConsultationCommand;
 import quickdocs.logic.commands.ExitCommand;
+import quickdocs.logic.commands.ExportConsultationCommand;
+import quickdocs.logic.commands.ExportPatientCommand;
 import quickdocs.logic.commands.FreeAppCommand;
 import quickdocs.logic.commands.HelpCommand;
 import quickdocs.logic.commands.HistoryCommand;
+import quickdocs.logic.commands.ImportPatientCommand;
 import quickdocs.logic.commands.ListAppCommand;
 import quickdocs.logic.commands.ListConsultationCommand;
 import quickdocs.logic.commands.ListPatientCommand;
 import quickdocs.logic.commands.ListRemCommand;
 import quickdocs.logic.commands.PrescriptionCommand;
 import quickdocs.logic.commands.PurchaseMedicineCommand;
+import quickdocs.logic.commands.SearchConsultationCommand;
 import quickdocs.logic.commands.SetConsultationFeeCommand;
 import quickdocs.logic.commands.SetPriceCommand;
 import quickdocs.logic.commands.StatisticsCommand;
@@ -109,6 +113,14 @@ public class QuickDocsParser {
         case EditPatientCommand.COMMAND_ALIAS:
             return new EditPatientParser().parse(arguments);
 
+        case ExportPatientCommand.COMMAND_WORD:
+        case ExportPatientCommand.COMMAND_ALIAS:
+            return new ExportPatientParser().parse(arguments);
+
+        case ImportPatientCommand.COMMAND_WORD:
+        case ImportPatientCommand.COMMAND_ALIAS:
+            return new ImportPatientParser().parse(arguments);
+
         case ListPatientCommand.COMMAND_WORD:
         case ListPatientCommand.COMMAND_ALIAS:
             return new ListPatientParser().parse(arguments);
@@ -135,12 +147,20 @@ public class QuickDocsParser {
 
         case EndConsultationCommand.COMMAND_WORD:
         case EndConsultationCommand.COMMAND_ALIAS:
-            return new EndConsultationCommand();
+            return new EndConsultationCommandParser().parse(arguments);
+
+        case ExportConsultationCommand.COMMAND_WORD:
+        case ExportConsultationCommand.COMMAND_ALIAS:
+            return new ExportConsultationParser().parse(arguments);
 
         case ListConsultationCommand.COMMAND_WORD:
         case ListConsultationCommand.COMMAND_ALIAS:
             return new ListConsultationCommandParser().parse(arguments);
 
+        case SearchConsultationCommand.COMMAND_WORD:
+        case SearchConsultationCommand.COMMAND_ALIAS:
+            return new SearchConsultationParser().parse(arguments);
+
         case AddMedicineCommand.COMMAND_WORD:
         case AddMedicineCommand.COMMAND_ALIAS:
             return new AddMedicineCommandParser().parse(arguments);
@@ -170,7 +190,7 @@ public class QuickDocsParser {
 
         case AbortConsultationCommand.COMMAND_WORD:
         case AbortConsultationCommand.COMMAND_ALIAS:
-            return new AbortConsultationCommand();
+            return new AbortConsultationCommandParser().parse(arguments);
 
         default:
             throw new ParseException(MESSAGE_UNKNOWN_COMMAND);
@@ -0,0 +1,50 @@
+package quickdocs.logic.parser;
+
+import static quickdocs.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+
+import java.time.LocalDate;
+
+import quickdocs.logic.commands.SearchConsultationCommand;
+import quickdocs.logic.parser.exceptions.ParseException;
+import quickdocs.model.consultation.ConsultationTextQuery;
+
+/**
+ * Parses the search text and range of dates entered by the user into a SearchConsultationCommand
+ */
+public class SearchConsultationParser implements Parser<SearchConsultationCommand> {
+
+    public static final Prefix PREFIX_FROM = new Prefix("from/");
+    public static final Prefix PREFIX_TO = new Prefix("to/");
+
+    /**
+     * Parse the search text and the optional range of dates entered by the user to create a
+     * SearchConsultationCommand for the logic manager to execute. Dates that are not entered are unbounded.
+     *
+     * @throws ParseException when no search text is entered, or a date is invalid
+     */
+    @Override
+    public SearchConsultationCommand parse(String args) throws ParseException {
+        ArgumentMultimap argMultimap = ArgumentTokenizer.tokenize(args, PREFIX_FROM, PREFIX_TO);
+        String text = argMultimap.getPreamble().trim();
+        if (text.isEmpty()) {
+            throw new ParseException(
+                    String.format(MESSAGE_INVALID_COMMAND_FORMAT, SearchConsultationCommand.MESSAGE_USAGE));
+        }
+
+        ConsultationTextQuery query;
+        try {
+            query = ConsultationTextQuery.parse(text);
+        } catch (IllegalArgumentException iae) {
+            throw new ParseException(iae.getMessage(), iae);
+        }
+
+        LocalDate fromDate = argMultimap.getValue(PREFIX_FROM).isPresent()
+                ? ParserUtil.parseDate(argMultimap.getValue(PREFIX_FROM).get().trim()) : LocalDate.MIN;
+        LocalDate toDate = argMultimap.getValue(PREFIX_TO).isPresent()
+                ? ParserUtil.parseDate(argMultimap.getValue(PREFIX_TO).get().trim()) : LocalDate.MAX;
+        if (fromDate.isAfter(toDate)) {
+            throw new ParseException(ListConsultationCommandParser.INVALID_DATE_RANGE);
+        }
+        return new SearchConsultationCommand(query, fromDate, toDate);
+    }
+}
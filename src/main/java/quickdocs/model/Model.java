@@ -3,9 +3,11 @@ package quickdocs.model;
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
 
@@ -14,6 +16,8 @@ import javafx.collections.ObservableList;
 import quickdocs.commons.core.GuiSettings;
 import quickdocs.model.appointment.Appointment;
 import quickdocs.model.consultation.Consultation;
+import quickdocs.model.consultation.ConsultationIndexEntry;
+import quickdocs.model.consultation.ConsultationTextQuery;
 import quickdocs.model.consultation.Diagnosis;
 import quickdocs.model.consultation.Prescription;
 import quickdocs.model.medicine.Directory;
@@ -24,6 +28,7 @@ import quickdocs.model.record.Record;
 import quickdocs.model.record.Statistics;
 import quickdocs.model.reminder.Reminder;
 import quickdocs.model.tag.Tag;
+import quickdocs.model.tag.TagQuery;
 
 /**
  * The API of the Model component.
@@ -94,8 +99,22 @@ public interface Model {
 
     void addPatient(Patient patient);
 
+    /**
+     * Adds all of the {@code patients} at once, or none of them if two of them, or one of them and an existing
+     * patient, have the same NRIC.
+     *
+     * @return true if the patients are added
+     */
+    boolean addAllPatients(List<Patient> patients);
+
     boolean isPatientListEmpty();
 
+    /**
+     * Returns the patients whose NRIC starts with {@code prefix}, or every patient if it is empty,
+     * in the order they were added.
+     */
+    List<Patient> getPatientsByNricPrefix(String prefix);
+
     boolean checkValidIndex(int index);
 
     Patient getPatientAtIndex(int index);
@@ -106,12 +125,18 @@ public interface Model {
 
     String findPatientsByName(String searchSequence);
 
-    String listFiftyPatients();
+    String findPatientsByFuzzyName(String searchSequence);
+
+    String listPatientsOnPage(int page);
+
+    String listPatientsAfterNric(String nric);
 
     String findPatientsByNric(String searchSequence);
 
     String findPatientsByTag(Tag tag);
 
+    String findPatientsByTags(TagQuery tagQuery);
+
     Patient getPatientByNric(String nric);
 
     Optional<Patient> getPatientByNric(Nric nric);
@@ -124,24 +149,63 @@ public interface Model {
 
     void createConsultation(Patient patient);
 
+    /**
+     * Starts a consultation with {@code patient} in the session held by the doctor or room {@code sessionId}.
+     */
+    void createConsultation(String sessionId, Patient patient);
+
     void diagnosePatient(Diagnosis diagnosis);
 
+    void diagnosePatient(String sessionId, Diagnosis diagnosis);
+
     boolean checkConsultation();
 
+    boolean checkConsultation(String sessionId);
+
     void prescribeMedicine(ArrayList<Prescription> prescriptions);
 
+    void prescribeMedicine(String sessionId, ArrayList<Prescription> prescriptions);
+
     Consultation getCurrentConsultation();
 
-    ArrayList<Consultation> getConsultationList();
+    /**
+     * Returns the ongoing consultation of the session {@code sessionId}, or null if there is none.
+     */
+    Consultation getCurrentConsultation(String sessionId);
+
+    List<Consultation> getConsultationList();
+
+    /**
+     * Returns the positions in {@link #getConsultationList()} of the past consultations whose index entries
+     * match {@code filter}, in increasing order.
+     */
+    List<Integer> findConsultationPositions(Predicate<ConsultationIndexEntry> filter);
 
     void endConsultation();
 
+    void endConsultation(String sessionId);
+
     ArrayList<Consultation> listConsultation(String value);
 
+    /**
+     * Returns the past consultations held from {@code from} to {@code to} inclusive whose index entries
+     * match {@code filter}, in the order they were held.
+     */
+    ArrayList<Consultation> listConsultation(LocalDateTime from, LocalDateTime to,
+                                             Predicate<ConsultationIndexEntry> filter);
+
     Consultation listConsultation(int index);
 
+    /**
+     * Returns the positions in {@link #getConsultationList()} of the past consultations whose diagnoses match
+     * {@code query} and whose index entries match {@code filter}, with the best matches first.
+     */
+    List<Integer> searchConsultations(ConsultationTextQuery query, Predicate<ConsultationIndexEntry> filter);
+
     void abortConsultation();
 
+    void abortConsultation(String sessionId);
+
     void executePrescription(Prescription prescription);
     //===========Appointment module operations========================
     boolean hasTimeConflicts(Appointment app);
@@ -152,6 +216,8 @@ public interface Model {
 
     String listApp(Patient patient);
 
+    String listApp(Patient patient, LocalDateTime now, boolean isUpcoming);
+
     String freeApp(LocalDate start, LocalDate end);
 
     Optional<Appointment> getAppointment(LocalDate date, LocalTime start);
@@ -10,9 +10,11 @@ import static quickdocs.commons.util.CollectionUtil.requireAllNonNull;
 import java.math.BigDecimal;
 import java.time.Clock;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.logging.Logger;
@@ -26,7 +28,9 @@ import quickdocs.commons.core.LogsCenter;
 import quickdocs.model.appointment.Appointment;
 import quickdocs.model.appointment.AppointmentManager;
 import quickdocs.model.consultation.Consultation;
+import quickdocs.model.consultation.ConsultationIndexEntry;
 import quickdocs.model.consultation.ConsultationManager;
+import quickdocs.model.consultation.ConsultationTextQuery;
 import quickdocs.model.consultation.Diagnosis;
 import quickdocs.model.consultation.Prescription;
 import quickdocs.model.medicine.Directory;
@@ -44,6 +48,7 @@ import quickdocs.model.reminder.ReminderManager;
 import quickdocs.model.reminder.ReminderWithinDatesPredicate;
 import quickdocs.model.reminder.exceptions.ReminderNotFoundException;
 import quickdocs.model.tag.Tag;
+import quickdocs.model.tag.TagQuery;
 
 /**
  * Represents the in-memory model of the address book data.
@@ -120,26 +125,26 @@ public class ModelManager implements Model {
     public void addMedicine(String medicineName, String[] path, BigDecimal price) {
         Medicine medicine = medicineManager.addMedicine(medicineName, path, price);
         reminderForMedicine(medicine);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(QuickDocsChange.addMedicine(medicine, path));
     }
 
     @Override
     public void addMedicine(String medicineName, int quantity, String[] path, BigDecimal price) {
         Medicine medicine = medicineManager.addMedicine(medicineName, quantity, path, price);
         reminderForMedicine(medicine);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(QuickDocsChange.addMedicine(medicine, path));
     }
 
     @Override
     public void addExistingMedicineToDirectory(Medicine medicine, String[] path) {
         medicineManager.addExistingMedicineToDirectory(medicine, path);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(QuickDocsChange.addMedicine(medicine, path));
     }
 
     @Override
     public void addDirectory(String directoryName, String[] path) {
         medicineManager.addDirectory(directoryName, path);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(QuickDocsChange.addDirectory(directoryName, path));
     }
 
     @Override
@@ -157,7 +162,7 @@ public class ModelManager implements Model {
         Medicine medicine = medicineManager.purchaseMedicine(path, quantity);
         reminderForMedicine(medicine);
         addRecord(new MedicinePurchaseRecord(medicine, quantity, cost), Clock.systemDefaultZone());
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(QuickDocsChange.updateMedicine(medicine));
     }
 
     @Override
@@ -165,7 +170,7 @@ public class ModelManager implements Model {
         Medicine medicine = medicineManager.purchaseMedicine(medicineName, quantity);
         reminderForMedicine(medicine);
         addRecord(new MedicinePurchaseRecord(medicine, quantity, cost), Clock.systemDefaultZone());
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(QuickDocsChange.updateMedicine(medicine));
     }
 
     @Override
@@ -177,25 +182,34 @@ public class ModelManager implements Model {
     public void setThreshold(Medicine medicine, int threshold) {
         medicine.setThreshold(threshold);
         reminderForMedicine(medicine);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(QuickDocsChange.updateMedicine(medicine));
     }
 
     @Override
     public void setThreshold(Directory directory, int threshold) {
+        setThresholdUnder(directory, threshold);
+        quickDocs.recordChange(QuickDocsChange.updateDirectory(directory));
+    }
+
+    /**
+     * Sets the threshold of {@code directory} and of every medicine and directory under it.
+     * The change is recorded once for the whole directory by the caller.
+     */
+    private void setThresholdUnder(Directory directory, int threshold) {
         directory.setThreshold(threshold);
         for (Medicine medicine : directory.getListOfMedicine()) {
-            setThreshold(medicine, threshold);
+            medicine.setThreshold(threshold);
+            reminderForMedicine(medicine);
         }
         for (Directory subDirectory : directory.getListOfDirectory()) {
-            setThreshold(subDirectory, threshold);
+            setThresholdUnder(subDirectory, threshold);
         }
-        quickDocs.indicateModification(true);
     }
 
     @Override
     public void setPrice(Medicine medicine, BigDecimal price) {
         medicine.setPrice(price);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(QuickDocsChange.updateMedicine(medicine));
     }
 
     @Override
@@ -272,7 +286,18 @@ public class ModelManager implements Model {
      */
     public void addPatient(Patient patient) {
         this.patientManager.addPatient(patient);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(QuickDocsChange.addPatient(patient));
+    }
+
+    @Override
+    public boolean addAllPatients(List<Patient> patients) {
+        if (!this.patientManager.addAllPatients(patients)) {
+            return false;
+        }
+        for (Patient patient : patients) {
+            quickDocs.recordChange(QuickDocsChange.addPatient(patient));
+        }
+        return true;
     }
 
     // for editing
@@ -280,6 +305,11 @@ public class ModelManager implements Model {
         return this.patientManager.isPatientListEmpty();
     }
 
+    @Override
+    public List<Patient> getPatientsByNricPrefix(String prefix) {
+        return this.patientManager.getPatientsByNricPrefix(prefix);
+    }
+
     public boolean checkValidIndex(int index) {
         return this.patientManager.checkValidIndex(index);
     }
@@ -293,11 +323,18 @@ public class ModelManager implements Model {
     }
 
     /**
-     * Replace the patient at index with the edited version
+     * Replaces the patient at {@code index} with {@code editedPatient}.
+     * If the NRIC of the patient is changed, the consultations of the patient have to be saved with
+     * a copy of the patient, so the consultations are indicated to be modified as well.
      */
     public void replacePatient(int index, Patient editedPatient) {
-        this.patientManager.replacePatient(index, editedPatient);
-        quickDocs.indicateModification(true);
+        boolean isNricChanged = !this.patientManager.getPatientAtIndex(index).getNric()
+                .equals(editedPatient.getNric());
+        quickDocs.replacePatient(index, editedPatient);
+        quickDocs.recordChange(QuickDocsChange.replacePatient(index, editedPatient));
+        if (isNricChanged) {
+            this.consultationManager.indicateModification(true);
+        }
     }
 
     // for listing
@@ -305,8 +342,16 @@ public class ModelManager implements Model {
         return this.patientManager.findPatientsByName(searchSequence);
     }
 
-    public String listFiftyPatients() {
-        return this.patientManager.listFiftyPatients();
+    public String findPatientsByFuzzyName(String searchSequence) {
+        return this.patientManager.findPatientsByFuzzyName(searchSequence);
+    }
+
+    public String listPatientsOnPage(int page) {
+        return this.patientManager.listPatientsOnPage(page);
+    }
+
+    public String listPatientsAfterNric(String nric) {
+        return this.patientManager.listPatientsAfterNric(nric);
     }
 
     public String findPatientsByNric(String searchSequence) {
@@ -317,6 +362,10 @@ public class ModelManager implements Model {
         return this.patientManager.findPatientsByTag(tag);
     }
 
+    public String findPatientsByTags(TagQuery tagQuery) {
+        return this.patientManager.findPatientsByTags(tagQuery);
+    }
+
     public Patient getPatientByNric(String nric) {
         return this.patientManager.getPatientByNric(nric);
     }
@@ -334,8 +383,8 @@ public class ModelManager implements Model {
      * @param nric of the patient to be deleted
      */
     public void deletePatientByNric(String nric) {
-        this.patientManager.deletePatientByNric(nric);
-        quickDocs.indicateModification(true);
+        quickDocs.deletePatient(nric);
+        quickDocs.recordChange(QuickDocsChange.deletePatient(nric));
     }
 
     //==========Consultation module============================================================================
@@ -344,46 +393,101 @@ public class ModelManager implements Model {
         this.consultationManager.createConsultation(patient);
     }
 
+    @Override
+    public void createConsultation(String sessionId, Patient patient) {
+        this.consultationManager.createConsultation(sessionId, patient);
+    }
+
     public void diagnosePatient(Diagnosis diagnosis) {
         this.consultationManager.diagnosePatient(diagnosis);
     }
 
+    @Override
+    public void diagnosePatient(String sessionId, Diagnosis diagnosis) {
+        this.consultationManager.diagnosePatient(sessionId, diagnosis);
+    }
+
     public boolean checkConsultation() {
         return this.consultationManager.checkConsultation();
     }
 
+    @Override
+    public boolean checkConsultation(String sessionId) {
+        return this.consultationManager.checkConsultation(sessionId);
+    }
+
     public void prescribeMedicine(ArrayList<Prescription> prescriptions) {
         this.consultationManager.prescribeMedicine(prescriptions);
     }
 
+    @Override
+    public void prescribeMedicine(String sessionId, ArrayList<Prescription> prescriptions) {
+        this.consultationManager.prescribeMedicine(sessionId, prescriptions);
+    }
+
     /**
      * end the current consultation session, no further edits can be made
      */
     public void endConsultation() {
-        this.consultationManager.endConsultation();
-        quickDocs.indicateModification(true);
+        Consultation consultation = this.consultationManager.endConsultation();
+        quickDocs.recordChange(QuickDocsChange.addConsultation(consultation));
+    }
+
+    /**
+     * end the consultation session held by the doctor or room {@code sessionId}, no further edits can be made
+     */
+    @Override
+    public void endConsultation(String sessionId) {
+        Consultation consultation = this.consultationManager.endConsultation(sessionId);
+        quickDocs.recordChange(QuickDocsChange.addConsultation(consultation));
     }
 
     public Consultation getCurrentConsultation() {
         return this.consultationManager.getCurrentConsultation();
     }
 
-    public ArrayList<Consultation> getConsultationList() {
+    @Override
+    public Consultation getCurrentConsultation(String sessionId) {
+        return this.consultationManager.getCurrentConsultation(sessionId);
+    }
+
+    public List<Consultation> getConsultationList() {
         return this.consultationManager.getConsultationList();
     }
 
+    @Override
+    public List<Integer> findConsultationPositions(Predicate<ConsultationIndexEntry> filter) {
+        return this.consultationManager.findConsultationPositions(filter);
+    }
+
     public ArrayList<Consultation> listConsultation(String value) {
         return this.consultationManager.listConsultation(value);
     }
 
+    @Override
+    public ArrayList<Consultation> listConsultation(LocalDateTime from, LocalDateTime to,
+                                                    Predicate<ConsultationIndexEntry> filter) {
+        return this.consultationManager.listConsultation(from, to, filter);
+    }
+
     public Consultation listConsultation(int index) {
         return this.consultationManager.listConsultation(index);
     }
 
+    @Override
+    public List<Integer> searchConsultations(ConsultationTextQuery query, Predicate<ConsultationIndexEntry> filter) {
+        return this.consultationManager.searchConsultations(query, filter);
+    }
+
     public void abortConsultation() {
         this.consultationManager.abortConsultation();
     }
 
+    @Override
+    public void abortConsultation(String sessionId) {
+        this.consultationManager.abortConsultation(sessionId);
+    }
+
     /**
      * Executes subtraction of medicine quantity according to prescription; checks medicine quantities for reminders;
      * @param prescription the prescription to execute
@@ -391,6 +495,7 @@ public class ModelManager implements Model {
     public void executePrescription(Prescription prescription) {
         prescription.getMedicine().subtractQuantity(prescription.getQuantity());
         reminderForMedicine(prescription.getMedicine());
+        quickDocs.recordChange(QuickDocsChange.updateMedicine(prescription.getMedicine()));
     }
     //==========Appointment module===========================================================================
 
@@ -402,9 +507,9 @@ public class ModelManager implements Model {
      */
     public void addApp(Appointment app) {
         appointmentManager.addAppointment(app);
+        quickDocs.recordChange(QuickDocsChange.addAppointment(app));
         Reminder remToAdd = createRemFromApp(app);
         addRem((remToAdd));
-        quickDocs.indicateModification(true);
     }
 
     /**
@@ -414,9 +519,9 @@ public class ModelManager implements Model {
      */
     public void deleteAppointment(Appointment appointment) {
         Optional<Reminder> reminder = reminderManager.getReminder(appointment);
-        reminder.ifPresent(r -> reminderManager.delete(reminder.get()));
+        reminder.ifPresent(this::deleteReminder);
         appointmentManager.delete(appointment);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(QuickDocsChange.deleteAppointment(appointment));
     }
 
     public Optional<Appointment> getAppointment(LocalDate date, LocalTime start) {
@@ -435,8 +540,12 @@ public class ModelManager implements Model {
         return appointmentManager.listAppointments(patient);
     }
 
+    public String listApp(Patient patient, LocalDateTime now, boolean isUpcoming) {
+        return appointmentManager.listAppointments(patient, now, isUpcoming);
+    }
+
     public String freeApp(LocalDate start, LocalDate end) {
-        return appointmentManager.listFreeSlots(start, end);
+        return appointmentManager.listFreeSlots(start, end, userPrefs.getOpeningHours());
     }
 
     //==========Reminder module==============================================================================
@@ -448,7 +557,7 @@ public class ModelManager implements Model {
      */
     public void addRem(Reminder rem) {
         reminderManager.addReminder(rem);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(QuickDocsChange.addReminder(rem));
     }
 
     /**
@@ -458,7 +567,7 @@ public class ModelManager implements Model {
      */
     public void deleteReminder(Reminder reminder) {
         reminderManager.delete(reminder);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(QuickDocsChange.deleteReminder(reminder));
     }
 
     private Reminder createRemFromApp(Appointment app) {
@@ -475,8 +584,9 @@ public class ModelManager implements Model {
      * @param medicine the {@code Medicine} that has quantity below its threshold.
      */
     public void reminderForMedicine(Medicine medicine) {
+        List<Reminder> outdatedReminders = reminderManager.getMedicineReminders(medicine);
         reminderManager.reminderForMedicine(medicine);
-        quickDocs.indicateModification(true);
+        recordMedicineReminderChanges(outdatedReminders, reminderManager.getMedicineReminders(medicine));
     }
 
     /**
@@ -485,8 +595,24 @@ public class ModelManager implements Model {
      * @param medicine {@code Medicine} that is no longer in need of the {@code Reminder} previously created.
      */
     public void deleteExistingReminderForMedicine(Medicine medicine) {
+        List<Reminder> outdatedReminders = reminderManager.getMedicineReminders(medicine);
         if (reminderManager.deleteExistingMedicineReminder(medicine)) {
-            quickDocs.indicateModification(true);
+            recordMedicineReminderChanges(outdatedReminders, reminderManager.getMedicineReminders(medicine));
+        }
+    }
+
+    /**
+     * Records the replacement of low quantity {@code Reminder}s of a {@code Medicine}.
+     *
+     * @param outdatedReminders the {@code Reminder}s of the {@code Medicine} before the replacement.
+     * @param currentReminders the {@code Reminder}s of the {@code Medicine} after the replacement.
+     */
+    private void recordMedicineReminderChanges(List<Reminder> outdatedReminders, List<Reminder> currentReminders) {
+        for (Reminder reminder : outdatedReminders) {
+            quickDocs.recordChange(QuickDocsChange.deleteReminder(reminder));
+        }
+        for (Reminder reminder : currentReminders) {
+            quickDocs.recordChange(QuickDocsChange.addReminder(reminder));
         }
     }
 
@@ -500,11 +626,11 @@ public class ModelManager implements Model {
      */
     public void addRecord(Record record, Clock clock) {
         statisticsManager.record(record, clock);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(QuickDocsChange.statistics());
     }
 
     public void setConsultationFee(BigDecimal fee) {
         statisticsManager.setConsultationFee(fee);
-        quickDocs.indicateModification(true);
+        quickDocs.recordChange(QuickDocsChange.statistics());
     }
 }
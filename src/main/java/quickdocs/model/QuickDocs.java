@@ -1,8 +1,13 @@
 package quickdocs.model;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
 import quickdocs.model.appointment.AppointmentManager;
 import quickdocs.model.consultation.ConsultationManager;
 import quickdocs.model.medicine.MedicineManager;
+import quickdocs.model.patient.Patient;
 import quickdocs.model.patient.PatientManager;
 import quickdocs.model.record.StatisticsManager;
 import quickdocs.model.reminder.ReminderManager;
@@ -21,6 +26,11 @@ public class QuickDocs {
 
     private boolean isModified = false;
 
+    // changes made since the last save, in the order they were made
+    private final List<QuickDocsChange> changes = new ArrayList<>();
+    // true if a modification was indicated without recording what was changed
+    private boolean hasUnrecordedChanges = false;
+
     public MedicineManager getMedicineManager() {
         return medicineManager;
     }
@@ -49,13 +59,115 @@ public class QuickDocs {
         this.statisticsManager = statisticsManager;
     }
 
+    /**
+     * Replaces the patient at {@code index} with {@code editedPatient}, keeping a copy of the patient for
+     * its past consultations if its NRIC is changed.
+     */
+    public void replacePatient(int index, Patient editedPatient) {
+        Patient oldPatient = patientManager.getPatientAtIndex(index);
+        if (!oldPatient.getNric().equals(editedPatient.getNric())) {
+            consultationManager.keepFormerPatient(oldPatient);
+        }
+        patientManager.replacePatient(index, editedPatient);
+    }
+
+    /**
+     * Deletes the patient with the given {@code nric}, keeping a copy of the patient for its past consultations.
+     */
+    public void deletePatient(String nric) {
+        Patient deletedPatient = patientManager.getPatientByNric(nric);
+        if (deletedPatient != null) {
+            consultationManager.keepFormerPatient(deletedPatient);
+        }
+        patientManager.deletePatientByNric(nric);
+    }
+
     // indicate modification of quickdocs data
     public boolean isModified() {
         return isModified;
     }
 
+    /**
+     * Sets the modification state of quickdocs data and all of its managers.
+     * Indicating a modification this way does not record what was changed, so the whole of
+     * QuickDocs has to be saved. Clearing the modification state discards all recorded changes.
+     */
     public void indicateModification(boolean state) {
         isModified = state;
+        hasUnrecordedChanges = state;
+        if (!state) {
+            changes.clear();
+        }
+
+        patientManager.indicateModification(state);
+        consultationManager.indicateModification(state);
+        appointmentManager.indicateModification(state);
+        reminderManager.indicateModification(state);
+        medicineManager.indicateModification(state);
+        statisticsManager.indicateModification(state);
+    }
+
+    /**
+     * Indicates that the manager holding the data changed by changes of the given type is modified,
+     * without recording a change
+     */
+    public void indicateModification(QuickDocsChange.Type changeType) {
+        switch (changeType) {
+        case ADD_PATIENT:
+        case REPLACE_PATIENT:
+            patientManager.indicateModification(true);
+            break;
+        case DELETE_PATIENT:
+            // consultations of the deleted patient have to be saved with a copy of the patient
+            patientManager.indicateModification(true);
+            consultationManager.indicateModification(true);
+            break;
+        case ADD_CONSULTATION:
+            consultationManager.indicateModification(true);
+            break;
+        case ADD_APPOINTMENT:
+        case DELETE_APPOINTMENT:
+            appointmentManager.indicateModification(true);
+            break;
+        case ADD_REMINDER:
+        case DELETE_REMINDER:
+            reminderManager.indicateModification(true);
+            break;
+        case ADD_MEDICINE:
+        case UPDATE_MEDICINE:
+        case ADD_DIRECTORY:
+        case UPDATE_DIRECTORY:
+        case MEDICINE:
+            medicineManager.indicateModification(true);
+            break;
+        case STATISTICS:
+            statisticsManager.indicateModification(true);
+            break;
+        default:
+            throw new AssertionError("Unknown change type: " + changeType);
+        }
+    }
+
+    /**
+     * Records a change made to quickdocs data and indicates that the data and the manager
+     * holding the changed data are modified
+     */
+    public void recordChange(QuickDocsChange change) {
+        changes.add(change);
+        isModified = true;
+        indicateModification(change.getType());
+    }
+
+    public List<QuickDocsChange> getChanges() {
+        return Collections.unmodifiableList(changes);
+    }
+
+    /**
+     * Returns true if the recorded changes do not describe every modification made
+     * since the last save
+     */
+    public boolean hasUnrecordedChanges() {
+        return hasUnrecordedChanges;
     }
 
     @Override
@@ -0,0 +1,236 @@
+package quickdocs.model;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Arrays;
+
+import quickdocs.model.appointment.Appointment;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.medicine.Directory;
+import quickdocs.model.medicine.Medicine;
+import quickdocs.model.patient.Patient;
+import quickdocs.model.reminder.Reminder;
+
+/**
+ * Represents a single modification made to the data held by {@link QuickDocs}.
+ * Changes are recorded in the order they are made so that storage only needs to
+ * persist what was modified since the last save instead of every record.
+ *
+ * Medicine changes carry the medicine or directory that changed, whose current state is read when
+ * the change is persisted. Statistics changes do not carry a payload, the current state of the
+ * statistics module is read when the change is persisted.
+ */
+public class QuickDocsChange {
+
+    /**
+     * The kinds of modification that can be recorded
+     */
+    public enum Type {
+        ADD_PATIENT,
+        REPLACE_PATIENT,
+        DELETE_PATIENT,
+        ADD_CONSULTATION,
+        ADD_APPOINTMENT,
+        DELETE_APPOINTMENT,
+        ADD_REMINDER,
+        DELETE_REMINDER,
+        ADD_MEDICINE,
+        UPDATE_MEDICINE,
+        ADD_DIRECTORY,
+        UPDATE_DIRECTORY,
+        // replaces the whole medicine module, only found in journals saved before medicine changes were recorded
+        MEDICINE,
+        STATISTICS
+    }
+
+    private final Type type;
+    private int index = -1;
+    private String nric;
+    private Patient patient;
+    private Consultation consultation;
+    private Appointment appointment;
+    private Reminder reminder;
+    private Medicine medicine;
+    private Directory directory;
+    private String[] path;
+
+    private QuickDocsChange(Type type) {
+        this.type = type;
+    }
+
+    /**
+     * Returns a change that adds {@code patient} to the patient records.
+     */
+    public static QuickDocsChange addPatient(Patient patient) {
+        requireNonNull(patient);
+        QuickDocsChange change = new QuickDocsChange(Type.ADD_PATIENT);
+        change.patient = patient;
+        return change;
+    }
+
+    /**
+     * Returns a change indicating that the patient record at {@code index} was replaced
+     * by {@code editedPatient}
+     */
+    public static QuickDocsChange replacePatient(int index, Patient editedPatient) {
+        requireNonNull(editedPatient);
+        QuickDocsChange change = new QuickDocsChange(Type.REPLACE_PATIENT);
+        change.index = index;
+        change.patient = editedPatient;
+        return change;
+    }
+
+    /**
+     * Returns a change that deletes the patient with the given {@code nric}.
+     */
+    public static QuickDocsChange deletePatient(String nric) {
+        requireNonNull(nric);
+        QuickDocsChange change = new QuickDocsChange(Type.DELETE_PATIENT);
+        change.nric = nric;
+        return change;
+    }
+
+    /**
+     * Returns a change that adds the ended {@code consultation} to the consultation records.
+     */
+    public static QuickDocsChange addConsultation(Consultation consultation) {
+        requireNonNull(consultation);
+        QuickDocsChange change = new QuickDocsChange(Type.ADD_CONSULTATION);
+        change.consultation = consultation;
+        return change;
+    }
+
+    /**
+     * Returns a change that adds {@code appointment} to the appointment records.
+     */
+    public static QuickDocsChange addAppointment(Appointment appointment) {
+        requireNonNull(appointment);
+        QuickDocsChange change = new QuickDocsChange(Type.ADD_APPOINTMENT);
+        change.appointment = appointment;
+        return change;
+    }
+
+    /**
+     * Returns a change that deletes {@code appointment} from the appointment records.
+     */
+    public static QuickDocsChange deleteAppointment(Appointment appointment) {
+        requireNonNull(appointment);
+        QuickDocsChange change = new QuickDocsChange(Type.DELETE_APPOINTMENT);
+        change.appointment = appointment;
+        return change;
+    }
+
+    /**
+     * Returns a change that adds {@code reminder} to the reminder records.
+     */
+    public static QuickDocsChange addReminder(Reminder reminder) {
+        requireNonNull(reminder);
+        QuickDocsChange change = new QuickDocsChange(Type.ADD_REMINDER);
+        change.reminder = reminder;
+        return change;
+    }
+
+    /**
+     * Returns a change that deletes {@code reminder} from the reminder records.
+     */
+    public static QuickDocsChange deleteReminder(Reminder reminder) {
+        requireNonNull(reminder);
+        QuickDocsChange change = new QuickDocsChange(Type.DELETE_REMINDER);
+        change.reminder = reminder;
+        return change;
+    }
+
+    /**
+     * Returns a change that adds {@code medicine} to the directory at {@code path}, which also adds
+     * it to the medicine records if it is not already in them.
+     */
+    public static QuickDocsChange addMedicine(Medicine medicine, String[] path) {
+        requireNonNull(medicine);
+        requireNonNull(path);
+        QuickDocsChange change = new QuickDocsChange(Type.ADD_MEDICINE);
+        change.medicine = medicine;
+        change.path = path.clone();
+        return change;
+    }
+
+    /**
+     * Returns a change indicating that the quantity, price or threshold of {@code medicine} was changed.
+     */
+    public static QuickDocsChange updateMedicine(Medicine medicine) {
+        requireNonNull(medicine);
+        QuickDocsChange change = new QuickDocsChange(Type.UPDATE_MEDICINE);
+        change.medicine = medicine;
+        return change;
+    }
+
+    /**
+     * Returns a change that adds a directory named {@code directoryName} under the directory at {@code path}.
+     */
+    public static QuickDocsChange addDirectory(String directoryName, String[] path) {
+        requireNonNull(directoryName);
+        requireNonNull(path);
+        QuickDocsChange change = new QuickDocsChange(Type.ADD_DIRECTORY);
+        change.path = Arrays.copyOf(path, path.length + 1);
+        change.path[path.length] = directoryName;
+        return change;
+    }
+
+    /**
+     * Returns a change indicating that the threshold of {@code directory} was set, along with the thresholds
+     * of every medicine and directory under it.
+     */
+    public static QuickDocsChange updateDirectory(Directory directory) {
+        requireNonNull(directory);
+        QuickDocsChange change = new QuickDocsChange(Type.UPDATE_DIRECTORY);
+        change.directory = directory;
+        return change;
+    }
+
+    public static QuickDocsChange statistics() {
+        return new QuickDocsChange(Type.STATISTICS);
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getNric() {
+        return nric;
+    }
+
+    public Patient getPatient() {
+        return patient;
+    }
+
+    public Consultation getConsultation() {
+        return consultation;
+    }
+
+    public Appointment getAppointment() {
+        return appointment;
+    }
+
+    public Reminder getReminder() {
+        return reminder;
+    }
+
+    public Medicine getMedicine() {
+        return medicine;
+    }
+
+    public Directory getDirectory() {
+        return directory;
+    }
+
+    /**
+     * Returns the path of the directory a medicine or directory was added to, or null if there is none.
+     * The path of an added directory ends with the directory itself.
+     */
+    public String[] getPath() {
+        return path == null ? null : path.clone();
+    }
+}
@@ -1,8 +1,12 @@
 package quickdocs.model;
 
 import java.nio.file.Path;
+import java.time.DayOfWeek;
+import java.util.Map;
 
 import quickdocs.commons.core.GuiSettings;
+import quickdocs.commons.core.OpeningHours;
+import quickdocs.commons.core.StorageFormat;
 
 /**
  * Unmodifiable view of user prefs.
@@ -12,4 +16,8 @@ public interface ReadOnlyUserPrefs {
     GuiSettings getGuiSettings();
 
     Path getQuickDocsFilePath();
+
+    StorageFormat getStorageFormat();
+
+    Map<DayOfWeek, OpeningHours> getOpeningHours();
 }
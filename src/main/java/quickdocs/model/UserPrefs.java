@@ -4,9 +4,15 @@ import static java.util.Objects.requireNonNull;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Objects;
 
 import quickdocs.commons.core.GuiSettings;
+import quickdocs.commons.core.OpeningHours;
+import quickdocs.commons.core.StorageFormat;
 
 /**
  * Represents User's preferences.
@@ -15,6 +21,9 @@ public class UserPrefs implements ReadOnlyUserPrefs {
 
     private GuiSettings guiSettings = new GuiSettings();
     private Path quickDocsFilePath = Paths.get("data", "quickdocs.json");
+    private StorageFormat storageFormat = StorageFormat.JSON;
+    // the clinic is closed on the days left out
+    private Map<DayOfWeek, OpeningHours> openingHours = OpeningHours.getDefaultWeek();
 
     /**
      * Creates a {@code UserPrefs} with default values.
@@ -36,6 +45,8 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         requireNonNull(newUserPrefs);
         setGuiSettings(newUserPrefs.getGuiSettings());
         setQuickDocsFilePath(newUserPrefs.getQuickDocsFilePath());
+        setStorageFormat(newUserPrefs.getStorageFormat());
+        setOpeningHours(newUserPrefs.getOpeningHours());
     }
 
     public GuiSettings getGuiSettings() {
@@ -56,6 +67,31 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         this.quickDocsFilePath = quickDocsFilePath;
     }
 
+    public StorageFormat getStorageFormat() {
+        return storageFormat;
+    }
+
+    public void setStorageFormat(StorageFormat storageFormat) {
+        requireNonNull(storageFormat);
+        this.storageFormat = storageFormat;
+    }
+
+    /**
+     * Returns the opening hours of the clinic on each day of the week that it is open.
+     */
+    public Map<DayOfWeek, OpeningHours> getOpeningHours() {
+        return Collections.unmodifiableMap(openingHours);
+    }
+
+    /**
+     * Sets the opening hours of the clinic on each day of the week that it is open.
+     * The clinic is closed on the days left out of {@code openingHours}.
+     */
+    public void setOpeningHours(Map<DayOfWeek, OpeningHours> openingHours) {
+        requireNonNull(openingHours);
+        this.openingHours = openingHours.isEmpty() ? new EnumMap<>(DayOfWeek.class) : new EnumMap<>(openingHours);
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -68,12 +104,14 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         UserPrefs o = (UserPrefs) other;
 
         return guiSettings.equals(o.guiSettings)
-                && quickDocsFilePath.equals(o.quickDocsFilePath);
+                && quickDocsFilePath.equals(o.quickDocsFilePath)
+                && storageFormat == o.storageFormat
+                && openingHours.equals(o.openingHours);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(guiSettings, quickDocsFilePath);
+        return Objects.hash(guiSettings, quickDocsFilePath, storageFormat, openingHours);
     }
 
     @Override
@@ -81,6 +119,8 @@ public class UserPrefs implements ReadOnlyUserPrefs {
         StringBuilder sb = new StringBuilder();
         sb.append("Gui Settings : " + guiSettings);
         sb.append("\nLocal data file location : " + quickDocsFilePath);
+        sb.append("\nLocal data file format : " + storageFormat);
+        sb.append("\nOpening hours : " + openingHours);
         return sb.toString();
     }
 
@@ -1,41 +1,94 @@
 package quickdocs.model.appointment;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.NavigableSet;
 import java.util.Optional;
-import java.util.stream.Collectors;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
 
-import quickdocs.model.Slot;
+import quickdocs.commons.core.OpeningHours;
+import quickdocs.model.patient.Nric;
 import quickdocs.model.patient.Patient;
 
 /**
  * Manages the list of {@code Appointments} created.
+ * The appointments are held in a {@code DaySchedule} for each date, so that adding an appointment, checking it
+ * for conflicts and listing the appointments of a few days take time in the number of days with appointments
+ * and the appointments listed, rather than in every appointment ever made.
+ * The appointments of each patient are also held in order by their NRIC, so that the upcoming or past
+ * appointments of a patient can be listed without going through the appointments of every other patient.
  */
 public class AppointmentManager {
-    public static final LocalTime OPENING_HOUR = LocalTime.parse("09:00");
-    public static final LocalTime CLOSING_HOUR = LocalTime.parse("18:00");
+    public static final LocalTime OPENING_HOUR = OpeningHours.DEFAULT_OPENING;
+    public static final LocalTime CLOSING_HOUR = OpeningHours.DEFAULT_CLOSING;
 
-    private final List<Appointment> appointments;
+    // orders the appointments of a patient, which can only start at the same time in older data files
+    private static final Comparator<Appointment> PATIENT_APPOINTMENT_ORDER = Comparator
+            .comparing(Appointment::getDate)
+            .thenComparing(Appointment::getStart)
+            .thenComparing(Appointment::getEnd)
+            .thenComparing(Appointment::getComment);
 
-    public AppointmentManager() {
-        appointments = new ArrayList<>();
-    }
+    private final NavigableMap<LocalDate, DaySchedule> schedules = new TreeMap<>();
+    private final Map<Nric, NavigableSet<Appointment>> patientAppointments = new HashMap<>();
+    private int size = 0;
+
+    // true if the appointments were modified since they were last saved
+    private boolean isModified = false;
 
+    /**
+     * Returns all of the appointments, sorted by their dates and start times.
+     */
     public List<Appointment> getAppointmentList() {
-        return appointments;
+        List<Appointment> appointments = new ArrayList<>(size);
+        for (DaySchedule schedule : schedules.values()) {
+            schedule.addAllTo(appointments);
+        }
+        return Collections.unmodifiableList(appointments);
     }
 
+    /**
+     * Removes {@code app} from the appointments, if it is one of them.
+     */
     public void delete(Appointment app) {
+        DaySchedule schedule = schedules.get(app.getDate());
+        if (schedule == null || !schedule.remove(app)) {
+            return;
+        }
+
+        size--;
+        if (schedule.isEmpty()) {
+            schedules.remove(app.getDate());
+        }
+
+        Nric nric = app.getPatient().getNric();
+        NavigableSet<Appointment> appointments = patientAppointments.get(nric);
         appointments.remove(app);
+        if (appointments.isEmpty()) {
+            patientAppointments.remove(nric);
+        }
     }
 
+    /**
+     * Returns true if an appointment equal to {@code app} has already been added.
+     */
     public boolean hasDuplicateAppointment(Appointment app) {
-        return appointments.contains(app);
+        DaySchedule schedule = schedules.get(app.getDate());
+        return schedule != null && schedule.contains(app);
     }
 
-
     /**
      * Finds and returns the {@code Appointment} in the list of appointments with the given date and start time,
      * if it exists.
@@ -45,20 +98,13 @@ public class AppointmentManager {
      * @return the {@code Appointment} found, if it exists, else returns {@code Optional.empty()}.
      */
     public Optional<Appointment> getAppointment(LocalDate date, LocalTime start) {
-        List<Appointment> filtered = appointments.stream()
-                .filter(a -> a.getDate().equals(date))
-                .filter(a -> a.getStart().equals(start))
-                .collect(Collectors.toList());
-
-        // filtered cannot contain > 1 appointment as each appointment is uniquely identified by its
-        // date and start fields.
-        assert filtered.size() <= 1;
-
-        if (filtered.isEmpty()) {
+        DaySchedule schedule = schedules.get(date);
+        if (schedule == null) {
             return Optional.empty();
-        } else {
-            return Optional.of(filtered.get(0));
         }
+
+        // each appointment is uniquely identified by its date and start fields
+        return schedule.get(start);
     }
 
     /**
@@ -70,19 +116,13 @@ public class AppointmentManager {
      */
     private List<Appointment> getAppointments(LocalDate start, LocalDate end) {
         List<Appointment> validApps = new ArrayList<>();
-        LocalDate date;
-
-        for (Appointment app : appointments) {
-            date = app.getDate();
-            // Add appointments to validApps only with dates between the given range (inclusive)
-            if (date.compareTo(start) >= 0 && date.compareTo(end) <= 0) {
-                validApps.add(app);
-            }
+        if (start.isAfter(end)) {
+            return validApps;
+        }
 
-            // Stop adding when date of appointment is after given end date, since appointments are already sorted
-            if (date.compareTo(end) > 0) {
-                break;
-            }
+        // only the days with appointments between the given range (inclusive) are visited
+        for (DaySchedule schedule : schedules.subMap(start, true, end, true).values()) {
+            schedule.addAllTo(validApps);
         }
         return validApps;
     }
@@ -94,15 +134,42 @@ public class AppointmentManager {
      * @return {@code List} of {@code Appointment}s that were created for {@code Patient patient}.
      */
     private List<Appointment> getAppointments(Patient patient) {
-        List<Appointment> validApps = new ArrayList<>();
+        return new ArrayList<>(getAppointments(patient.getNric()));
+    }
 
-        for (Appointment app : appointments) {
-            // Add appointments to validApps only if they were created for the given patient
-            if (app.getPatient().equals(patient)) {
-                validApps.add(app);
-            }
-        }
-        return validApps;
+    /**
+     * Returns the {@code Appointment}s of the patient with the given {@code Nric}, sorted by their dates and
+     * start times. The returned set cannot be modified.
+     */
+    public NavigableSet<Appointment> getAppointments(Nric nric) {
+        NavigableSet<Appointment> appointments = patientAppointments.get(nric);
+        return appointments == null
+                ? Collections.emptyNavigableSet()
+                : Collections.unmodifiableNavigableSet(appointments);
+    }
+
+    /**
+     * Returns the {@code Appointment}s of the patient with the given {@code Nric} that start at or after
+     * {@code now}, sorted by their dates and start times. The returned set cannot be modified.
+     */
+    public NavigableSet<Appointment> getUpcomingAppointments(Nric nric, LocalDateTime now) {
+        return getAppointments(nric).tailSet(createProbe(now), true);
+    }
+
+    /**
+     * Returns the {@code Appointment}s of the patient with the given {@code Nric} that started before
+     * {@code now}, sorted by their dates and start times. The returned set cannot be modified.
+     */
+    public NavigableSet<Appointment> getPastAppointments(Nric nric, LocalDateTime now) {
+        return getAppointments(nric).headSet(createProbe(now), false);
+    }
+
+    /**
+     * Returns an {@code Appointment} placed before every appointment of a patient starting at {@code time},
+     * and after every appointment starting earlier, to look up the appointments of a patient by time.
+     */
+    private static Appointment createProbe(LocalDateTime time) {
+        return new Appointment(null, time.toLocalDate(), time.toLocalTime(), LocalTime.MIN, "");
     }
 
     /**
@@ -113,22 +180,41 @@ public class AppointmentManager {
     public void addAppointment(Appointment toAdd) {
         // checking for time conflicts should have happened in AddAppCommand
         assert !this.hasTimeConflicts(toAdd);
-        if (appointments.isEmpty()) {
-            appointments.add(toAdd);
-            return;
-        }
+        addToIndex(toAdd);
+        size++;
+    }
 
-        // place appointment in correct position
-        for (Appointment app : appointments) {
-            if (app.compareTo(toAdd) > 0) {
-                int index = appointments.indexOf(app);
-                appointments.add(index, toAdd);
-                return;
+    /**
+     * Adds {@code toAdd} to the schedule of its date and to the appointments of its patient.
+     */
+    private void addToIndex(Appointment toAdd) {
+        schedules.computeIfAbsent(toAdd.getDate(), date -> new DaySchedule()).add(toAdd);
+        Nric nric = toAdd.getPatient().getNric();
+        patientAppointments.computeIfAbsent(nric, key -> new TreeSet<>(PATIENT_APPOINTMENT_ORDER)).add(toAdd);
+    }
+
+    /**
+     * Adds all of the {@code Appointment}s in {@code toAdd} at once, such as when they are loaded from storage.
+     * The appointments are placed in the same order that adding them one by one with
+     * {@link #addAppointment(Appointment)} would give, without checking them for conflicts.
+     *
+     * @param toAdd the {@code Appointment}s to add.
+     * @return {@code false}, leaving the list of appointments unchanged, if there are duplicate appointments.
+     */
+    public boolean addAllAppointments(List<Appointment> toAdd) {
+        Set<Appointment> added = new HashSet<>();
+        for (Appointment app : toAdd) {
+            if (!added.add(app) || hasDuplicateAppointment(app)) {
+                return false;
             }
         }
 
-        // toAdd is to be placed at the end of the list
-        appointments.add(toAdd);
+        // an appointment is placed after the appointments that start at the same time
+        for (Appointment app : toAdd) {
+            addToIndex(app);
+        }
+        size += toAdd.size();
+        return true;
     }
 
     /**
@@ -139,36 +225,8 @@ public class AppointmentManager {
      * @return {@code true} if there exists a conflict in timing, else return {@code false}.
      */
     public boolean hasTimeConflicts(Appointment otherApp) {
-        LocalDate date = otherApp.getDate();
-
-        for (Appointment app : appointments) {
-            if (app.getDate().compareTo(date) == 0) {
-                if (hasOverlappingTime(app, otherApp)) {
-                    return true;
-                }
-            } else if (app.getDate().isAfter(date)) {
-                // terminate loop early since appointments are already sorted by date and time
-                break;
-            }
-        }
-        return false;
-    }
-
-    /**
-     * Checks if two {@code Appointment}s have an overlap in timing.
-     *
-     * @param appA first {@code Appointment} given.
-     * @param appB second {@code Appontment} given.
-     * @return {@code true} if there is an overlap in timing, else return {@code false}.
-     */
-    private boolean hasOverlappingTime(Appointment appA, Appointment appB) {
-        LocalTime startA = appA.getStart();
-        LocalTime endA = appA.getEnd();
-        LocalTime startB = appB.getStart();
-        LocalTime endB = appB.getEnd();
-
-        // shortcut to check for overlaps between two intervals
-        return startA.isBefore(endB) && startB.isBefore(endA);
+        DaySchedule schedule = schedules.get(otherApp.getDate());
+        return schedule != null && schedule.hasTimeConflicts(otherApp);
     }
 
     /**
@@ -194,6 +252,22 @@ public class AppointmentManager {
         return listAppointments(toList);
     }
 
+    /**
+     * Generates a {@code String} of {@code Appointment} details created for a given {@code Patient}, that
+     * start at or after {@code now} if {@code isUpcoming}, or that started before {@code now} otherwise.
+     *
+     * @param patient the {@code Patient} whose {@code Appointment} details to list.
+     * @param now the {@code LocalDateTime} separating the upcoming appointments from the past ones.
+     * @param isUpcoming whether to list the upcoming appointments instead of the past ones.
+     * @return {@code String} of {@code Appointment} details of the given {@code Patient}.
+     */
+    public String listAppointments(Patient patient, LocalDateTime now, boolean isUpcoming) {
+        NavigableSet<Appointment> toList = isUpcoming
+                ? getUpcomingAppointments(patient.getNric(), now)
+                : getPastAppointments(patient.getNric(), now);
+        return listAppointments(new ArrayList<>(toList));
+    }
+
     /**
      * Generates a {@code String} of {@code Appointment} details given the appointments.
      *
@@ -216,121 +290,31 @@ public class AppointmentManager {
     }
 
     /**
-     * Generates a {@code List} of free {@code Slot}s within a given search range of dates.
+     * Generates a {@code String} of free {@code Slot}s given a search range of dates, with the clinic open
+     * from {@link #OPENING_HOUR} to {@link #CLOSING_HOUR} every day.
      * A {@code Slot} is free if there are no {@code Appointment}s scheduled during that time slot.
      *
      * @param start the {@code LocalDate start} date of the search range.
      * @param end the {@code LocalDate end} date of the search range.
-     * @return {@code List} of free {@code Slot}s within the given search range.
+     * @return {@code String} of free {@code Slot}s within the given search range.
      */
-    private List<Slot> getFreeSlots(LocalDate start, LocalDate end) {
-        List<Slot> freeSlots = new ArrayList<>();
-        List<Appointment> toSearch = getAppointments(start, end);
-
-        // all slots are free
-        if (toSearch.isEmpty()) {
-            for (LocalDate date = start; date.compareTo(end) <= 0; date = date.plusDays(1)) {
-                freeSlots.add(new Slot(date, OPENING_HOUR, CLOSING_HOUR));
-            }
-            return freeSlots;
-        }
-
-        Slot slot;
-        LocalDate date = start;
-        int index = 0;
-        Appointment app = toSearch.get(index);
-        Appointment prevApp = new Appointment(
-                app.getPatient(), app.getDate().minusDays(1), app.getStart(), app.getEnd(), app.getComment());
-
-        // loop through all search dates from the start
-        while (date.compareTo(end) <= 0) {
-
-            // no appointments for given date
-            if (!date.isEqual(app.getDate())) {
-                slot = new Slot(date, OPENING_HOUR, CLOSING_HOUR);
-                freeSlots.add(slot);
-            }
-
-            LocalTime startTime;
-            LocalTime endTime;
-            // there are appointments in given date
-            while (date.isEqual(app.getDate())) {
-
-                // start a new slot for the day
-                if (prevApp.getDate().isBefore(date)) {
-                    startTime = OPENING_HOUR;
-                } else {
-                    startTime = prevApp.getEnd();
-                }
-                endTime = app.getStart();
-
-                // do not add a free slot if the start time and end time are the same
-                if (startTime != endTime) {
-                    slot = new Slot(date, startTime, endTime);
-                    freeSlots.add(slot);
-                }
-                prevApp = app;
-
-                // no more next appointment, create last slot for the day
-                if (toSearch.size() == index + 1 || date.isBefore(toSearch.get(index + 1).getDate())) {
-                    startTime = app.getEnd();
-                    endTime = CLOSING_HOUR;
-
-                    // do not add a free slot if the start time and end time are the same
-                    if (startTime != endTime) {
-                        slot = new Slot(date, startTime, endTime);
-                        freeSlots.add(slot);
-                    }
-
-                    // no more appointments in toSearch
-                    if (toSearch.size() == index + 1) {
-                        break;
-                    }
-                }
-                index++;
-                app = toSearch.get(index);
-            }
-
-            date = date.plusDays(1);
-        }
-
-        return freeSlots;
+    public String listFreeSlots(LocalDate start, LocalDate end) {
+        return listFreeSlots(start, end, OpeningHours.getDefaultWeek());
     }
 
     /**
-     * Generates a {@code String} of free {@code Slot}s given a search range of dates.
-     * A {@code Slot} is free if there are no {@code Appointment}s scheduled during that time slot.
+     * Generates a {@code String} of free {@code Slot}s given a search range of dates, with the clinic open
+     * for {@code openingHours} on each day of the week.
+     * A {@code Slot} is free if the clinic is open and there are no {@code Appointment}s scheduled during that
+     * time slot.
      *
      * @param start the {@code LocalDate start} date of the search range.
      * @param end the {@code LocalDate end} date of the search range.
+     * @param openingHours the opening hours on each day of the week, leaving out the days the clinic is closed.
      * @return {@code String} of free {@code Slot}s within the given search range.
      */
-    public String listFreeSlots(LocalDate start, LocalDate end) {
-        List<Slot> freeSlots = getFreeSlots(start, end);
-        StringBuilder sb = new StringBuilder();
-        LocalDate date = start.minusDays(1);
-
-        for (Slot slot : freeSlots) {
-            // start listing for a new date
-            if (slot.getDate().isAfter(date)) {
-                date = slot.getDate();
-                sb.append("\n")
-                        .append(date)
-                        .append(": ");
-            } else {
-                sb.append(", ");
-            }
-
-            // Whole day is free
-            if (slot.getStart().equals(OPENING_HOUR) && slot.getEnd().equals(CLOSING_HOUR)) {
-                sb.append("All slots are free");
-            } else {
-                sb.append(slot.getStart())
-                        .append(" to ")
-                        .append(slot.getEnd());
-            }
-        }
-        return sb.toString();
+    public String listFreeSlots(LocalDate start, LocalDate end, Map<DayOfWeek, OpeningHours> openingHours) {
+        return new FreeSlotFinder(openingHours).listFreeSlots(schedules, start, end);
     }
 
     @Override
@@ -344,6 +328,17 @@ public class AppointmentManager {
         }
 
         AppointmentManager otherManager = (AppointmentManager) other;
-        return otherManager.appointments.equals(this.appointments);
+        return otherManager.getAppointmentList().equals(this.getAppointmentList());
+    }
+
+    public boolean isModified() {
+        return isModified;
+    }
+
+    /**
+     * Sets whether the appointments were modified since they were last saved
+     */
+    public void indicateModification(boolean state) {
+        isModified = state;
     }
 }
@@ -0,0 +1,119 @@
+package quickdocs.model.appointment;
+
+import java.time.Duration;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+
+/**
+ * Holds the {@code Appointment}s of a single day, sorted by their start times.
+ * Appointments that start at the same time, which can only come from older data files,
+ * are kept in the order they were added.
+ */
+class DaySchedule {
+
+    private final NavigableMap<LocalTime, List<Appointment>> appointmentsByStart = new TreeMap<>();
+    // the longest of the appointments added, so that appointments starting more than this long before
+    // a time are known to have ended by then
+    private Duration longestDuration = Duration.ZERO;
+    private int size = 0;
+
+    /**
+     * Adds {@code toAdd}, after the appointments that start at the same time.
+     */
+    void add(Appointment toAdd) {
+        appointmentsByStart.computeIfAbsent(toAdd.getStart(), start -> new ArrayList<>(1)).add(toAdd);
+        Duration duration = Duration.between(toAdd.getStart(), toAdd.getEnd());
+        if (duration.compareTo(longestDuration) > 0) {
+            longestDuration = duration;
+        }
+        size++;
+    }
+
+    /**
+     * Removes {@code toRemove}, if it is in this day.
+     *
+     * @return {@code true} if the appointment was removed.
+     */
+    boolean remove(Appointment toRemove) {
+        List<Appointment> sameStart = appointmentsByStart.get(toRemove.getStart());
+        if (sameStart == null || !sameStart.remove(toRemove)) {
+            return false;
+        }
+
+        if (sameStart.isEmpty()) {
+            appointmentsByStart.remove(toRemove.getStart());
+        }
+        size--;
+        return true;
+    }
+
+    boolean contains(Appointment app) {
+        List<Appointment> sameStart = appointmentsByStart.get(app.getStart());
+        return sameStart != null && sameStart.contains(app);
+    }
+
+    /**
+     * Returns the first {@code Appointment} added that starts at {@code start}, if there is one.
+     */
+    Optional<Appointment> get(LocalTime start) {
+        List<Appointment> sameStart = appointmentsByStart.get(start);
+        return sameStart == null ? Optional.empty() : Optional.of(sameStart.get(0));
+    }
+
+    /**
+     * Checks if {@code otherApp} overlaps the time of any appointment in this day.
+     * Appointments read from data files may overlap each other, so they do not always end in the order
+     * they start. Only the appointments starting before {@code otherApp} ends, and at most the longest
+     * appointment before it starts, have to be checked, as those starting earlier have ended by then.
+     */
+    boolean hasTimeConflicts(Appointment otherApp) {
+        LocalTime otherStart = otherApp.getStart();
+        LocalTime earliestStart = Duration.between(LocalTime.MIN, otherStart).compareTo(longestDuration) > 0
+                ? otherStart.minus(longestDuration)
+                : LocalTime.MIN;
+        if (earliestStart.isAfter(otherApp.getEnd())) {
+            return false;
+        }
+
+        for (List<Appointment> sameStart
+                : appointmentsByStart.subMap(earliestStart, true, otherApp.getEnd(), false).values()) {
+            for (Appointment app : sameStart) {
+                if (otherStart.isBefore(app.getEnd())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Adds the appointments of this day to {@code appointments}, in order.
+     */
+    void addAllTo(List<Appointment> appointments) {
+        for (List<Appointment> sameStart : appointmentsByStart.values()) {
+            appointments.addAll(sameStart);
+        }
+    }
+
+    /**
+     * Performs {@code action} on each appointment of this day, in order.
+     */
+    void forEach(Consumer<Appointment> action) {
+        for (List<Appointment> sameStart : appointmentsByStart.values()) {
+            sameStart.forEach(action);
+        }
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+}
@@ -0,0 +1,203 @@
+package quickdocs.model.appointment;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import quickdocs.commons.core.OpeningHours;
+
+/**
+ * Lists the free appointment slots in a range of dates, given the opening hours of the clinic on each day of
+ * the week. Each day is held as a bitmap with a bit for each minute, set when that minute is free, so that
+ * the opening hours, lunch break and appointments of a day are combined a word of minutes at a time.
+ * Ranges of more than {@value #PARALLEL_CHUNK_DAYS} days are split into chunks listed in parallel on the
+ * common fork-join pool.
+ */
+public class FreeSlotFinder {
+
+    public static final String MESSAGE_WHOLE_DAY_FREE = "All slots are free";
+
+    static final int MINUTES_PER_DAY = 24 * 60;
+    static final int PARALLEL_CHUNK_DAYS = 31;
+
+    private static final String SLOT_SEPARATOR = ", ";
+
+    // the minutes of each day of the week that the clinic is open, outside of its lunch break
+    private final Map<DayOfWeek, BitSet> openMinutes = new EnumMap<>(DayOfWeek.class);
+    // the free slots listed for each day of the week that the clinic is open, when it has no appointments
+    private final Map<DayOfWeek, String> wholeDaySlots = new EnumMap<>(DayOfWeek.class);
+
+    /**
+     * Creates a {@code FreeSlotFinder} for a clinic open for {@code openingHours} on each day of the week,
+     * and closed on the days left out.
+     */
+    public FreeSlotFinder(Map<DayOfWeek, OpeningHours> openingHours) {
+        requireNonNull(openingHours);
+        for (Map.Entry<DayOfWeek, OpeningHours> entry : openingHours.entrySet()) {
+            OpeningHours hours = entry.getValue();
+            BitSet minutes = new BitSet(MINUTES_PER_DAY);
+            setMinutes(minutes, hours.getOpening(), hours.getClosing());
+            if (hours.hasLunchBreak()) {
+                clearMinutes(minutes, hours.getLunchStart(), hours.getLunchEnd());
+            }
+            if (minutes.isEmpty()) {
+                continue;
+            }
+
+            openMinutes.put(entry.getKey(), minutes);
+            wholeDaySlots.put(entry.getKey(), isSingleSlot(minutes) && !hours.hasLunchBreak()
+                    ? MESSAGE_WHOLE_DAY_FREE
+                    : toSlots(minutes));
+        }
+    }
+
+    /**
+     * Generates a {@code String} of the free slots from {@code start} to {@code end} inclusive, with a line
+     * for each date that has free slots, given the appointments in {@code schedules}.
+     * {@code schedules} is only read, and must not be modified until this returns.
+     */
+    String listFreeSlots(NavigableMap<LocalDate, DaySchedule> schedules, LocalDate start, LocalDate end) {
+        long days = ChronoUnit.DAYS.between(start, end) + 1;
+        if (days <= PARALLEL_CHUNK_DAYS) {
+            return days <= 0 ? "" : listChunk(schedules, start, end);
+        }
+
+        int chunks = (int) ((days + PARALLEL_CHUNK_DAYS - 1) / PARALLEL_CHUNK_DAYS);
+        return IntStream.range(0, chunks)
+                .parallel()
+                .mapToObj(i -> {
+                    LocalDate chunkStart = start.plusDays((long) i * PARALLEL_CHUNK_DAYS);
+                    LocalDate chunkEnd = chunkStart.plusDays(PARALLEL_CHUNK_DAYS - 1);
+                    return listChunk(schedules, chunkStart, chunkEnd.isAfter(end) ? end : chunkEnd);
+                })
+                .collect(Collectors.joining());
+    }
+
+    /**
+     * Generates the lines of free slots from {@code start} to {@code end} inclusive, visiting the days with
+     * appointments in order alongside the dates.
+     */
+    private String listChunk(NavigableMap<LocalDate, DaySchedule> schedules, LocalDate start, LocalDate end) {
+        StringBuilder sb = new StringBuilder();
+        Iterator<Map.Entry<LocalDate, DaySchedule>> bookedDays =
+                schedules.subMap(start, true, end, true).entrySet().iterator();
+        Map.Entry<LocalDate, DaySchedule> bookedDay = bookedDays.hasNext() ? bookedDays.next() : null;
+
+        for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+            DaySchedule schedule = null;
+            if (bookedDay != null && bookedDay.getKey().equals(date)) {
+                schedule = bookedDay.getValue();
+                bookedDay = bookedDays.hasNext() ? bookedDays.next() : null;
+            }
+
+            String slots = listDay(date, schedule);
+            if (!slots.isEmpty()) {
+                sb.append("\n")
+                        .append(date)
+                        .append(": ")
+                        .append(slots);
+            }
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the free slots of {@code date}, with the appointments in {@code schedule}, or an empty
+     * {@code String} if there are none.
+     */
+    private String listDay(LocalDate date, DaySchedule schedule) {
+        DayOfWeek day = date.getDayOfWeek();
+        if (!openMinutes.containsKey(day)) {
+            return "";
+        }
+
+        BitSet freeMinutes = getFreeMinutes(date, schedule);
+        return freeMinutes.equals(openMinutes.get(day)) ? wholeDaySlots.get(day) : toSlots(freeMinutes);
+    }
+
+    /**
+     * Returns the bitmap of the minutes of {@code date} that are free, with the appointments in
+     * {@code schedule}, which is null if there are no appointments on that date.
+     */
+    BitSet getFreeMinutes(LocalDate date, DaySchedule schedule) {
+        BitSet open = openMinutes.get(date.getDayOfWeek());
+        if (open == null) {
+            return new BitSet(MINUTES_PER_DAY);
+        }
+
+        BitSet freeMinutes = (BitSet) open.clone();
+        if (schedule != null) {
+            schedule.forEach(app -> clearMinutes(freeMinutes, app.getStart(), app.getEnd()));
+        }
+        return freeMinutes;
+    }
+
+    /**
+     * Returns the slots of consecutive minutes set in {@code minutes}, separated by commas.
+     */
+    private static String toSlots(BitSet minutes) {
+        StringBuilder sb = new StringBuilder();
+        for (int from = minutes.nextSetBit(0); from >= 0; from = minutes.nextSetBit(from)) {
+            int to = minutes.nextClearBit(from);
+            if (sb.length() > 0) {
+                sb.append(SLOT_SEPARATOR);
+            }
+            sb.append(toTime(from))
+                    .append(" to ")
+                    .append(toTime(to));
+            from = to;
+        }
+        return sb.toString();
+    }
+
+    private static boolean isSingleSlot(BitSet minutes) {
+        return minutes.nextSetBit(minutes.nextClearBit(minutes.nextSetBit(0))) < 0;
+    }
+
+    /**
+     * Sets the minutes of {@code minutes} from {@code from} up to {@code to}.
+     */
+    private static void setMinutes(BitSet minutes, LocalTime from, LocalTime to) {
+        int fromMinute = toMinute(from);
+        int toMinute = toEndMinute(to);
+        if (fromMinute < toMinute) {
+            minutes.set(fromMinute, toMinute);
+        }
+    }
+
+    /**
+     * Clears the minutes of {@code minutes} from {@code from} up to {@code to}.
+     */
+    private static void clearMinutes(BitSet minutes, LocalTime from, LocalTime to) {
+        int fromMinute = toMinute(from);
+        int toMinute = toEndMinute(to);
+        if (fromMinute < toMinute) {
+            minutes.clear(fromMinute, toMinute);
+        }
+    }
+
+    private static int toMinute(LocalTime time) {
+        return time.toSecondOfDay() / 60;
+    }
+
+    /**
+     * Returns the minute of the day that ends at {@code time}, counting any part of a minute as the whole minute.
+     */
+    private static int toEndMinute(LocalTime time) {
+        return (time.toSecondOfDay() + 59) / 60;
+    }
+
+    private static LocalTime toTime(int minute) {
+        return minute >= MINUTES_PER_DAY ? LocalTime.MAX : LocalTime.of(minute / 60, minute % 60);
+    }
+}
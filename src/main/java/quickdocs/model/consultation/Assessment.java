@@ -1,5 +1,9 @@
 package quickdocs.model.consultation;
 
+import java.util.Objects;
+
+import quickdocs.commons.util.Interner;
+
 /**
  * Represents the assessment of the illness during a consultation session
  */
@@ -8,6 +12,9 @@ public class Assessment {
     public static final String SYMPTOMS_CONSTRAINTS =
             "Assessment should only contain alphanumeric characters and spaces but not blank";
 
+    // the same assessments are recorded in many consultations, and share their instances
+    private static final Interner<Assessment> POOL = new Interner<>();
+
     private String assessment;
 
     public Assessment() {
@@ -20,6 +27,22 @@ public class Assessment {
         this.assessment = assessment;
     }
 
+    /**
+     * Returns the shared instance of the assessment {@code assessment}.
+     *
+     * @throws IllegalArgumentException if {@code assessment} is not a valid assessment.
+     */
+    public static Assessment of(String assessment) {
+        return POOL.intern(new Assessment(assessment));
+    }
+
+    /**
+     * Returns the shared instance of the assessment equal to {@code assessment}, such as one read from storage.
+     */
+    public static Assessment intern(Assessment assessment) {
+        return assessment.assessment == null ? assessment : POOL.intern(assessment);
+    }
+
     public String getAssessment() {
         return assessment;
     }
@@ -29,6 +52,11 @@ public class Assessment {
         return assessment;
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(assessment);
+    }
+
     @Override
     public boolean equals(Object other) {
         return other == this // short circuit if same object
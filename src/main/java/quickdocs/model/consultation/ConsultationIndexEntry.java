@@ -0,0 +1,73 @@
+package quickdocs.model.consultation;
+
+import static java.util.Objects.requireNonNull;
+
+import java.time.LocalDateTime;
+
+/**
+ * An entry in the consultation index of a {@link ConsultationManager}, holding the fields that consultations
+ * are looked up by. The full consultation is either held by the entry, or loaded from its location in
+ * storage when it is needed.
+ */
+public class ConsultationIndexEntry {
+
+    public static final long NOT_STORED = -1;
+
+    private final int index;
+    private final String nric;
+    private final LocalDateTime session;
+    private final long location;
+    private final Consultation consultation;
+
+    private ConsultationIndexEntry(int index, String nric, LocalDateTime session, long location,
+                                   Consultation consultation) {
+        this.index = index;
+        this.nric = nric;
+        this.session = session;
+        this.location = location;
+        this.consultation = consultation;
+    }
+
+    /**
+     * Returns an entry that holds {@code consultation} in memory.
+     */
+    public static ConsultationIndexEntry of(Consultation consultation) {
+        requireNonNull(consultation);
+        return new ConsultationIndexEntry(consultation.getIndex(), consultation.getPatient().getNric().toString(),
+                consultation.getSession(), NOT_STORED, consultation);
+    }
+
+    /**
+     * Returns an entry of a consultation that is loaded from {@code location} when it is needed.
+     */
+    public static ConsultationIndexEntry ofStored(int index, String nric, LocalDateTime session, long location) {
+        requireNonNull(nric);
+        if (location < 0) {
+            throw new IllegalArgumentException("Location of a stored consultation cannot be negative");
+        }
+        return new ConsultationIndexEntry(index, nric, session, location, null);
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public String getNric() {
+        return nric;
+    }
+
+    public LocalDateTime getSession() {
+        return session;
+    }
+
+    public long getLocation() {
+        return location;
+    }
+
+    /**
+     * Returns the consultation held by this entry, or null if it has to be loaded from storage.
+     */
+    public Consultation getHeldConsultation() {
+        return consultation;
+    }
+}
@@ -0,0 +1,29 @@
+package quickdocs.model.consultation;
+
+import quickdocs.commons.exceptions.DataConversionException;
+
+/**
+ * Loads the full records of consultations that are only kept in the consultation index of a
+ * {@link ConsultationManager}, from the storage that they were read from.
+ */
+@FunctionalInterface
+public interface ConsultationLoader {
+
+    /**
+     * Loads the consultation stored at {@code location}.
+     *
+     * @throws DataConversionException if the stored consultation cannot be read.
+     */
+    Consultation loadConsultation(long location) throws DataConversionException;
+
+    /**
+     * Loads the diagnosis of the consultation stored at {@code location}, which may be null.
+     * This is called from several threads at once to build the text index of the consultations, so storage that
+     * can read the diagnosis without the patient and medicines of the consultation should do so.
+     *
+     * @throws DataConversionException if the stored consultation cannot be read.
+     */
+    default Diagnosis loadDiagnosis(long location) throws DataConversionException {
+        return loadConsultation(location).getDiagnosis();
+    }
+}
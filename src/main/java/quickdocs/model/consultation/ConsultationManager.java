@@ -1,19 +1,89 @@
 package quickdocs.model.consultation;
 
+import static java.util.Objects.requireNonNull;
+
+import java.time.LocalDateTime;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
+import quickdocs.commons.exceptions.DataConversionException;
 import quickdocs.model.patient.Patient;
 
 /**
  * Handle all model operations involving the steps in consultation
+ *
+ * Past consultations are kept in an index of their NRIC and session. Consultations read from a storage
+ * that can load them one at a time are only kept in the index, and loaded through a bounded cache
+ * when they are looked up, so the memory used does not grow with the number of past consultations.
+ * The consultations of each patient are also indexed by NRIC, so that the history of a patient is found
+ * without going through the consultations of every other patient, and by the time of their sessions,
+ * so that the consultations held within a range of time are found without going through the others.
+ *
+ * The words in the diagnoses of past consultations are kept in a {@link ConsultationTextIndex} to search them by.
+ * Consultations ended in this session are added to it as they are ended, while the diagnoses of those read from
+ * storage are loaded in parallel on a background thread once they are read, so that reading them stays quick.
+ * A search waits for the text index to be built, then adds the consultations ended while it was being built.
+ *
+ * Consultations in progress are kept in {@link ConsultationSessions}, by the doctor or room holding them, so
+ * several can be in progress at once. The past consultations, their indices and the cache of loaded consultations
+ * are only read or changed while holding the lock of the manager, so that sessions can be ended from several
+ * threads while past consultations are listed or searched.
  */
 public class ConsultationManager {
 
-    private ArrayList<Consultation> consultationList;
-    private Consultation currentConsultation;
+    public static final int DEFAULT_CACHE_CAPACITY = 500;
+    public static final String MESSAGE_LOAD_FAILED = "Consultation record %d could not be loaded: %s";
+    public static final String MESSAGE_NO_SESSION = "There is no ongoing consultation in the session\n";
+    // consultations to add to the text index on each thread, when there are enough to be added in parallel
+    public static final int TEXT_INDEX_CHUNK_SIZE = 2048;
+
+    private final ArrayList<ConsultationIndexEntry> consultationIndex = new ArrayList<>();
+    // positions in the consultation index of the consultations of each patient, in the order of their sessions
+    private final HashMap<String, List<Integer>> patientConsultations = new HashMap<>();
+    // positions in the consultation index of the consultations held at each time
+    private final NavigableMap<LocalDateTime, List<Integer>> sessionConsultations = new TreeMap<>();
+    private final Map<Integer, Consultation> loadedConsultations;
+    private ConsultationLoader loader;
+    // holds the consultations at the start of the consultation index, up to the number it holds.
+    // It is built on a background thread after stored consultations are read, and only changed once it is built.
+    private CompletableFuture<ConsultationTextIndex> textIndex =
+            CompletableFuture.completedFuture(new ConsultationTextIndex());
+    private final ConsultationSessions sessions = new ConsultationSessions();
+    // copies of the patients of past consultations who are no longer in the patient records, by NRIC.
+    // The map is replaced rather than changed, so that storage can tell when it was last changed.
+    private Map<String, Patient> formerPatients = Collections.emptyMap();
+
+    // true if the consultation records were modified since they were last saved
+    private boolean isModified = false;
 
     public ConsultationManager() {
-        this.consultationList = new ArrayList<Consultation>();
+        this(DEFAULT_CACHE_CAPACITY);
+    }
+
+    /**
+     * Creates a {@code ConsultationManager} that keeps at most {@code cacheCapacity} of the consultations
+     * loaded from storage in memory.
+     */
+    public ConsultationManager(int cacheCapacity) {
+        // evicts the least recently looked up consultation once the cache is full
+        this.loadedConsultations = new LinkedHashMap<Integer, Consultation>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, Consultation> eldest) {
+                return size() > cacheCapacity;
+            }
+        };
     }
 
 
@@ -21,78 +91,437 @@ public class ConsultationManager {
      * Check if there is an ongoing consultation session
      */
     public boolean checkConsultation() {
-        return currentConsultation != null;
+        return checkConsultation(ConsultationSessions.DEFAULT_SESSION_ID);
+    }
+
+    /**
+     * Check if there is an ongoing consultation in the session {@code sessionId}
+     */
+    public boolean checkConsultation(String sessionId) {
+        return sessions.get(sessionId).isPresent();
     }
 
     /**
      * Adds a consultation record into the consultationList
      * This method is primarily used in the reading of consultation records from json storage
      */
-    public void addConsultation(Consultation consultation) {
-        this.consultationList.add(consultation);
+    public synchronized void addConsultation(Consultation consultation) {
+        addToIndex(ConsultationIndexEntry.of(consultation));
+    }
+
+    /**
+     * Adds a consultation record that is only kept in the index, to be loaded by {@code loader} when
+     * it is looked up.
+     * This method is used in the reading of consultation records from storage that can load them one at a time
+     */
+    public synchronized void addStoredConsultation(ConsultationIndexEntry entry, ConsultationLoader loader) {
+        if (this.loader != null && this.loader != loader) {
+            throw new IllegalArgumentException("Consultations have to be loaded from a single storage");
+        }
+        this.loader = loader;
+        addToIndex(entry);
+    }
+
+    /**
+     * Adds {@code entry} to the end of the consultation index, and among the consultations of its patient
+     * by the time of its session.
+     */
+    private void addToIndex(ConsultationIndexEntry entry) {
+        int position = consultationIndex.size();
+        consultationIndex.add(entry);
+
+        // consultations are added in the order they are held, so they normally go at the end
+        List<Integer> positions = patientConsultations.computeIfAbsent(entry.getNric(), nric -> new ArrayList<>());
+        int insertAt = positions.size();
+        while (insertAt > 0 && isHeldAfter(consultationIndex.get(positions.get(insertAt - 1)), entry)) {
+            insertAt--;
+        }
+        positions.add(insertAt, position);
+
+        if (entry.getSession() != null) {
+            sessionConsultations.computeIfAbsent(entry.getSession(), session -> new ArrayList<>(1)).add(position);
+        }
+        // consultations ended while the text index is being built are added to it by the next search
+        if (entry.getHeldConsultation() != null && textIndex.isDone() && !textIndex.isCompletedExceptionally()
+                && textIndex.join().getConsultationCount() == position) {
+            textIndex.join().add(position, entry.getHeldConsultation());
+        }
+    }
+
+    private static boolean isHeldAfter(ConsultationIndexEntry entry, ConsultationIndexEntry otherEntry) {
+        return entry.getSession() != null && otherEntry.getSession() != null
+                && entry.getSession().isAfter(otherEntry.getSession());
+    }
+
+    public void createConsultation(Patient patient) {
+        createConsultation(ConsultationSessions.DEFAULT_SESSION_ID, patient);
     }
 
     /**
-     * Starts a consultation session with the specified patient.
-     * QuickDocs only permit one ongoing consultation session at any one time.
+     * Starts a consultation session with the specified patient, held by the doctor or room {@code sessionId}.
+     * Each doctor or room can only hold one ongoing consultation session at any one time.
      *
      * @param patient patient record to start the consultation session with
      * @throws IllegalArgumentException when the user attempt to start another session when there is an
-     * ongoing consultation session
+     * ongoing consultation session held by the same doctor or room, or with the same patient
      */
-    public void createConsultation(Patient patient) {
-        if (currentConsultation != null) {
-            throw new IllegalArgumentException("There is already an ongoing consultation session\n");
-        }
-        currentConsultation = new Consultation(patient);
+    public void createConsultation(String sessionId, Patient patient) {
+        sessions.start(sessionId, patient);
     }
 
     public void diagnosePatient(Diagnosis diagnosis) {
-        currentConsultation.setDiagnosis(diagnosis);
+        diagnosePatient(ConsultationSessions.DEFAULT_SESSION_ID, diagnosis);
+    }
+
+    /**
+     * Records {@code diagnosis} in the ongoing consultation of the session {@code sessionId}.
+     *
+     * @throws IllegalArgumentException if there is no ongoing consultation in the session.
+     */
+    public void diagnosePatient(String sessionId, Diagnosis diagnosis) {
+        if (!sessions.update(sessionId, consultation -> consultation.setDiagnosis(diagnosis))) {
+            throw new IllegalArgumentException(MESSAGE_NO_SESSION);
+        }
     }
 
     public void prescribeMedicine(ArrayList<Prescription> prescriptions) {
-        currentConsultation.setPrescriptions(prescriptions);
+        prescribeMedicine(ConsultationSessions.DEFAULT_SESSION_ID, prescriptions);
+    }
+
+    /**
+     * Records {@code prescriptions} in the ongoing consultation of the session {@code sessionId}.
+     *
+     * @throws IllegalArgumentException if there is no ongoing consultation in the session.
+     */
+    public void prescribeMedicine(String sessionId, ArrayList<Prescription> prescriptions) {
+        if (!sessions.update(sessionId, consultation -> consultation.setPrescriptions(prescriptions))) {
+            throw new IllegalArgumentException(MESSAGE_NO_SESSION);
+        }
     }
 
     public Consultation getCurrentConsultation() {
-        return currentConsultation;
+        return getCurrentConsultation(ConsultationSessions.DEFAULT_SESSION_ID);
+    }
+
+    /**
+     * Returns the ongoing consultation of the session {@code sessionId}, or null if there is none.
+     */
+    public Consultation getCurrentConsultation(String sessionId) {
+        return sessions.get(sessionId).orElse(null);
+    }
+
+    public ConsultationSessions getSessions() {
+        return sessions;
+    }
+
+    /**
+     * Returns an unmodifiable view of all past consultations, in the order they were added.
+     * Consultations that are only kept in the index are loaded as they are accessed.
+     * Each access holds the lock of the manager, so iterating over the view while consultations are
+     * ended from another thread may not see all of them.
+     */
+    public List<Consultation> getConsultationList() {
+        return new AbstractList<Consultation>() {
+            @Override
+            public Consultation get(int position) {
+                return getConsultation(position);
+            }
+
+            @Override
+            public int size() {
+                return getConsultationCount();
+            }
+        };
+    }
+
+    /**
+     * Returns the positions in {@link #getConsultationList()} of the past consultations whose index entries
+     * match {@code filter}, in increasing order.
+     * Only the index is searched, so that the matching consultations can then be loaded one at a time
+     * without holding all of them in memory.
+     */
+    public synchronized List<Integer> findConsultationPositions(Predicate<ConsultationIndexEntry> filter) {
+        List<Integer> positions = new ArrayList<>();
+        for (int i = 0; i < consultationIndex.size(); i++) {
+            if (filter.test(consultationIndex.get(i))) {
+                positions.add(i);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Returns a copy of the index entries of all past consultations, in the order they were added.
+     */
+    public synchronized List<ConsultationIndexEntry> getConsultationIndex() {
+        return new ArrayList<>(consultationIndex);
+    }
+
+    public synchronized int getConsultationCount() {
+        return consultationIndex.size();
+    }
+
+    /**
+     * Keeps a copy of {@code patient}, who is being removed from the patient records or given another NRIC,
+     * so that the past consultations of the patient can still be loaded by the NRIC they were held under.
+     */
+    public synchronized void keepFormerPatient(Patient patient) {
+        String nric = patient.getNric().toString();
+        if (!patientConsultations.containsKey(nric)) {
+            return;
+        }
+
+        Map<String, Patient> updatedPatients = new HashMap<>(formerPatients);
+        updatedPatients.put(nric, patient);
+        formerPatients = Collections.unmodifiableMap(updatedPatients);
+    }
+
+    /**
+     * Replaces the copies of former patients with {@code patients}.
+     * This method is used in the reading of consultation records from storage
+     */
+    public synchronized void setFormerPatients(List<Patient> patients) {
+        Map<String, Patient> updatedPatients = new HashMap<>();
+        for (Patient patient : patients) {
+            updatedPatients.put(patient.getNric().toString(), patient);
+        }
+        formerPatients = Collections.unmodifiableMap(updatedPatients);
     }
 
-    public ArrayList<Consultation> getConsultationList() {
-        return consultationList;
+    /**
+     * Returns the copies of the patients of past consultations who are no longer in the patient records,
+     * by NRIC. The returned map is never changed, and is replaced when a former patient is kept.
+     */
+    public Map<String, Patient> getFormerPatients() {
+        return formerPatients;
     }
 
     /**
      * Stores current consultation record into consultationList and ends the current
      * session
      */
-    public void endConsultation() {
-        currentConsultation.setIndex(consultationList.size());
-        consultationList.add(currentConsultation);
-        currentConsultation = null;
+    public Consultation endConsultation() {
+        return endConsultation(ConsultationSessions.DEFAULT_SESSION_ID);
     }
 
     /**
-     * List past consultation records belonging to a single patient
+     * Stores the consultation record of the session {@code sessionId} into consultationList and ends
+     * the session
+     *
+     * @return the consultation record stored
+     * @throws NullPointerException if there is no ongoing consultation in the session
      */
-    public ArrayList<Consultation> listConsultation(String value) {
+    public Consultation endConsultation(String sessionId) {
+        Consultation consultation = requireNonNull(sessions.end(sessionId), MESSAGE_NO_SESSION);
+        synchronized (this) {
+            consultation.setIndex(consultationIndex.size());
+            addToIndex(ConsultationIndexEntry.of(consultation));
+        }
+        return consultation;
+    }
 
-        ArrayList<Consultation> consultationsFound = new ArrayList<>();
+    /**
+     * List past consultation records belonging to a single patient, in the order they were held.
+     * Only the consultations of the patient are looked up, through the index of each patient's consultations.
+     */
+    public synchronized ArrayList<Consultation> listConsultation(String value) {
+        List<Integer> positions = patientConsultations.getOrDefault(value, Collections.emptyList());
+        ArrayList<Consultation> consultationsFound = new ArrayList<>(positions.size());
+        for (int position : positions) {
+            consultationsFound.add(getConsultation(position));
+        }
+        return consultationsFound;
+    }
 
-        for (Consultation consult : consultationList) {
-            if (consult.getPatient().getNric().getNric().equals(value)) {
-                consultationsFound.add(consult);
+    /**
+     * List past consultation records held from {@code from} to {@code to} inclusive whose index entries
+     * match {@code filter}, in the order they were held.
+     * Only the consultations within the range of time are looked up, through the index of sessions.
+     */
+    public synchronized ArrayList<Consultation> listConsultation(LocalDateTime from, LocalDateTime to,
+                                                    Predicate<ConsultationIndexEntry> filter) {
+        ArrayList<Consultation> consultationsFound = new ArrayList<>();
+        for (List<Integer> positions : sessionConsultations.subMap(from, true, to, true).values()) {
+            for (int position : positions) {
+                if (filter.test(consultationIndex.get(position))) {
+                    consultationsFound.add(getConsultation(position));
+                }
             }
         }
         return consultationsFound;
     }
 
-    public Consultation listConsultation(int index) {
-        return consultationList.get(index - 1);
+    public synchronized Consultation listConsultation(int index) {
+        return getConsultation(index - 1);
+    }
+
+    /**
+     * Returns the positions in {@link #getConsultationList()} of the past consultations whose diagnoses match
+     * every clause of {@code query} and whose index entries match {@code filter}, with the best matches first.
+     * Waits for the text index if it is still being built, and adds the consultations not yet in it first.
+     *
+     * @throws IllegalStateException if a consultation to add to the text index cannot be loaded from storage.
+     */
+    public synchronized List<Integer> searchConsultations(ConsultationTextQuery query,
+                                                          Predicate<ConsultationIndexEntry> filter) {
+        List<Integer> positions = new ArrayList<>();
+        for (int position : getTextIndex().search(query)) {
+            if (filter.test(consultationIndex.get(position))) {
+                positions.add(position);
+            }
+        }
+        return positions;
+    }
+
+    /**
+     * Builds the text index of every past consultation again, loading the consultations in parallel.
+     *
+     * @throws IllegalStateException if a consultation cannot be loaded from storage.
+     */
+    public synchronized void rebuildTextIndex() {
+        textIndex = CompletableFuture.completedFuture(buildTextIndex(consultationIndex, 0, consultationIndex.size(),
+                loader));
+    }
+
+    /**
+     * Starts adding the past consultations not yet in the text index to it on a background thread, so that
+     * the stored consultations are indexed once they are read rather than by the first search.
+     * This method is used after the consultation records are read from storage that can load them one at a time
+     */
+    public synchronized void indexStoredConsultations() {
+        List<ConsultationIndexEntry> entries = new ArrayList<>(consultationIndex);
+        ConsultationLoader entryLoader = loader;
+        textIndex = textIndex.thenApplyAsync(index -> {
+            index.addAll(buildTextIndex(entries, index.getConsultationCount(), entries.size(), entryLoader));
+            return index;
+        });
+    }
+
+    /**
+     * Returns the text index, waiting for it to be built if it is still being built, with the past consultations
+     * added since it was started added to it.
+     *
+     * @throws IllegalStateException if a consultation to add to the text index cannot be loaded from storage.
+     */
+    private ConsultationTextIndex getTextIndex() {
+        ConsultationTextIndex index;
+        try {
+            index = textIndex.join();
+        } catch (CompletionException ce) {
+            // the consultations are loaded again by the next search
+            textIndex = CompletableFuture.completedFuture(new ConsultationTextIndex());
+            throw ce.getCause() instanceof IllegalStateException
+                    ? (IllegalStateException) ce.getCause() : new IllegalStateException(ce.getCause());
+        }
+
+        int indexedCount = index.getConsultationCount();
+        if (indexedCount < consultationIndex.size()) {
+            index.addAll(buildTextIndex(consultationIndex, indexedCount, consultationIndex.size(), loader));
+        }
+        return index;
+    }
+
+    /**
+     * Returns a text index of the consultations of {@code entries} from position {@code from} to {@code to}
+     * exclusive, loading their diagnoses with {@code entryLoader}.
+     * The range is split into chunks that are loaded and indexed in parallel, then joined in order.
+     */
+    private static ConsultationTextIndex buildTextIndex(List<ConsultationIndexEntry> entries, int from, int to,
+                                                        ConsultationLoader entryLoader) {
+        int chunkCount = (to - from + TEXT_INDEX_CHUNK_SIZE - 1) / TEXT_INDEX_CHUNK_SIZE;
+        IntStream chunks = IntStream.range(0, chunkCount);
+        List<ConsultationTextIndex> chunkIndexes = (chunkCount > 1 ? chunks.parallel() : chunks)
+                .mapToObj(chunk -> buildChunkTextIndex(entries, from + chunk * TEXT_INDEX_CHUNK_SIZE,
+                        Math.min(to, from + (chunk + 1) * TEXT_INDEX_CHUNK_SIZE), entryLoader))
+                .collect(Collectors.toList());
+
+        ConsultationTextIndex index = new ConsultationTextIndex();
+        for (ConsultationTextIndex chunkIndex : chunkIndexes) {
+            index.addAll(chunkIndex);
+        }
+        return index;
+    }
+
+    /**
+     * Returns a text index of the consultations of {@code entries} from position {@code from} to {@code to}
+     * exclusive. Only the diagnoses of stored consultations are loaded, without going through the cache,
+     * which can only be used by a single thread.
+     *
+     * @throws IllegalStateException if a diagnosis cannot be loaded from storage.
+     */
+    private static ConsultationTextIndex buildChunkTextIndex(List<ConsultationIndexEntry> entries, int from, int to,
+                                                             ConsultationLoader entryLoader) {
+        ConsultationTextIndex index = new ConsultationTextIndex();
+        for (int position = from; position < to; position++) {
+            ConsultationIndexEntry entry = entries.get(position);
+            if (entry.getHeldConsultation() != null) {
+                index.add(position, entry.getHeldConsultation());
+                continue;
+            }
+
+            try {
+                index.add(position, entryLoader.loadDiagnosis(entry.getLocation()));
+            } catch (DataConversionException dce) {
+                throw new IllegalStateException(String.format(MESSAGE_LOAD_FAILED, entry.getIndex() + 1,
+                        dce.getMessage()), dce);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns the consultation at {@code position} of the index, loading it from storage if it is not
+     * held in memory.
+     *
+     * @throws IllegalStateException if the consultation cannot be loaded from storage.
+     */
+    private synchronized Consultation getConsultation(int position) {
+        ConsultationIndexEntry entry = consultationIndex.get(position);
+        if (entry.getHeldConsultation() != null) {
+            return entry.getHeldConsultation();
+        }
+
+        Consultation consultation = loadedConsultations.get(position);
+        if (consultation == null) {
+            consultation = load(entry);
+            loadedConsultations.put(position, consultation);
+        }
+        return consultation;
+    }
+
+    /**
+     * Loads the consultation of {@code entry} from storage.
+     *
+     * @throws IllegalStateException if the consultation cannot be loaded.
+     */
+    private Consultation load(ConsultationIndexEntry entry) {
+        try {
+            return loader.loadConsultation(entry.getLocation());
+        } catch (DataConversionException dce) {
+            throw new IllegalStateException(String.format(MESSAGE_LOAD_FAILED, entry.getIndex() + 1,
+                    dce.getMessage()), dce);
+        }
     }
 
     public void abortConsultation() {
-        currentConsultation = null;
+        abortConsultation(ConsultationSessions.DEFAULT_SESSION_ID);
+    }
+
+    /**
+     * Discards the ongoing consultation of the session {@code sessionId}, if there is one.
+     */
+    public void abortConsultation(String sessionId) {
+        sessions.end(sessionId);
+    }
+
+    public boolean isModified() {
+        return isModified;
+    }
+
+    /**
+     * Sets whether the consultation records were modified since they were last saved
+     */
+    public void indicateModification(boolean state) {
+        isModified = state;
     }
 }
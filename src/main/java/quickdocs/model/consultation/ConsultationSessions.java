@@ -0,0 +1,86 @@
+package quickdocs.model.consultation;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import quickdocs.model.patient.Patient;
+
+/**
+ * The consultation sessions in progress, each identified by the id of the doctor or room holding it,
+ * so that several doctors can consult their patients at the same time.
+ * Sessions are started, updated and ended atomically, so they can be changed from several threads at once.
+ */
+public class ConsultationSessions {
+
+    // the session used when no doctor or room is entered
+    public static final String DEFAULT_SESSION_ID = "";
+    public static final String MESSAGE_SESSION_IN_PROGRESS = "There is already an ongoing consultation session\n";
+    public static final String MESSAGE_PATIENT_IN_SESSION = "Patient %s is already in another consultation session\n";
+
+    private final ConcurrentHashMap<String, Consultation> sessions = new ConcurrentHashMap<>();
+
+    /**
+     * Starts a consultation with {@code patient} in the session {@code sessionId}.
+     * Starting sessions is synchronized so that a patient is never in two sessions at once.
+     *
+     * @return the consultation started.
+     * @throws IllegalArgumentException if the session is already in progress, or the patient is in another session.
+     */
+    public synchronized Consultation start(String sessionId, Patient patient) {
+        requireNonNull(sessionId);
+        requireNonNull(patient);
+        if (sessions.containsKey(sessionId)) {
+            throw new IllegalArgumentException(MESSAGE_SESSION_IN_PROGRESS);
+        }
+        for (Consultation consultation : sessions.values()) {
+            if (consultation.getPatient().getNric().equals(patient.getNric())) {
+                throw new IllegalArgumentException(String.format(MESSAGE_PATIENT_IN_SESSION, patient.getNric()));
+            }
+        }
+
+        Consultation consultation = new Consultation(patient);
+        sessions.put(sessionId, consultation);
+        return consultation;
+    }
+
+    /**
+     * Returns the consultation in progress in the session {@code sessionId}, if there is one.
+     */
+    public Optional<Consultation> get(String sessionId) {
+        return Optional.ofNullable(sessions.get(sessionId));
+    }
+
+    /**
+     * Applies {@code update} to the consultation in progress in the session {@code sessionId}, while no other
+     * thread can change or end the session.
+     *
+     * @return false if there is no consultation in progress in the session.
+     */
+    public boolean update(String sessionId, Consumer<Consultation> update) {
+        return sessions.computeIfPresent(sessionId, (id, consultation) -> {
+            update.accept(consultation);
+            return consultation;
+        }) != null;
+    }
+
+    /**
+     * Ends the session {@code sessionId}, so that another consultation can be started in it.
+     *
+     * @return the consultation that was in progress in the session, or null if there was none.
+     */
+    public Consultation end(String sessionId) {
+        return sessions.remove(sessionId);
+    }
+
+    /**
+     * Returns an unmodifiable view of the consultations in progress, by the ids of their sessions.
+     */
+    public Map<String, Consultation> getSessions() {
+        return Collections.unmodifiableMap(sessions);
+    }
+}
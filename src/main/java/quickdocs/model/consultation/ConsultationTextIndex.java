@@ -0,0 +1,218 @@
+package quickdocs.model.consultation;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * An inverted index of the words in the assessments and symptoms of past consultations, from each word to
+ * the positions of the consultations it is found in, and where it is found in each of them.
+ * Consultations are added in the order of their positions, so the positions of each word are kept sorted,
+ * and the consultations matching every clause of a query are found by merging the positions of its words
+ * rather than going through every consultation.
+ */
+public class ConsultationTextIndex {
+
+    // the assessment and each symptom are separate fields, and a phrase cannot run from one field into the next
+    private static final int FIELD_GAP = 1;
+
+    private final Map<String, List<Posting>> postings = new HashMap<>();
+    private int consultationCount = 0;
+
+    /**
+     * Adds the diagnosis of {@code consultation}, found at {@code position}, to the index.
+     * Positions have to be added in increasing order.
+     */
+    public void add(int position, Consultation consultation) {
+        add(position, consultation.getDiagnosis());
+    }
+
+    /**
+     * Adds {@code diagnosis}, of the consultation found at {@code position}, to the index.
+     * A consultation without a diagnosis is added with a null {@code diagnosis}.
+     * Positions have to be added in increasing order.
+     */
+    public void add(int position, Diagnosis diagnosis) {
+        consultationCount++;
+        if (diagnosis == null) {
+            return;
+        }
+
+        Map<String, List<Integer>> wordOffsets = new HashMap<>();
+        int offset = 0;
+        List<String> fields = new ArrayList<>();
+        if (diagnosis.getAssessment() != null) {
+            fields.add(diagnosis.getAssessment().getAssessment());
+        }
+        for (Symptom symptom : diagnosis.getSymptoms()) {
+            fields.add(symptom.getSymptom());
+        }
+        for (String field : fields) {
+            for (String word : ConsultationTextQuery.tokenize(field)) {
+                wordOffsets.computeIfAbsent(word, w -> new ArrayList<>()).add(offset++);
+            }
+            offset += FIELD_GAP;
+        }
+
+        for (Map.Entry<String, List<Integer>> entry : wordOffsets.entrySet()) {
+            int[] offsets = entry.getValue().stream().mapToInt(Integer::intValue).toArray();
+            postings.computeIfAbsent(entry.getKey(), w -> new ArrayList<>()).add(new Posting(position, offsets));
+        }
+    }
+
+    /**
+     * Adds every consultation in {@code other} to this index.
+     * The consultations in {@code other} have to be at positions after those already in this index.
+     */
+    public void addAll(ConsultationTextIndex other) {
+        consultationCount += other.consultationCount;
+        for (Map.Entry<String, List<Posting>> entry : other.postings.entrySet()) {
+            postings.computeIfAbsent(entry.getKey(), w -> new ArrayList<>()).addAll(entry.getValue());
+        }
+    }
+
+    public int getConsultationCount() {
+        return consultationCount;
+    }
+
+    /**
+     * Returns the positions of the consultations matching every clause of {@code query}, with those matching
+     * it best first. Consultations are ranked by how often the clauses are found in them, with clauses found
+     * in fewer consultations counting for more, and equally ranked consultations are listed latest first.
+     */
+    public List<Integer> search(ConsultationTextQuery query) {
+        List<List<Posting>> clauseMatches = new ArrayList<>();
+        for (List<String> clause : query.getClauses()) {
+            List<Posting> matches = findClause(clause);
+            if (matches.isEmpty()) {
+                return Collections.emptyList();
+            }
+            clauseMatches.add(matches);
+        }
+        // intersecting from the rarest clause keeps the intermediate results small
+        clauseMatches.sort((first, second) -> Integer.compare(first.size(), second.size()));
+
+        List<Posting> firstMatches = clauseMatches.get(0);
+        double[] scores = new double[firstMatches.size()];
+        int[] positions = new int[firstMatches.size()];
+        for (int i = 0; i < firstMatches.size(); i++) {
+            positions[i] = firstMatches.get(i).position;
+            scores[i] = score(firstMatches.get(i), firstMatches.size());
+        }
+        int count = positions.length;
+        for (int c = 1; c < clauseMatches.size() && count > 0; c++) {
+            List<Posting> matches = clauseMatches.get(c);
+            int kept = 0;
+            int j = 0;
+            for (int i = 0; i < count; i++) {
+                j = seek(matches, j, positions[i]);
+                if (j < matches.size() && matches.get(j).position == positions[i]) {
+                    positions[kept] = positions[i];
+                    scores[kept] = scores[i] + score(matches.get(j), matches.size());
+                    kept++;
+                }
+            }
+            count = kept;
+        }
+
+        Integer[] ranked = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            ranked[i] = i;
+        }
+        Arrays.sort(ranked, (first, second) -> scores[first] != scores[second]
+                ? Double.compare(scores[second], scores[first])
+                : Integer.compare(positions[second], positions[first]));
+        List<Integer> results = new ArrayList<>(count);
+        for (Integer i : ranked) {
+            results.add(positions[i]);
+        }
+        return results;
+    }
+
+    /**
+     * Returns the consultations where the words of {@code clause} are found next to each other in order,
+     * in increasing order of position, with the offsets where the clause starts.
+     */
+    private List<Posting> findClause(List<String> clause) {
+        List<Posting> matches = postings.getOrDefault(clause.get(0), Collections.emptyList());
+        for (int w = 1; w < clause.size() && !matches.isEmpty(); w++) {
+            List<Posting> wordPostings = postings.getOrDefault(clause.get(w), Collections.emptyList());
+            List<Posting> phraseMatches = new ArrayList<>();
+            int j = 0;
+            for (Posting match : matches) {
+                j = seek(wordPostings, j, match.position);
+                if (j < wordPostings.size() && wordPostings.get(j).position == match.position) {
+                    int[] offsets = followedBy(match.offsets, wordPostings.get(j).offsets, w);
+                    if (offsets.length > 0) {
+                        phraseMatches.add(new Posting(match.position, offsets));
+                    }
+                }
+            }
+            matches = phraseMatches;
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the offsets in {@code starts} that have an offset {@code distance} after them in {@code offsets}.
+     */
+    private static int[] followedBy(int[] starts, int[] offsets, int distance) {
+        int[] kept = new int[starts.length];
+        int count = 0;
+        int j = 0;
+        for (int start : starts) {
+            while (j < offsets.length && offsets[j] < start + distance) {
+                j++;
+            }
+            if (j < offsets.length && offsets[j] == start + distance) {
+                kept[count++] = start;
+            }
+        }
+        return Arrays.copyOf(kept, count);
+    }
+
+    /**
+     * Returns the first index from {@code from} in {@code postings} of a posting at or after {@code position},
+     * galloping ahead so that long runs of postings are skipped without checking each of them.
+     */
+    private static int seek(List<Posting> postings, int from, int position) {
+        int step = 1;
+        int low = from;
+        int high = from;
+        while (high < postings.size() && postings.get(high).position < position) {
+            low = high + 1;
+            high += step;
+            step *= 2;
+        }
+        high = Math.min(high, postings.size());
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (postings.get(middle).position < position) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private double score(Posting match, int matchCount) {
+        return (1 + Math.log(match.offsets.length)) * Math.log(1 + (double) consultationCount / matchCount);
+    }
+
+    /**
+     * The offsets where a word, or the start of a phrase, is found in the consultation at a position.
+     */
+    private static class Posting {
+        private final int position;
+        private final int[] offsets;
+
+        Posting(int position, int[] offsets) {
+            this.position = position;
+            this.offsets = offsets;
+        }
+    }
+}
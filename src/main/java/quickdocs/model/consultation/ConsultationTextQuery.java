@@ -0,0 +1,99 @@
+package quickdocs.model.consultation;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * A query for past consultations by the text of their diagnoses, made up of terms and phrases that must all
+ * be found in the assessment or symptoms of a consultation.
+ * Phrases are enclosed in double quotes, and the words {@code AND} between terms are optional.
+ * A term joining words with other characters, such as {@code sore-throat}, is searched for as a phrase.
+ */
+public class ConsultationTextQuery {
+
+    public static final String MESSAGE_EMPTY_QUERY = "Search text should contain at least one word or number";
+    public static final String AND = "AND";
+
+    private static final Pattern TOKEN_SEPARATOR = Pattern.compile("[^\\p{Alnum}]+");
+    private static final Pattern CLAUSE = Pattern.compile("\"([^\"]*)\"?|(\\S+)");
+
+    // each clause is a single term, or the terms of a phrase in order
+    private final List<List<String>> clauses;
+
+    private ConsultationTextQuery(List<List<String>> clauses) {
+        this.clauses = clauses;
+    }
+
+    /**
+     * Parses {@code text} into a query. Words outside quotes are terms, and the words within quotes are phrases.
+     *
+     * @throws IllegalArgumentException if the text has no words or numbers to search for.
+     */
+    public static ConsultationTextQuery parse(String text) {
+        requireNonNull(text);
+        List<List<String>> clauses = new ArrayList<>();
+        Matcher matcher = CLAUSE.matcher(text);
+        while (matcher.find()) {
+            if (matcher.group(2) != null && matcher.group(2).equals(AND)) {
+                continue;
+            }
+            String clauseText = matcher.group(1) != null ? matcher.group(1) : matcher.group(2);
+            List<String> tokens = tokenize(clauseText);
+            if (!tokens.isEmpty() && !clauses.contains(tokens)) {
+                clauses.add(Collections.unmodifiableList(tokens));
+            }
+        }
+
+        if (clauses.isEmpty()) {
+            throw new IllegalArgumentException(MESSAGE_EMPTY_QUERY);
+        }
+        return new ConsultationTextQuery(Collections.unmodifiableList(clauses));
+    }
+
+    /**
+     * Returns the words and numbers in {@code text} in lower case, in the order they appear.
+     */
+    public static List<String> tokenize(String text) {
+        List<String> tokens = new ArrayList<>();
+        for (String token : TOKEN_SEPARATOR.split(text.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty()) {
+                tokens.add(token);
+            }
+        }
+        return tokens;
+    }
+
+    /**
+     * Returns the clauses of the query, each a single term or the terms of a phrase in order.
+     */
+    public List<List<String>> getClauses() {
+        return clauses;
+    }
+
+    @Override
+    public String toString() {
+        List<String> clauseTexts = new ArrayList<>();
+        for (List<String> clause : clauses) {
+            clauseTexts.add(clause.size() == 1 ? clause.get(0) : "\"" + String.join(" ", clause) + "\"");
+        }
+        return String.join(" " + AND + " ", clauseTexts);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this
+                || (other instanceof ConsultationTextQuery
+                && clauses.equals(((ConsultationTextQuery) other).clauses));
+    }
+
+    @Override
+    public int hashCode() {
+        return clauses.hashCode();
+    }
+}
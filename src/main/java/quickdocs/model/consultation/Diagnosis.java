@@ -32,6 +32,20 @@ public class Diagnosis {
         return symptoms;
     }
 
+    /**
+     * Replaces the assessment and symptoms of this diagnosis with their shared instances, so that diagnoses
+     * read from many consultations do not each hold their own copies of them.
+     */
+    public void internValues() {
+        if (assessment != null) {
+            assessment = Assessment.intern(assessment);
+        }
+        if (symptoms != null) {
+            symptoms.replaceAll(symptom -> symptom == null ? null : Symptom.intern(symptom));
+            symptoms.trimToSize();
+        }
+    }
+
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
@@ -1,5 +1,9 @@
 package quickdocs.model.consultation;
 
+import java.util.Objects;
+
+import quickdocs.commons.util.Interner;
+
 /**
  * Represents a single symptom of a patient's diagnosis
  */
@@ -8,6 +12,9 @@ public class Symptom {
     public static final String SYMPTOMS_CONSTRAINTS =
             "Symptoms should only contain alphanumeric characters and spaces but not blank";
 
+    // the same symptoms are recorded in many consultations, and share their instances
+    private static final Interner<Symptom> POOL = new Interner<>();
+
     private String symptom;
 
     public Symptom() {
@@ -20,6 +27,22 @@ public class Symptom {
         this.symptom = symptom;
     }
 
+    /**
+     * Returns the shared instance of the symptom {@code symptom}.
+     *
+     * @throws IllegalArgumentException if {@code symptom} is not a valid symptom.
+     */
+    public static Symptom of(String symptom) {
+        return POOL.intern(new Symptom(symptom));
+    }
+
+    /**
+     * Returns the shared instance of the symptom equal to {@code symptom}, such as one read from storage.
+     */
+    public static Symptom intern(Symptom symptom) {
+        return symptom.symptom == null ? symptom : POOL.intern(symptom);
+    }
+
     public String getSymptom() {
         return symptom;
     }
@@ -29,6 +52,11 @@ public class Symptom {
         return symptom;
     }
 
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(symptom);
+    }
+
     @Override
     public boolean equals(Object other) {
         return other == this // short circuit if same object
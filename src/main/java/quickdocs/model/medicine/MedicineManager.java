@@ -5,6 +5,7 @@ import static quickdocs.commons.util.CollectionUtil.binarySearch;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.Comparator;
+import java.util.List;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -27,6 +28,9 @@ public class MedicineManager {
     private Directory root;
     private ArrayList<Medicine> listOfMedicine;
 
+    // true if the medicines and their directories were modified since they were last saved
+    private boolean isModified = false;
+
     public MedicineManager() {
         root = new Directory("root");
         listOfMedicine = new ArrayList<>();
@@ -108,6 +112,40 @@ public class MedicineManager {
         return root.findDirectory(path, 0);
     }
 
+    /**
+     * Returns the path leading to {@code directory}, starting from the root directory
+     *
+     * @param directory the directory to find the path of
+     * @return the path of the directory in the form of String[]
+     */
+    public String[] getPath(Directory directory) {
+        List<String> path = new ArrayList<>();
+        if (!findPath(root, directory, path)) {
+            throw new IllegalArgumentException(ERROR_MESSAGE_NO_DIRECTORY_FOUND);
+        }
+        return path.toArray(new String[0]);
+    }
+
+    /**
+     * Appends the path from {@code current} to {@code directory} to {@code path}, if {@code directory} is
+     * {@code current} or one of the directories under it.
+     *
+     * @return true if the path was found
+     */
+    private static boolean findPath(Directory current, Directory directory, List<String> path) {
+        path.add(current.name);
+        if (current == directory) {
+            return true;
+        }
+        for (Directory subDirectory : current.getListOfDirectory()) {
+            if (findPath(subDirectory, directory, path)) {
+                return true;
+            }
+        }
+        path.remove(path.size() - 1);
+        return false;
+    }
+
     /**
      * record a purchase of medicine in the medicine storage
      *
@@ -208,4 +246,15 @@ public class MedicineManager {
         suggestions.sort(Comparator.comparing((String::toLowerCase)));
         return suggestions;
     }
+
+    public boolean isModified() {
+        return isModified;
+    }
+
+    /**
+     * Sets whether the medicines and their directories were modified since they were last saved
+     */
+    public void indicateModification(boolean state) {
+        isModified = state;
+    }
 }
@@ -1,5 +1,7 @@
 package quickdocs.model.patient;
 
+import java.util.regex.Pattern;
+
 /**
  * Represents the address of the patient
  */
@@ -7,6 +9,7 @@ public class Address {
     public static final String REGEX_ADDRESS = "[^\\s\\W].*";
     public static final String ADDRESS_CONSTRAINTS =
             "Addresses should not be blank or only contain only spaces or symbols";
+    private static final Pattern ADDRESS_PATTERN = Pattern.compile(REGEX_ADDRESS);
 
     private String address;
 
@@ -15,7 +18,7 @@ public class Address {
     }
 
     public Address(String address) {
-        if (!address.matches(REGEX_ADDRESS)) {
+        if (!ADDRESS_PATTERN.matcher(address).matches()) {
             throw new IllegalArgumentException(ADDRESS_CONSTRAINTS);
         }
         this.address = address;
@@ -38,6 +41,6 @@ public class Address {
     }
 
     public static boolean isValidAddress(String string) {
-        return string.matches(REGEX_ADDRESS);
+        return ADDRESS_PATTERN.matcher(string).matches();
     }
 }
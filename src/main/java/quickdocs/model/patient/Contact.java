@@ -1,5 +1,7 @@
 package quickdocs.model.patient;
 
+import java.util.regex.Pattern;
+
 /**
  * Represents the local phone number of the patient, without country code
  */
@@ -7,6 +9,7 @@ public class Contact {
 
     public static final String REGEX_CONTACT = "[\\d]{8}";
     public static final String CONTACT_CONSTRAINTS = "Local phone number should be 8 digits only";
+    private static final Pattern CONTACT_PATTERN = Pattern.compile(REGEX_CONTACT);
 
     private String contact;
 
@@ -15,7 +18,7 @@ public class Contact {
     }
 
     public Contact(String contact) {
-        if (!contact.matches(REGEX_CONTACT)) {
+        if (!CONTACT_PATTERN.matcher(contact).matches()) {
             throw new IllegalArgumentException(CONTACT_CONSTRAINTS);
         }
         this.contact = contact;
@@ -38,6 +41,6 @@ public class Contact {
     }
 
     public static boolean isValidContact(String string) {
-        return string.matches(REGEX_CONTACT);
+        return CONTACT_PATTERN.matcher(string).matches();
     }
 }
@@ -4,6 +4,7 @@ import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Calendar;
 import java.util.List;
+import java.util.regex.Pattern;
 
 /**
  * Represents the patient's date of birth in the YYYY-MM-DD format
@@ -17,6 +18,7 @@ public class Dob {
     public static final String THIRTYFIRST_CONSTRAINT = "The month entered does not have a 31st day";
     public static final String FUTURE_YEAR = "The entered date of birth is in the future and is invalid";
     public static final String MINIMUM_YEAR = "The entered year is over 100 years ago and is invalid";
+    private static final Pattern DOB_PATTERN = Pattern.compile(REGEX_DOB);
 
     private LocalDate dob;
 
@@ -25,7 +27,7 @@ public class Dob {
     }
 
     public Dob(String dob) {
-        if (!dob.matches(REGEX_DOB)) {
+        if (!DOB_PATTERN.matcher(dob).matches()) {
             throw new IllegalArgumentException(DOB_CONSTRAINTS);
         }
 
@@ -63,7 +65,8 @@ public class Dob {
             throw new IllegalArgumentException(THIRTYFIRST_CONSTRAINT);
         }
 
-        this.dob = LocalDate.parse(dob);
+        // months and days may be written without a leading zero, so they are not parsed as ISO dates
+        this.dob = LocalDate.of(year, Integer.valueOf(month), Integer.valueOf(day));
     }
 
     public LocalDate getDob() {
@@ -10,6 +10,7 @@ public class Email {
     public static final String REGEX_EMAIL = "^[A-Z0-9._%+-]+@[A-Z0-9.-]+\\.[A-Z]{2,6}$";
     public static final String EMAIL_CONSTRAINTS =
             "Emails should follow standard email convention: username@domain";
+    private static final Pattern EMAIL_PATTERN = Pattern.compile(REGEX_EMAIL, Pattern.CASE_INSENSITIVE);
 
     private String email;
 
@@ -18,7 +19,7 @@ public class Email {
     }
 
     public Email(String email) {
-        if (!Pattern.compile(REGEX_EMAIL, Pattern.CASE_INSENSITIVE).matcher(email).find()) {
+        if (!EMAIL_PATTERN.matcher(email).find()) {
             throw new IllegalArgumentException(EMAIL_CONSTRAINTS);
         }
 
@@ -42,6 +43,6 @@ public class Email {
     }
 
     public static boolean isValidEmail(String string) {
-        return Pattern.compile(REGEX_EMAIL, Pattern.CASE_INSENSITIVE).matcher(string).matches();
+        return EMAIL_PATTERN.matcher(string).matches();
     }
 }
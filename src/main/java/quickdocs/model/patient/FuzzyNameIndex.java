@@ -0,0 +1,229 @@
+package quickdocs.model.patient;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Indexes patient records by their names for searches that tolerate misspelt names.
+ * Names are kept in a BK-tree, which finds the names within an edit distance of a search name
+ * without computing the distance to every name, and by their phonetic keys, which find names
+ * that sound the same as the search name however far apart their spellings are.
+ * Records are identified by their NRIC, which stays the same while the records move in the patient list.
+ */
+class FuzzyNameIndex {
+
+    private static final String SOUNDEX_CODES = "01230120022455012623010202";
+
+    private Node root;
+    private final HashMap<String, Set<Nric>> phoneticIndex = new HashMap<>();
+
+    /**
+     * Indexes the name of {@code patient}.
+     */
+    void add(Patient patient) {
+        String name = toSearchText(patient.getName().toString());
+        phoneticIndex.computeIfAbsent(toPhoneticKey(name), key -> new HashSet<>()).add(patient.getNric());
+        if (root == null) {
+            root = new Node(name);
+        }
+
+        Node node = root;
+        int distance;
+        while ((distance = getEditDistance(node.name, name)) != 0) {
+            node = node.children.computeIfAbsent(distance, key -> new Node(name));
+        }
+        node.nrics.add(patient.getNric());
+    }
+
+    /**
+     * Removes the name of {@code patient} from the index.
+     * The node of the name is kept in the BK-tree, as the names below it were placed by their distance to it.
+     */
+    void remove(Patient patient) {
+        String name = toSearchText(patient.getName().toString());
+        String phoneticKey = toPhoneticKey(name);
+        Set<Nric> soundAlikes = phoneticIndex.get(phoneticKey);
+        if (soundAlikes != null) {
+            soundAlikes.remove(patient.getNric());
+            if (soundAlikes.isEmpty()) {
+                phoneticIndex.remove(phoneticKey);
+            }
+        }
+
+        Node node = root;
+        while (node != null) {
+            int distance = getEditDistance(node.name, name);
+            if (distance == 0) {
+                node.nrics.remove(patient.getNric());
+                return;
+            }
+            node = node.children.get(distance);
+        }
+    }
+
+    /**
+     * Returns the NRICs of the records whose names are within {@code maxDistance} edits of {@code searchText},
+     * mapped to the edit distance of their names.
+     * {@code searchText} must already be converted with {@link #toSearchText(String)}.
+     */
+    Map<Nric, Integer> search(String searchText, int maxDistance) {
+        return search(searchText, maxDistance, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns the NRICs of at least {@code limit} of the records with the closest names within
+     * {@code maxDistance} edits of {@code searchText}, if there are that many, mapped to the edit distance
+     * of their names. Every record as close as the {@code limit}-th closest is returned.
+     * Once {@code limit} records are found, only names at most as far as the furthest of them are searched for,
+     * so less of the index is visited.
+     * {@code searchText} must already be converted with {@link #toSearchText(String)}.
+     */
+    Map<Nric, Integer> search(String searchText, int maxDistance, int limit) {
+        // the number of records found at each edit distance, to find the distance of the limit-th closest
+        int[] foundAtDistance = new int[maxDistance + 1];
+        int foundCount = 0;
+        int radius = maxDistance;
+
+        List<Node> closeNodes = new ArrayList<>();
+        List<Integer> closeDistances = new ArrayList<>();
+        Deque<Node> toVisit = new ArrayDeque<>();
+        if (root != null) {
+            toVisit.push(root);
+        }
+
+        while (!toVisit.isEmpty()) {
+            Node node = toVisit.pop();
+            int distance = getEditDistance(node.name, searchText);
+            if (distance <= radius && !node.nrics.isEmpty()) {
+                closeNodes.add(node);
+                closeDistances.add(distance);
+                foundAtDistance[distance] += node.nrics.size();
+                foundCount += node.nrics.size();
+                while (radius > 0 && foundCount - foundAtDistance[radius] >= limit) {
+                    foundCount -= foundAtDistance[radius];
+                    radius--;
+                }
+            }
+
+            // by the triangle inequality, only the children at these distances can be close enough
+            for (Map.Entry<Integer, Node> child : node.children.entrySet()) {
+                if (Math.abs(child.getKey() - distance) <= radius) {
+                    toVisit.push(child.getValue());
+                }
+            }
+        }
+
+        Map<Nric, Integer> matches = new HashMap<>();
+        for (int i = 0; i < closeNodes.size(); i++) {
+            if (closeDistances.get(i) <= radius) {
+                for (Nric nric : closeNodes.get(i).nrics) {
+                    matches.put(nric, closeDistances.get(i));
+                }
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Returns the NRICs of the records whose names sound the same as {@code searchText}, which must already
+     * be converted with {@link #toSearchText(String)}.
+     */
+    Set<Nric> searchSoundAlikes(String searchText) {
+        return phoneticIndex.getOrDefault(toPhoneticKey(searchText), new HashSet<>());
+    }
+
+    /**
+     * Returns {@code text} in the form that names are indexed and searched in.
+     */
+    static String toSearchText(String text) {
+        return text.trim().replaceAll("\\s+", " ").toLowerCase();
+    }
+
+    /**
+     * Returns the number of characters that have to be inserted, deleted or substituted
+     * to change {@code first} into {@code second}.
+     */
+    static int getEditDistance(String first, String second) {
+        int[] previousRow = new int[second.length() + 1];
+        int[] currentRow = new int[second.length() + 1];
+        for (int j = 0; j <= second.length(); j++) {
+            previousRow[j] = j;
+        }
+
+        for (int i = 1; i <= first.length(); i++) {
+            currentRow[0] = i;
+            for (int j = 1; j <= second.length(); j++) {
+                int substitutionCost = first.charAt(i - 1) == second.charAt(j - 1) ? 0 : 1;
+                currentRow[j] = Math.min(previousRow[j - 1] + substitutionCost,
+                        Math.min(previousRow[j], currentRow[j - 1]) + 1);
+            }
+            int[] swap = previousRow;
+            previousRow = currentRow;
+            currentRow = swap;
+        }
+        return previousRow[second.length()];
+    }
+
+    /**
+     * Returns the Soundex codes of the words in {@code name}, so that names that sound alike have the same key.
+     */
+    static String toPhoneticKey(String name) {
+        StringBuilder key = new StringBuilder();
+        for (String word : name.split(" ")) {
+            if (key.length() > 0) {
+                key.append(' ');
+            }
+            key.append(toSoundex(word));
+        }
+        return key.toString();
+    }
+
+    /**
+     * Returns the Soundex code of {@code word}: its first letter followed by three digits standing for
+     * the sounds of the consonants after it. Words without letters are their own code.
+     */
+    private static String toSoundex(String word) {
+        String letters = word.toUpperCase().replaceAll("[^A-Z]", "");
+        if (letters.isEmpty()) {
+            return word;
+        }
+
+        StringBuilder code = new StringBuilder().append(letters.charAt(0));
+        char previousDigit = SOUNDEX_CODES.charAt(letters.charAt(0) - 'A');
+        for (int i = 1; i < letters.length() && code.length() < 4; i++) {
+            char letter = letters.charAt(i);
+            char digit = SOUNDEX_CODES.charAt(letter - 'A');
+            if (digit != '0' && digit != previousDigit) {
+                code.append(digit);
+            }
+
+            // consonants with the same code are only coded once if separated by H or W
+            if (letter != 'H' && letter != 'W') {
+                previousDigit = digit;
+            }
+        }
+        while (code.length() < 4) {
+            code.append('0');
+        }
+        return code.toString();
+    }
+
+    /**
+     * A name in the BK-tree, with the names below it placed by their edit distance to it.
+     */
+    private static class Node {
+        private final String name;
+        private final Set<Nric> nrics = new HashSet<>();
+        private final HashMap<Integer, Node> children = new HashMap<>();
+
+        private Node(String name) {
+            this.name = name;
+        }
+    }
+}
@@ -1,11 +1,14 @@
 package quickdocs.model.patient;
 
+import java.util.regex.Pattern;
+
 /**
  * Represent the gender of the patient
  */
 public class Gender {
     public static final String REGEX_GENDER = "[MF]";
     public static final String GENDER_CONSTRAINTS = "Only 2 gender, M or F allowed";
+    private static final Pattern GENDER_PATTERN = Pattern.compile(REGEX_GENDER);
 
     private String gender;
 
@@ -14,7 +17,7 @@ public class Gender {
     }
 
     public Gender (String gender) {
-        if (!gender.matches(REGEX_GENDER)) {
+        if (!GENDER_PATTERN.matcher(gender).matches()) {
             throw new IllegalArgumentException(GENDER_CONSTRAINTS);
         }
         this.gender = gender;
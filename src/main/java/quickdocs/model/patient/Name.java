@@ -1,5 +1,7 @@
 package quickdocs.model.patient;
 
+import java.util.regex.Pattern;
+
 /**
  * Represents the full name of the person in the patient record
  */
@@ -8,6 +10,7 @@ public class Name {
     public static final String REGEX_NAME = "[\\p{Alnum}][\\p{Alnum} ]*";
     public static final String NAME_CONSTRAINTS =
             "Names should only contain alphanumeric characters and spaces but not blank";
+    private static final Pattern NAME_PATTERN = Pattern.compile(REGEX_NAME);
 
     private String name;
 
@@ -16,7 +19,7 @@ public class Name {
     }
 
     public Name (String name) {
-        if (!name.matches(REGEX_NAME)) {
+        if (!NAME_PATTERN.matcher(name).matches()) {
             throw new IllegalArgumentException(NAME_CONSTRAINTS);
         }
         this.name = name;
@@ -39,6 +42,6 @@ public class Name {
     }
 
     public static boolean isValidName(String string) {
-        return string.matches(REGEX_NAME);
+        return NAME_PATTERN.matcher(string).matches();
     }
 }
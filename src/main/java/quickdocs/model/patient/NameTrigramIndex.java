@@ -0,0 +1,79 @@
+package quickdocs.model.patient;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Indexes patient records by every sequence of three characters in their lower case names,
+ * so that the records whose names contain a search sequence can be found without checking every record.
+ * Records are identified by their NRIC, which stays the same while the records move in the patient list.
+ */
+class NameTrigramIndex {
+
+    static final int GRAM_LENGTH = 3;
+
+    private final HashMap<String, Set<Nric>> postings = new HashMap<>();
+
+    /**
+     * Indexes the name of {@code patient}.
+     */
+    void add(Patient patient) {
+        String name = toSearchText(patient.getName().toString());
+        for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+            postings.computeIfAbsent(name.substring(i, i + GRAM_LENGTH), gram -> new HashSet<>())
+                    .add(patient.getNric());
+        }
+    }
+
+    /**
+     * Removes the name of {@code patient} from the index.
+     */
+    void remove(Patient patient) {
+        String name = toSearchText(patient.getName().toString());
+        for (int i = 0; i + GRAM_LENGTH <= name.length(); i++) {
+            String gram = name.substring(i, i + GRAM_LENGTH);
+            Set<Nric> nrics = postings.get(gram);
+            if (nrics != null) {
+                nrics.remove(patient.getNric());
+                if (nrics.isEmpty()) {
+                    postings.remove(gram);
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the NRICs of the records whose names may contain {@code searchText}, which must already be
+     * converted with {@link #toSearchText(String)}.
+     * Every record whose name contains {@code searchText} is returned, but the names of the records returned
+     * still have to be checked, as the sequences of three characters may be in a different order.
+     * Returns an empty {@code Optional} if {@code searchText} is too short to be looked up, in which case
+     * every record has to be checked.
+     */
+    Optional<Set<Nric>> getCandidates(String searchText) {
+        if (searchText.length() < GRAM_LENGTH) {
+            return Optional.empty();
+        }
+
+        // the records containing every sequence are among those containing the rarest one
+        Set<Nric> candidates = null;
+        for (int i = 0; i + GRAM_LENGTH <= searchText.length(); i++) {
+            Set<Nric> nrics = postings.getOrDefault(searchText.substring(i, i + GRAM_LENGTH),
+                    Collections.emptySet());
+            if (candidates == null || nrics.size() < candidates.size()) {
+                candidates = nrics;
+            }
+        }
+        return Optional.of(candidates);
+    }
+
+    /**
+     * Returns {@code text} in the form that names are indexed and searched in.
+     */
+    static String toSearchText(String text) {
+        return text.toLowerCase();
+    }
+}
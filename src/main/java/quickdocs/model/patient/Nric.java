@@ -1,5 +1,7 @@
 package quickdocs.model.patient;
 
+import java.util.regex.Pattern;
+
 /**
  * Represents NRIC of the patient record
  */
@@ -10,6 +12,7 @@ public class Nric {
             "NRIC starts with S,T,U or G followed by 7 digits and must end with a valid letter\n"
         + "For NRIC starting with S or T, they can only end with these letters: ABCDEFGHIZJ\n"
         + "For NRIC starting with F or G, they can only end with these letters: KLMNPQRTUWX\n";
+    private static final Pattern NRIC_PATTERN = Pattern.compile(REGEX_NRIC1 + "|" + REGEX_NRIC2);
 
     private String nric;
 
@@ -18,7 +21,7 @@ public class Nric {
     }
 
     public Nric(String nric) {
-        if (!nric.matches(REGEX_NRIC1) && !nric.matches(REGEX_NRIC2)) {
+        if (!NRIC_PATTERN.matcher(nric).matches()) {
             throw new IllegalArgumentException(NRIC_CONSTRAINTS);
         }
         this.nric = nric;
@@ -39,4 +42,9 @@ public class Nric {
                 || (other instanceof Nric // instanceof handles nulls
                 && nric.equals(((Nric) other).getNric())); // state check
     }
+
+    @Override
+    public int hashCode() {
+        return nric.hashCode();
+    }
 }
@@ -84,6 +84,12 @@ public class Patient {
         return otherPatient.getNric().equals(nric);
     }
 
+    @Override
+    public int hashCode() {
+        // patients are identified by their NRIC alone
+        return nric.hashCode();
+    }
+
     @Override
     public String toString() {
 
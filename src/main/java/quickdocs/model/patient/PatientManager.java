@@ -1,9 +1,22 @@
 package quickdocs.model.patient;
 
 import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import quickdocs.model.tag.Tag;
+import quickdocs.model.tag.TagQuery;
 
 /**
  * Handle all operations involving the models of patient module
@@ -11,10 +24,43 @@ import quickdocs.model.tag.Tag;
  */
 public class PatientManager {
 
+    public static final int PAGE_SIZE = 50;
+    public static final String MESSAGE_NEXT_PAGE = "More patient records are on page/%d\n";
+    public static final String MESSAGE_NEXT_NRIC_PAGE = "More patient records are after/%s\n";
+    public static final int FUZZY_SEARCH_LIMIT = 10;
+    public static final int FUZZY_SEARCH_MAX_DISTANCE = 3;
+
     private ArrayList<Patient> patientList;
 
+    // position of the first patient record with each NRIC in patientList
+    private HashMap<Nric, Integer> nricIndex;
+
+    // the NRICs in nricIndex, sorted by their text for searches by the start of an NRIC
+    private TreeMap<String, Nric> sortedNrics;
+
+    // the names of the records in nricIndex, for searches by part of a name
+    private NameTrigramIndex nameIndex;
+
+    // the names of the records in nricIndex, for searches by misspelt names. As indexing many records is slow,
+    // records added all at once are indexed on a background thread, and changes made in the meantime are
+    // queued in fuzzyNameChanges, to be applied once it is done
+    private CompletableFuture<FuzzyNameIndex> fuzzyNameIndex;
+    private List<Consumer<FuzzyNameIndex>> fuzzyNameChanges;
+
+    // positions in patientList of the records with each tag
+    private HashMap<Tag, BitSet> tagIndex;
+
+    // true if the patient records were modified since they were last saved
+    private boolean isModified = false;
+
     public PatientManager() {
         this.patientList = new ArrayList<Patient>();
+        this.nricIndex = new HashMap<>();
+        this.sortedNrics = new TreeMap<>();
+        this.nameIndex = new NameTrigramIndex();
+        this.fuzzyNameIndex = CompletableFuture.completedFuture(new FuzzyNameIndex());
+        this.fuzzyNameChanges = new ArrayList<>();
+        this.tagIndex = new HashMap<>();
     }
 
 
@@ -28,18 +74,94 @@ public class PatientManager {
      * @return boolean value of the NRIC check
      */
     public boolean isDuplicatePatient(Patient patient) {
-        for (int i = 0; i < patientList.size(); i++) {
-            if (patientList.get(i).getNric().equals(patient.getNric())) {
-                return true;
-            }
-        }
-        return false;
+        return nricIndex.containsKey(patient.getNric());
     }
 
+    /**
+     * Adds the patient record to the end of the patient list.
+     */
     public void addPatient(Patient patient) {
+        if (addRecord(patient)) {
+            changeFuzzyNameIndex(fuzzyIndex -> fuzzyIndex.add(patient));
+        }
+    }
+
+    /**
+     * Adds the patient record to the end of the patient list and all indices but the index of misspelt names.
+     *
+     * @return true if the record is the first with its NRIC, so its name has to be indexed.
+     */
+    private boolean addRecord(Patient patient) {
         patientList.add(patient);
+        indexTags(patient, patientList.size() - 1);
+        boolean isFirstWithNric = nricIndex.putIfAbsent(patient.getNric(), patientList.size() - 1) == null;
+        if (isFirstWithNric) {
+            nameIndex.add(patient);
+        }
+        updateSortedNric(patient.getNric());
+        return isFirstWithNric;
     }
 
+    /**
+     * Adds all of the patient records in {@code patients} at once, such as when they are loaded from storage.
+     * Duplicates are found with a set of NRICs instead of checking each record with
+     * {@link #isDuplicatePatient(Patient)}, so loading takes linear time.
+     * Their names are added to the index of misspelt names on a background thread.
+     *
+     * @param patients the records to be added, in the order they are listed
+     * @return false, leaving the patient records unchanged, if two of the records have the same NRIC
+     */
+    public boolean addAllPatients(List<Patient> patients) {
+        Set<Nric> nrics = new HashSet<>();
+        for (Patient patient : patients) {
+            if (nricIndex.containsKey(patient.getNric()) || !nrics.add(patient.getNric())) {
+                return false;
+            }
+        }
+        for (Patient patient : patients) {
+            addRecord(patient);
+        }
+        if (patients.isEmpty()) {
+            return true;
+        }
+
+        // changes made before these records were added are applied to the index before them
+        List<Consumer<FuzzyNameIndex>> earlierChanges = new ArrayList<>(fuzzyNameChanges);
+        List<Patient> addedPatients = new ArrayList<>(patients);
+        fuzzyNameChanges.clear();
+        fuzzyNameIndex = fuzzyNameIndex.thenApplyAsync(index -> {
+            earlierChanges.forEach(change -> change.accept(index));
+            addedPatients.forEach(index::add);
+            return index;
+        });
+        return true;
+    }
+
+    /**
+     * Applies {@code change} to the index of misspelt names, or queues it until the index is done being built.
+     */
+    private void changeFuzzyNameIndex(Consumer<FuzzyNameIndex> change) {
+        if (fuzzyNameIndex.isDone()) {
+            change.accept(getFuzzyNameIndex());
+        } else {
+            fuzzyNameChanges.add(change);
+        }
+    }
+
+    /**
+     * Returns the index of misspelt names, waiting for it to be built if it is still being built.
+     */
+    private FuzzyNameIndex getFuzzyNameIndex() {
+        FuzzyNameIndex index = fuzzyNameIndex.join();
+        fuzzyNameChanges.forEach(change -> change.accept(index));
+        fuzzyNameChanges.clear();
+        return index;
+    }
+
+    /**
+     * Returns the patient records. The list should only be changed through this {@code PatientManager},
+     * which keeps its index of NRICs up to date.
+     */
     public ArrayList<Patient> getPatientList() {
         return patientList;
     }
@@ -83,20 +205,36 @@ public class PatientManager {
      * @return true if NRIC of the selected patient can be edited without causing a conflict
      */
     public boolean checkDuplicatePatientAfterEdit(int index, Patient editedPatient) {
-        for (int i = 0; i < patientList.size(); i++) {
-            if (i == index) {
-                continue;
-            }
+        Integer position = nricIndex.get(editedPatient.getNric());
+        return position != null && position != index;
+    }
 
-            if (patientList.get(i).getNric().equals(editedPatient.getNric())) {
-                return true;
-            }
+    /**
+     * Replaces the patient record at {@code index} with {@code editedPatient}, which may have a different NRIC.
+     */
+    public void replacePatient(int index, Patient editedPatient) {
+        Patient oldPatient = patientList.set(index, editedPatient);
+        removeTags(oldPatient, index);
+        indexTags(editedPatient, index);
+        Nric oldNric = oldPatient.getNric();
+        if (isIndexedAt(oldNric, index)) {
+            nameIndex.remove(oldPatient);
+            changeFuzzyNameIndex(fuzzyIndex -> fuzzyIndex.remove(oldPatient));
+        }
+        if (!oldNric.equals(editedPatient.getNric())) {
+            nricIndex.remove(oldNric, index);
+            nricIndex.merge(editedPatient.getNric(), index, Math::min);
+            updateSortedNric(oldNric);
+            updateSortedNric(editedPatient.getNric());
+        }
+        if (isIndexedAt(editedPatient.getNric(), index)) {
+            nameIndex.add(editedPatient);
+            changeFuzzyNameIndex(fuzzyIndex -> fuzzyIndex.add(editedPatient));
         }
-        return false;
     }
 
-    public void replacePatient(int index, Patient editedPatient) {
-        patientList.set(index, editedPatient);
+    private boolean isIndexedAt(Nric nric, int index) {
+        return Integer.valueOf(index).equals(nricIndex.get(nric));
     }
 
 
@@ -119,10 +257,11 @@ public class PatientManager {
 
         // store the index of the patient records that are found
         ArrayList<Integer> foundPatientsIndexes = new ArrayList<>();
-        for (int i = 0; i < patientList.size(); i++) {
+        String searchText = NameTrigramIndex.toSearchText(searchSequence);
+        for (int i : getNameSearchPositions(searchText)) {
             Patient patient = patientList.get(i);
 
-            if (patient.getName().toString().toLowerCase().contains(searchSequence.toLowerCase())) {
+            if (NameTrigramIndex.toSearchText(patient.getName().toString()).contains(searchText)) {
                 foundPatients.add(patient);
                 foundPatientsIndexes.add(i + 1);
             }
@@ -144,6 +283,70 @@ public class PatientManager {
 
     }
 
+    /**
+     * Returns the patient records whose names are closest to the name the user have entered,
+     * allowing for misspelt names. Names within a few edits of the search name, or that sound the same,
+     * are found through the index of names, and at most {@value #FUZZY_SEARCH_LIMIT} of the closest are listed.
+     *
+     * @param searchSequence the name, which may be misspelt, of the patients to find
+     * @return either the full patient record of a single patient, or a list of patients starting with the closest
+     */
+    public String findPatientsByFuzzyName(String searchSequence) {
+        String searchText = FuzzyNameIndex.toSearchText(searchSequence);
+        FuzzyNameIndex index = getFuzzyNameIndex();
+
+        // short names are only allowed a few edits, as every short name is a few edits from another
+        int maxDistance = Math.min(FUZZY_SEARCH_MAX_DISTANCE, Math.max(1, searchText.length() / 3));
+        Map<Nric, Integer> matches = index.search(searchText, maxDistance, FUZZY_SEARCH_LIMIT);
+        for (Nric nric : index.searchSoundAlikes(searchText)) {
+            matches.computeIfAbsent(nric, key -> FuzzyNameIndex.getEditDistance(searchText,
+                    FuzzyNameIndex.toSearchText(patientList.get(nricIndex.get(key)).getName().toString())));
+        }
+
+        List<Map.Entry<Nric, Integer>> closest = new ArrayList<>(matches.entrySet());
+        closest.sort(Comparator.comparing((Map.Entry<Nric, Integer> match) -> match.getValue())
+                .thenComparing(match -> nricIndex.get(match.getKey())));
+
+        ArrayList<Patient> foundPatients = new ArrayList<>();
+        ArrayList<Integer> foundPatientsIndexes = new ArrayList<>();
+        for (Map.Entry<Nric, Integer> match : closest.subList(0, Math.min(FUZZY_SEARCH_LIMIT, closest.size()))) {
+            int position = nricIndex.get(match.getKey());
+            foundPatients.add(patientList.get(position));
+            foundPatientsIndexes.add(position + 1);
+        }
+
+        if (foundPatients.size() == 0) {
+            return "No patient record found";
+        }
+
+        if (foundPatients.size() > 1) {
+            return formatMultiplePatients(foundPatients, foundPatientsIndexes);
+        }
+
+        return foundPatients.get(0).toString();
+    }
+
+    /**
+     * Returns the positions in the patient list, in ascending order, of the records whose names may contain
+     * {@code searchText}, found through the index of names when the search text is long enough.
+     */
+    private List<Integer> getNameSearchPositions(String searchText) {
+        Optional<Set<Nric>> candidates = nameIndex.getCandidates(searchText);
+        List<Integer> positions = new ArrayList<>();
+        if (!candidates.isPresent()) {
+            for (int i = 0; i < patientList.size(); i++) {
+                positions.add(i);
+            }
+            return positions;
+        }
+
+        for (Nric nric : candidates.get()) {
+            positions.add(nricIndex.get(nric));
+        }
+        Collections.sort(positions);
+        return positions;
+    }
+
     /**
      * Returns the details of a single patient record whose NRIC matches the searchSequence
      * or a list of patients along with their indexes, name and NRIC if their NRIC matches
@@ -155,14 +358,9 @@ public class PatientManager {
     public String findPatientsByNric(String searchSequence) {
         ArrayList<Patient> foundPatients = new ArrayList<>();
         ArrayList<Integer> foundPatientsIndexes = new ArrayList<>();
-        for (int i = 0; i < patientList.size(); i++) {
-            Patient patient = patientList.get(i);
-
-            if (patient.getNric().toString().toLowerCase()
-                    .matches("^" + searchSequence.toLowerCase() + ".*")) {
-                foundPatients.add(patient);
-                foundPatientsIndexes.add(i + 1);
-            }
+        for (int position : getNricPrefixPositions(searchSequence)) {
+            foundPatients.add(patientList.get(position));
+            foundPatientsIndexes.add(position + 1);
         }
 
         if (foundPatients.size() == 0) {
@@ -178,21 +376,90 @@ public class PatientManager {
     }
 
     /**
-     * Returns the first fifty patient's index, nric and name
-     * when a patient search have no parameters
+     * Returns the patient records whose NRIC starts with {@code prefix}, in the order of the patient list,
+     * without formatting them, such as when they are exported.
+     * Every patient record is returned if {@code prefix} is empty, without copying the patient list.
      */
-    public String listFiftyPatients() {
+    public List<Patient> getPatientsByNricPrefix(String prefix) {
+        if (prefix.isEmpty()) {
+            return Collections.unmodifiableList(patientList);
+        }
+
+        List<Patient> foundPatients = new ArrayList<>();
+        for (int position : getNricPrefixPositions(prefix)) {
+            foundPatients.add(patientList.get(position));
+        }
+        return foundPatients;
+    }
+
+    /**
+     * Returns the positions in the patient list of the records whose NRIC starts with {@code prefix},
+     * in increasing order.
+     */
+    private List<Integer> getNricPrefixPositions(String prefix) {
+        // NRICs are in upper case, and all NRICs starting with the prefix are in a single range
+        String upperCasePrefix = prefix.toUpperCase();
+        List<Integer> positions = new ArrayList<>();
+        for (Nric nric : sortedNrics.subMap(upperCasePrefix, upperCasePrefix + Character.MAX_VALUE).values()) {
+            positions.add(nricIndex.get(nric));
+        }
+        Collections.sort(positions);
+        return positions;
+    }
+
+    /**
+     * Returns the index, nric and name of the patients on a page of the patient list,
+     * such as when a patient search have no parameters.
+     * Only the records on the page are read, so listing any page takes the same time.
+     *
+     * @param page 1-based page number, each page holding {@value #PAGE_SIZE} patient records
+     * @return the list of patients on the page, followed by how to list the next page if there is one,
+     * or "No patient record found" if the page is beyond the end of the patient list
+     */
+    public String listPatientsOnPage(int page) {
+        long start = (long) (page - 1) * PAGE_SIZE;
+        if (page < 1 || start >= patientList.size()) {
+            return "No patient record found";
+        }
+
         ArrayList<Patient> foundPatients = new ArrayList<>();
         ArrayList<Integer> foundPatientsIndexes = new ArrayList<>();
-        for (int i = 0; i < 49; i++) {
-            if (i >= patientList.size()) {
-                break;
-            }
-            Patient patient = patientList.get(i);
-            foundPatients.add(patient);
+        int end = (int) Math.min(start + PAGE_SIZE, patientList.size());
+        for (int i = (int) start; i < end; i++) {
+            foundPatients.add(patientList.get(i));
             foundPatientsIndexes.add(i + 1);
         }
-        return formatMultiplePatients(foundPatients, foundPatientsIndexes);
+
+        String result = formatMultiplePatients(foundPatients, foundPatientsIndexes);
+        return end < patientList.size() ? result + String.format(MESSAGE_NEXT_PAGE, page + 1) : result;
+    }
+
+    /**
+     * Returns the index, nric and name of the patients whose NRICs come after {@code nric}, in the order
+     * of their NRICs, found from the sorted NRICs so that only the records listed are read.
+     *
+     * @param nric the NRIC, or the start of one, that the listed NRICs come after
+     * @return the list of at most {@value #PAGE_SIZE} patients, followed by how to list the patients after
+     * them if there are any, or "No patient record found" if no NRIC comes after {@code nric}
+     */
+    public String listPatientsAfterNric(String nric) {
+        ArrayList<Patient> foundPatients = new ArrayList<>();
+        ArrayList<Integer> foundPatientsIndexes = new ArrayList<>();
+        Iterator<Nric> nrics = sortedNrics.tailMap(nric.toUpperCase(), false).values().iterator();
+        while (nrics.hasNext() && foundPatients.size() < PAGE_SIZE) {
+            int position = nricIndex.get(nrics.next());
+            foundPatients.add(patientList.get(position));
+            foundPatientsIndexes.add(position + 1);
+        }
+
+        if (foundPatients.size() == 0) {
+            return "No patient record found";
+        }
+
+        String result = formatMultiplePatients(foundPatients, foundPatientsIndexes);
+        return nrics.hasNext()
+                ? result + String.format(MESSAGE_NEXT_NRIC_PAGE, foundPatients.get(PAGE_SIZE - 1).getNric())
+                : result;
     }
 
     /**
@@ -226,15 +493,36 @@ public class PatientManager {
      * if it is the only one that have the specified tag
      */
     public String findPatientsByTag(Tag tag) {
-        ArrayList<Patient> foundPatients = new ArrayList<>();
-        ArrayList<Integer> foundPatientsIndexes = new ArrayList<>();
+        return findPatientsByTags(TagQuery.of(tag));
+    }
 
-        for (int i = 0; i < patientList.size(); i++) {
-            Patient currentPatient = patientList.get(i);
-            if (currentPatient.getTagList().contains(tag)) {
-                foundPatients.add(currentPatient);
-                foundPatientsIndexes.add(i + 1);
+    /**
+     * Returns a list of patients whose tags match the tag query defined by the user, found by combining
+     * the positions of the records with each tag in the query.
+     *
+     * @param tagQuery the tags that patient records must have or must not have
+     * @return either a list of patients matching the query, or a single patient record
+     * if it is the only one that matches the query
+     */
+    public String findPatientsByTags(TagQuery tagQuery) {
+        BitSet matches = new BitSet(patientList.size());
+        matches.set(0, patientList.size());
+        for (Set<Tag> group : tagQuery.getRequiredTagGroups()) {
+            BitSet groupMatches = new BitSet(patientList.size());
+            for (Tag tag : group) {
+                groupMatches.or(tagIndex.getOrDefault(tag, new BitSet()));
             }
+            matches.and(groupMatches);
+        }
+        for (Tag tag : tagQuery.getExcludedTags()) {
+            matches.andNot(tagIndex.getOrDefault(tag, new BitSet()));
+        }
+
+        ArrayList<Patient> foundPatients = new ArrayList<>();
+        ArrayList<Integer> foundPatientsIndexes = new ArrayList<>();
+        for (int i = matches.nextSetBit(0); i >= 0; i = matches.nextSetBit(i + 1)) {
+            foundPatients.add(patientList.get(i));
+            foundPatientsIndexes.add(i + 1);
         }
 
         if (foundPatients.size() == 0) {
@@ -248,31 +536,21 @@ public class PatientManager {
         return foundPatients.get(0).toString();
     }
 
+    /**
+     * Returns the patient record with the given NRIC, or null if there is none or the NRIC is not valid.
+     */
     public Patient getPatientByNric(String nric) {
-        for (int i = 0; i < patientList.size(); i++) {
-            if (patientList.get(i).getNric().toString().equals(nric)) {
-                return patientList.get(i);
-            }
-        }
-        return null;
+        Optional<Nric> validNric = toNric(nric);
+        return validNric.isPresent() ? getPatientByNric(validNric.get()).orElse(null) : null;
     }
 
     public Optional<Patient> getPatientByNric(Nric nric) {
-        for (Patient patient : patientList) {
-            if (patient.getNric().equals(nric)) {
-                return Optional.of(patient);
-            }
-        }
-        return Optional.empty();
+        int index = getIndexByNric(nric);
+        return index < 0 ? Optional.empty() : Optional.of(patientList.get(index));
     }
 
     public int getIndexByNric(Nric nric) {
-        for (int i = 0; i < patientList.size(); i++) {
-            if (patientList.get(i).getNric().toString().equals(nric.toString())) {
-                return i;
-            }
-        }
-        return -1;
+        return nricIndex.getOrDefault(nric, -1);
     }
 
     /**
@@ -281,14 +559,79 @@ public class PatientManager {
      * @param nric of the patient to be deleted
      */
     public void deletePatientByNric(String nric) {
-        for (int i = 0; i < patientList.size(); i++) {
-            if (patientList.get(i).getNric().toString().equals(nric)) {
-                patientList.remove(i);
-                break;
+        Optional<Nric> validNric = toNric(nric);
+        if (!validNric.isPresent() || !nricIndex.containsKey(validNric.get())) {
+            return;
+        }
+
+        int index = nricIndex.remove(validNric.get());
+        Patient deletedPatient = patientList.remove(index);
+        nameIndex.remove(deletedPatient);
+        changeFuzzyNameIndex(fuzzyIndex -> fuzzyIndex.remove(deletedPatient));
+
+        // the records after the deleted one have moved up by one position
+        for (BitSet positions : tagIndex.values()) {
+            positions.clear(index, Math.max(index, positions.length()));
+        }
+        for (int i = index; i < patientList.size(); i++) {
+            nricIndex.merge(patientList.get(i).getNric(), i, Math::min);
+            indexTags(patientList.get(i), i);
+        }
+        tagIndex.values().removeIf(BitSet::isEmpty);
+        updateSortedNric(validNric.get());
+    }
+
+    /**
+     * Adds {@code position} to the positions of the records with each tag of {@code patient}.
+     */
+    private void indexTags(Patient patient, int position) {
+        for (Tag tag : patient.getTagList()) {
+            tagIndex.computeIfAbsent(tag, key -> new BitSet()).set(position);
+        }
+    }
+
+    /**
+     * Removes {@code position} from the positions of the records with each tag of {@code patient}.
+     */
+    private void removeTags(Patient patient, int position) {
+        for (Tag tag : patient.getTagList()) {
+            BitSet positions = tagIndex.get(tag);
+            if (positions != null) {
+                positions.clear(position);
+                if (positions.isEmpty()) {
+                    tagIndex.remove(tag);
+                }
             }
         }
     }
 
+    /**
+     * Adds {@code nric} to the sorted NRICs if a patient record has it, or removes it otherwise.
+     */
+    private void updateSortedNric(Nric nric) {
+        if (nricIndex.containsKey(nric)) {
+            sortedNrics.put(nric.toString(), nric);
+        } else {
+            sortedNrics.remove(nric.toString());
+        }
+    }
+
+    /**
+     * Returns {@code nric} as an {@code Nric}, or an empty {@code Optional} if it is not a valid NRIC,
+     * in which case no patient record can have it.
+     */
+    private static Optional<Nric> toNric(String nric) {
+        if (nric == null) {
+            return Optional.empty();
+        }
+
+        try {
+            return Optional.of(new Nric(nric));
+        } catch (IllegalArgumentException e) {
+            return Optional.empty();
+        }
+    }
+
     @Override
     public boolean equals(Object obj) {
         // short circuit if same object
@@ -306,4 +649,15 @@ public class PatientManager {
         return this.patientList.equals(other.patientList);
 
     }
+
+    public boolean isModified() {
+        return isModified;
+    }
+
+    /**
+     * Sets whether the patient records were modified since they were last saved
+     */
+    public void indicateModification(boolean state) {
+        isModified = state;
+    }
 }
@@ -19,6 +19,9 @@ public class StatisticsManager {
     private BigDecimal consultationFee;
     private List<MonthStatistics> monthStatistics;
 
+    // true if the statistics were modified since they were last saved
+    private boolean isModified = false;
+
     public StatisticsManager() {
         consultationFee = DEFAULT_CONSULTATION_FEE;
         monthStatistics = new ArrayList<>();
@@ -118,4 +121,15 @@ public class StatisticsManager {
         int idx = getYearMonthIndex(yearMonth);
         this.monthStatistics.set(idx, monthStatistics);
     }
+
+    public boolean isModified() {
+        return isModified;
+    }
+
+    /**
+     * Sets whether the statistics were modified since they were last saved
+     */
+    public void indicateModification(boolean state) {
+        isModified = state;
+    }
 }
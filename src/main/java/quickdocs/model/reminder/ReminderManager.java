@@ -3,8 +3,10 @@ package quickdocs.model.reminder;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 import javafx.collections.FXCollections;
@@ -20,6 +22,9 @@ public class ReminderManager {
     private final ObservableList<Reminder> internalList;
     private final ObservableList<Reminder> internalUnmodifiableList;
 
+    // true if the reminders were modified since they were last saved
+    private boolean isModified = false;
+
     public ReminderManager() {
         reminders = new ArrayList<>();
         internalList = FXCollections.observableArrayList();
@@ -92,6 +97,29 @@ public class ReminderManager {
         internalList.add(toAdd);
     }
 
+    /**
+     * Adds all of the {@code Reminder}s in {@code toAdd} at once, such as when they are loaded from storage.
+     * The reminders are sorted together with the existing ones in a single pass, keeping the order that
+     * adding them one by one with {@link #addReminder(Reminder)} would give.
+     *
+     * @param toAdd the {@code Reminder}s to add.
+     * @return {@code false}, leaving the list of reminders unchanged, if there are duplicate reminders.
+     */
+    public boolean addAllReminders(List<Reminder> toAdd) {
+        Set<Reminder> added = new HashSet<>(reminders);
+        for (Reminder rem : toAdd) {
+            if (!added.add(rem)) {
+                return false;
+            }
+        }
+
+        // the sort is stable, so a reminder is placed after the reminders that start at the same time
+        reminders.addAll(toAdd);
+        reminders.sort(Reminder::compareTo);
+        internalList.setAll(reminders);
+        return true;
+    }
+
     public boolean hasDuplicateReminder(Reminder rem) {
         return reminders.contains(rem);
     }
@@ -150,6 +178,20 @@ public class ReminderManager {
         return changed;
     }
 
+    /**
+     * Returns the {@code Reminder}s that were created when the given {@code Medicine}'s quantity fell below
+     * its threshold.
+     *
+     * @param medicine the {@code Medicine} whose {@code Reminder}s to search for.
+     * @return {@code List} of {@code Reminder}s created for the given {@code Medicine}.
+     */
+    public List<Reminder> getMedicineReminders(Medicine medicine) {
+        String title = String.format(Medicine.REMINDER_TITLE_IF_INSUFFICIENT, medicine.name);
+        return reminders.stream()
+                .filter(r -> r.getTitle().equals(title))
+                .collect(Collectors.toList());
+    }
+
     @Override
     public boolean equals(Object other) {
         if (other == this) {
@@ -163,4 +205,15 @@ public class ReminderManager {
         ReminderManager otherManager = (ReminderManager) other;
         return otherManager.reminders.equals(this.reminders);
     }
+
+    public boolean isModified() {
+        return isModified;
+    }
+
+    /**
+     * Sets whether the reminders were modified since they were last saved
+     */
+    public void indicateModification(boolean state) {
+        isModified = state;
+    }
 }
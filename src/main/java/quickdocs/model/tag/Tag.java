@@ -3,6 +3,7 @@ package quickdocs.model.tag;
 import static java.util.Objects.requireNonNull;
 
 import quickdocs.commons.util.AppUtil;
+import quickdocs.commons.util.Interner;
 
 /**
  * Represents a Tag in the address book.
@@ -13,6 +14,9 @@ public class Tag {
     public static final String MESSAGE_CONSTRAINTS = "Tags names should be alphanumeric";
     public static final String VALIDATION_REGEX = "\\p{Alnum}+";
 
+    // tags read from many patient records share the instances of the same tag
+    private static final Interner<Tag> POOL = new Interner<>();
+
     public final String tagName;
 
     /**
@@ -30,6 +34,15 @@ public class Tag {
         this.tagName = null;
     }
 
+    /**
+     * Returns the shared instance of the tag named {@code tagName}.
+     *
+     * @param tagName A valid tag name.
+     */
+    public static Tag of(String tagName) {
+        return POOL.intern(new Tag(tagName));
+    }
+
     /**
      * Returns true if a given string is a valid tag name.
      */
@@ -0,0 +1,110 @@
+package quickdocs.model.tag;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Represents a search for patient records by their tags.
+ * A record matches if, for every group of required tags, it has at least one tag of the group,
+ * and it has none of the excluded tags.
+ * Guarantees: immutable
+ */
+public class TagQuery {
+
+    public static final String OR_SEPARATOR = "|";
+    public static final String NOT_PREFIX = "!";
+
+    private final List<Set<Tag>> requiredTagGroups;
+    private final Set<Tag> excludedTags;
+
+    /**
+     * Constructs a {@code TagQuery} matching the records with a tag of every group in {@code requiredTagGroups}
+     * and none of {@code excludedTags}.
+     */
+    public TagQuery(List<Set<Tag>> requiredTagGroups, Set<Tag> excludedTags) {
+        requireNonNull(requiredTagGroups);
+        requireNonNull(excludedTags);
+        List<Set<Tag>> groups = new ArrayList<>();
+        for (Set<Tag> group : requiredTagGroups) {
+            groups.add(Collections.unmodifiableSet(new LinkedHashSet<>(group)));
+        }
+        this.requiredTagGroups = Collections.unmodifiableList(groups);
+        this.excludedTags = Collections.unmodifiableSet(new LinkedHashSet<>(excludedTags));
+    }
+
+    /**
+     * Returns a {@code TagQuery} matching the records with {@code tag}.
+     */
+    public static TagQuery of(Tag tag) {
+        return new TagQuery(Collections.singletonList(Collections.singleton(tag)), Collections.emptySet());
+    }
+
+    /**
+     * Returns a {@code TagQuery} from the given terms, each a tag name that records must have,
+     * tag names separated by {@value #OR_SEPARATOR} of which records must have one,
+     * or a tag name after {@value #NOT_PREFIX} that records must not have.
+     *
+     * @throws IllegalArgumentException if a tag name is not valid.
+     */
+    public static TagQuery parse(List<String> terms) {
+        List<Set<Tag>> requiredTagGroups = new ArrayList<>();
+        Set<Tag> excludedTags = new LinkedHashSet<>();
+        for (String term : terms) {
+            String trimmedTerm = term.trim();
+            if (trimmedTerm.startsWith(NOT_PREFIX)) {
+                excludedTags.add(new Tag(trimmedTerm.substring(NOT_PREFIX.length()).trim()));
+                continue;
+            }
+
+            Set<Tag> group = new LinkedHashSet<>();
+            for (String tagName : trimmedTerm.split("\\" + OR_SEPARATOR, -1)) {
+                group.add(new Tag(tagName.trim()));
+            }
+            requiredTagGroups.add(group);
+        }
+        return new TagQuery(requiredTagGroups, excludedTags);
+    }
+
+    public List<Set<Tag>> getRequiredTagGroups() {
+        return requiredTagGroups;
+    }
+
+    public Set<Tag> getExcludedTags() {
+        return excludedTags;
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other == this // short circuit if same object
+                || (other instanceof TagQuery // instanceof handles nulls
+                && requiredTagGroups.equals(((TagQuery) other).requiredTagGroups) // state check
+                && excludedTags.equals(((TagQuery) other).excludedTags));
+    }
+
+    @Override
+    public int hashCode() {
+        return requiredTagGroups.hashCode() * 31 + excludedTags.hashCode();
+    }
+
+    /**
+     * Format state as text for viewing, showing a single tag the same way as the {@code Tag}.
+     */
+    public String toString() {
+        List<String> terms = new ArrayList<>();
+        for (Set<Tag> group : requiredTagGroups) {
+            String term = group.stream().map(Tag::toString).collect(Collectors.joining(" or "));
+            terms.add(group.size() > 1 && requiredTagGroups.size() + excludedTags.size() > 1
+                    ? "(" + term + ")" : term);
+        }
+        for (Tag tag : excludedTags) {
+            terms.add("not " + tag);
+        }
+        return String.join(" and ", terms);
+    }
+}
@@ -0,0 +1,184 @@
+package quickdocs.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.logging.Logger;
+
+import quickdocs.commons.core.LogsCenter;
+import quickdocs.commons.exceptions.DataConversionException;
+import quickdocs.commons.util.StringUtil;
+import quickdocs.model.QuickDocs;
+
+/**
+ * A {@link QuickDocsStorage} that writes saved data to another {@code QuickDocsStorage} on a dedicated writer thread,
+ * so that saving QuickDocs does not wait for the file to be written.
+ *
+ * Saving only captures the data to write on the calling thread. Data saved while the writer thread is busy
+ * is merged into a single write, which is done once the writer thread is free.
+ * Errors from writing are given to the write failure handler, and the failed write is retried with the next save.
+ */
+public class AsyncQuickDocsStorage implements QuickDocsStorage {
+
+    private static final Logger logger = LogsCenter.getLogger(AsyncQuickDocsStorage.class);
+
+    private final QuickDocsStorage storage;
+    private final Thread writerThread;
+    private final Object lock = new Object();
+
+    // guarded by lock
+    private PendingSave pendingSave;
+    private PendingSave failedSave;
+    private IOException lastFailure;
+    private boolean isWriting = false;
+
+    private volatile Consumer<IOException> writeFailureHandler = ioe -> { };
+
+    public AsyncQuickDocsStorage(QuickDocsStorage storage) {
+        requireNonNull(storage);
+        this.storage = storage;
+        writerThread = new Thread(this::runWriter, "QuickDocs storage writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+    }
+
+    @Override
+    public Path getFilePath() {
+        return storage.getFilePath();
+    }
+
+    /**
+     * Waits for all saved data to be written, then reads the data from the underlying storage.
+     */
+    @Override
+    public Optional<QuickDocs> readQuickDocs() throws DataConversionException, IOException {
+        flush();
+        return storage.readQuickDocs();
+    }
+
+    /**
+     * Captures the data of {@code quickDocs} to be written on the writer thread, merging it with any data
+     * that is still waiting to be written.
+     *
+     * @param quickDocs the {@code QuickDocs} object to save.
+     * @throws IOException if there was an error capturing the data.
+     */
+    @Override
+    public void saveQuickDocs(QuickDocs quickDocs) throws IOException {
+        PendingSave save = storage.prepareSave(quickDocs);
+        synchronized (lock) {
+            pendingSave = merge(merge(failedSave, pendingSave), save);
+            failedSave = null;
+            lock.notifyAll();
+        }
+    }
+
+    @Override
+    public PendingSave prepareSave(QuickDocs quickDocs) throws IOException {
+        return storage.prepareSave(quickDocs);
+    }
+
+    /**
+     * Waits for all saved data to be written, retrying the last failed write if there is one.
+     *
+     * @throws IOException if the data could not be written.
+     */
+    @Override
+    public void flush() throws IOException {
+        synchronized (lock) {
+            if (failedSave != null) {
+                pendingSave = merge(failedSave, pendingSave);
+                failedSave = null;
+                lock.notifyAll();
+            }
+
+            try {
+                while (pendingSave != null || isWriting) {
+                    lock.wait();
+                }
+            } catch (InterruptedException ie) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for data to be written", ie);
+            }
+
+            if (lastFailure != null) {
+                throw lastFailure;
+            }
+        }
+    }
+
+    @Override
+    public void setWriteFailureHandler(Consumer<IOException> handler) {
+        requireNonNull(handler);
+        writeFailureHandler = handler;
+    }
+
+    /**
+     * Returns a {@code PendingSave} with the same effect as writing {@code earlier}, followed by {@code later}.
+     * Either of them can be null if there is nothing to write.
+     */
+    private static PendingSave merge(PendingSave earlier, PendingSave later) {
+        if (earlier == null) {
+            return later;
+        }
+        if (later == null) {
+            return earlier;
+        }
+        return earlier.mergeWith(later);
+    }
+
+    /**
+     * Writes the pending data whenever there is any, until the writer thread is interrupted.
+     */
+    private void runWriter() {
+        while (true) {
+            PendingSave save;
+            synchronized (lock) {
+                try {
+                    while (pendingSave == null) {
+                        lock.wait();
+                    }
+                } catch (InterruptedException ie) {
+                    return;
+                }
+                save = pendingSave;
+                pendingSave = null;
+                isWriting = true;
+            }
+
+            IOException failure = write(save);
+
+            synchronized (lock) {
+                isWriting = false;
+                lastFailure = failure;
+                if (failure != null) {
+                    failedSave = save;
+                }
+                lock.notifyAll();
+            }
+
+            if (failure != null) {
+                writeFailureHandler.accept(failure);
+            }
+        }
+    }
+
+    /**
+     * Writes {@code save}, returning the error that occurred or null if it was written.
+     */
+    private IOException write(PendingSave save) {
+        try {
+            save.write();
+            return null;
+        } catch (IOException ioe) {
+            logger.warning("Failed to write data to file: " + StringUtil.getDetails(ioe));
+            return ioe;
+        } catch (RuntimeException re) {
+            logger.severe("Unexpected error writing data to file: " + StringUtil.getDetails(re));
+            return new IOException(re);
+        }
+    }
+}
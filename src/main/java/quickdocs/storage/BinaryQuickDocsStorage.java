@@ -0,0 +1,92 @@
+package quickdocs.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Optional;
+import java.util.logging.Logger;
+
+import quickdocs.commons.core.LogsCenter;
+import quickdocs.commons.exceptions.DataConversionException;
+import quickdocs.commons.exceptions.IllegalValueException;
+import quickdocs.commons.util.FileUtil;
+import quickdocs.model.QuickDocs;
+import quickdocs.storage.ShardedQuickDocsStorage.Module;
+
+/**
+ * A class to access QuickDocs data stored as a file in the binary format of {@link BinaryQuickDocsStream}.
+ * Data files saved in the json format are detected and read as well, so that the data is converted
+ * to the binary format on the next save.
+ */
+public class BinaryQuickDocsStorage implements QuickDocsStorage {
+    private static final Logger logger = LogsCenter.getLogger(BinaryQuickDocsStorage.class);
+    private Path filePath;
+
+    public BinaryQuickDocsStorage(Path filePath) {
+        this.filePath = filePath;
+    }
+
+    public Path getFilePath() {
+        return filePath;
+    }
+
+    @Override
+    public Optional<QuickDocs> readQuickDocs() throws DataConversionException {
+        return readQuickDocs(filePath);
+    }
+
+    /**
+     * Similar to {@link #readQuickDocs()}.
+     *
+     * @param filePath location of the data. Cannot be null.
+     * @return an {@code Optional<QuickDocs>} object that contains all objects read from the file.
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    public Optional<QuickDocs> readQuickDocs(Path filePath) throws DataConversionException {
+        requireNonNull(filePath);
+
+        if (!FileUtil.isFileExists(filePath)) {
+            logger.info("Data file " + filePath + " not found");
+            return Optional.empty();
+        }
+
+        QuickDocs quickDocs = new QuickDocs();
+        try {
+            BinaryQuickDocsStream.readAnyFormat(filePath, quickDocs);
+        } catch (IOException ioe) {
+            logger.warning("Error reading from data file " + filePath + ": " + ioe);
+            throw new DataConversionException(ioe);
+        } catch (IllegalValueException | IllegalArgumentException ie) {
+            logger.info("Illegal values found in " + filePath + ": " + ie.getMessage());
+            throw new DataConversionException(ie);
+        }
+        return Optional.of(quickDocs);
+    }
+
+    @Override
+    public void saveQuickDocs(QuickDocs quickDocs) throws IOException {
+        saveQuickDocs(quickDocs, filePath);
+    }
+
+    /**
+     * Similar to {@link #saveQuickDocs(QuickDocs)}.
+     *
+     * @param filePath location of the data. Cannot be null.
+     */
+    public void saveQuickDocs(QuickDocs quickDocs, Path filePath) throws IOException {
+        requireNonNull(quickDocs);
+        requireNonNull(filePath);
+
+        BinaryQuickDocsStream.write(filePath, quickDocs);
+    }
+
+    @Override
+    public PendingSave prepareSave(QuickDocs quickDocs) {
+        requireNonNull(quickDocs);
+
+        byte[] data = BinaryQuickDocsStream.encode(quickDocs, EnumSet.allOf(Module.class));
+        return () -> BinaryQuickDocsStream.writeFile(filePath, data);
+    }
+}
@@ -0,0 +1,852 @@
+package quickdocs.storage;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+import quickdocs.commons.exceptions.IllegalValueException;
+import quickdocs.commons.util.FileUtil;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.appointment.Appointment;
+import quickdocs.model.consultation.Assessment;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.consultation.Diagnosis;
+import quickdocs.model.consultation.Prescription;
+import quickdocs.model.consultation.Symptom;
+import quickdocs.model.medicine.Directory;
+import quickdocs.model.medicine.Medicine;
+import quickdocs.model.patient.Address;
+import quickdocs.model.patient.Contact;
+import quickdocs.model.patient.Dob;
+import quickdocs.model.patient.Email;
+import quickdocs.model.patient.Gender;
+import quickdocs.model.patient.Name;
+import quickdocs.model.patient.Nric;
+import quickdocs.model.patient.Patient;
+import quickdocs.model.record.MonthStatistics;
+import quickdocs.model.record.Statistics;
+import quickdocs.model.record.StatisticsManager;
+import quickdocs.model.reminder.Reminder;
+import quickdocs.model.tag.Tag;
+import quickdocs.storage.ShardedQuickDocsStorage.Module;
+
+/**
+ * Reads and writes QuickDocs data in a compact, versioned binary format that is faster to read than json.
+ *
+ * A file starts with a header holding the version of the format, followed by a dictionary of the strings
+ * that repeat across records, such as tags, symptoms and medicine names. The data follows as sections of
+ * length-prefixed records, in which repeated strings are saved as their index in the dictionary and dates
+ * and times are saved in a fixed width. Like {@link JsonQuickDocsStream}, a file may only hold the sections
+ * of some of the managers, and each record is converted to its model form as soon as it is read.
+ */
+public class BinaryQuickDocsStream {
+
+    public static final int VERSION = 1;
+
+    public static final String MESSAGE_NOT_BINARY = "Expected the data to start with the binary format header.";
+    public static final String MESSAGE_UNSUPPORTED_VERSION = "Binary format version %d is not supported.";
+    public static final String MESSAGE_UNKNOWN_SECTION = "Binary data contains an unknown section: %d";
+    public static final String MESSAGE_CORRUPTED = "Binary data is corrupted.";
+
+    private static final byte[] MAGIC = {'Q', 'D', 'O', 'C'};
+
+    // ids of the sections, which must not change between versions of the format
+    private static final int SECTION_END = 0;
+    private static final int SECTION_PATIENTS = 1;
+    private static final int SECTION_MEDICINES = 2;
+    private static final int SECTION_ROOT_DIRECTORY = 3;
+    private static final int SECTION_CONSULTATIONS = 4;
+    private static final int SECTION_APPOINTMENTS = 5;
+    private static final int SECTION_REMINDERS = 6;
+    private static final int SECTION_MONTH_STATISTICS = 7;
+    private static final int SECTION_CONSULTATION_FEE = 8;
+
+    /**
+     * Returns true if the file at {@code filePath} starts with the header of the binary format.
+     */
+    public static boolean isBinaryFile(Path filePath) throws IOException {
+        if (!FileUtil.isFileExists(filePath)) {
+            return false;
+        }
+
+        byte[] header = new byte[MAGIC.length];
+        try (InputStream inputStream = Files.newInputStream(filePath)) {
+            int bytesRead = inputStream.readNBytes(header, 0, header.length);
+            return bytesRead == header.length && Arrays.equals(header, MAGIC);
+        }
+    }
+
+    /**
+     * Reads the file at {@code filePath} into the managers of {@code quickDocs}, detecting whether
+     * the file is in the binary or json format.
+     *
+     * @throws IOException if there was an error reading the file, or the file is in neither format.
+     * @throws IllegalValueException if there were any data constraints violated.
+     * @throws IllegalArgumentException if there were any data constraints violated for any class fields
+     */
+    public static void readAnyFormat(Path filePath, QuickDocs quickDocs)
+            throws IOException, IllegalValueException, IllegalArgumentException {
+        if (isBinaryFile(filePath)) {
+            read(filePath, quickDocs);
+        } else {
+            JsonQuickDocsStream.read(filePath, quickDocs);
+        }
+    }
+
+    /**
+     * Reads the binary file at {@code filePath} into the managers of {@code quickDocs}.
+     *
+     * @throws IOException if there was an error reading the file, or the file is not in the binary format.
+     * @throws IllegalValueException if there were any data constraints violated.
+     * @throws IllegalArgumentException if there were any data constraints violated for any class fields
+     */
+    public static void read(Path filePath, QuickDocs quickDocs)
+            throws IOException, IllegalValueException, IllegalArgumentException {
+        try (DataInputStream inputStream = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(filePath)))) {
+            Decoder decoder = new Decoder(inputStream);
+            readSections(decoder, quickDocs);
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | EOFException e) {
+            throw new IOException(MESSAGE_CORRUPTED, e);
+        }
+    }
+
+    /**
+     * Reads the sections that follow the header into {@code quickDocs}.
+     */
+    private static void readSections(Decoder decoder, QuickDocs quickDocs)
+            throws IOException, IllegalValueException {
+        // medicines and statistics are converted once all of their sections are read
+        List<JsonAdaptedMedicine> medicineList = null;
+        List<JsonAdaptedMonthStatistics> monthStatisticsList = null;
+        BigDecimal consultationFee = null;
+
+        int section;
+        while ((section = decoder.readSection()) != SECTION_END) {
+            int recordCount = decoder.readSectionVarInt();
+            switch (section) {
+            case SECTION_PATIENTS:
+                List<Patient> patients = new ArrayList<>();
+                for (int i = 0; i < recordCount; i++) {
+                    decoder.nextRecord();
+                    patients.add(decoder.readPatient());
+                }
+                JsonSerializableQuickDocs.addAllPatients(patients, quickDocs.getPatientManager());
+                break;
+            case SECTION_MEDICINES:
+                medicineList = new ArrayList<>();
+                for (int i = 0; i < recordCount; i++) {
+                    decoder.nextRecord();
+                    medicineList.add(new JsonAdaptedMedicine(decoder.readMedicine()));
+                }
+                break;
+            case SECTION_ROOT_DIRECTORY:
+                decoder.nextRecord();
+                JsonSerializableQuickDocs.toModelTypeMedicine(medicineList == null ? new ArrayList<>() : medicineList,
+                        decoder.readDirectory(), quickDocs.getMedicineManager());
+                break;
+            case SECTION_CONSULTATIONS:
+                for (int i = 0; i < recordCount; i++) {
+                    decoder.nextRecord();
+                    quickDocs.getConsultationManager().addConsultation(decoder.readConsultation(quickDocs));
+                }
+                break;
+            case SECTION_APPOINTMENTS:
+                List<Appointment> appointments = new ArrayList<>();
+                for (int i = 0; i < recordCount; i++) {
+                    decoder.nextRecord();
+                    appointments.add(decoder.readAppointment());
+                }
+                JsonSerializableQuickDocs.addAllAppointments(appointments, quickDocs.getAppointmentManager());
+                break;
+            case SECTION_REMINDERS:
+                List<Reminder> reminders = new ArrayList<>();
+                for (int i = 0; i < recordCount; i++) {
+                    decoder.nextRecord();
+                    reminders.add(decoder.readReminder());
+                }
+                JsonSerializableQuickDocs.addAllReminders(reminders, quickDocs.getReminderManager());
+                break;
+            case SECTION_MONTH_STATISTICS:
+                monthStatisticsList = new ArrayList<>();
+                for (int i = 0; i < recordCount; i++) {
+                    decoder.nextRecord();
+                    monthStatisticsList.add(decoder.readMonthStatistics());
+                }
+                break;
+            case SECTION_CONSULTATION_FEE:
+                decoder.nextRecord();
+                consultationFee = decoder.readDecimal();
+                break;
+            default:
+                throw new IOException(String.format(MESSAGE_UNKNOWN_SECTION, section));
+            }
+        }
+
+        if (monthStatisticsList != null || consultationFee != null) {
+            JsonSerializableQuickDocs.toModelTypeStatistics(
+                    monthStatisticsList == null ? new ArrayList<>() : monthStatisticsList,
+                    consultationFee == null ? StatisticsManager.DEFAULT_CONSULTATION_FEE : consultationFee,
+                    quickDocs.getStatisticsManager());
+        }
+    }
+
+    /**
+     * Writes all the data of {@code quickDocs} to the binary file at {@code filePath}.
+     * Overwrites existing file if it exists, creates a new file if it doesn't.
+     *
+     * @throws IOException if there was an error writing to the file.
+     */
+    public static void write(Path filePath, QuickDocs quickDocs) throws IOException {
+        writeFile(filePath, encode(quickDocs, EnumSet.allOf(Module.class)));
+    }
+
+    /**
+     * Writes data encoded by {@link #encode(QuickDocs, Set)} to the file at {@code filePath}.
+     * Overwrites existing file if it exists, creates a new file if it doesn't.
+     *
+     * @throws IOException if there was an error writing to the file.
+     */
+    public static void writeFile(Path filePath, byte[] data) throws IOException {
+        FileUtil.createIfMissing(filePath);
+        Files.write(filePath, data);
+    }
+
+    /**
+     * Encodes the data of the given {@code modules} of {@code quickDocs} in the binary format, in the order
+     * of iteration of {@code modules}, which has to be the order of {@code Module} for consultations to be
+     * read after the patients and medicines they refer to.
+     * The data is encoded in memory, so that it can be captured before it is changed and written later.
+     */
+    public static byte[] encode(QuickDocs quickDocs, Set<Module> modules) {
+        Encoder encoder = new Encoder();
+        for (Module module : modules) {
+            switch (module) {
+            case PATIENTS:
+                List<Patient> patients = quickDocs.getPatientManager().getPatientList();
+                encoder.startSection(SECTION_PATIENTS, patients.size());
+                for (Patient patient : patients) {
+                    encoder.writePatient(patient);
+                    encoder.endRecord();
+                }
+                break;
+            case MEDICINES:
+                List<Medicine> medicines = quickDocs.getMedicineManager().getListOfMedicine();
+                encoder.startSection(SECTION_MEDICINES, medicines.size());
+                for (Medicine medicine : medicines) {
+                    encoder.writeMedicine(medicine);
+                    encoder.endRecord();
+                }
+                encoder.startSection(SECTION_ROOT_DIRECTORY, 1);
+                encoder.writeDirectory(quickDocs.getMedicineManager().getRoot());
+                encoder.endRecord();
+                break;
+            case CONSULTATIONS:
+                List<Consultation> consultations = quickDocs.getConsultationManager().getConsultationList();
+                encoder.startSection(SECTION_CONSULTATIONS, consultations.size());
+                for (Consultation consultation : consultations) {
+                    encoder.writeConsultation(consultation, quickDocs);
+                    encoder.endRecord();
+                }
+                break;
+            case APPOINTMENTS:
+                List<Appointment> appointments = quickDocs.getAppointmentManager().getAppointmentList();
+                encoder.startSection(SECTION_APPOINTMENTS, appointments.size());
+                for (Appointment appointment : appointments) {
+                    encoder.writeAppointment(appointment);
+                    encoder.endRecord();
+                }
+                break;
+            case REMINDERS:
+                List<Reminder> reminders = quickDocs.getReminderManager().getReminderList();
+                encoder.startSection(SECTION_REMINDERS, reminders.size());
+                for (Reminder reminder : reminders) {
+                    encoder.writeReminder(reminder);
+                    encoder.endRecord();
+                }
+                break;
+            case STATISTICS:
+                List<MonthStatistics> monthStatisticsList =
+                        quickDocs.getStatisticsManager().getMonthStatisticsList();
+                encoder.startSection(SECTION_MONTH_STATISTICS, monthStatisticsList.size());
+                for (MonthStatistics monthStatistics : monthStatisticsList) {
+                    encoder.writeMonthStatistics(monthStatistics);
+                    encoder.endRecord();
+                }
+                encoder.startSection(SECTION_CONSULTATION_FEE, 1);
+                encoder.writeDecimal(quickDocs.getStatisticsManager().getConsultationFee());
+                encoder.endRecord();
+                break;
+            default:
+                throw new AssertionError("Unknown module: " + module);
+            }
+        }
+        return encoder.toByteArray();
+    }
+
+    /**
+     * Encodes records, collecting the repeated strings of the records into the dictionary that is
+     * written before them.
+     */
+    private static class Encoder {
+        private final Map<String, Integer> dictionary = new HashMap<>();
+        private final List<String> dictionaryStrings = new ArrayList<>();
+        private final RecordBuffer sections = new RecordBuffer();
+        private final RecordBuffer record = new RecordBuffer();
+
+        void startSection(int sectionId, int recordCount) {
+            writeVarInt(sections, sectionId);
+            writeVarInt(sections, recordCount);
+        }
+
+        void endRecord() {
+            writeVarInt(sections, record.size());
+            record.copyTo(sections);
+            record.reset();
+        }
+
+        /**
+         * Returns the header, dictionary and sections of the encoded data.
+         */
+        byte[] toByteArray() {
+            writeVarInt(sections, SECTION_END);
+
+            RecordBuffer output = new RecordBuffer();
+            output.write(MAGIC, 0, MAGIC.length);
+            writeVarInt(output, VERSION);
+            writeVarInt(output, dictionaryStrings.size());
+            for (String string : dictionaryStrings) {
+                writeUtf8(output, string);
+            }
+            sections.copyTo(output);
+            return output.toByteArray();
+        }
+
+        /**
+         * Writes the fields of {@code patient} to the current record.
+         */
+        void writePatient(Patient patient) {
+            writeText(patient.getName().getName());
+            writeText(patient.getNric().getNric());
+            writeText(patient.getEmail().getEmail());
+            writeText(patient.getAddress().getAddress());
+            writeText(patient.getContact().getContact());
+            writeSymbol(patient.getGender().getGender());
+            writeDate(patient.getDob().getDob());
+            writeVarInt(record, patient.getTagList().size());
+            for (Tag tag : patient.getTagList()) {
+                writeSymbol(tag.tagName);
+            }
+        }
+
+        /**
+         * Writes the fields of {@code medicine} to the current record.
+         */
+        void writeMedicine(Medicine medicine) {
+            writeSymbol(medicine.name);
+            writeInt(medicine.getQuantity());
+            writeInt(medicine.getThreshold());
+            writeDecimal(medicine.getPrice());
+        }
+
+        /**
+         * Writes {@code directory} and all of its subdirectories to the current record.
+         */
+        void writeDirectory(Directory directory) {
+            writeSymbol(directory.name);
+            Optional<Integer> threshold = directory.getThreshold();
+            writeBoolean(threshold.isPresent());
+            threshold.ifPresent(this::writeInt);
+            writeVarInt(record, directory.getListOfMedicine().size());
+            for (Medicine medicine : directory.getListOfMedicine()) {
+                writeSymbol(medicine.name);
+            }
+            writeVarInt(record, directory.getListOfDirectory().size());
+            for (Directory subDirectory : directory.getListOfDirectory()) {
+                writeDirectory(subDirectory);
+            }
+        }
+
+        /**
+         * Writes {@code consultation} with references to its patient and medicines, copying them only if they
+         * cannot be found in {@code quickDocs}, the same way as {@link JsonAdaptedConsultation}.
+         */
+        void writeConsultation(Consultation consultation, QuickDocs quickDocs) {
+            writeInt(consultation.getIndex());
+            writeDateTime(consultation.getSession());
+            Patient patient = consultation.getPatient();
+            writeText(patient.getNric().getNric());
+            boolean isPatientCopied = !quickDocs.getPatientManager().getPatientByNric(patient.getNric()).isPresent();
+            writeBoolean(isPatientCopied);
+            if (isPatientCopied) {
+                writePatient(patient);
+            }
+
+            Diagnosis diagnosis = consultation.getDiagnosis();
+            writeBoolean(diagnosis != null);
+            if (diagnosis != null) {
+                writeSymbol(diagnosis.getAssessment().getAssessment());
+                writeVarInt(record, diagnosis.getSymptoms().size());
+                for (Symptom symptom : diagnosis.getSymptoms()) {
+                    writeSymbol(symptom.getSymptom());
+                }
+            }
+
+            writeVarInt(record, consultation.getPrescriptions().size());
+            for (Prescription prescription : consultation.getPrescriptions()) {
+                Medicine medicine = prescription.getMedicine();
+                writeSymbol(medicine.name);
+                writeInt(prescription.getQuantity());
+                boolean isMedicineCopied = !quickDocs.getMedicineManager().findMedicine(medicine.name).isPresent();
+                writeBoolean(isMedicineCopied);
+                if (isMedicineCopied) {
+                    writeMedicine(medicine);
+                }
+            }
+        }
+
+        /**
+         * Writes the fields of {@code appointment}, with a copy of its patient, to the current record.
+         */
+        void writeAppointment(Appointment appointment) {
+            writePatient(appointment.getPatient());
+            writeDate(appointment.getDate());
+            writeTime(appointment.getStart());
+            writeTime(appointment.getEnd());
+            writeText(appointment.getComment());
+        }
+
+        /**
+         * Writes the fields of {@code reminder} to the current record.
+         */
+        void writeReminder(Reminder reminder) {
+            writeText(reminder.getTitle());
+            writeText(reminder.getComment());
+            writeDate(reminder.getDate());
+            writeTime(reminder.getStart());
+            writeTime(reminder.getEnd());
+        }
+
+        /**
+         * Writes the fields of {@code monthStatistics} to the current record.
+         */
+        void writeMonthStatistics(MonthStatistics monthStatistics) {
+            writeInt(monthStatistics.getYearMonth().getYear());
+            writeInt(monthStatistics.getYearMonth().getMonthValue());
+            Statistics statistics = monthStatistics.getStatistics();
+            writeInt(statistics.getNoOfConsultations());
+            writeDecimal(statistics.getRevenue());
+            writeDecimal(statistics.getExpenditure());
+            writeCounts(statistics.getMedicinesCount());
+            writeCounts(statistics.getSymptomsCount());
+        }
+
+        /**
+         * Writes the number of entries in {@code counts}, followed by each key as a symbol and its count.
+         */
+        private void writeCounts(Map<String, Integer> counts) {
+            writeVarInt(record, counts.size());
+            for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+                writeSymbol(entry.getKey());
+                writeInt(entry.getValue());
+            }
+        }
+
+        /**
+         * Writes a string that is likely to repeat across records as its index in the dictionary,
+         * where 0 stands for null.
+         */
+        void writeSymbol(String string) {
+            if (string == null) {
+                writeVarInt(record, 0);
+                return;
+            }
+            Integer index = dictionary.get(string);
+            if (index == null) {
+                index = dictionaryStrings.size();
+                dictionary.put(string, index);
+                dictionaryStrings.add(string);
+            }
+            writeVarInt(record, index + 1);
+        }
+
+        /**
+         * Writes a string that is not likely to repeat, where a length of 0 stands for null.
+         */
+        void writeText(String string) {
+            if (string == null) {
+                writeVarInt(record, 0);
+                return;
+            }
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(record, bytes.length + 1);
+            record.write(bytes, 0, bytes.length);
+        }
+
+        /**
+         * Writes {@code decimal} as its scale and unscaled value, or only an absent flag if it is null.
+         */
+        void writeDecimal(BigDecimal decimal) {
+            writeBoolean(decimal != null);
+            if (decimal != null) {
+                writeInt(decimal.scale());
+                byte[] unscaledValue = decimal.unscaledValue().toByteArray();
+                writeVarInt(record, unscaledValue.length);
+                record.write(unscaledValue, 0, unscaledValue.length);
+            }
+        }
+
+        void writeDate(LocalDate date) {
+            writeLong(date.toEpochDay());
+        }
+
+        void writeDateTime(LocalDateTime dateTime) {
+            writeLong(dateTime.toEpochSecond(ZoneOffset.UTC));
+            writeInt(dateTime.getNano());
+        }
+
+        /**
+         * Writes a time that may be null, as the nanosecond of the day or -1 for null.
+         */
+        void writeTime(LocalTime time) {
+            writeLong(time == null ? -1 : time.toNanoOfDay());
+        }
+
+        void writeBoolean(boolean value) {
+            record.write(value ? 1 : 0);
+        }
+
+        void writeInt(int value) {
+            for (int shift = 24; shift >= 0; shift -= 8) {
+                record.write(value >>> shift);
+            }
+        }
+
+        void writeLong(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                record.write((int) (value >>> shift));
+            }
+        }
+
+        private static void writeUtf8(ByteArrayOutputStream output, String string) {
+            byte[] bytes = string.getBytes(StandardCharsets.UTF_8);
+            writeVarInt(output, bytes.length);
+            output.write(bytes, 0, bytes.length);
+        }
+
+        /**
+         * Writes a non-negative int in as few bytes as possible, 7 bits at a time.
+         */
+        private static void writeVarInt(ByteArrayOutputStream output, int value) {
+            assert value >= 0;
+            while ((value & ~0x7F) != 0) {
+                output.write((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            output.write(value);
+        }
+    }
+
+    /**
+     * A {@code ByteArrayOutputStream} that can be copied into another without an intermediate copy.
+     */
+    private static class RecordBuffer extends ByteArrayOutputStream {
+        void copyTo(ByteArrayOutputStream output) {
+            output.write(buf, 0, count);
+        }
+    }
+
+    /**
+     * Decodes the records of a binary file one at a time.
+     */
+    private static class Decoder {
+        private final DataInputStream input;
+        private final String[] dictionary;
+        private byte[] buffer = new byte[256];
+        private ByteBuffer record = ByteBuffer.wrap(buffer, 0, 0);
+
+        /**
+         * Reads the header and dictionary of the binary file read by {@code input}.
+         */
+        Decoder(DataInputStream input) throws IOException {
+            this.input = input;
+
+            byte[] header = new byte[MAGIC.length];
+            input.readFully(header);
+            if (!Arrays.equals(header, MAGIC)) {
+                throw new IOException(MESSAGE_NOT_BINARY);
+            }
+            int version = readSectionVarInt();
+            if (version > VERSION) {
+                throw new IOException(String.format(MESSAGE_UNSUPPORTED_VERSION, version));
+            }
+
+            dictionary = new String[readSectionVarInt()];
+            for (int i = 0; i < dictionary.length; i++) {
+                byte[] bytes = new byte[readSectionVarInt()];
+                input.readFully(bytes);
+                dictionary[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+        }
+
+        /**
+         * Returns the id of the next section, or {@code SECTION_END} if there are no more sections.
+         */
+        int readSection() throws IOException {
+            return readSectionVarInt();
+        }
+
+        /**
+         * Reads a variable length int from the file, outside of any record.
+         */
+        int readSectionVarInt() throws IOException {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = input.readUnsignedByte();
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IOException(MESSAGE_CORRUPTED);
+        }
+
+        /**
+         * Reads the next length-prefixed record from the file, which the other methods then read from.
+         */
+        void nextRecord() throws IOException {
+            int length = readSectionVarInt();
+            if (length > buffer.length) {
+                buffer = new byte[Math.max(length, buffer.length * 2)];
+            }
+            input.readFully(buffer, 0, length);
+            record = ByteBuffer.wrap(buffer, 0, length);
+        }
+
+        /**
+         * Reads a patient written by {@code Encoder#writePatient}.
+         */
+        Patient readPatient() throws IllegalValueException {
+            Name name = new Name(readText());
+            Nric nric = new Nric(readText());
+            Email email = new Email(readText());
+            Address address = new Address(readText());
+            Contact contact = new Contact(readText());
+            Gender gender = new Gender(readSymbol());
+            Dob dob = new Dob(readDate().toString());
+            int tagCount = readVarInt();
+            ArrayList<Tag> tags = new ArrayList<>(tagCount);
+            for (int i = 0; i < tagCount; i++) {
+                tags.add(new JsonAdaptedTag(readSymbol()).toModelType());
+            }
+            return new Patient(name, nric, email, address, contact, gender, dob, tags);
+        }
+
+        /**
+         * Reads a medicine written by {@code Encoder#writeMedicine}.
+         */
+        Medicine readMedicine() {
+            Medicine medicine = new Medicine(readSymbol(), record.getInt());
+            medicine.setThreshold(record.getInt());
+            BigDecimal price = readDecimal();
+            if (price != null) {
+                medicine.setPrice(price);
+            }
+            return medicine;
+        }
+
+        /**
+         * Reads a directory written by {@code Encoder#writeDirectory}.
+         */
+        JsonAdaptedDirectory readDirectory() {
+            String name = readSymbol();
+            Optional<Integer> threshold = readBoolean() ? Optional.of(record.getInt()) : Optional.empty();
+            int medicineCount = readVarInt();
+            List<String> medicineNames = new ArrayList<>(medicineCount);
+            for (int i = 0; i < medicineCount; i++) {
+                medicineNames.add(readSymbol());
+            }
+            int directoryCount = readVarInt();
+            List<JsonAdaptedDirectory> directories = new ArrayList<>(directoryCount);
+            for (int i = 0; i < directoryCount; i++) {
+                directories.add(readDirectory());
+            }
+            return new JsonAdaptedDirectory(name, threshold, medicineNames, directories);
+        }
+
+        /**
+         * Reads a consultation, resolving its patient and medicines against {@code quickDocs}
+         * the same way as {@link JsonAdaptedConsultation}.
+         */
+        Consultation readConsultation(QuickDocs quickDocs) throws IllegalValueException {
+            int index = record.getInt();
+            LocalDateTime session = readDateTime();
+            String patientNric = readText();
+            Patient patient = readBoolean() ? readPatient() : null;
+
+            Diagnosis diagnosis = null;
+            if (readBoolean()) {
+                Assessment assessment = Assessment.of(readSymbol());
+                int symptomCount = readVarInt();
+                ArrayList<Symptom> symptoms = new ArrayList<>(symptomCount);
+                for (int i = 0; i < symptomCount; i++) {
+                    symptoms.add(Symptom.of(readSymbol()));
+                }
+                diagnosis = new Diagnosis(assessment, symptoms);
+            }
+
+            int prescriptionCount = readVarInt();
+            List<JsonAdaptedPrescription> prescriptions = new ArrayList<>(prescriptionCount);
+            for (int i = 0; i < prescriptionCount; i++) {
+                String medicineName = readSymbol();
+                int quantity = record.getInt();
+                Medicine medicine = readBoolean() ? readMedicine() : null;
+                prescriptions.add(new JsonAdaptedPrescription(medicineName, medicine, quantity));
+            }
+
+            return new JsonAdaptedConsultation(index, session, patientNric, patient, diagnosis, prescriptions)
+                    .toModelType(quickDocs.getPatientManager(), quickDocs.getMedicineManager());
+        }
+
+        /**
+         * Reads an appointment written by {@code Encoder#writeAppointment}.
+         */
+        Appointment readAppointment() throws IllegalValueException {
+            Patient patient = readPatient();
+            LocalDate date = readDate();
+            LocalTime start = readTime();
+            LocalTime end = readTime();
+            String comment = readText();
+            return new JsonAdaptedAppointment(patient, date.toString(), String.valueOf(start), String.valueOf(end),
+                    comment).toModelType();
+        }
+
+        /**
+         * Reads a reminder written by {@code Encoder#writeReminder}.
+         */
+        Reminder readReminder() {
+            String title = readText();
+            String comment = readText();
+            LocalDate date = readDate();
+            LocalTime start = readTime();
+            LocalTime end = readTime();
+            if (title == null || start == null) {
+                throw new IllegalArgumentException(MESSAGE_CORRUPTED);
+            }
+            return new Reminder(title, comment, date, start, end);
+        }
+
+        /**
+         * Reads the statistics of a month written by {@code Encoder#writeMonthStatistics}.
+         */
+        JsonAdaptedMonthStatistics readMonthStatistics() {
+            YearMonth yearMonth = YearMonth.of(record.getInt(), record.getInt());
+            int consultations = record.getInt();
+            BigDecimal revenue = readDecimal();
+            BigDecimal expenditure = readDecimal();
+            HashMap<String, Integer> medicines = readCounts();
+            HashMap<String, Integer> symptoms = readCounts();
+            return new JsonAdaptedMonthStatistics(yearMonth,
+                    new JsonAdaptedStatistics(consultations, revenue, expenditure, medicines, symptoms));
+        }
+
+        /**
+         * Reads counts written by {@code Encoder#writeCounts}.
+         */
+        private HashMap<String, Integer> readCounts() {
+            int count = readVarInt();
+            HashMap<String, Integer> counts = new HashMap<>();
+            for (int i = 0; i < count; i++) {
+                counts.put(readSymbol(), record.getInt());
+            }
+            return counts;
+        }
+
+        String readSymbol() {
+            int index = readVarInt();
+            return index == 0 ? null : dictionary[index - 1];
+        }
+
+        /**
+         * Reads a string written with its length, or null if it was written as absent.
+         */
+        String readText() {
+            int length = readVarInt();
+            if (length == 0) {
+                return null;
+            }
+            String text = new String(buffer, record.position(), length - 1, StandardCharsets.UTF_8);
+            record.position(record.position() + length - 1);
+            return text;
+        }
+
+        /**
+         * Reads a decimal written by {@code Encoder#writeDecimal}.
+         */
+        BigDecimal readDecimal() {
+            if (!readBoolean()) {
+                return null;
+            }
+            int scale = record.getInt();
+            byte[] unscaledValue = new byte[readVarInt()];
+            record.get(unscaledValue);
+            return new BigDecimal(new BigInteger(unscaledValue), scale);
+        }
+
+        LocalDate readDate() {
+            return LocalDate.ofEpochDay(record.getLong());
+        }
+
+        LocalDateTime readDateTime() {
+            long epochSecond = record.getLong();
+            return LocalDateTime.ofEpochSecond(epochSecond, record.getInt(), ZoneOffset.UTC);
+        }
+
+        LocalTime readTime() {
+            long nanoOfDay = record.getLong();
+            return nanoOfDay == -1 ? null : LocalTime.ofNanoOfDay(nanoOfDay);
+        }
+
+        boolean readBoolean() {
+            return record.get() != 0;
+        }
+
+        /**
+         * Reads an int written in 7-bit groups, least significant group first.
+         */
+        int readVarInt() {
+            int value = 0;
+            for (int shift = 0; shift < 32; shift += 7) {
+                int b = record.get() & 0xFF;
+                value |= (b & 0x7F) << shift;
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+            throw new IllegalArgumentException(MESSAGE_CORRUPTED);
+        }
+    }
+}
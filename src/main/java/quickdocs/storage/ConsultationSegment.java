@@ -0,0 +1,671 @@
+package quickdocs.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+import quickdocs.commons.core.LogsCenter;
+import quickdocs.commons.exceptions.DataConversionException;
+import quickdocs.commons.exceptions.IllegalValueException;
+import quickdocs.commons.util.FileUtil;
+import quickdocs.commons.util.JsonUtil;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.consultation.ConsultationIndexEntry;
+import quickdocs.model.consultation.ConsultationLoader;
+import quickdocs.model.consultation.ConsultationManager;
+import quickdocs.model.consultation.Diagnosis;
+import quickdocs.model.patient.Patient;
+
+/**
+ * Stores consultations in an append-only segment file, along with an index file holding the index, patient NRIC,
+ * session and location in the segment of every stored consultation.
+ * Only the index file is read at startup, and each consultation is loaded from the segment when it is looked up,
+ * so the time and memory taken to read the consultations do not grow with the size of their records.
+ *
+ * Every record in the segment holds a consultation in the same json format as {@link JsonAdaptedConsultation},
+ * referring to its patient by NRIC. The patients of stored consultations who are later deleted, or given another
+ * NRIC, are kept in a separate file of former patients, as the records cannot be changed once they are written.
+ * Consultations are never changed once they are ended, so saving only appends the consultations added since
+ * those last written. The captured {@link PendingSave}s may be written by a thread other than the one saving
+ * QuickDocs, as long as they are written one at a time, in the order they were captured.
+ */
+public class ConsultationSegment {
+
+    public static final String SEGMENT_FILE_EXTENSION = ".seg";
+    public static final String INDEX_FILE_EXTENSION = ".idx";
+    public static final String FORMER_PATIENTS_FILE_EXTENSION = ".patients.json";
+    public static final String MESSAGE_CORRUPTED = "Consultation file %s is corrupted.";
+    public static final String MESSAGE_REWRITTEN = "Consultation file %s was rewritten after it was read.";
+
+    private static final Logger logger = LogsCenter.getLogger(ConsultationSegment.class);
+
+    private static final int SEGMENT_MAGIC = 0x51444353; // "QDCS"
+    private static final int INDEX_MAGIC = 0x51444349; // "QDCI"
+    private static final int VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final long NO_SESSION = Long.MIN_VALUE;
+
+    private final Path segmentPath;
+    private final Path indexPath;
+    private final Path formerPatientsPath;
+
+    // changed whenever the segment is rewritten, so that consultations are no longer loaded from the earlier one
+    private volatile int generation = 0;
+    // true from when a rewrite of the segment is captured until the last one captured is written
+    private volatile boolean isRewritePending = false;
+    // number of consultations in the files, only advanced once they are written
+    private volatile int writtenCount = 0;
+    // the former patients in their file, only replaced once they are written
+    private volatile Map<String, Patient> writtenFormerPatients = null;
+
+    /**
+     * Creates a {@code ConsultationSegment} stored in the files at {@code basePath} followed by the extension
+     * of the segment and index files.
+     */
+    public ConsultationSegment(Path basePath) {
+        requireNonNull(basePath);
+        this.segmentPath = basePath.resolveSibling(basePath.getFileName() + SEGMENT_FILE_EXTENSION);
+        this.indexPath = basePath.resolveSibling(basePath.getFileName() + INDEX_FILE_EXTENSION);
+        this.formerPatientsPath = basePath.resolveSibling(basePath.getFileName() + FORMER_PATIENTS_FILE_EXTENSION);
+    }
+
+    public Path getSegmentPath() {
+        return segmentPath;
+    }
+
+    public Path getIndexPath() {
+        return indexPath;
+    }
+
+    public Path getFormerPatientsPath() {
+        return formerPatientsPath;
+    }
+
+    /**
+     * Reads the index of the stored consultations into the consultation manager of {@code quickDocs}.
+     * The consultations are loaded from the segment when they are looked up.
+     * Consultations missing from the index file are indexed again from the segment, and a record that was
+     * only partially written when QuickDocs last exited is discarded.
+     *
+     * @return false if there is no segment file to read.
+     * @throws IOException if there was an error reading the files, or the segment is corrupted.
+     */
+    public boolean readIndex(QuickDocs quickDocs) throws IOException {
+        requireNonNull(quickDocs);
+        isRewritePending = false;
+        writtenCount = 0;
+        writtenFormerPatients = null;
+        if (!FileUtil.isFileExists(segmentPath)) {
+            return false;
+        }
+
+        long segmentLength = Files.size(segmentPath);
+        try (DataInputStream segmentInput = new DataInputStream(Files.newInputStream(segmentPath))) {
+            if (!readHeader(segmentInput, SEGMENT_MAGIC)) {
+                throw new IOException(String.format(MESSAGE_CORRUPTED, segmentPath));
+            }
+        }
+
+        ConsultationManager consultationManager = quickDocs.getConsultationManager();
+        consultationManager.setFormerPatients(readFormerPatients());
+        writtenFormerPatients = consultationManager.getFormerPatients();
+        ConsultationLoader loader = new SegmentLoader(quickDocs, generation);
+        List<IndexRecord> indexRecords = readIndexFile(segmentLength);
+        long indexedLength = HEADER_SIZE;
+        for (IndexRecord record : indexRecords) {
+            consultationManager.addStoredConsultation(record.toEntry(), loader);
+            indexedLength = record.getEnd();
+        }
+
+        List<IndexRecord> missingRecords = scanSegment(indexedLength, segmentLength);
+        for (IndexRecord record : missingRecords) {
+            consultationManager.addStoredConsultation(record.toEntry(), loader);
+        }
+        consultationManager.indexStoredConsultations();
+        if (!missingRecords.isEmpty() || !FileUtil.isFileExists(indexPath)
+                || Files.size(indexPath) != getIndexFileLength(indexRecords)) {
+            logger.info("Indexing " + missingRecords.size() + " consultations missing from " + indexPath);
+            repairIndexFile(indexRecords, missingRecords);
+        }
+
+        writtenCount = indexRecords.size() + missingRecords.size();
+        logger.info("Indexed " + writtenCount + " consultations from " + segmentPath);
+        return true;
+    }
+
+    /**
+     * Reads the copies of former patients kept for the stored consultations.
+     */
+    private List<Patient> readFormerPatients() throws IOException {
+        if (!FileUtil.isFileExists(formerPatientsPath)) {
+            return new ArrayList<>();
+        }
+        String json = new String(Files.readAllBytes(formerPatientsPath), StandardCharsets.UTF_8);
+        return Arrays.asList(JsonUtil.fromJsonString(json, Patient[].class));
+    }
+
+    /**
+     * Reads the records of the index file that refer to complete records in the segment, stopping at
+     * the first record that was only partially written.
+     */
+    private List<IndexRecord> readIndexFile(long segmentLength) throws IOException {
+        List<IndexRecord> records = new ArrayList<>();
+        if (!FileUtil.isFileExists(indexPath)) {
+            return records;
+        }
+
+        try (DataInputStream indexInput = new DataInputStream(
+                new BufferedInputStream(Files.newInputStream(indexPath)))) {
+            if (!readHeader(indexInput, INDEX_MAGIC)) {
+                logger.warning("Index file " + indexPath + " has an invalid header, indexing the segment again");
+                return records;
+            }
+
+            long expectedLocation = HEADER_SIZE;
+            while (true) {
+                IndexRecord record = IndexRecord.readFrom(indexInput);
+                if (record == null || record.location != expectedLocation || record.getEnd() > segmentLength) {
+                    return records;
+                }
+                records.add(record);
+                expectedLocation = record.getEnd();
+            }
+        }
+    }
+
+    /**
+     * Reads the records of the segment from {@code location} onwards, truncating the segment at a record
+     * that was only partially written.
+     */
+    private List<IndexRecord> scanSegment(long location, long segmentLength) throws IOException {
+        List<IndexRecord> records = new ArrayList<>();
+        try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            while (location < segmentLength) {
+                if (location + Integer.BYTES > segmentLength) {
+                    break;
+                }
+                int length = readInt(channel, location);
+                if (length < 0 || location + Integer.BYTES + length > segmentLength) {
+                    break;
+                }
+
+                JsonAdaptedConsultation consultation = parseRecord(readBytes(channel, location + Integer.BYTES,
+                        length));
+                if (consultation.getPatientNric() == null) {
+                    throw new IOException(String.format(MESSAGE_CORRUPTED, segmentPath));
+                }
+                records.add(new IndexRecord(consultation.getIndex(), location, length,
+                        consultation.getSession(), consultation.getPatientNric()));
+                location += Integer.BYTES + length;
+            }
+
+            if (location < segmentLength) {
+                logger.warning("Discarding incomplete consultation at the end of " + segmentPath);
+                channel.truncate(location);
+            }
+        }
+        return records;
+    }
+
+    /**
+     * Rewrites the index file to hold the records in {@code indexRecords} followed by {@code missingRecords}.
+     */
+    private void repairIndexFile(List<IndexRecord> indexRecords, List<IndexRecord> missingRecords)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream output = new DataOutputStream(bytes);
+        writeHeader(output, INDEX_MAGIC);
+        for (IndexRecord record : indexRecords) {
+            record.writeTo(output);
+        }
+        for (IndexRecord record : missingRecords) {
+            record.writeTo(output);
+        }
+        Files.write(indexPath, bytes.toByteArray());
+    }
+
+    private static long getIndexFileLength(List<IndexRecord> indexRecords) {
+        long length = HEADER_SIZE;
+        for (IndexRecord record : indexRecords) {
+            length += record.getSize();
+        }
+        return length;
+    }
+
+    /**
+     * Captures the consultations of {@code quickDocs} that are not written yet, to be appended to the segment,
+     * along with the former patients if they changed since they were written.
+     * If {@code quickDocs} is not the one that was last read or saved, all of its consultations are captured,
+     * to replace the consultations in the segment, until the files are replaced.
+     * As consultations are only indicated to be written once they are, consultations captured by a save that
+     * fails to be written are captured again by the next one.
+     *
+     * @return the captured consultations, or null if there is nothing to write.
+     * @throws IOException if there was an error capturing the consultations.
+     */
+    public PendingSave prepareSave(QuickDocs quickDocs, boolean isSavedQuickDocs) throws IOException {
+        requireNonNull(quickDocs);
+        ConsultationManager consultationManager = quickDocs.getConsultationManager();
+        Map<String, Patient> formerPatients = consultationManager.getFormerPatients();
+        boolean isRewrite = !isSavedQuickDocs || isRewritePending;
+        int firstPosition = isRewrite ? 0 : writtenCount;
+        int count = consultationManager.getConsultationCount();
+        if (!isRewrite && firstPosition >= count && formerPatients == writtenFormerPatients) {
+            return null;
+        }
+
+        List<Consultation> consultations = consultationManager.getConsultationList();
+        List<SegmentRecord> records = new ArrayList<>();
+        for (int position = firstPosition; position < count; position++) {
+            Consultation consultation = consultations.get(position);
+            String json = JsonUtil.toCompactJsonString(new JsonAdaptedConsultation(consultation,
+                    quickDocs.getPatientManager(), quickDocs.getMedicineManager()));
+            records.add(new SegmentRecord(position, consultation.getIndex(), consultation.getSession(),
+                    consultation.getPatient().getNric().toString(), json.getBytes(StandardCharsets.UTF_8)));
+        }
+
+        int rewriteGeneration = isRewrite ? startRewrite() : generation;
+        return new SegmentSave(isRewrite, rewriteGeneration, records,
+                isRewrite || formerPatients != writtenFormerPatients ? formerPatients : null);
+    }
+
+    /**
+     * Indicates that a rewrite of the segment is captured, which is pending until it is written.
+     *
+     * @return the generation of the segment written by the rewrite.
+     */
+    private synchronized int startRewrite() {
+        isRewritePending = true;
+        return ++generation;
+    }
+
+    /**
+     * Indicates that the rewrite of the given {@code rewriteGeneration} is written, which is no longer
+     * pending unless another rewrite was captured after it.
+     */
+    private synchronized void finishRewrite(int rewriteGeneration) {
+        if (rewriteGeneration == generation) {
+            isRewritePending = false;
+        }
+    }
+
+    /**
+     * Returns a checksum of the segment and index files, which changes whenever consultations are written.
+     * As the files are only appended to, the checksum is taken from their sizes and modification times
+     * rather than their contents.
+     */
+    public long getChecksum() throws IOException {
+        return 31 * (31 * getFileStamp(segmentPath) + getFileStamp(indexPath)) + getFileStamp(formerPatientsPath);
+    }
+
+    private static long getFileStamp(Path file) throws IOException {
+        if (!FileUtil.isFileExists(file)) {
+            return 0;
+        }
+        return 31 * Files.size(file) + Files.getLastModifiedTime(file).toMillis();
+    }
+
+    /**
+     * Appends {@code records} to the files, skipping any that were already written by an earlier
+     * attempt to write them.
+     */
+    private void append(List<SegmentRecord> records) throws IOException {
+        int skipped = Math.max(0, writtenCount - (records.isEmpty() ? 0 : records.get(0).position));
+        if (skipped >= records.size()) {
+            return;
+        }
+
+        if (writtenCount == 0 || !FileUtil.isFileExists(segmentPath)) {
+            writeFiles(segmentPath, indexPath, new ArrayList<>());
+        }
+
+        long segmentLength = Files.size(segmentPath);
+        long indexLength = Files.size(indexPath);
+        ByteArrayOutputStream segmentBytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        encode(records.subList(skipped, records.size()), segmentLength, new DataOutputStream(segmentBytes),
+                new DataOutputStream(indexBytes));
+
+        logger.fine("Appending " + (records.size() - skipped) + " consultations to " + segmentPath);
+        try {
+            appendBytes(segmentPath, segmentBytes.toByteArray());
+            appendBytes(indexPath, indexBytes.toByteArray());
+        } catch (IOException ioe) {
+            removePartialRecords(segmentPath, segmentLength, ioe);
+            removePartialRecords(indexPath, indexLength, ioe);
+            throw ioe;
+        }
+        writtenCount = records.get(records.size() - 1).position + 1;
+    }
+
+    /**
+     * Replaces the files with ones holding only {@code records}.
+     */
+    private void rewrite(List<SegmentRecord> records) throws IOException {
+        logger.fine("Writing " + records.size() + " consultations to " + segmentPath);
+        Path newSegmentPath = segmentPath.resolveSibling(segmentPath.getFileName() + ".tmp");
+        Path newIndexPath = indexPath.resolveSibling(indexPath.getFileName() + ".tmp");
+        writeFiles(newSegmentPath, newIndexPath, records);
+
+        // the segment is indexed again if it is replaced without its index file
+        Files.deleteIfExists(indexPath);
+        Files.move(newSegmentPath, segmentPath, StandardCopyOption.REPLACE_EXISTING);
+        Files.move(newIndexPath, indexPath, StandardCopyOption.REPLACE_EXISTING);
+        writtenCount = records.size();
+    }
+
+    /**
+     * Replaces the file of former patients with one holding {@code formerPatients}.
+     */
+    private void writeFormerPatients(Map<String, Patient> formerPatients) throws IOException {
+        FileUtil.createParentDirsOfFile(formerPatientsPath);
+        String json = JsonUtil.toJsonString(formerPatients.values().toArray(new Patient[0]));
+        Files.write(formerPatientsPath, json.getBytes(StandardCharsets.UTF_8));
+        writtenFormerPatients = formerPatients;
+    }
+
+    /**
+     * Writes new segment and index files holding {@code records}.
+     */
+    private static void writeFiles(Path newSegmentPath, Path newIndexPath, List<SegmentRecord> records)
+            throws IOException {
+        FileUtil.createParentDirsOfFile(newSegmentPath);
+        ByteArrayOutputStream segmentBytes = new ByteArrayOutputStream();
+        ByteArrayOutputStream indexBytes = new ByteArrayOutputStream();
+        DataOutputStream segmentOutput = new DataOutputStream(segmentBytes);
+        DataOutputStream indexOutput = new DataOutputStream(indexBytes);
+        writeHeader(segmentOutput, SEGMENT_MAGIC);
+        writeHeader(indexOutput, INDEX_MAGIC);
+        encode(records, HEADER_SIZE, segmentOutput, indexOutput);
+        Files.write(newSegmentPath, segmentBytes.toByteArray());
+        Files.write(newIndexPath, indexBytes.toByteArray());
+    }
+
+    /**
+     * Writes {@code records} to be placed at {@code location} of the segment, along with their index records.
+     */
+    private static void encode(List<SegmentRecord> records, long location, DataOutputStream segmentOutput,
+                               DataOutputStream indexOutput) throws IOException {
+        for (SegmentRecord record : records) {
+            segmentOutput.writeInt(record.data.length);
+            segmentOutput.write(record.data);
+            new IndexRecord(record.index, location, record.data.length, record.session, record.nric)
+                    .writeTo(indexOutput);
+            location += Integer.BYTES + record.data.length;
+        }
+    }
+
+    private static void appendBytes(Path file, byte[] bytes) throws IOException {
+        Files.write(file, bytes, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Truncates {@code file} to {@code length}, removing any record that was partially appended
+     * when {@code appendFailure} occurred.
+     */
+    private static void removePartialRecords(Path file, long length, IOException appendFailure) {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+            channel.truncate(length);
+        } catch (IOException ioe) {
+            // records after the partial record are still indexed at the locations they are written to
+            appendFailure.addSuppressed(ioe);
+        }
+    }
+
+    private static void writeHeader(DataOutputStream output, int magic) throws IOException {
+        output.writeInt(magic);
+        output.writeInt(VERSION);
+    }
+
+    /**
+     * Returns true if {@code input} starts with the header of the given {@code magic} and the current version.
+     */
+    private static boolean readHeader(DataInputStream input, int magic) throws IOException {
+        try {
+            return input.readInt() == magic && input.readInt() == VERSION;
+        } catch (EOFException eofe) {
+            return false;
+        }
+    }
+
+    private static int readInt(FileChannel channel, long location) throws IOException {
+        return ByteBuffer.wrap(readBytes(channel, location, Integer.BYTES)).getInt();
+    }
+
+    /**
+     * Reads {@code length} bytes of {@code channel} starting from {@code location}.
+     */
+    private static byte[] readBytes(FileChannel channel, long location, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, location + buffer.position()) < 0) {
+                throw new EOFException();
+            }
+        }
+        return buffer.array();
+    }
+
+    private static JsonAdaptedConsultation parseRecord(byte[] data) throws IOException {
+        return JsonUtil.fromJsonString(new String(data, StandardCharsets.UTF_8), JsonAdaptedConsultation.class);
+    }
+
+    /**
+     * Loads consultations of a {@code QuickDocs} from the segment, resolving their patients and medicines
+     * against the managers of the {@code QuickDocs}.
+     */
+    private class SegmentLoader implements ConsultationLoader {
+        private final QuickDocs quickDocs;
+        private final int loaderGeneration;
+
+        SegmentLoader(QuickDocs quickDocs, int loaderGeneration) {
+            this.quickDocs = quickDocs;
+            this.loaderGeneration = loaderGeneration;
+        }
+
+        @Override
+        public Consultation loadConsultation(long location) throws DataConversionException {
+            try {
+                return readRecord(location).toModelType(quickDocs.getPatientManager(),
+                        quickDocs.getConsultationManager().getFormerPatients(), quickDocs.getMedicineManager());
+            } catch (IOException | IllegalValueException | IllegalArgumentException e) {
+                logger.warning("Error loading consultation at " + location + " of " + segmentPath + ": " + e);
+                throw new DataConversionException(e);
+            }
+        }
+
+        /**
+         * Reads only the diagnosis of the record, without looking up its patient and medicines, which are
+         * changed by the commands while the text index is built on another thread.
+         */
+        @Override
+        public Diagnosis loadDiagnosis(long location) throws DataConversionException {
+            try {
+                return readRecord(location).getDiagnosis();
+            } catch (IOException e) {
+                logger.warning("Error loading diagnosis at " + location + " of " + segmentPath + ": " + e);
+                throw new DataConversionException(e);
+            }
+        }
+
+        /**
+         * Reads the record at {@code location} of the segment.
+         *
+         * @throws IOException if the segment was rewritten since this loader was created, or cannot be read.
+         */
+        private JsonAdaptedConsultation readRecord(long location) throws IOException {
+            if (loaderGeneration != generation) {
+                throw new IOException(String.format(MESSAGE_REWRITTEN, segmentPath));
+            }
+
+            byte[] data;
+            try (FileChannel channel = FileChannel.open(segmentPath, StandardOpenOption.READ)) {
+                data = readBytes(channel, location + Integer.BYTES, readInt(channel, location));
+            }
+            return parseRecord(data);
+        }
+    }
+
+    /**
+     * A consultation captured to be written to the segment.
+     */
+    private static class SegmentRecord {
+        private final int position;
+        private final int index;
+        private final LocalDateTime session;
+        private final String nric;
+        private final byte[] data;
+
+        SegmentRecord(int position, int index, LocalDateTime session, String nric, byte[] data) {
+            this.position = position;
+            this.index = index;
+            this.session = session;
+            this.nric = nric;
+            this.data = data;
+        }
+    }
+
+    /**
+     * A record of the index file, locating a consultation in the segment.
+     */
+    private static class IndexRecord {
+        private final int index;
+        private final long location;
+        private final int length;
+        private final LocalDateTime session;
+        private final String nric;
+
+        IndexRecord(int index, long location, int length, LocalDateTime session, String nric) {
+            this.index = index;
+            this.location = location;
+            this.length = length;
+            this.session = session;
+            this.nric = nric;
+        }
+
+        /**
+         * Reads the next record of the index file, or returns null if there is no complete record left.
+         */
+        static IndexRecord readFrom(DataInputStream input) throws IOException {
+            try {
+                int index = input.readInt();
+                long location = input.readLong();
+                int length = input.readInt();
+                long epochSecond = input.readLong();
+                int nano = input.readInt();
+                String nric = input.readUTF();
+                LocalDateTime session = epochSecond == NO_SESSION
+                        ? null : LocalDateTime.ofEpochSecond(epochSecond, nano, ZoneOffset.UTC);
+                return new IndexRecord(index, location, length, session, nric);
+            } catch (EOFException eofe) {
+                return null;
+            }
+        }
+
+        /**
+         * Writes this record to the index file through {@code output}.
+         */
+        void writeTo(DataOutputStream output) throws IOException {
+            output.writeInt(index);
+            output.writeLong(location);
+            output.writeInt(length);
+            output.writeLong(session == null ? NO_SESSION : session.toEpochSecond(ZoneOffset.UTC));
+            output.writeInt(session == null ? 0 : session.getNano());
+            output.writeUTF(nric);
+        }
+
+        /**
+         * Returns the number of bytes taken by this record in the index file.
+         */
+        long getSize() {
+            // fixed-width fields, followed by the length and UTF-8 bytes of the NRIC
+            return 3 * Integer.BYTES + 2 * Long.BYTES + Short.BYTES + nric.getBytes(StandardCharsets.UTF_8).length;
+        }
+
+        /**
+         * Returns the location in the segment right after the consultation of this record.
+         */
+        long getEnd() {
+            return location + Integer.BYTES + length;
+        }
+
+        ConsultationIndexEntry toEntry() {
+            return ConsultationIndexEntry.ofStored(index, nric, session, location);
+        }
+    }
+
+    /**
+     * Consultations to append to the segment, or to replace the consultations in the segment with,
+     * along with the former patients to replace those in their file with, if they changed.
+     */
+    private class SegmentSave implements PendingSave {
+        private final boolean isRewrite;
+        private final int rewriteGeneration;
+        private final List<SegmentRecord> records;
+        private final Map<String, Patient> formerPatients;
+
+        SegmentSave(boolean isRewrite, int rewriteGeneration, List<SegmentRecord> records,
+                    Map<String, Patient> formerPatients) {
+            this.isRewrite = isRewrite;
+            this.rewriteGeneration = rewriteGeneration;
+            this.records = records;
+            this.formerPatients = formerPatients;
+        }
+
+        @Override
+        public void write() throws IOException {
+            if (formerPatients != null) {
+                writeFormerPatients(formerPatients);
+            }
+            if (!isRewrite) {
+                append(records);
+                return;
+            }
+
+            rewrite(records);
+            finishRewrite(rewriteGeneration);
+        }
+
+        @Override
+        public PendingSave mergeWith(PendingSave later) {
+            SegmentSave laterSave = (SegmentSave) later;
+            if (laterSave.isRewrite) {
+                return laterSave;
+            }
+
+            // the later save captured every consultation not written when it was captured, which may include
+            // consultations captured by this save as well
+            int laterFirstPosition = laterSave.records.isEmpty()
+                    ? Integer.MAX_VALUE : laterSave.records.get(0).position;
+            List<SegmentRecord> mergedRecords = new ArrayList<>();
+            for (SegmentRecord record : records) {
+                if (record.position < laterFirstPosition) {
+                    mergedRecords.add(record);
+                }
+            }
+            mergedRecords.addAll(laterSave.records);
+            return new SegmentSave(isRewrite, rewriteGeneration, mergedRecords,
+                    laterSave.formerPatients != null ? laterSave.formerPatients : formerPatients);
+        }
+    }
+}
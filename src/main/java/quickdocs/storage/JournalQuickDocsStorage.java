@@ -0,0 +1,394 @@
+package quickdocs.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.logging.Logger;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import quickdocs.commons.core.LogsCenter;
+import quickdocs.commons.exceptions.DataConversionException;
+import quickdocs.commons.exceptions.IllegalValueException;
+import quickdocs.commons.util.FileUtil;
+import quickdocs.commons.util.JsonUtil;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.QuickDocsChange;
+
+/**
+ * A class to access QuickDocs data stored as a snapshot with a journal of the changes made after it.
+ * Saving only appends the changes recorded since the last save to the journal, so the cost of a save
+ * does not grow with the amount of data in QuickDocs.
+ * The journal is compacted into a new snapshot once it holds enough changes, or when QuickDocs
+ * was modified without recording the changes made.
+ *
+ * The first line of the journal holds the checksum of the snapshot that the journal was started from,
+ * and every other line holds a single change. A journal that does not match the snapshot it is read with
+ * was already compacted into the snapshot, and is discarded.
+ *
+ * The captured {@link PendingSave}s may be written by a thread other than the one saving QuickDocs,
+ * as long as they are written one at a time, in the order they were captured.
+ */
+public class JournalQuickDocsStorage implements QuickDocsStorage {
+
+    public static final String JOURNAL_FILE_EXTENSION = ".journal";
+    public static final int DEFAULT_COMPACTION_THRESHOLD = 1000;
+    public static final String MESSAGE_JOURNAL_INVALID =
+            "Journal %s has to be compacted after an earlier failure, changes will be saved with the next command.";
+
+    private static final Logger logger = LogsCenter.getLogger(JournalQuickDocsStorage.class);
+
+    private final QuickDocsStorage snapshotStorage;
+    private final Path journalPath;
+    private final int compactionThreshold;
+
+    // the QuickDocs described by the snapshot and journal, changes made to any other
+    // QuickDocs object cannot be appended to the journal
+    private QuickDocs journaledQuickDocs;
+    private int journalSize = 0;
+    // types of the changes in the journal, the snapshot storage may only write the managers modified by them
+    private final Set<QuickDocsChange.Type> journaledChangeTypes = EnumSet.noneOf(QuickDocsChange.Type.class);
+
+    // state of the files, only used while writing
+    private long snapshotChecksum;
+    private boolean isJournalStarted = false;
+    private volatile boolean isJournalInvalid = false;
+
+    public JournalQuickDocsStorage(QuickDocsStorage snapshotStorage) {
+        this(snapshotStorage, DEFAULT_COMPACTION_THRESHOLD);
+    }
+
+    /**
+     * Creates a {@code JournalQuickDocsStorage} that keeps its snapshot in {@code snapshotStorage}, and
+     * compacts the journal once it holds {@code compactionThreshold} changes.
+     */
+    public JournalQuickDocsStorage(QuickDocsStorage snapshotStorage, int compactionThreshold) {
+        requireNonNull(snapshotStorage);
+        this.snapshotStorage = snapshotStorage;
+        this.journalPath = Paths.get(snapshotStorage.getFilePath().toString() + JOURNAL_FILE_EXTENSION);
+        this.compactionThreshold = compactionThreshold;
+    }
+
+    @Override
+    public Path getFilePath() {
+        return snapshotStorage.getFilePath();
+    }
+
+    public Path getJournalPath() {
+        return journalPath;
+    }
+
+    /**
+     * Reads the snapshot and replays the changes in the journal on it.
+     *
+     * @return an {@code Optional<QuickDocs>} object that contains all objects read from the snapshot and journal.
+     * @throws DataConversionException if the snapshot or journal is not in the correct format.
+     * @throws IOException if there was an error reading the snapshot or journal.
+     */
+    @Override
+    public Optional<QuickDocs> readQuickDocs() throws DataConversionException, IOException {
+        journaledQuickDocs = null;
+        journaledChangeTypes.clear();
+        Optional<QuickDocs> snapshot = snapshotStorage.readQuickDocs();
+        if (!snapshot.isPresent()) {
+            return snapshot;
+        }
+
+        QuickDocs quickDocs = snapshot.get();
+        snapshotChecksum = snapshotStorage.getChecksum();
+        isJournalStarted = false;
+        isJournalInvalid = false;
+        journalSize = 0;
+
+        if (FileUtil.isFileExists(journalPath) && !replayJournal(quickDocs)) {
+            // the journal could not be fully replayed, so it cannot be appended to
+            return snapshot;
+        }
+
+        journaledQuickDocs = quickDocs;
+        return snapshot;
+    }
+
+    /**
+     * Replays the changes in the journal on {@code quickDocs}.
+     *
+     * @return true if the journal can be appended to after replaying it
+     * @throws DataConversionException if a change in the journal is not in the correct format.
+     */
+    private boolean replayJournal(QuickDocs quickDocs) throws DataConversionException, IOException {
+        List<String> lines = new ArrayList<>();
+        try (BufferedReader reader = Files.newBufferedReader(journalPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lines.add(line);
+            }
+        }
+
+        if (lines.isEmpty()) {
+            return true;
+        }
+
+        JournalHeader header;
+        try {
+            header = JsonUtil.fromJsonString(lines.get(0), JournalHeader.class);
+        } catch (IOException ioe) {
+            logger.warning("Journal " + journalPath + " has an invalid header, discarding it");
+            return true;
+        }
+
+        if (header.snapshotChecksum != snapshotChecksum) {
+            logger.info("Journal " + journalPath + " was already compacted into the snapshot, discarding it");
+            return true;
+        }
+
+        logger.info("Replaying " + (lines.size() - 1) + " changes from journal " + journalPath);
+        for (int i = 1; i < lines.size(); i++) {
+            JsonAdaptedQuickDocsChange change;
+            try {
+                change = JsonUtil.fromJsonString(lines.get(i), JsonAdaptedQuickDocsChange.class);
+            } catch (IOException ioe) {
+                if (i == lines.size() - 1) {
+                    // the last change was only partially written when QuickDocs last exited
+                    logger.warning("Discarding incomplete change at the end of journal " + journalPath);
+                    return false;
+                }
+                throw new DataConversionException(ioe);
+            }
+
+            try {
+                change.applyTo(quickDocs);
+                journaledChangeTypes.add(QuickDocsChange.Type.valueOf(change.getType()));
+            } catch (IllegalValueException | IllegalArgumentException ie) {
+                logger.info("Illegal values found in " + journalPath + ": " + ie.getMessage());
+                throw new DataConversionException(ie);
+            }
+        }
+
+        isJournalStarted = true;
+        journalSize = lines.size() - 1;
+        return true;
+    }
+
+    /**
+     * Appends the changes recorded in {@code quickDocs} to the journal, or compacts the journal into
+     * a new snapshot of {@code quickDocs}.
+     *
+     * @param quickDocs the {@code QuickDocs} object to save.
+     * @throws IOException if there was an error writing to the snapshot or journal.
+     */
+    @Override
+    public void saveQuickDocs(QuickDocs quickDocs) throws IOException {
+        prepareSave(quickDocs).write();
+    }
+
+    /**
+     * Captures the changes recorded in {@code quickDocs} to be appended to the journal, or a new snapshot
+     * of {@code quickDocs} to compact the journal into.
+     *
+     * @param quickDocs the {@code QuickDocs} object to save.
+     * @throws IOException if there was an error capturing the snapshot.
+     */
+    @Override
+    public PendingSave prepareSave(QuickDocs quickDocs) throws IOException {
+        requireNonNull(quickDocs);
+
+        List<QuickDocsChange> changes = quickDocs.getChanges();
+        if (quickDocs != journaledQuickDocs || quickDocs.hasUnrecordedChanges() || isJournalInvalid
+                || journalSize + changes.size() >= compactionThreshold) {
+            // the snapshot has to hold the journaled changes, which are no longer indicated as modifications
+            journaledChangeTypes.forEach(quickDocs::indicateModification);
+            journaledChangeTypes.clear();
+            journaledQuickDocs = quickDocs;
+            journalSize = 0;
+            return new JournalSave(snapshotStorage.prepareSave(quickDocs), new ArrayList<>());
+        }
+
+        // statistics changes store the whole state of their module, so only the last one is needed
+        int lastStatisticsChange = findLastIndexOfType(changes, QuickDocsChange.Type.STATISTICS);
+
+        List<JsonAdaptedQuickDocsChange> records = new ArrayList<>();
+        for (int i = 0; i < changes.size(); i++) {
+            QuickDocsChange change = changes.get(i);
+            if (change.getType() == QuickDocsChange.Type.STATISTICS && i != lastStatisticsChange) {
+                continue;
+            }
+            records.add(new JsonAdaptedQuickDocsChange(change, quickDocs));
+            journaledChangeTypes.add(change.getType());
+        }
+
+        journalSize += records.size();
+        return new JournalSave(null, records);
+    }
+
+    /**
+     * Writes a new snapshot with {@code snapshotSave}, and starts a new journal from it holding {@code records}.
+     */
+    private void compact(PendingSave snapshotSave, List<JsonAdaptedQuickDocsChange> records) throws IOException {
+        logger.fine("Compacting journal into snapshot: " + getFilePath());
+        snapshotSave.write();
+        snapshotChecksum = snapshotStorage.getChecksum();
+
+        // the old journal is replaced in a single step, so that it is never lost before the new
+        // snapshot is in place
+        Path newJournalPath = Paths.get(journalPath.toString() + ".tmp");
+        FileUtil.writeToFile(newJournalPath, createHeaderLine() + toJournalLines(records));
+        Files.move(newJournalPath, journalPath, StandardCopyOption.REPLACE_EXISTING);
+        isJournalStarted = true;
+    }
+
+    /**
+     * Appends {@code records} to the journal.
+     */
+    private void appendRecords(List<JsonAdaptedQuickDocsChange> records) throws IOException {
+        if (!isJournalStarted) {
+            FileUtil.createParentDirsOfFile(journalPath);
+            FileUtil.writeToFile(journalPath, createHeaderLine());
+            isJournalStarted = true;
+        }
+
+        logger.fine("Appending " + records.size() + " changes to journal: " + journalPath);
+        long journalLength = Files.size(journalPath);
+        try {
+            FileUtil.appendToFile(journalPath, toJournalLines(records));
+        } catch (IOException ioe) {
+            removePartialRecords(journalLength, ioe);
+            throw ioe;
+        }
+    }
+
+    /**
+     * Truncates the journal to {@code journalLength}, removing any change that was partially appended
+     * when {@code appendFailure} occurred.
+     */
+    private void removePartialRecords(long journalLength, IOException appendFailure) {
+        try (FileChannel journalChannel = FileChannel.open(journalPath, StandardOpenOption.WRITE)) {
+            journalChannel.truncate(journalLength);
+        } catch (IOException ioe) {
+            // the journal can no longer be appended to, until it is compacted
+            isJournalInvalid = true;
+            appendFailure.addSuppressed(ioe);
+        }
+    }
+
+    /**
+     * Returns {@code records} as lines of the journal.
+     */
+    private static String toJournalLines(List<JsonAdaptedQuickDocsChange> records) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        for (JsonAdaptedQuickDocsChange record : records) {
+            sb.append(JsonUtil.toCompactJsonString(record));
+            sb.append("\n");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Returns the index of the last change of the given {@code type}, or -1 if there is none.
+     */
+    private static int findLastIndexOfType(List<QuickDocsChange> changes, QuickDocsChange.Type type) {
+        for (int i = changes.size() - 1; i >= 0; i--) {
+            if (changes.get(i).getType() == type) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private String createHeaderLine() throws IOException {
+        return JsonUtil.toCompactJsonString(new JournalHeader(snapshotChecksum)) + "\n";
+    }
+
+    /**
+     * Changes to append to the journal, or a snapshot to compact the journal into followed by the changes
+     * made after it.
+     */
+    private class JournalSave implements PendingSave {
+        private final PendingSave snapshotSave;
+        private final List<JsonAdaptedQuickDocsChange> records;
+
+        JournalSave(PendingSave snapshotSave, List<JsonAdaptedQuickDocsChange> records) {
+            this.snapshotSave = snapshotSave;
+            this.records = records;
+        }
+
+        @Override
+        public void write() throws IOException {
+            if (snapshotSave != null) {
+                try {
+                    compact(snapshotSave, records);
+                } catch (IOException ioe) {
+                    // the journal may not match the snapshot, so the next save has to compact it again
+                    isJournalInvalid = true;
+                    throw ioe;
+                }
+                isJournalInvalid = false;
+                return;
+            }
+
+            if (isJournalInvalid) {
+                throw new IOException(String.format(MESSAGE_JOURNAL_INVALID, journalPath));
+            }
+            appendRecords(records);
+        }
+
+        @Override
+        public PendingSave mergeWith(PendingSave later) {
+            JournalSave laterSave = (JournalSave) later;
+            if (laterSave.snapshotSave != null) {
+                // a snapshot may only hold the managers modified since the one before it, so an earlier snapshot
+                // that was not written has to be written along with it. The managers of earlier changes are held
+                // by the later snapshot, as they are indicated as modified when it is captured.
+                PendingSave mergedSnapshot = snapshotSave == null
+                        ? laterSave.snapshotSave
+                        : snapshotSave.mergeWith(laterSave.snapshotSave);
+                return new JournalSave(mergedSnapshot, laterSave.records);
+            }
+
+            List<JsonAdaptedQuickDocsChange> mergedRecords = new ArrayList<>();
+            for (JsonAdaptedQuickDocsChange record : records) {
+                if (!laterSave.hasModuleRecord(record.getType())) {
+                    mergedRecords.add(record);
+                }
+            }
+            mergedRecords.addAll(laterSave.records);
+            return new JournalSave(snapshotSave, mergedRecords);
+        }
+
+        /**
+         * Returns true if a statistics change of the given {@code type} is in this save,
+         * which replaces the state of that module stored by any earlier change.
+         */
+        private boolean hasModuleRecord(String type) {
+            if (!type.equals(QuickDocsChange.Type.STATISTICS.name())) {
+                return false;
+            }
+            return records.stream().anyMatch(record -> record.getType().equals(type));
+        }
+    }
+
+    /**
+     * The first line of the journal, identifying the snapshot the journal was started from.
+     */
+    private static class JournalHeader {
+        private long snapshotChecksum;
+
+        @JsonCreator
+        public JournalHeader(@JsonProperty("snapshotChecksum") long snapshotChecksum) {
+            this.snapshotChecksum = snapshotChecksum;
+        }
+    }
+}
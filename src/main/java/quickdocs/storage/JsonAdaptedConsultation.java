@@ -2,45 +2,61 @@ package quickdocs.storage;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.fasterxml.jackson.annotation.JsonProperty;
 
 import quickdocs.commons.exceptions.IllegalValueException;
 import quickdocs.model.consultation.Consultation;
 import quickdocs.model.consultation.Diagnosis;
 import quickdocs.model.consultation.Prescription;
+import quickdocs.model.medicine.MedicineManager;
+import quickdocs.model.patient.Nric;
 import quickdocs.model.patient.Patient;
+import quickdocs.model.patient.PatientManager;
 
 /**
  * Jackson-friendly version of {@link Consultation}.
+ * The patient is saved by its NRIC and resolved against the {@code PatientManager} when loaded,
+ * so the consultation refers to the current record of the patient.
+ * A copy of the patient is only saved if the patient is no longer in the {@code PatientManager},
+ * which is also how every consultation was saved in older data files.
+ * The assessment and symptoms of the diagnosis are replaced with their shared instances when loaded.
  */
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class JsonAdaptedConsultation {
 
+    public static final String MESSAGE_MISSING_PATIENT = "Consultation's patient field is missing!";
+    public static final String MESSAGE_UNKNOWN_PATIENT = "Consultation refers to a patient that does not exist: %s";
+
     private int index;
     private LocalDateTime session;
 
+    private String patientNric;
     private Patient patient;
     private Diagnosis diagnosis;
 
-    private ArrayList<Prescription> prescriptions;
+    private List<JsonAdaptedPrescription> prescriptions = new ArrayList<>();
 
     /**
-     * Constructs a {@code JsonAdaptedPerson} with the given person details.
+     * Constructs a {@code JsonAdaptedConsultation} with the given consultation details.
      */
     @JsonCreator
     public JsonAdaptedConsultation(@JsonProperty("index") int index,
                                    @JsonProperty("session") LocalDateTime session,
+                                   @JsonProperty("patientNric") String patientNric,
                                    @JsonProperty("patient") Patient patient,
                                    @JsonProperty("diagnosis") Diagnosis diagnosis,
-                                   @JsonProperty("prescriptions") List<Prescription> prescriptions) {
+                                   @JsonProperty("prescriptions") List<JsonAdaptedPrescription> prescriptions) {
         this.index = index;
         this.session = session;
+        this.patientNric = patientNric;
         this.patient = patient;
         this.diagnosis = diagnosis;
-
-        this.prescriptions = new ArrayList<>();
         if (prescriptions != null) {
             this.prescriptions.addAll(prescriptions);
         }
@@ -48,39 +64,112 @@ public class JsonAdaptedConsultation {
 
     /**
      * Converts a given {@code Consultation} into this class for Jackson use.
+     * The patient and medicines are copied only if they cannot be found in the given managers.
      */
-    public JsonAdaptedConsultation(Consultation source) {
-
-        this.index = source.getIndex();
-        this.session = source.getSession();
-        this.patient = source.getPatient();
-        this.diagnosis = source.getDiagnosis();
-        this.prescriptions = new ArrayList<>();
-        this.prescriptions.addAll(source.getPrescriptions());
+    public JsonAdaptedConsultation(Consultation source, PatientManager patientManager,
+                                   MedicineManager medicineManager) {
+        index = source.getIndex();
+        session = source.getSession();
+        patientNric = source.getPatient().getNric().toString();
+        if (!patientManager.getPatientByNric(source.getPatient().getNric()).isPresent()) {
+            patient = source.getPatient();
+        }
+        diagnosis = source.getDiagnosis();
+        for (Prescription prescription : source.getPrescriptions()) {
+            prescriptions.add(new JsonAdaptedPrescription(prescription, medicineManager));
+        }
     }
 
     /**
-     * Converts this Jackson-friendly adapted person object into the model's {@code Person} object.
+     * Converts a given {@code Consultation} into this class for Jackson use, always saving a copy of the patient
+     * along with the NRIC, so that the consultation can still be loaded after the patient is deleted or
+     * the NRIC of the patient is changed.
+     * The medicines are copied only if they cannot be found in {@code medicineManager}.
+     */
+    public JsonAdaptedConsultation(Consultation source, MedicineManager medicineManager) {
+        this(source, new PatientManager(), medicineManager);
+    }
+
+    /**
+     * Converts this Jackson-friendly adapted consultation object into the model's {@code Consultation} object,
+     * using the patient and medicines in the given managers.
+     * The saved copy of the patient is only used if the patient is not found in {@code patientManager}.
      *
      * @return The Consultation model object
-     * @throws IllegalValueException if there were any data constraints violated in the tags.
-     * @throws IllegalArgumentException if there were any data constraints violated for patient fields.
+     * @throws IllegalValueException if the patient or a medicine cannot be found without a saved copy.
+     * @throws IllegalArgumentException if there were any data constraints violated for consultation fields.
      */
-    public Consultation toModelType() throws IllegalValueException, IllegalArgumentException {
-        int modelIndex = this.index;
-        LocalDateTime modelSession = this.session;
-        Patient modelPatient = this.patient;
-        Diagnosis modelDiagnosis = this.diagnosis;
-        ArrayList<Prescription> prescriptions = new ArrayList<>();
-        prescriptions.addAll(this.prescriptions);
+    public Consultation toModelType(PatientManager patientManager, MedicineManager medicineManager)
+            throws IllegalValueException, IllegalArgumentException {
+        return toModelType(patientManager, Collections.emptyMap(), medicineManager);
+    }
+
+    /**
+     * Converts this Jackson-friendly adapted consultation object into the model's {@code Consultation} object,
+     * using the patient and medicines in the given managers.
+     * A patient that is not found in {@code patientManager} is taken from the saved copy of the patient,
+     * or else from {@code formerPatients}, which holds copies of patients kept apart from their consultations.
+     *
+     * @return The Consultation model object
+     * @throws IllegalValueException if the patient or a medicine cannot be found without a saved copy.
+     * @throws IllegalArgumentException if there were any data constraints violated for consultation fields.
+     */
+    public Consultation toModelType(PatientManager patientManager, Map<String, Patient> formerPatients,
+                                    MedicineManager medicineManager)
+            throws IllegalValueException, IllegalArgumentException {
+        String nric = getPatientNric();
+        if (nric == null) {
+            throw new IllegalValueException(MESSAGE_MISSING_PATIENT);
+        }
+
+        Patient modelPatient = patientManager.getPatientByNric(new Nric(nric))
+                .orElse(patient != null ? patient : formerPatients.get(nric));
+        if (modelPatient == null) {
+            throw new IllegalValueException(String.format(MESSAGE_UNKNOWN_PATIENT, nric));
+        }
+
+        ArrayList<Prescription> modelPrescriptions = new ArrayList<>();
+        for (JsonAdaptedPrescription prescription : prescriptions) {
+            modelPrescriptions.add(prescription.toModelType(medicineManager));
+        }
+
+        // the same assessments and symptoms are read from many consultations
+        if (diagnosis != null) {
+            diagnosis.internValues();
+        }
 
         Consultation consultation = new Consultation(modelPatient);
-        consultation.setIndex(modelIndex);
-        consultation.setSession(modelSession);
-        consultation.setDiagnosis(modelDiagnosis);
-        consultation.setPrescriptions(prescriptions);
+        consultation.setIndex(index);
+        consultation.setSession(session);
+        consultation.setDiagnosis(diagnosis);
+        consultation.setPrescriptions(modelPrescriptions);
         return consultation;
     }
 
+    public int getIndex() {
+        return index;
+    }
+
+    public LocalDateTime getSession() {
+        return session;
+    }
+
+    public Diagnosis getDiagnosis() {
+        return diagnosis;
+    }
+
+    /**
+     * Returns the NRIC of the patient of the consultation, or null if it is missing.
+     */
+    public String getPatientNric() {
+        return patientNric != null ? patientNric : patient != null ? patient.getNric().toString() : null;
+    }
 
+    /**
+     * Returns true if the consultation was saved in the format of older data files,
+     * with a copy of the patient but not the NRIC of the patient.
+     */
+    public boolean isLegacyFormat() {
+        return patientNric == null;
+    }
 }
@@ -46,7 +46,20 @@ public class JsonAdaptedMedicine {
         return medicine;
     }
 
+    /**
+     * Sets the quantity, threshold and price of {@code medicine} to those of this adapted medicine.
+     */
+    public void copyDetailsTo(Medicine medicine) {
+        medicine.setQuantity(quantity);
+        medicine.setThreshold(threshold);
+        medicine.setPrice(price);
+    }
+
     public String getName() {
         return name;
     }
+
+    public BigDecimal getPrice() {
+        return price;
+    }
 }
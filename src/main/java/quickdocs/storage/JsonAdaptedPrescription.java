@@ -0,0 +1,72 @@
+package quickdocs.storage;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import quickdocs.commons.exceptions.IllegalValueException;
+import quickdocs.model.consultation.Prescription;
+import quickdocs.model.medicine.Medicine;
+import quickdocs.model.medicine.MedicineManager;
+
+/**
+ * Jackson-friendly version of {@link Prescription}.
+ * The medicine is saved by its name and resolved against the {@code MedicineManager} when loaded.
+ * A copy of the medicine is only saved if it is not found in the {@code MedicineManager},
+ * which is also how prescriptions were saved in older data files.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JsonAdaptedPrescription {
+
+    public static final String MESSAGE_MISSING_MEDICINE = "Prescription's medicine field is missing!";
+    public static final String MESSAGE_UNKNOWN_MEDICINE = "Prescription refers to a medicine that does not exist: %s";
+
+    private String medicineName;
+    private Medicine medicine;
+    private int quantity;
+
+    /**
+     * Constructs a {@code JsonAdaptedPrescription} with the given prescription details.
+     */
+    @JsonCreator
+    public JsonAdaptedPrescription(@JsonProperty("medicineName") String medicineName,
+                                   @JsonProperty("medicine") Medicine medicine,
+                                   @JsonProperty("quantity") int quantity) {
+        this.medicineName = medicineName;
+        this.medicine = medicine;
+        this.quantity = quantity;
+    }
+
+    /**
+     * Converts a given {@code Prescription} into this class for Jackson use.
+     * The medicine is copied only if it cannot be found in {@code medicineManager}.
+     */
+    public JsonAdaptedPrescription(Prescription source, MedicineManager medicineManager) {
+        medicineName = source.getMedicine().name;
+        if (!medicineManager.findMedicine(medicineName).isPresent()) {
+            medicine = source.getMedicine();
+        }
+        quantity = source.getQuantity();
+    }
+
+    /**
+     * Converts this Jackson-friendly adapted prescription object into the model's {@code Prescription} object,
+     * using the medicine of the same name in {@code medicineManager}.
+     *
+     * @throws IllegalValueException if the medicine is missing, or cannot be found without a saved copy.
+     * @throws IllegalArgumentException if the quantity is not positive.
+     */
+    public Prescription toModelType(MedicineManager medicineManager)
+            throws IllegalValueException, IllegalArgumentException {
+        String name = medicineName != null ? medicineName : medicine != null ? medicine.name : null;
+        if (name == null) {
+            throw new IllegalValueException(MESSAGE_MISSING_MEDICINE);
+        }
+
+        Medicine modelMedicine = medicineManager.findMedicine(name).orElse(medicine);
+        if (modelMedicine == null) {
+            throw new IllegalValueException(String.format(MESSAGE_UNKNOWN_MEDICINE, name));
+        }
+        return new Prescription(modelMedicine, quantity);
+    }
+}
@@ -0,0 +1,316 @@
+package quickdocs.storage;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import quickdocs.commons.exceptions.IllegalValueException;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.QuickDocsChange;
+import quickdocs.model.appointment.Appointment;
+import quickdocs.model.appointment.AppointmentManager;
+import quickdocs.model.medicine.Directory;
+import quickdocs.model.medicine.Medicine;
+import quickdocs.model.medicine.MedicineManager;
+import quickdocs.model.patient.Patient;
+import quickdocs.model.patient.PatientManager;
+import quickdocs.model.record.StatisticsManager;
+import quickdocs.model.reminder.Reminder;
+import quickdocs.model.reminder.ReminderManager;
+
+/**
+ * Jackson-friendly version of {@link QuickDocsChange}, stored as a single record of the journal.
+ * Fields that are not relevant to the type of change are left out of the record.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JsonAdaptedQuickDocsChange {
+
+    public static final String CHANGE_MISSING_FIELD_MESSAGE_FORMAT = "%s change's %s field is missing!";
+    public static final String MESSAGE_INVALID_CHANGE_TYPE = "Journal contains an unknown change type: %s";
+    public static final String MESSAGE_INVALID_PATIENT_INDEX = "Journal replaces a patient at an invalid index.";
+    public static final String MESSAGE_UNKNOWN_MEDICINE = "Journal changes a medicine that does not exist: %s";
+    public static final String MESSAGE_UNKNOWN_DIRECTORY = "Journal changes a directory that does not exist: %s";
+
+    private String type;
+    private Integer index;
+    private String nric;
+    private JsonAdaptedPatient patient;
+    private JsonAdaptedConsultation consultation;
+    private JsonAdaptedAppointment appointment;
+    private JsonAdaptedReminder reminder;
+    private JsonAdaptedMedicine medicine;
+    private List<String> path;
+    private Integer threshold;
+    private List<JsonAdaptedMedicine> medicineList;
+    private JsonAdaptedDirectory rootDirectory;
+    private List<JsonAdaptedMonthStatistics> monthStatisticsList;
+    private BigDecimal consultationFee;
+
+    /**
+     * Constructs a {@code JsonAdaptedQuickDocsChange} with the given change details.
+     */
+    @JsonCreator
+    public JsonAdaptedQuickDocsChange(@JsonProperty("type") String type,
+                                      @JsonProperty("index") Integer index,
+                                      @JsonProperty("nric") String nric,
+                                      @JsonProperty("patient") JsonAdaptedPatient patient,
+                                      @JsonProperty("consultation") JsonAdaptedConsultation consultation,
+                                      @JsonProperty("appointment") JsonAdaptedAppointment appointment,
+                                      @JsonProperty("reminder") JsonAdaptedReminder reminder,
+                                      @JsonProperty("medicine") JsonAdaptedMedicine medicine,
+                                      @JsonProperty("path") List<String> path,
+                                      @JsonProperty("threshold") Integer threshold,
+                                      @JsonProperty("medicineList") List<JsonAdaptedMedicine> medicineList,
+                                      @JsonProperty("rootDirectory") JsonAdaptedDirectory rootDirectory,
+                                      @JsonProperty("monthStatisticsList")
+                                              List<JsonAdaptedMonthStatistics> monthStatisticsList,
+                                      @JsonProperty("consultationFee") BigDecimal consultationFee) {
+        this.type = type;
+        this.index = index;
+        this.nric = nric;
+        this.patient = patient;
+        this.consultation = consultation;
+        this.appointment = appointment;
+        this.reminder = reminder;
+        this.medicine = medicine;
+        this.path = path;
+        this.threshold = threshold;
+        this.medicineList = medicineList;
+        this.rootDirectory = rootDirectory;
+        this.monthStatisticsList = monthStatisticsList;
+        this.consultationFee = consultationFee;
+    }
+
+    /**
+     * Converts a given {@code QuickDocsChange} into this class for Jackson use.
+     * Medicine changes take the current state of the changed medicine or directory, statistics changes take
+     * the current state of their module from {@code source}, and consultations refer to the patients and
+     * medicines in {@code source}.
+     */
+    public JsonAdaptedQuickDocsChange(QuickDocsChange change, QuickDocs source) {
+        type = change.getType().name();
+        switch (change.getType()) {
+        case ADD_PATIENT:
+            patient = new JsonAdaptedPatient(change.getPatient());
+            break;
+        case REPLACE_PATIENT:
+            index = change.getIndex();
+            patient = new JsonAdaptedPatient(change.getPatient());
+            break;
+        case DELETE_PATIENT:
+            nric = change.getNric();
+            break;
+        case ADD_CONSULTATION:
+            consultation = new JsonAdaptedConsultation(change.getConsultation(),
+                    source.getPatientManager(), source.getMedicineManager());
+            break;
+        case ADD_APPOINTMENT:
+        case DELETE_APPOINTMENT:
+            appointment = new JsonAdaptedAppointment(change.getAppointment());
+            break;
+        case ADD_REMINDER:
+        case DELETE_REMINDER:
+            reminder = new JsonAdaptedReminder(change.getReminder());
+            break;
+        case ADD_MEDICINE:
+            medicine = new JsonAdaptedMedicine(change.getMedicine());
+            path = Arrays.asList(change.getPath());
+            break;
+        case UPDATE_MEDICINE:
+            medicine = new JsonAdaptedMedicine(change.getMedicine());
+            break;
+        case ADD_DIRECTORY:
+            path = Arrays.asList(change.getPath());
+            break;
+        case UPDATE_DIRECTORY:
+            path = Arrays.asList(source.getMedicineManager().getPath(change.getDirectory()));
+            threshold = change.getDirectory().getThreshold().orElse(null);
+            break;
+        case STATISTICS:
+            monthStatisticsList = new ArrayList<>();
+            monthStatisticsList.addAll(source.getStatisticsManager().getMonthStatisticsList()
+                    .stream().map(JsonAdaptedMonthStatistics::new).collect(Collectors.toList()));
+            consultationFee = source.getStatisticsManager().getConsultationFee();
+            break;
+        default:
+            throw new AssertionError("Unknown change type: " + change.getType());
+        }
+    }
+
+    public String getType() {
+        return type;
+    }
+
+    /**
+     * Replays this change on the given {@code QuickDocs}, modifying it the same way the
+     * original change did.
+     *
+     * @throws IllegalValueException if there were any data constraints violated.
+     * @throws IllegalArgumentException if there were any data constraints violated for any class fields
+     */
+    public void applyTo(QuickDocs quickDocs) throws IllegalValueException, IllegalArgumentException {
+        switch (toModelChangeType()) {
+        case ADD_PATIENT:
+            Patient addedPatient = requireField(patient, "Patient").toModelType();
+            PatientManager patientManager = quickDocs.getPatientManager();
+            if (patientManager.isDuplicatePatient(addedPatient)) {
+                throw new IllegalValueException(JsonSerializableQuickDocs.MESSAGE_DUPLICATE_PATIENT);
+            }
+            patientManager.addPatient(addedPatient);
+            break;
+        case REPLACE_PATIENT:
+            Patient editedPatient = requireField(patient, "Patient").toModelType();
+            int patientIndex = requireField(index, "Index");
+            if (!quickDocs.getPatientManager().checkValidIndex(patientIndex)) {
+                throw new IllegalValueException(MESSAGE_INVALID_PATIENT_INDEX);
+            }
+            quickDocs.replacePatient(patientIndex, editedPatient);
+            break;
+        case DELETE_PATIENT:
+            quickDocs.deletePatient(requireField(nric, "NRIC"));
+            break;
+        case ADD_CONSULTATION:
+            quickDocs.getConsultationManager().addConsultation(requireField(consultation, "Consultation")
+                    .toModelType(quickDocs.getPatientManager(), quickDocs.getMedicineManager()));
+            break;
+        case ADD_APPOINTMENT:
+            Appointment addedAppointment = requireField(appointment, "Appointment").toModelType();
+            AppointmentManager appointmentManager = quickDocs.getAppointmentManager();
+            if (appointmentManager.hasDuplicateAppointment(addedAppointment)) {
+                throw new IllegalValueException(JsonSerializableQuickDocs.MESSAGE_DUPLICATE_APPOINTMENT);
+            }
+            appointmentManager.addAppointment(addedAppointment);
+            break;
+        case DELETE_APPOINTMENT:
+            quickDocs.getAppointmentManager().delete(requireField(appointment, "Appointment").toModelType());
+            break;
+        case ADD_REMINDER:
+            Reminder addedReminder = requireField(reminder, "Reminder").toModelType();
+            ReminderManager reminderManager = quickDocs.getReminderManager();
+            if (reminderManager.hasDuplicateReminder(addedReminder)) {
+                throw new IllegalValueException(JsonSerializableQuickDocs.MESSAGE_DUPLICATE_REMINDER);
+            }
+            reminderManager.addReminder(addedReminder);
+            break;
+        case DELETE_REMINDER:
+            quickDocs.getReminderManager().delete(requireField(reminder, "Reminder").toModelType());
+            break;
+        case ADD_MEDICINE:
+            addMedicine(requireField(medicine, "Medicine"), toPathArray(requireField(path, "Path")),
+                    quickDocs.getMedicineManager());
+            break;
+        case UPDATE_MEDICINE:
+            JsonAdaptedMedicine updatedMedicine = requireField(medicine, "Medicine");
+            updatedMedicine.copyDetailsTo(quickDocs.getMedicineManager().findMedicine(updatedMedicine.getName())
+                    .orElseThrow(() -> new IllegalValueException(
+                            String.format(MESSAGE_UNKNOWN_MEDICINE, updatedMedicine.getName()))));
+            break;
+        case ADD_DIRECTORY:
+            String[] directoryPath = toPathArray(requireField(path, "Path"));
+            if (directoryPath.length < 2) {
+                throw new IllegalArgumentException(MedicineManager.ERROR_MESSAGE_NO_DIRECTORY_FOUND);
+            }
+            quickDocs.getMedicineManager().addDirectory(directoryPath[directoryPath.length - 1],
+                    Arrays.copyOf(directoryPath, directoryPath.length - 1));
+            break;
+        case UPDATE_DIRECTORY:
+            Optional<Directory> directory = quickDocs.getMedicineManager().findDirectory(
+                    toPathArray(requireField(path, "Path")));
+            if (!directory.isPresent()) {
+                throw new IllegalValueException(String.format(MESSAGE_UNKNOWN_DIRECTORY, String.join("\\", path)));
+            }
+            setThreshold(directory.get(), requireField(threshold, "Threshold"));
+            break;
+        case MEDICINE:
+            JsonSerializableQuickDocs.toModelTypeMedicine(requireField(medicineList, "Medicine list"),
+                    requireField(rootDirectory, "Root directory"), quickDocs.getMedicineManager());
+            break;
+        case STATISTICS:
+            // statistics are replaced as a whole, so start from an empty statistics manager
+            StatisticsManager statisticsManager = new StatisticsManager();
+            JsonSerializableQuickDocs.toModelTypeStatistics(
+                    requireField(monthStatisticsList, "Month statistics list"),
+                    requireField(consultationFee, "Consultation fee"), statisticsManager);
+            quickDocs.setStatisticsManager(statisticsManager);
+            break;
+        default:
+            throw new AssertionError("Unknown change type: " + type);
+        }
+    }
+
+    /**
+     * Adds the medicine of {@code addedMedicine} to the directory at {@code directoryPath}, adding it to the
+     * medicine records first if it is not already in them, then sets its details to those stored.
+     */
+    private static void addMedicine(JsonAdaptedMedicine addedMedicine, String[] directoryPath,
+                                    MedicineManager medicineManager) {
+        Optional<Medicine> existingMedicine = medicineManager.findMedicine(addedMedicine.getName());
+        Medicine modelMedicine;
+        if (existingMedicine.isPresent()) {
+            modelMedicine = existingMedicine.get();
+            medicineManager.addExistingMedicineToDirectory(modelMedicine, directoryPath);
+        } else {
+            modelMedicine = medicineManager.addMedicine(addedMedicine.getName(), directoryPath,
+                    addedMedicine.getPrice());
+        }
+        // the directory gives its threshold to the medicines added to it
+        addedMedicine.copyDetailsTo(modelMedicine);
+    }
+
+    /**
+     * Sets the threshold of {@code directory} and of every medicine and directory under it.
+     */
+    private static void setThreshold(Directory directory, int threshold) {
+        directory.setThreshold(threshold);
+        for (Medicine medicine : directory.getListOfMedicine()) {
+            medicine.setThreshold(threshold);
+        }
+        for (Directory subDirectory : directory.getListOfDirectory()) {
+            setThreshold(subDirectory, threshold);
+        }
+    }
+
+    /**
+     * Returns {@code path} as an array, the form paths are given to the medicine manager in.
+     *
+     * @throws IllegalArgumentException if {@code path} is empty.
+     */
+    private static String[] toPathArray(List<String> path) {
+        if (path.isEmpty()) {
+            throw new IllegalArgumentException(MedicineManager.ERROR_MESSAGE_NO_DIRECTORY_FOUND);
+        }
+        return path.toArray(new String[0]);
+    }
+
+    /**
+     * Converts the stored type of change into a {@code QuickDocsChange.Type}.
+     *
+     * @throws IllegalValueException if the type of change is unknown.
+     */
+    private QuickDocsChange.Type toModelChangeType() throws IllegalValueException {
+        try {
+            return QuickDocsChange.Type.valueOf(String.valueOf(type));
+        } catch (IllegalArgumentException iae) {
+            throw new IllegalValueException(String.format(MESSAGE_INVALID_CHANGE_TYPE, type));
+        }
+    }
+
+    /**
+     * Returns {@code field} if it is present in the record.
+     *
+     * @throws IllegalArgumentException if {@code field} is missing from the record.
+     */
+    private <T> T requireField(T field, String fieldName) {
+        if (field == null) {
+            throw new IllegalArgumentException(String.format(CHANGE_MISSING_FIELD_MESSAGE_FORMAT, type, fieldName));
+        }
+        return field;
+    }
+}
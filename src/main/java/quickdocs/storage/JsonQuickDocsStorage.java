@@ -3,6 +3,7 @@ package quickdocs.storage;
 import static java.util.Objects.requireNonNull;
 
 import java.io.IOException;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.Optional;
 import java.util.logging.Logger;
@@ -11,7 +12,6 @@ import quickdocs.commons.core.LogsCenter;
 import quickdocs.commons.exceptions.DataConversionException;
 import quickdocs.commons.exceptions.IllegalValueException;
 import quickdocs.commons.util.FileUtil;
-import quickdocs.commons.util.JsonUtil;
 import quickdocs.model.QuickDocs;
 
 /**
@@ -36,6 +36,8 @@ public class JsonQuickDocsStorage implements QuickDocsStorage {
 
     /**
      * Similar to {@link #readQuickDocs()}.
+     * Data files saved in the binary format are detected and read as well, so that the data is converted
+     * to json on the next save.
      *
      * @param filePath location of the data. Cannot be null.
      * @return an {@code Optional<QuickDocs>} object that contains all objects read from the json file.
@@ -44,18 +46,22 @@ public class JsonQuickDocsStorage implements QuickDocsStorage {
     public Optional<QuickDocs> readQuickDocs(Path filePath) throws DataConversionException {
         requireNonNull(filePath);
 
-        Optional<JsonSerializableQuickDocs> jsonQuickDocs = JsonUtil.readJsonFile(
-                filePath, JsonSerializableQuickDocs.class);
-        if (!jsonQuickDocs.isPresent()) {
+        if (!FileUtil.isFileExists(filePath)) {
+            logger.info("Json file " + filePath + " not found");
             return Optional.empty();
         }
 
+        QuickDocs quickDocs = new QuickDocs();
         try {
-            return Optional.of(jsonQuickDocs.get().toModelType());
+            BinaryQuickDocsStream.readAnyFormat(filePath, quickDocs);
+        } catch (IOException ioe) {
+            logger.warning("Error reading from json file " + filePath + ": " + ioe);
+            throw new DataConversionException(ioe);
         } catch (IllegalValueException | IllegalArgumentException ie) {
             logger.info("Illegal values found in " + filePath + ": " + ie.getMessage());
             throw new DataConversionException(ie);
         }
+        return Optional.of(quickDocs);
     }
 
     @Override
@@ -73,6 +79,23 @@ public class JsonQuickDocsStorage implements QuickDocsStorage {
         requireNonNull(filePath);
 
         FileUtil.createIfMissing(filePath);
-        JsonUtil.saveJsonFile(new JsonSerializableQuickDocs(quickDocs), filePath);
+        JsonQuickDocsStream.write(filePath, quickDocs);
+    }
+
+    /**
+     * Captures {@code quickDocs} by encoding it one record at a time, the same way it is written by
+     * {@link #saveQuickDocs(QuickDocs)}, so that only the encoded data is held until it is written.
+     *
+     * @throws IOException if there was an error encoding the data.
+     */
+    @Override
+    public PendingSave prepareSave(QuickDocs quickDocs) throws IOException {
+        requireNonNull(quickDocs);
+
+        byte[] data = JsonQuickDocsStream.encode(quickDocs);
+        return () -> {
+            FileUtil.createIfMissing(filePath);
+            Files.write(filePath, data);
+        };
     }
 }
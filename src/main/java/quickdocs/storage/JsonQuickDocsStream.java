@@ -0,0 +1,292 @@
+package quickdocs.storage;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+
+import quickdocs.commons.exceptions.IllegalValueException;
+import quickdocs.commons.util.JsonUtil;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.appointment.Appointment;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.medicine.Medicine;
+import quickdocs.model.patient.Patient;
+import quickdocs.model.record.MonthStatistics;
+import quickdocs.model.record.StatisticsManager;
+import quickdocs.model.reminder.Reminder;
+
+/**
+ * Reads and writes QuickDocs data in the json format of {@link JsonSerializableQuickDocs} one record at a time.
+ * Each record is converted between its Jackson-friendly and model form on its own, so the data is never
+ * held in memory as both a list of Jackson-friendly records and the model.
+ *
+ * Files holding only some of the fields, such as the files of {@link ShardedQuickDocsStorage},
+ * are read into the managers of those fields.
+ *
+ * Consultations are resolved against the patients and medicines read before them. Older data files
+ * save the consultations before the medicines, but also save a copy of each medicine with the consultations.
+ */
+public class JsonQuickDocsStream {
+
+    public static final String MESSAGE_EXPECTED_OBJECT = "Expected the data to be a json object.";
+    public static final String MESSAGE_EXPECTED_ARRAY = "Expected %s to be a json array.";
+    public static final String MESSAGE_MISSING_ROOT_DIRECTORY = "Medicine list is saved without a root directory.";
+
+    /**
+     * Reads the json file at {@code filePath} into the managers of {@code quickDocs}.
+     *
+     * @throws IOException if there was an error reading the file, or the file is not in the json format.
+     * @throws IllegalValueException if there were any data constraints violated.
+     * @throws IllegalArgumentException if there were any data constraints violated for any class fields
+     */
+    public static void read(Path filePath, QuickDocs quickDocs)
+            throws IOException, IllegalValueException, IllegalArgumentException {
+        try (JsonParser parser = JsonUtil.createParser(filePath)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, MESSAGE_EXPECTED_OBJECT);
+            }
+
+            // medicines and statistics are converted once all of their fields are read
+            List<JsonAdaptedMedicine> medicineList = null;
+            JsonAdaptedDirectory rootDirectory = null;
+            boolean isMedicineConverted = false;
+            List<JsonAdaptedMonthStatistics> monthStatisticsList = null;
+            BigDecimal consultationFee = null;
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.getCurrentName();
+                parser.nextToken();
+                switch (fieldName) {
+                case "patientList":
+                    readPatients(parser, quickDocs);
+                    break;
+                case "consultationList":
+                    readConsultations(parser, quickDocs);
+                    break;
+                case "appointmentList":
+                    readAppointments(parser, quickDocs);
+                    break;
+                case "reminderList":
+                    readReminders(parser, quickDocs);
+                    break;
+                case "medicineList":
+                    medicineList = readList(parser, fieldName, JsonAdaptedMedicine.class);
+                    isMedicineConverted = convertMedicine(medicineList, rootDirectory, quickDocs);
+                    break;
+                case "rootDirectory":
+                    rootDirectory = JsonUtil.readValue(parser, JsonAdaptedDirectory.class);
+                    isMedicineConverted = convertMedicine(medicineList, rootDirectory, quickDocs);
+                    break;
+                case "monthStatisticsList":
+                    monthStatisticsList = readList(parser, fieldName, JsonAdaptedMonthStatistics.class);
+                    break;
+                case "consultationFee":
+                    consultationFee = JsonUtil.readValue(parser, BigDecimal.class);
+                    break;
+                default:
+                    // unknown fields are ignored, the same way as when reading other json files
+                    parser.skipChildren();
+                }
+            }
+
+            if (!isMedicineConverted && (medicineList != null || rootDirectory != null)) {
+                if (rootDirectory == null) {
+                    throw new IllegalValueException(MESSAGE_MISSING_ROOT_DIRECTORY);
+                }
+                JsonSerializableQuickDocs.toModelTypeMedicine(new ArrayList<>(), rootDirectory,
+                        quickDocs.getMedicineManager());
+            }
+
+            if (monthStatisticsList != null || consultationFee != null) {
+                JsonSerializableQuickDocs.toModelTypeStatistics(
+                        monthStatisticsList == null ? new ArrayList<>() : monthStatisticsList,
+                        consultationFee == null ? StatisticsManager.DEFAULT_CONSULTATION_FEE : consultationFee,
+                        quickDocs.getStatisticsManager());
+            }
+        }
+    }
+
+    /**
+     * Converts the medicines into {@code quickDocs} if both the medicine list and the root directory are read.
+     *
+     * @return true if the medicines are converted.
+     */
+    private static boolean convertMedicine(List<JsonAdaptedMedicine> medicineList,
+                                           JsonAdaptedDirectory rootDirectory, QuickDocs quickDocs)
+            throws IllegalValueException {
+        if (medicineList == null || rootDirectory == null) {
+            return false;
+        }
+        JsonSerializableQuickDocs.toModelTypeMedicine(medicineList, rootDirectory, quickDocs.getMedicineManager());
+        return true;
+    }
+
+    /**
+     * Reads the patients of the patient list that {@code parser} is positioned at into {@code quickDocs}.
+     */
+    private static void readPatients(JsonParser parser, QuickDocs quickDocs)
+            throws IOException, IllegalValueException {
+        requireArray(parser, "patientList");
+        List<Patient> patients = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            patients.add(JsonUtil.readValue(parser, JsonAdaptedPatient.class).toModelType());
+        }
+        JsonSerializableQuickDocs.addAllPatients(patients, quickDocs.getPatientManager());
+    }
+
+    /**
+     * Reads the consultations of the consultation list that {@code parser} is positioned at into {@code quickDocs},
+     * referring to the patients and medicines already read into {@code quickDocs}.
+     * Consultations saved with copies of their patient are marked as modified, so that they are saved
+     * again in the current format.
+     */
+    private static void readConsultations(JsonParser parser, QuickDocs quickDocs)
+            throws IOException, IllegalValueException {
+        requireArray(parser, "consultationList");
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            JsonAdaptedConsultation jsonAdaptedConsultation = JsonUtil.readValue(parser, JsonAdaptedConsultation.class);
+            Consultation consultation = jsonAdaptedConsultation.toModelType(
+                    quickDocs.getPatientManager(), quickDocs.getMedicineManager());
+            quickDocs.getConsultationManager().addConsultation(consultation);
+            if (jsonAdaptedConsultation.isLegacyFormat()) {
+                quickDocs.getConsultationManager().indicateModification(true);
+            }
+        }
+    }
+
+    /**
+     * Reads the appointments of the appointment list that {@code parser} is positioned at into {@code quickDocs}.
+     */
+    private static void readAppointments(JsonParser parser, QuickDocs quickDocs)
+            throws IOException, IllegalValueException {
+        requireArray(parser, "appointmentList");
+        List<Appointment> appointments = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            appointments.add(JsonUtil.readValue(parser, JsonAdaptedAppointment.class).toModelType());
+        }
+        JsonSerializableQuickDocs.addAllAppointments(appointments, quickDocs.getAppointmentManager());
+    }
+
+    /**
+     * Reads the reminders of the reminder list that {@code parser} is positioned at into {@code quickDocs}.
+     */
+    private static void readReminders(JsonParser parser, QuickDocs quickDocs)
+            throws IOException, IllegalValueException {
+        requireArray(parser, "reminderList");
+        List<Reminder> reminders = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            reminders.add(JsonUtil.readValue(parser, JsonAdaptedReminder.class).toModelType());
+        }
+        JsonSerializableQuickDocs.addAllReminders(reminders, quickDocs.getReminderManager());
+    }
+
+    /**
+     * Reads the elements of the json array that {@code parser} is positioned at.
+     */
+    private static <T> List<T> readList(JsonParser parser, String fieldName, Class<T> elementClass)
+            throws IOException {
+        requireArray(parser, fieldName);
+        List<T> list = new ArrayList<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            list.add(JsonUtil.readValue(parser, elementClass));
+        }
+        return list;
+    }
+
+    /**
+     * Throws a {@code JsonParseException} if {@code parser} is not positioned at the start of a json array.
+     */
+    private static void requireArray(JsonParser parser, String fieldName) throws JsonParseException {
+        if (parser.getCurrentToken() != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, String.format(MESSAGE_EXPECTED_ARRAY, fieldName));
+        }
+    }
+
+    /**
+     * Encodes all the data of {@code quickDocs} in the json format written by {@link #write(Path, QuickDocs)}.
+     * The data is encoded in memory, so that it can be captured before it is changed and written later.
+     * It is held as the encoded text rather than as a copy of every record in its Jackson-friendly form.
+     *
+     * @throws IOException if there was an error encoding the data.
+     */
+    public static byte[] encode(QuickDocs quickDocs) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        try (JsonGenerator generator = JsonUtil.createGenerator(output)) {
+            write(generator, quickDocs);
+        }
+        return output.toByteArray();
+    }
+
+    /**
+     * Writes all the data of {@code quickDocs} to the json file at {@code filePath}, in the same format
+     * as a {@link JsonSerializableQuickDocs} saved with {@link JsonUtil#saveJsonFile(Object, Path)}.
+     * Overwrites existing file if it exists, creates a new file if it doesn't.
+     *
+     * @throws IOException if there was an error writing to the file.
+     */
+    public static void write(Path filePath, QuickDocs quickDocs) throws IOException {
+        try (JsonGenerator generator = JsonUtil.createGenerator(filePath)) {
+            write(generator, quickDocs);
+        }
+    }
+
+    /**
+     * Writes all the data of {@code quickDocs} with {@code generator}, one record at a time.
+     */
+    private static void write(JsonGenerator generator, QuickDocs quickDocs) throws IOException {
+        generator.writeStartObject();
+
+        generator.writeArrayFieldStart("patientList");
+        for (Patient patient : quickDocs.getPatientManager().getPatientList()) {
+            JsonUtil.writeValue(generator, new JsonAdaptedPatient(patient));
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("medicineList");
+        for (Medicine medicine : quickDocs.getMedicineManager().getListOfMedicine()) {
+            JsonUtil.writeValue(generator, new JsonAdaptedMedicine(medicine));
+        }
+        generator.writeEndArray();
+
+        generator.writeFieldName("rootDirectory");
+        JsonUtil.writeValue(generator, new JsonAdaptedDirectory(quickDocs.getMedicineManager().getRoot()));
+
+        generator.writeArrayFieldStart("consultationList");
+        for (Consultation consultation : quickDocs.getConsultationManager().getConsultationList()) {
+            JsonUtil.writeValue(generator, new JsonAdaptedConsultation(consultation,
+                    quickDocs.getPatientManager(), quickDocs.getMedicineManager()));
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("appointmentList");
+        for (Appointment appointment : quickDocs.getAppointmentManager().getAppointmentList()) {
+            JsonUtil.writeValue(generator, new JsonAdaptedAppointment(appointment));
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("reminderList");
+        for (Reminder reminder : quickDocs.getReminderManager().getReminderList()) {
+            JsonUtil.writeValue(generator, new JsonAdaptedReminder(reminder));
+        }
+        generator.writeEndArray();
+
+        generator.writeArrayFieldStart("monthStatisticsList");
+        for (MonthStatistics monthStatistics : quickDocs.getStatisticsManager().getMonthStatisticsList()) {
+            JsonUtil.writeValue(generator, new JsonAdaptedMonthStatistics(monthStatistics));
+        }
+        generator.writeEndArray();
+
+        generator.writeFieldName("consultationFee");
+        JsonUtil.writeValue(generator, quickDocs.getStatisticsManager().getConsultationFee());
+
+        generator.writeEndObject();
+    }
+}
@@ -41,31 +41,32 @@ public class JsonSerializableQuickDocs {
             "A Directory contains a medicine not found in the list of medicines.";
     public static final String MESSAGE_INVALID_CONSULTATION_FEE = "Consultation Fee is not a non-negative number.";
 
+    // consultations refer to patients and medicines, so they are saved after them
     private final List<JsonAdaptedPatient> patientList = new ArrayList<>();
+    private final List<JsonAdaptedMedicine> medicineList = new ArrayList<>();
+    private JsonAdaptedDirectory rootDirectory;
     private final List<JsonAdaptedConsultation> consultationList = new ArrayList<>();
     private final List<JsonAdaptedAppointment> appointmentList = new ArrayList<>();
     private final List<JsonAdaptedReminder> reminderList = new ArrayList<>();
-    private final List<JsonAdaptedMedicine> medicineList = new ArrayList<>();
-    private JsonAdaptedDirectory rootDirectory;
     private final List<JsonAdaptedMonthStatistics> monthStatisticsList = new ArrayList<>();
     private BigDecimal consultationFee = StatisticsManager.DEFAULT_CONSULTATION_FEE;
 
     @JsonCreator
     public JsonSerializableQuickDocs(@JsonProperty("patientList") List<JsonAdaptedPatient> patients,
+                                     @JsonProperty("medicineList") List<JsonAdaptedMedicine> medicines,
+                                     @JsonProperty("rootDirectory") JsonAdaptedDirectory rootDirectory,
                                      @JsonProperty("consultationList") List<JsonAdaptedConsultation> consultations,
                                      @JsonProperty("appointmentList") List<JsonAdaptedAppointment> appointments,
                                      @JsonProperty("reminderList") List<JsonAdaptedReminder> reminders,
-                                     @JsonProperty("medicineList") List<JsonAdaptedMedicine> medicines,
-                                     @JsonProperty("rootDirectory") JsonAdaptedDirectory rootDirectory,
                                      @JsonProperty("monthStatisticsList")
                                              List<JsonAdaptedMonthStatistics> monthStatisticsList,
                                      @JsonProperty("consultationFee") BigDecimal consultationFee) {
         this.patientList.addAll(patients);
+        this.medicineList.addAll(medicines);
+        this.rootDirectory = rootDirectory;
         this.consultationList.addAll(consultations);
         this.appointmentList.addAll(appointments);
         this.reminderList.addAll(reminders);
-        this.medicineList.addAll(medicines);
-        this.rootDirectory = rootDirectory;
         this.monthStatisticsList.addAll(monthStatisticsList);
         this.consultationFee = consultationFee;
     }
@@ -80,15 +81,17 @@ public class JsonSerializableQuickDocs {
     public JsonSerializableQuickDocs(QuickDocs source) {
         patientList.addAll(source.getPatientManager().getPatientList()
                 .stream().map(JsonAdaptedPatient::new).collect(Collectors.toList()));
+        medicineList.addAll(source.getMedicineManager().getListOfMedicine()
+                .stream().map(JsonAdaptedMedicine::new).collect(Collectors.toList()));
+        rootDirectory = new JsonAdaptedDirectory(source.getMedicineManager().getRoot());
         consultationList.addAll(source.getConsultationManager().getConsultationList()
-                .stream().map(JsonAdaptedConsultation::new).collect(Collectors.toList()));
+                .stream().map(consultation -> new JsonAdaptedConsultation(consultation,
+                        source.getPatientManager(), source.getMedicineManager()))
+                .collect(Collectors.toList()));
         appointmentList.addAll(source.getAppointmentManager().getAppointmentList()
                 .stream().map(JsonAdaptedAppointment::new).collect(Collectors.toList()));
         reminderList.addAll(source.getReminderManager().getReminderList()
                 .stream().map(JsonAdaptedReminder::new).collect(Collectors.toList()));
-        medicineList.addAll(source.getMedicineManager().getListOfMedicine()
-                .stream().map(JsonAdaptedMedicine::new).collect(Collectors.toList()));
-        rootDirectory = new JsonAdaptedDirectory(source.getMedicineManager().getRoot());
         monthStatisticsList.addAll(source.getStatisticsManager().getMonthStatisticsList()
                 .stream().map(JsonAdaptedMonthStatistics::new).collect(Collectors.toList()));
         consultationFee = source.getStatisticsManager().getConsultationFee();
@@ -103,46 +106,123 @@ public class JsonSerializableQuickDocs {
     public QuickDocs toModelType() throws IllegalValueException, IllegalArgumentException {
         QuickDocs quickDocs = new QuickDocs();
 
-        PatientManager patientManager = quickDocs.getPatientManager();
+        toModelTypePatients(patientList, quickDocs.getPatientManager());
+
+        toModelTypeAppointments(appointmentList, quickDocs.getAppointmentManager());
+
+        toModelTypeReminders(reminderList, quickDocs.getReminderManager());
+
+        toModelTypeMedicine(medicineList, rootDirectory, quickDocs.getMedicineManager());
+
+        // consultations refer to the patients and medicines converted before them
+        toModelTypeConsultations(consultationList, quickDocs);
+
+        toModelTypeStatistics(monthStatisticsList, consultationFee, quickDocs.getStatisticsManager());
+
+        return quickDocs;
+    }
+
+    /**
+     * Converts the Jackson-friendly patients into the given {@code PatientManager}
+     *
+     * @throws IllegalValueException if there are duplicate patients
+     */
+    static void toModelTypePatients(List<JsonAdaptedPatient> patientList, PatientManager patientManager)
+            throws IllegalValueException {
+        List<Patient> patients = new ArrayList<>();
         for (JsonAdaptedPatient jsonAdaptedPatient : patientList) {
-            Patient patient = jsonAdaptedPatient.toModelType();
+            patients.add(jsonAdaptedPatient.toModelType());
+        }
+        addAllPatients(patients, patientManager);
+    }
 
-            // handle duplicates
-            if (patientManager.isDuplicatePatient(patient)) {
-                throw new IllegalValueException(MESSAGE_DUPLICATE_PATIENT);
-            }
-            patientManager.addPatient(patient);
+    /**
+     * Adds all of {@code patients} to the given {@code PatientManager}
+     *
+     * @throws IllegalValueException if there are duplicate patients
+     */
+    static void addAllPatients(List<Patient> patients, PatientManager patientManager) throws IllegalValueException {
+        if (!patientManager.addAllPatients(patients)) {
+            throw new IllegalValueException(MESSAGE_DUPLICATE_PATIENT);
         }
+    }
 
+    /**
+     * Converts the Jackson-friendly consultations into the {@code ConsultationManager} of {@code quickDocs},
+     * referring to the patients and medicines already in {@code quickDocs}
+     *
+     * @throws IllegalValueException if there were any data constraints violated
+     */
+    static void toModelTypeConsultations(List<JsonAdaptedConsultation> consultationList, QuickDocs quickDocs)
+            throws IllegalValueException {
         ConsultationManager consultationManager = quickDocs.getConsultationManager();
         for (JsonAdaptedConsultation jsonAdaptedConsultation : consultationList) {
-            Consultation consultation = jsonAdaptedConsultation.toModelType();
+            Consultation consultation = jsonAdaptedConsultation.toModelType(
+                    quickDocs.getPatientManager(), quickDocs.getMedicineManager());
             consultationManager.addConsultation(consultation);
         }
+    }
 
-        AppointmentManager appointmentManager = quickDocs.getAppointmentManager();
+    /**
+     * Converts the Jackson-friendly appointments into the given {@code AppointmentManager}
+     *
+     * @throws IllegalValueException if there are duplicate appointments
+     */
+    static void toModelTypeAppointments(List<JsonAdaptedAppointment> appointmentList,
+                                        AppointmentManager appointmentManager) throws IllegalValueException {
+        List<Appointment> appointments = new ArrayList<>();
         for (JsonAdaptedAppointment jsonAdaptedAppointment : appointmentList) {
-            Appointment appointment = jsonAdaptedAppointment.toModelType();
+            appointments.add(jsonAdaptedAppointment.toModelType());
+        }
+        addAllAppointments(appointments, appointmentManager);
+    }
 
-            // handle duplicates
-            if (appointmentManager.hasDuplicateAppointment(appointment)) {
-                throw new IllegalValueException(MESSAGE_DUPLICATE_APPOINTMENT);
-            }
-            appointmentManager.addAppointment(appointment);
+    /**
+     * Adds all of {@code appointments} to the given {@code AppointmentManager}
+     *
+     * @throws IllegalValueException if there are duplicate appointments
+     */
+    static void addAllAppointments(List<Appointment> appointments, AppointmentManager appointmentManager)
+            throws IllegalValueException {
+        if (!appointmentManager.addAllAppointments(appointments)) {
+            throw new IllegalValueException(MESSAGE_DUPLICATE_APPOINTMENT);
         }
+    }
 
-        ReminderManager reminderManager = quickDocs.getReminderManager();
+    /**
+     * Converts the Jackson-friendly reminders into the given {@code ReminderManager}
+     *
+     * @throws IllegalValueException if there are duplicate reminders
+     */
+    static void toModelTypeReminders(List<JsonAdaptedReminder> reminderList, ReminderManager reminderManager)
+            throws IllegalValueException {
+        List<Reminder> reminders = new ArrayList<>();
         for (JsonAdaptedReminder jsonAdaptedReminder : reminderList) {
-            Reminder reminder = jsonAdaptedReminder.toModelType();
+            reminders.add(jsonAdaptedReminder.toModelType());
+        }
+        addAllReminders(reminders, reminderManager);
+    }
 
-            // handle duplicates
-            if (reminderManager.hasDuplicateReminder(reminder)) {
-                throw new IllegalValueException(MESSAGE_DUPLICATE_REMINDER);
-            }
-            reminderManager.addReminder(reminder);
+    /**
+     * Adds all of {@code reminders} to the given {@code ReminderManager}
+     *
+     * @throws IllegalValueException if there are duplicate reminders
+     */
+    static void addAllReminders(List<Reminder> reminders, ReminderManager reminderManager)
+            throws IllegalValueException {
+        if (!reminderManager.addAllReminders(reminders)) {
+            throw new IllegalValueException(MESSAGE_DUPLICATE_REMINDER);
         }
+    }
 
-        MedicineManager medicineManager = quickDocs.getMedicineManager();
+    /**
+     * Converts the Jackson-friendly medicines and their directories into the given {@code MedicineManager}
+     *
+     * @throws IllegalValueException if there are medicines with the same name, or a directory contains
+     *                               a medicine not found in the list of medicines
+     */
+    static void toModelTypeMedicine(List<JsonAdaptedMedicine> medicineList, JsonAdaptedDirectory rootDirectory,
+                                    MedicineManager medicineManager) throws IllegalValueException {
         ArrayList<Medicine> listOfMedicine = new ArrayList<>();
         listOfMedicine.addAll(medicineList
                 .stream()
@@ -161,18 +241,24 @@ public class JsonSerializableQuickDocs {
         Directory modelTypeRoot = toModelTypeDirectory(medicineHashMap, rootDirectory);
         medicineManager.setRoot(modelTypeRoot);
         medicineManager.setListOfMedicine(listOfMedicine);
+    }
 
-        StatisticsManager statisticsManager = quickDocs.getStatisticsManager();
+    /**
+     * Converts the Jackson-friendly month statistics and consultation fee into the given {@code StatisticsManager}
+     *
+     * @throws IllegalValueException if the consultation fee is negative
+     */
+    static void toModelTypeStatistics(List<JsonAdaptedMonthStatistics> monthStatisticsList,
+                                      BigDecimal consultationFee, StatisticsManager statisticsManager)
+            throws IllegalValueException {
         for (JsonAdaptedMonthStatistics jsonAdaptedMonthStatistics : monthStatisticsList) {
             MonthStatistics monthStatistics = jsonAdaptedMonthStatistics.toModelType();
             statisticsManager.addMonthStatistics(monthStatistics);
         }
-        if (this.consultationFee.compareTo(BigDecimal.ZERO) == -1) {
+        if (consultationFee.compareTo(BigDecimal.ZERO) == -1) {
             throw new IllegalValueException(MESSAGE_INVALID_CONSULTATION_FEE);
         }
-        statisticsManager.setConsultationFee(this.consultationFee);
-
-        return quickDocs;
+        statisticsManager.setConsultationFee(consultationFee);
     }
 
     /**
@@ -183,7 +269,7 @@ public class JsonSerializableQuickDocs {
      * @return The converted directory
      * @throws IllegalValueException if a directory contains medicine not from map
      */
-    private Directory toModelTypeDirectory(HashMap<String, Medicine> map, JsonAdaptedDirectory jsonDirectory)
+    private static Directory toModelTypeDirectory(HashMap<String, Medicine> map, JsonAdaptedDirectory jsonDirectory)
             throws IllegalValueException {
         Directory directory = new Directory(jsonDirectory.getName());
         if (jsonDirectory.getThreshold().isPresent()) {
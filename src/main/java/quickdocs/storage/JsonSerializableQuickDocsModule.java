@@ -0,0 +1,126 @@
+package quickdocs.storage;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import quickdocs.model.appointment.AppointmentManager;
+import quickdocs.model.consultation.ConsultationManager;
+import quickdocs.model.medicine.MedicineManager;
+import quickdocs.model.patient.PatientManager;
+import quickdocs.model.record.StatisticsManager;
+import quickdocs.model.reminder.ReminderManager;
+
+/**
+ * Allows the data of a single manager of QuickDocs to be saved into its own file in the json format.
+ * The fields are named the same way as in {@link JsonSerializableQuickDocs}, and only the fields
+ * of the saved manager are present in the file, so it is read with {@link JsonQuickDocsStream}.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class JsonSerializableQuickDocsModule {
+
+    private List<JsonAdaptedPatient> patientList;
+    private List<JsonAdaptedConsultation> consultationList;
+    private List<JsonAdaptedAppointment> appointmentList;
+    private List<JsonAdaptedReminder> reminderList;
+    private List<JsonAdaptedMedicine> medicineList;
+    private JsonAdaptedDirectory rootDirectory;
+    private List<JsonAdaptedMonthStatistics> monthStatisticsList;
+    private BigDecimal consultationFee;
+
+    /**
+     * Constructs a {@code JsonSerializableQuickDocsModule} with the given module data.
+     */
+    @JsonCreator
+    public JsonSerializableQuickDocsModule(@JsonProperty("patientList") List<JsonAdaptedPatient> patients,
+                                           @JsonProperty("consultationList")
+                                                   List<JsonAdaptedConsultation> consultations,
+                                           @JsonProperty("appointmentList") List<JsonAdaptedAppointment> appointments,
+                                           @JsonProperty("reminderList") List<JsonAdaptedReminder> reminders,
+                                           @JsonProperty("medicineList") List<JsonAdaptedMedicine> medicines,
+                                           @JsonProperty("rootDirectory") JsonAdaptedDirectory rootDirectory,
+                                           @JsonProperty("monthStatisticsList")
+                                                   List<JsonAdaptedMonthStatistics> monthStatisticsList,
+                                           @JsonProperty("consultationFee") BigDecimal consultationFee) {
+        this.patientList = patients;
+        this.consultationList = consultations;
+        this.appointmentList = appointments;
+        this.reminderList = reminders;
+        this.medicineList = medicines;
+        this.rootDirectory = rootDirectory;
+        this.monthStatisticsList = monthStatisticsList;
+        this.consultationFee = consultationFee;
+    }
+
+    private JsonSerializableQuickDocsModule() {}
+
+    /**
+     * Converts the patients of the given {@code PatientManager} for Jackson use.
+     */
+    public static JsonSerializableQuickDocsModule ofPatients(PatientManager source) {
+        JsonSerializableQuickDocsModule module = new JsonSerializableQuickDocsModule();
+        module.patientList = source.getPatientList()
+                .stream().map(JsonAdaptedPatient::new).collect(Collectors.toList());
+        return module;
+    }
+
+    /**
+     * Converts the consultations of the given {@code ConsultationManager} for Jackson use,
+     * referring to the patients and medicines in the given managers.
+     */
+    public static JsonSerializableQuickDocsModule ofConsultations(ConsultationManager source,
+                                                                  PatientManager patientManager,
+                                                                  MedicineManager medicineManager) {
+        JsonSerializableQuickDocsModule module = new JsonSerializableQuickDocsModule();
+        module.consultationList = source.getConsultationList()
+                .stream().map(consultation -> new JsonAdaptedConsultation(consultation, patientManager,
+                        medicineManager)).collect(Collectors.toList());
+        return module;
+    }
+
+    /**
+     * Converts the appointments of the given {@code AppointmentManager} for Jackson use.
+     */
+    public static JsonSerializableQuickDocsModule ofAppointments(AppointmentManager source) {
+        JsonSerializableQuickDocsModule module = new JsonSerializableQuickDocsModule();
+        module.appointmentList = source.getAppointmentList()
+                .stream().map(JsonAdaptedAppointment::new).collect(Collectors.toList());
+        return module;
+    }
+
+    /**
+     * Converts the reminders of the given {@code ReminderManager} for Jackson use.
+     */
+    public static JsonSerializableQuickDocsModule ofReminders(ReminderManager source) {
+        JsonSerializableQuickDocsModule module = new JsonSerializableQuickDocsModule();
+        module.reminderList = source.getReminderList()
+                .stream().map(JsonAdaptedReminder::new).collect(Collectors.toList());
+        return module;
+    }
+
+    /**
+     * Converts the medicines and directories of the given {@code MedicineManager} for Jackson use.
+     */
+    public static JsonSerializableQuickDocsModule ofMedicines(MedicineManager source) {
+        JsonSerializableQuickDocsModule module = new JsonSerializableQuickDocsModule();
+        module.medicineList = source.getListOfMedicine()
+                .stream().map(JsonAdaptedMedicine::new).collect(Collectors.toList());
+        module.rootDirectory = new JsonAdaptedDirectory(source.getRoot());
+        return module;
+    }
+
+    /**
+     * Converts the statistics of the given {@code StatisticsManager} for Jackson use.
+     */
+    public static JsonSerializableQuickDocsModule ofStatistics(StatisticsManager source) {
+        JsonSerializableQuickDocsModule module = new JsonSerializableQuickDocsModule();
+        module.monthStatisticsList = source.getMonthStatisticsList()
+                .stream().map(JsonAdaptedMonthStatistics::new).collect(Collectors.toList());
+        module.consultationFee = source.getConsultationFee();
+        return module;
+    }
+}
@@ -0,0 +1,30 @@
+package quickdocs.storage;
+
+import java.io.IOException;
+
+import quickdocs.model.QuickDocs;
+
+/**
+ * Represents the data of a {@link QuickDocs} captured by a {@link QuickDocsStorage} to be written later.
+ * The captured data is not affected by any modification made to the {@code QuickDocs} after it was captured,
+ * so it can be written by a thread other than the one that modifies the {@code QuickDocs}.
+ */
+@FunctionalInterface
+public interface PendingSave {
+
+    /**
+     * Writes the captured data to the storage that it was captured by.
+     * @throws IOException if there was any problem writing to the file.
+     */
+    void write() throws IOException;
+
+    /**
+     * Returns a {@code PendingSave} with the same effect as writing this, followed by {@code later}.
+     * {@code later} must be captured by the same storage after this was captured.
+     *
+     * By default, {@code later} holds all the data of the {@code QuickDocs}, so this does not need to be written.
+     */
+    default PendingSave mergeWith(PendingSave later) {
+        return later;
+    }
+}
@@ -0,0 +1,75 @@
+package quickdocs.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Optional;
+
+import quickdocs.commons.core.StorageFormat;
+import quickdocs.commons.exceptions.DataConversionException;
+import quickdocs.model.QuickDocs;
+
+/**
+ * Converts a QuickDocs data file between the json and binary formats.
+ * The format of the source file is detected when it is read.
+ *
+ * Usage: {@code QuickDocsFileConverter <json|binary> <source file> <target file>}
+ */
+public class QuickDocsFileConverter {
+
+    public static final String MESSAGE_USAGE =
+            "Usage: QuickDocsFileConverter <json|binary> <source file> <target file>";
+    public static final String MESSAGE_SOURCE_NOT_FOUND = "Source file %s not found";
+
+    /**
+     * Reads the data file at {@code source} and writes its data to {@code target} in {@code targetFormat}.
+     *
+     * @throws DataConversionException if the source file is not in the correct format.
+     * @throws IOException if the source file cannot be found, or there was an error writing the target file.
+     */
+    public static void convert(Path source, Path target, StorageFormat targetFormat)
+            throws DataConversionException, IOException {
+        requireNonNull(source);
+        requireNonNull(target);
+        requireNonNull(targetFormat);
+
+        Optional<QuickDocs> quickDocs = new JsonQuickDocsStorage(source).readQuickDocs();
+        if (!quickDocs.isPresent()) {
+            throw new IOException(String.format(MESSAGE_SOURCE_NOT_FOUND, source));
+        }
+
+        switch (targetFormat) {
+        case JSON:
+            new JsonQuickDocsStorage(target).saveQuickDocs(quickDocs.get());
+            break;
+        case BINARY:
+            new BinaryQuickDocsStorage(target).saveQuickDocs(quickDocs.get());
+            break;
+        default:
+            throw new AssertionError("Unknown storage format: " + targetFormat);
+        }
+    }
+
+    /**
+     * Converts the data file given in {@code args}, see {@link #MESSAGE_USAGE}.
+     */
+    public static void main(String[] args) {
+        if (args.length != 3) {
+            System.err.println(MESSAGE_USAGE);
+            System.exit(1);
+        }
+
+        try {
+            StorageFormat targetFormat = StorageFormat.valueOf(args[0].toUpperCase());
+            convert(Paths.get(args[1]), Paths.get(args[2]), targetFormat);
+        } catch (IllegalArgumentException iae) {
+            System.err.println(MESSAGE_USAGE);
+            System.exit(1);
+        } catch (DataConversionException | IOException e) {
+            System.err.println("Could not convert " + args[1] + ": " + e.getMessage());
+            System.exit(1);
+        }
+    }
+}
@@ -3,8 +3,10 @@ package quickdocs.storage;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import quickdocs.commons.exceptions.DataConversionException;
+import quickdocs.commons.util.FileUtil;
 import quickdocs.model.QuickDocs;
 
 /**
@@ -32,4 +34,35 @@ public interface QuickDocsStorage {
      * @throws IOException if there was any problem writing to the file.
      */
     void saveQuickDocs(QuickDocs quickDocs) throws IOException;
+
+    /**
+     * Captures the data of the given {@link QuickDocs} that {@link #saveQuickDocs(QuickDocs)} would write,
+     * without writing it to the storage yet.
+     * @param quickDocs cannot be null.
+     * @throws IOException if there was any problem capturing the data.
+     */
+    PendingSave prepareSave(QuickDocs quickDocs) throws IOException;
+
+    /**
+     * Returns a checksum of the data in the storage, which changes whenever different data is written to it.
+     * @throws IOException if there was any problem reading the file.
+     */
+    default long getChecksum() throws IOException {
+        return FileUtil.getChecksum(getFilePath());
+    }
+
+    /**
+     * Waits for all data saved to the storage to be written to the file.
+     * @throws IOException if there was any problem writing to the file.
+     */
+    default void flush() throws IOException {
+        // data is written before saveQuickDocs returns
+    }
+
+    /**
+     * Sets the handler that is given the errors of writing to the file after saving has returned.
+     */
+    default void setWriteFailureHandler(Consumer<IOException> handler) {
+        // errors are thrown by saveQuickDocs
+    }
 }
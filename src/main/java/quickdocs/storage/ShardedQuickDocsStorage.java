@@ -0,0 +1,379 @@
+package quickdocs.storage;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.logging.Logger;
+
+import quickdocs.commons.core.LogsCenter;
+import quickdocs.commons.core.StorageFormat;
+import quickdocs.commons.exceptions.DataConversionException;
+import quickdocs.commons.exceptions.IllegalValueException;
+import quickdocs.commons.util.FileUtil;
+import quickdocs.commons.util.JsonUtil;
+import quickdocs.model.QuickDocs;
+
+/**
+ * A class to access QuickDocs data stored as one file for each of its managers, in either the json
+ * or the binary format. Files in the format that is not used for saving are still read, and are replaced
+ * by files in the format used for saving when their managers are next written.
+ * The files are kept in a directory named after the data file, so the data of {@code data/quickdocs.json}
+ * is kept in files such as {@code data/quickdocs/patients.json}.
+ *
+ * Only the managers that are indicated to be modified are written when saving the {@code QuickDocs}
+ * that was last read or saved. Data stored in a single data file is read if there is no directory for
+ * the managers yet, and all of its managers are written to the directory on the next save.
+ *
+ * Consultations are kept in a {@link ConsultationSegment} instead, which only appends the consultations added
+ * since the last save, and from which only the index of the consultations is read.
+ * Consultations stored in a file of either format are read until the segment is written.
+ */
+public class ShardedQuickDocsStorage implements QuickDocsStorage {
+
+    private static final Logger logger = LogsCenter.getLogger(ShardedQuickDocsStorage.class);
+
+    /**
+     * A manager of QuickDocs stored in its own file.
+     * The modules are read in this order, so consultations are read after the patients and medicines they refer to.
+     */
+    public enum Module {
+        PATIENTS("patients", quickDocs -> quickDocs.getPatientManager().isModified(),
+            quickDocs -> JsonSerializableQuickDocsModule.ofPatients(quickDocs.getPatientManager())),
+        MEDICINES("medicines", quickDocs -> quickDocs.getMedicineManager().isModified(),
+            quickDocs -> JsonSerializableQuickDocsModule.ofMedicines(quickDocs.getMedicineManager())),
+        CONSULTATIONS("consultations", quickDocs -> quickDocs.getConsultationManager().isModified(),
+            quickDocs -> JsonSerializableQuickDocsModule.ofConsultations(quickDocs.getConsultationManager(),
+                    quickDocs.getPatientManager(), quickDocs.getMedicineManager())),
+        APPOINTMENTS("appointments", quickDocs -> quickDocs.getAppointmentManager().isModified(),
+            quickDocs -> JsonSerializableQuickDocsModule.ofAppointments(quickDocs.getAppointmentManager())),
+        REMINDERS("reminders", quickDocs -> quickDocs.getReminderManager().isModified(),
+            quickDocs -> JsonSerializableQuickDocsModule.ofReminders(quickDocs.getReminderManager())),
+        STATISTICS("statistics", quickDocs -> quickDocs.getStatisticsManager().isModified(),
+            quickDocs -> JsonSerializableQuickDocsModule.ofStatistics(quickDocs.getStatisticsManager()));
+
+        private final String baseFileName;
+        private final Predicate<QuickDocs> isModified;
+        private final Function<QuickDocs, JsonSerializableQuickDocsModule> toJsonModule;
+
+        Module(String baseFileName, Predicate<QuickDocs> isModified,
+               Function<QuickDocs, JsonSerializableQuickDocsModule> toJsonModule) {
+            this.baseFileName = baseFileName;
+            this.isModified = isModified;
+            this.toJsonModule = toJsonModule;
+        }
+
+        /**
+         * Returns the modules that have to be read before this module, as its data refers to theirs.
+         */
+        public Set<Module> getDependencies() {
+            return this == CONSULTATIONS ? EnumSet.of(PATIENTS, MEDICINES) : EnumSet.noneOf(Module.class);
+        }
+    }
+
+    // the module files are read concurrently by at most this many threads
+    private static final int READER_THREAD_COUNT =
+            Math.max(1, Math.min(Module.values().length, Runtime.getRuntime().availableProcessors()));
+
+    private final Path filePath;
+    private final Path directoryPath;
+    private final StorageFormat storageFormat;
+    private final ConsultationSegment consultationSegment;
+
+    // the QuickDocs that was last read or saved, only its modified managers have to be written
+    private QuickDocs savedQuickDocs;
+
+    // checksums of the module files, only used while writing
+    private final Map<Module, Long> moduleChecksums = new EnumMap<>(Module.class);
+
+    /**
+     * Creates a {@code ShardedQuickDocsStorage} that keeps the data of the data file at {@code filePath}
+     * as one json file for each manager.
+     */
+    public ShardedQuickDocsStorage(Path filePath) {
+        this(filePath, StorageFormat.JSON);
+    }
+
+    /**
+     * Creates a {@code ShardedQuickDocsStorage} that keeps the data of the data file at {@code filePath}
+     * as one file for each manager, saved in {@code storageFormat}.
+     */
+    public ShardedQuickDocsStorage(Path filePath, StorageFormat storageFormat) {
+        requireNonNull(filePath);
+        requireNonNull(storageFormat);
+        this.filePath = filePath;
+        this.directoryPath = filePath.resolveSibling(getDirectoryName(filePath));
+        this.storageFormat = storageFormat;
+        this.consultationSegment = new ConsultationSegment(directoryPath.resolve(Module.CONSULTATIONS.baseFileName));
+    }
+
+    private static String getDirectoryName(Path filePath) {
+        String fileName = filePath.getFileName().toString();
+        int extensionIndex = fileName.lastIndexOf('.');
+        return extensionIndex > 0 ? fileName.substring(0, extensionIndex) : fileName + ".d";
+    }
+
+    /**
+     * Returns the path of the directory holding the files of all managers.
+     */
+    @Override
+    public Path getFilePath() {
+        return directoryPath;
+    }
+
+    /**
+     * Returns the path of the file that {@code module} is saved to, which is the segment file for consultations.
+     */
+    public Path getModuleFilePath(Module module) {
+        if (module == Module.CONSULTATIONS) {
+            return consultationSegment.getSegmentPath();
+        }
+        return getModuleFilePath(module, storageFormat);
+    }
+
+    private Path getModuleFilePath(Module module, StorageFormat format) {
+        return directoryPath.resolve(module.baseFileName + (format == StorageFormat.BINARY ? ".bin" : ".json"));
+    }
+
+    /**
+     * Returns the path of the file of {@code module} in the format not used for saving.
+     */
+    private Path getOtherFormatFilePath(Module module) {
+        return getModuleFilePath(module,
+                storageFormat == StorageFormat.BINARY ? StorageFormat.JSON : StorageFormat.BINARY);
+    }
+
+    /**
+     * Reads the file of every manager into a single {@code QuickDocs}. Managers without a file are left empty.
+     * The files are read concurrently, each on its own thread.
+     *
+     * @return an {@code Optional<QuickDocs>} object that contains all objects read from the files.
+     * @throws DataConversionException if a file is not in the correct format.
+     */
+    @Override
+    public Optional<QuickDocs> readQuickDocs() throws DataConversionException, IOException {
+        savedQuickDocs = null;
+        moduleChecksums.clear();
+
+        if (!Files.isDirectory(directoryPath)) {
+            logger.info("Directory " + directoryPath + " not found, reading from data file " + filePath);
+            return new JsonQuickDocsStorage(filePath).readQuickDocs();
+        }
+
+        QuickDocs quickDocs = new QuickDocs();
+        long start = System.nanoTime();
+        readModules(quickDocs);
+        logger.info("Read all managers from directory " + directoryPath + " in " + getMillisSince(start) + "ms");
+
+        savedQuickDocs = quickDocs;
+        return Optional.of(quickDocs);
+    }
+
+    /**
+     * Reads the file of every manager into {@code quickDocs} on a bounded pool of threads, starting to read
+     * each manager once the managers it depends on are read, and waits for all of them to be read.
+     * Each manager only modifies its own part of {@code quickDocs} while it is read.
+     *
+     * @throws DataConversionException if a file is not in the correct format.
+     */
+    private void readModules(QuickDocs quickDocs) throws DataConversionException {
+        ExecutorService executor = Executors.newFixedThreadPool(READER_THREAD_COUNT, runnable -> {
+            Thread thread = new Thread(runnable, "QuickDocs module reader");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        try {
+            Map<Module, CompletableFuture<Void>> moduleReads = new EnumMap<>(Module.class);
+            for (Module module : Module.values()) {
+                CompletableFuture<?>[] dependencies = module.getDependencies().stream()
+                        .map(moduleReads::get).toArray(CompletableFuture<?>[]::new);
+                moduleReads.put(module, CompletableFuture.allOf(dependencies).thenRunAsync(() -> {
+                    try {
+                        long start = System.nanoTime();
+                        readModule(module, quickDocs);
+                        logger.info("Read " + module.baseFileName + " in " + getMillisSince(start) + "ms");
+                    } catch (DataConversionException dce) {
+                        throw new CompletionException(dce);
+                    }
+                }, executor));
+            }
+            CompletableFuture.allOf(moduleReads.values().toArray(new CompletableFuture<?>[0])).join();
+        } catch (CompletionException ce) {
+            if (ce.getCause() instanceof DataConversionException) {
+                throw (DataConversionException) ce.getCause();
+            }
+            throw ce;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Reads the file of {@code module} into {@code quickDocs}, if there is one.
+     *
+     * @throws DataConversionException if the file is not in the correct format.
+     */
+    private void readModule(Module module, QuickDocs quickDocs) throws DataConversionException {
+        if (module == Module.CONSULTATIONS && readConsultationSegment(quickDocs)) {
+            return;
+        }
+
+        Path modulePath = getModuleFilePath(module, storageFormat);
+        if (!FileUtil.isFileExists(modulePath)) {
+            modulePath = getOtherFormatFilePath(module);
+        }
+        if (!FileUtil.isFileExists(modulePath)) {
+            return;
+        }
+
+        try {
+            BinaryQuickDocsStream.readAnyFormat(modulePath, quickDocs);
+        } catch (IOException ioe) {
+            logger.warning("Error reading from data file " + modulePath + ": " + ioe);
+            throw new DataConversionException(ioe);
+        } catch (IllegalValueException | IllegalArgumentException ie) {
+            logger.info("Illegal values found in " + modulePath + ": " + ie.getMessage());
+            throw new DataConversionException(ie);
+        }
+    }
+
+    private static long getMillisSince(long startNanos) {
+        return (System.nanoTime() - startNanos) / 1_000_000;
+    }
+
+    /**
+     * Reads the index of the consultations in the consultation segment into {@code quickDocs}.
+     *
+     * @return false if there is no consultation segment to read.
+     * @throws DataConversionException if the segment is not in the correct format.
+     */
+    private boolean readConsultationSegment(QuickDocs quickDocs) throws DataConversionException {
+        try {
+            return consultationSegment.readIndex(quickDocs);
+        } catch (IOException ioe) {
+            logger.warning("Error reading from consultation file " + consultationSegment.getSegmentPath() + ": "
+                    + ioe);
+            throw new DataConversionException(ioe);
+        }
+    }
+
+    @Override
+    public void saveQuickDocs(QuickDocs quickDocs) throws IOException {
+        prepareSave(quickDocs).write();
+    }
+
+    /**
+     * Captures the managers of {@code quickDocs} that are modified, or all of its managers if
+     * {@code quickDocs} was not the last one read or saved.
+     *
+     * @param quickDocs the {@code QuickDocs} object to save.
+     * @throws IOException if there was an error capturing the consultations.
+     */
+    @Override
+    public PendingSave prepareSave(QuickDocs quickDocs) throws IOException {
+        requireNonNull(quickDocs);
+
+        boolean isSavedQuickDocs = quickDocs == savedQuickDocs;
+        Map<Module, PendingSave> moduleSaves = new EnumMap<>(Module.class);
+        for (Module module : Module.values()) {
+            if (module == Module.CONSULTATIONS) {
+                // the segment keeps track of the consultations that are not stored yet
+                PendingSave segmentSave = consultationSegment.prepareSave(quickDocs, isSavedQuickDocs);
+                if (segmentSave != null) {
+                    moduleSaves.put(module, segmentSave);
+                }
+            } else if (!isSavedQuickDocs || module.isModified.test(quickDocs)) {
+                moduleSaves.put(module, prepareModuleSave(module, quickDocs));
+            }
+        }
+
+        savedQuickDocs = quickDocs;
+        return new ModuleSave(moduleSaves);
+    }
+
+    /**
+     * Captures the data of {@code module} in {@code quickDocs} in the format used for saving.
+     */
+    private PendingSave prepareModuleSave(Module module, QuickDocs quickDocs) {
+        Path modulePath = getModuleFilePath(module);
+        if (storageFormat == StorageFormat.BINARY) {
+            byte[] data = BinaryQuickDocsStream.encode(quickDocs, EnumSet.of(module));
+            return () -> BinaryQuickDocsStream.writeFile(modulePath, data);
+        }
+
+        JsonSerializableQuickDocsModule jsonModule = module.toJsonModule.apply(quickDocs);
+        return () -> {
+            FileUtil.createIfMissing(modulePath);
+            JsonUtil.saveJsonFile(jsonModule, modulePath);
+        };
+    }
+
+    /**
+     * Returns a checksum of the files of all managers, which changes whenever any of them is written.
+     */
+    @Override
+    public long getChecksum() throws IOException {
+        long checksum = 0;
+        for (Module module : Module.values()) {
+            if (!moduleChecksums.containsKey(module)) {
+                long moduleChecksum = 31 * FileUtil.getChecksum(getModuleFilePath(module, storageFormat))
+                        + FileUtil.getChecksum(getOtherFormatFilePath(module));
+                if (module == Module.CONSULTATIONS) {
+                    moduleChecksum += 31 * consultationSegment.getChecksum();
+                }
+                moduleChecksums.put(module, moduleChecksum);
+            }
+            checksum = 31 * checksum + moduleChecksums.get(module);
+        }
+        return checksum;
+    }
+
+    /**
+     * The managers to write, each to its own file.
+     */
+    private class ModuleSave implements PendingSave {
+        private final Map<Module, PendingSave> moduleSaves;
+
+        ModuleSave(Map<Module, PendingSave> moduleSaves) {
+            this.moduleSaves = moduleSaves;
+        }
+
+        @Override
+        public void write() throws IOException {
+            logger.fine("Writing " + moduleSaves.keySet() + " to directory: " + directoryPath);
+            for (Map.Entry<Module, PendingSave> entry : moduleSaves.entrySet()) {
+                // the checksum is recomputed when it is next needed, in case the file is only partially written
+                moduleChecksums.remove(entry.getKey());
+                entry.getValue().write();
+                Files.deleteIfExists(getOtherFormatFilePath(entry.getKey()));
+                if (entry.getKey() == Module.CONSULTATIONS) {
+                    Files.deleteIfExists(getModuleFilePath(Module.CONSULTATIONS, storageFormat));
+                }
+            }
+        }
+
+        @Override
+        public PendingSave mergeWith(PendingSave later) {
+            Map<Module, PendingSave> mergedModules = new EnumMap<>(Module.class);
+            mergedModules.putAll(moduleSaves);
+            // saves of the consultation segment only hold the consultations added since their earlier saves
+            for (Map.Entry<Module, PendingSave> entry : ((ModuleSave) later).moduleSaves.entrySet()) {
+                mergedModules.merge(entry.getKey(), entry.getValue(), PendingSave::mergeWith);
+            }
+            return new ModuleSave(mergedModules);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package quickdocs.storage;
 
 import java.io.IOException;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 import quickdocs.commons.exceptions.DataConversionException;
 import quickdocs.model.QuickDocs;
@@ -22,4 +23,8 @@ public interface Storage extends UserPrefsStorage {
     Optional<QuickDocs> readQuickDocs() throws DataConversionException, IOException;
 
     void saveQuickDocs(QuickDocs quickDocs) throws IOException;
+
+    void flushQuickDocs() throws IOException;
+
+    void setQuickDocsWriteFailureHandler(Consumer<IOException> handler);
 }
@@ -3,6 +3,7 @@ package quickdocs.storage;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.util.Optional;
+import java.util.function.Consumer;
 import java.util.logging.Logger;
 
 import quickdocs.commons.core.LogsCenter;
@@ -73,4 +74,20 @@ public class StorageManager implements Storage {
         logger.fine("Attempting to write to data file: " + quickDocsStorage.getFilePath());
         quickDocsStorage.saveQuickDocs(quickDocs);
     }
+
+    /**
+     * Waits for all {@code QuickDocs} data saved to be written to the data file.
+     *
+     * @throws IOException if there was an error writing to the data file.
+     */
+    @Override
+    public void flushQuickDocs() throws IOException {
+        logger.fine("Waiting for data to be written to file: " + quickDocsStorage.getFilePath());
+        quickDocsStorage.flush();
+    }
+
+    @Override
+    public void setQuickDocsWriteFailureHandler(Consumer<IOException> handler) {
+        quickDocsStorage.setWriteFailureHandler(handler);
+    }
 }
@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.List;
 
+import javafx.application.Platform;
 import javafx.fxml.FXML;
 import javafx.scene.control.Label;
 import javafx.scene.control.TextArea;
@@ -63,6 +64,15 @@ public class RootLayoutController {
         this.history = this.logicManager.getHistory();
         this.historySnapshot = new ListElementPointer(history);
         this.helpWindow = new HelpWindow();
+        this.logicManager.setSaveFailureHandler(message -> Platform.runLater(() -> showSaveFailure(message)));
+    }
+
+    /**
+     * Shows the error from writing data saved by an earlier command in the result display
+     */
+    private void showSaveFailure(String message) {
+        resultDisplay.appendText(">>> " + message + "\n");
+        resultDisplay.selectPositionCaret(resultDisplay.getText().length());
     }
 
     public TextArea getDisplay() {
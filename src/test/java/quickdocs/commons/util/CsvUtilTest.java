@@ -0,0 +1,38 @@
+package quickdocs.commons.util;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import quickdocs.testutil.Assert;
+
+public class CsvUtilTest {
+
+    @Test
+    public void splitLine_plainValues_splitAtCommas() {
+        assertEquals(Arrays.asList("a", " b ", "", "c"), CsvUtil.splitLine("a, b ,,c"));
+        assertEquals(Collections.singletonList(""), CsvUtil.splitLine(""));
+    }
+
+    @Test
+    public void splitLine_quotedValues_commasAndQuotesKept() {
+        assertEquals(Arrays.asList("311, Clementi Ave 2", "say \"hi\"", ""),
+                CsvUtil.splitLine("\"311, Clementi Ave 2\",\"say \"\"hi\"\"\",\"\""));
+    }
+
+    @Test
+    public void joinLine_valuesNeedingQuotes_splitBackToSameValues() {
+        assertEquals("a,,\"1, Road\",\"say \"\"hi\"\"\"", CsvUtil.joinLine(Arrays.asList("a", "", "1, Road",
+                "say \"hi\"")));
+        assertEquals(Arrays.asList("a", "", "1, Road", "say \"hi\""),
+                CsvUtil.splitLine(CsvUtil.joinLine(Arrays.asList("a", "", "1, Road", "say \"hi\""))));
+    }
+
+    @Test
+    public void splitLine_unclosedQuote_throwsIllegalArgumentException() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> CsvUtil.splitLine("a,\"b,c"));
+    }
+}
@@ -0,0 +1,40 @@
+package quickdocs.commons.util;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
+import org.junit.Test;
+
+import quickdocs.testutil.Assert;
+
+public class InternerTest {
+
+    private final Interner<String> interner = new Interner<>();
+
+    @Test
+    public void intern_equalValues_firstInstanceReturned() {
+        String first = new String("fever");
+        String second = new String("fever");
+        assertNotSame(first, second);
+
+        assertSame(first, interner.intern(first));
+        assertSame(first, interner.intern(second));
+        assertEquals(1, interner.size());
+    }
+
+    @Test
+    public void intern_differentValues_eachKept() {
+        String fever = interner.intern("fever");
+        String cough = interner.intern("cough");
+
+        assertSame(fever, interner.intern(new String("fever")));
+        assertSame(cough, interner.intern(new String("cough")));
+        assertEquals(2, interner.size());
+    }
+
+    @Test
+    public void intern_null_throwsNullPointerException() {
+        Assert.assertThrows(NullPointerException.class, () -> interner.intern(null));
+    }
+}
@@ -4,14 +4,18 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotEquals;
 import static quickdocs.testutil.TypicalAppointments.APP_A;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.Map;
 
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import quickdocs.commons.core.OpeningHours;
 import quickdocs.logic.CommandHistory;
 import quickdocs.logic.commands.exceptions.CommandException;
 import quickdocs.model.Model;
@@ -69,6 +73,37 @@ public class AddAppCommandTest {
         addAppCommand.execute(model, commandHistory);
     }
 
+    @Test
+    public void executeAddAppointmentConfiguredOpeningHours_checkedAgainstHoursOfDay() throws Exception {
+        // open from 10:00 to 16:00 on the day of the appointment, with lunch from 12:30, and closed the day before
+        Map<DayOfWeek, OpeningHours> openingHours = new EnumMap<>(DayOfWeek.class);
+        openingHours.put(date.getDayOfWeek(), new OpeningHours(LocalTime.of(10, 0), LocalTime.of(16, 0),
+                LocalTime.of(12, 30), LocalTime.of(13, 30)));
+        UserPrefs userPrefs = new UserPrefs();
+        userPrefs.setOpeningHours(openingHours);
+        Model model = new ModelManager(quickDocs, userPrefs);
+
+        new AddAppCommand(nric, date, LocalTime.of(15, 0), LocalTime.of(16, 0), comment).execute(model, commandHistory);
+        assertRejected(model, new AddAppCommand(nric, date, LocalTime.of(9, 30), LocalTime.of(10, 30), comment),
+                AddAppCommand.MESSAGE_NON_OFFICE_HOURS);
+        assertRejected(model, new AddAppCommand(nric, date.minusDays(1), LocalTime.of(10, 0),
+                LocalTime.of(11, 0), comment), AddAppCommand.MESSAGE_NON_OFFICE_HOURS);
+        assertRejected(model, new AddAppCommand(nric, date, start, end, comment),
+                AddAppCommand.MESSAGE_LUNCH_BREAK);
+    }
+
+    /**
+     * Asserts that executing {@code command} on {@code model} fails with {@code expectedMessage}.
+     */
+    private void assertRejected(Model model, AddAppCommand command, String expectedMessage) {
+        try {
+            command.execute(model, commandHistory);
+            Assert.fail("The appointment should be rejected");
+        } catch (CommandException ce) {
+            assertEquals(expectedMessage, ce.getMessage());
+        }
+    }
+
     @Test
     public void executeAddAppointmentWithStartAfterEnd_failure() throws Exception {
         LocalTime start = LocalTime.parse("17:30");
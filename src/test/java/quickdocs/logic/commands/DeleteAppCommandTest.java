@@ -7,14 +7,18 @@ import static quickdocs.testutil.TypicalAppointments.APP_A;
 import static quickdocs.testutil.TypicalAppointments.APP_E;
 import static quickdocs.testutil.TypicalAppointments.getTypicalAppointmentsQuickDocs;
 
+import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.Map;
 
 import org.junit.Assert;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.ExpectedException;
 
+import quickdocs.commons.core.OpeningHours;
 import quickdocs.logic.CommandHistory;
 import quickdocs.logic.commands.exceptions.CommandException;
 import quickdocs.model.Model;
@@ -60,6 +64,21 @@ public class DeleteAppCommandTest {
         deleteAppCommand.execute(model, commandHistory);
     }
 
+    @Test
+    public void executeInvalidDeleteAppointment_closedOnConfiguredDay() throws Exception {
+        // the clinic is only open on the day after the appointment
+        LocalDate date = APP_A.getDate();
+        Map<DayOfWeek, OpeningHours> openingHours = new EnumMap<>(DayOfWeek.class);
+        openingHours.put(date.getDayOfWeek().plus(1), new OpeningHours());
+        UserPrefs userPrefs = new UserPrefs();
+        userPrefs.setOpeningHours(openingHours);
+        DeleteAppCommand deleteAppCommand = new DeleteAppCommand(date, APP_A.getStart());
+
+        thrown.expect(CommandException.class);
+        thrown.expectMessage(DeleteAppCommand.MESSAGE_NON_OFFICE_HOURS);
+        deleteAppCommand.execute(new ModelManager(quickDocs, userPrefs), commandHistory);
+    }
+
     @Test
     public void executeInvalidDeleteAppointment_appNotFound() throws Exception {
         // No such appointment with this date and start time
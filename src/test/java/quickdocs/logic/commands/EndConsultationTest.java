@@ -111,4 +111,24 @@ public class EndConsultationTest {
 
     }
 
+    @Test
+    public void endConsultation_sessionOfDoctor_onlyThatSessionEnded() throws Exception {
+        modelManager.createConsultation("drtan", patient1);
+        Assessment assessment = new Assessment("migrane");
+        ArrayList<Symptom> symptoms = new ArrayList<>();
+        symptoms.add(new Symptom("constant headache"));
+        new DiagnosePatientCommand(new Diagnosis(assessment, symptoms), "drtan").execute(modelManager, history);
+        modelManager.prescribeMedicine("drtan", new ArrayList<>());
+
+        // the default session and other doctors' sessions are not ended
+        Assert.assertThrows(CommandException.class, () ->
+                new EndConsultationCommand().execute(modelManager, history));
+        Assert.assertThrows(CommandException.class, () ->
+                new EndConsultationCommand("drlim").execute(modelManager, history));
+
+        new EndConsultationCommand("drtan").execute(modelManager, history);
+        org.junit.Assert.assertFalse(modelManager.checkConsultation("drtan"));
+        org.junit.Assert.assertEquals(1, modelManager.getConsultationList().size());
+    }
+
 }
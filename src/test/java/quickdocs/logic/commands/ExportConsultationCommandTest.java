@@ -0,0 +1,84 @@
+package quickdocs.logic.commands;
+
+import static org.junit.Assert.assertEquals;
+import static quickdocs.testutil.TypicalPatients.ALICE;
+import static quickdocs.testutil.TypicalPatients.BOB;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_ASSESSMENT;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_PRESCRIPTION_A;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_SYMPTOM_COUGH;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import quickdocs.commons.util.JsonUtil;
+import quickdocs.logic.CommandHistory;
+import quickdocs.model.ModelManager;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.consultation.Diagnosis;
+import quickdocs.model.consultation.Symptom;
+import quickdocs.model.patient.Patient;
+
+public class ExportConsultationCommandTest {
+
+    private static final LocalDateTime SESSION = LocalDateTime.of(2019, 1, 1, 9, 0);
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private ModelManager modelManager = new ModelManager();
+    private final CommandHistory history = new CommandHistory();
+
+    @Before
+    public void init() {
+        modelManager.addPatient(ALICE);
+        modelManager.addPatient(BOB);
+        // a consultation on each of the first four days of the year, alternating between the patients
+        for (int i = 0; i < 4; i++) {
+            Patient patient = i % 2 == 0 ? ALICE : BOB;
+            Diagnosis diagnosis = new Diagnosis(SAMPLE_ASSESSMENT, new ArrayList<>(Arrays.asList(
+                    SAMPLE_SYMPTOM_COUGH, new Symptom("sore throat"))));
+            modelManager.getQuickDocs().getConsultationManager().addConsultation(new Consultation(i, patient,
+                    SESSION.plusDays(i), diagnosis, new ArrayList<>(Arrays.asList(SAMPLE_PRESCRIPTION_A))));
+        }
+    }
+
+    @Test
+    public void execute_filters_onlyMatchingConsultationsExported() throws Exception {
+        Path file = testFolder.getRoot().toPath().resolve("consultations.csv");
+        CommandResult result = new ExportConsultationCommand(file, ALICE.getNric().toString(),
+                LocalDate.of(2019, 1, 2), LocalDate.MAX).execute(modelManager, history);
+        assertEquals(String.format(ExportConsultationCommand.MESSAGE_SUCCESS, 1, file),
+                result.getFeedbackToUser());
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(Arrays.asList(String.join(",", ExportConsultationCommand.COLUMNS),
+                "3,2019-01-03T09:00,S1111111A,Alice,cough; sore throat,Test Assessment,paracetamol x1"), lines);
+    }
+
+    @Test
+    public void execute_ndjsonFile_objectOnEachLine() throws Exception {
+        Path file = testFolder.getRoot().toPath().resolve("consultations.jsonl");
+        new ExportConsultationCommand(file, "", LocalDate.MIN, LocalDate.of(2019, 1, 2))
+                .execute(modelManager, history);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        Map<?, ?> record = JsonUtil.fromJsonString(lines.get(1), Map.class);
+        assertEquals(2, record.get("index"));
+        assertEquals(BOB.getNric().toString(), record.get("nric"));
+        assertEquals(Arrays.asList("cough", "sore throat"), record.get("symptoms"));
+        assertEquals(Arrays.asList("paracetamol x1"), record.get("prescriptions"));
+    }
+}
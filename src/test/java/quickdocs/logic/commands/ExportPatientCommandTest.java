@@ -0,0 +1,91 @@
+package quickdocs.logic.commands;
+
+import static org.junit.Assert.assertEquals;
+import static quickdocs.testutil.TypicalPatients.ALICE;
+import static quickdocs.testutil.TypicalPatients.BOB;
+import static quickdocs.testutil.TypicalPatients.CHUCK;
+import static quickdocs.testutil.TypicalPatients.EVE;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import quickdocs.commons.util.JsonUtil;
+import quickdocs.logic.CommandHistory;
+import quickdocs.model.ModelManager;
+import quickdocs.model.patient.Patient;
+
+public class ExportPatientCommandTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private ModelManager modelManager = new ModelManager();
+    private final CommandHistory history = new CommandHistory();
+
+    @Before
+    public void init() {
+        for (Patient patient : Arrays.asList(ALICE, BOB, CHUCK, EVE)) {
+            modelManager.addPatient(patient);
+        }
+    }
+
+    @Test
+    public void execute_csvFile_patientsImportedBack() throws Exception {
+        Path file = testFolder.getRoot().toPath().resolve("audit").resolve("patients.csv");
+        CommandResult result = new ExportPatientCommand(file, "", LocalDate.MIN, LocalDate.MAX)
+                .execute(modelManager, history);
+        assertEquals(String.format(ExportPatientCommand.MESSAGE_SUCCESS, 4, file), result.getFeedbackToUser());
+
+        ModelManager importedModel = new ModelManager();
+        new ImportPatientCommand(file).execute(importedModel, history);
+        List<Patient> importedPatients = importedModel.getPatientsByNricPrefix("");
+        assertEquals(4, importedPatients.size());
+        for (Patient patient : Arrays.asList(ALICE, BOB, CHUCK, EVE)) {
+            Patient importedPatient = importedModel.getPatientByNric(patient.getNric().toString());
+            assertEquals(patient.toString(), importedPatient.toString());
+            assertEquals(patient.getTagList(), importedPatient.getTagList());
+        }
+    }
+
+    @Test
+    public void execute_filters_onlyMatchingPatientsExported() throws Exception {
+        Path file = testFolder.getRoot().toPath().resolve("patients.csv");
+        new ExportPatientCommand(file, "S", LocalDate.of(1985, 1, 1), LocalDate.of(1990, 1, 1))
+                .execute(modelManager, history);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(String.join(",", ExportPatientCommand.COLUMNS), lines.get(0));
+        assertEquals(Arrays.asList(ALICE.getNric().toString(), BOB.getNric().toString()),
+                Arrays.asList(lines.get(1).split(",")[1], lines.get(2).split(",")[1]));
+        assertEquals(3, lines.size());
+
+        new ExportPatientCommand(file, "s3", LocalDate.MIN, LocalDate.MAX).execute(modelManager, history);
+        lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(2, lines.size());
+        assertEquals("Chuck,S3333333C,1980-03-03,1 Clementi Road,chuck@gmail.com,93333333,M,Highbloodpressure",
+                lines.get(1));
+    }
+
+    @Test
+    public void execute_ndjsonFile_objectOnEachLine() throws Exception {
+        Path file = testFolder.getRoot().toPath().resolve("patients.ndjson");
+        new ExportPatientCommand(file, "", LocalDate.MIN, LocalDate.MAX).execute(modelManager, history);
+
+        List<String> lines = Files.readAllLines(file, StandardCharsets.UTF_8);
+        assertEquals(4, lines.size());
+        Map<?, ?> record = JsonUtil.fromJsonString(lines.get(0), Map.class);
+        assertEquals(ALICE.getNric().toString(), record.get("nric"));
+        assertEquals(ALICE.getDob().toString(), record.get("dob"));
+        assertEquals(Arrays.asList("Diabetes"), record.get("tags"));
+    }
+}
@@ -0,0 +1,178 @@
+package quickdocs.logic.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static quickdocs.testutil.TypicalPatients.ALICE;
+
+import java.io.BufferedWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import quickdocs.logic.CommandHistory;
+import quickdocs.logic.commands.exceptions.CommandException;
+import quickdocs.model.ModelManager;
+import quickdocs.model.patient.Contact;
+import quickdocs.model.patient.Dob;
+import quickdocs.model.patient.Nric;
+import quickdocs.model.patient.Patient;
+import quickdocs.testutil.Assert;
+
+public class ImportPatientCommandTest {
+
+    private static final String HEADER = "name,nric,dob,address,email,contact,gender,tags";
+    private static final int BENCHMARK_ROWS = 100_000;
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private ModelManager modelManager = new ModelManager();
+    private final CommandHistory history = new CommandHistory();
+
+    @Before
+    public void init() {
+        modelManager.addPatient(ALICE);
+    }
+
+    @Test
+    public void execute_validRows_patientsAdded() throws Exception {
+        Path file = writeFile(HEADER,
+                "Peter Tan,S9123456B,1991-01-01,\"311, Clementi Ave 2\",ptan@gmail.com,91111111,M,gout diabetes",
+                "",
+                "Mary Lim,S9123457C,1992-02-02,1 Simei Road,mlim@gmail.com,92222222,F,");
+
+        CommandResult result = new ImportPatientCommand(file).execute(modelManager, history);
+
+        assertEquals(String.format(ImportPatientCommand.MESSAGE_SUCCESS, 2, file), result.getFeedbackToUser());
+        assertEquals(3, modelManager.getQuickDocs().getPatientManager().getPatientList().size());
+        Patient peter = modelManager.getPatientByNric("S9123456B");
+        assertEquals("311, Clementi Ave 2", peter.getAddress().toString());
+        assertEquals(2, peter.getTagList().size());
+        assertTrue(modelManager.getPatientByNric("S9123457C").getTagList().isEmpty());
+        assertTrue(modelManager.getQuickDocs().isModified());
+    }
+
+    @Test
+    public void execute_columnsInAnyOrder_patientsAdded() throws Exception {
+        Path file = writeFile("NRIC, Gender, Name, Contact, Email, Address, DOB",
+                "S9123456B,M,Peter Tan,91111111,ptan@gmail.com,1 Simei Road,1991-01-01");
+
+        new ImportPatientCommand(file).execute(modelManager, history);
+
+        assertEquals("Peter Tan", modelManager.getPatientByNric("S9123456B").getName().toString());
+    }
+
+    @Test
+    public void execute_invalidRows_rowsLeftOutWithLineNumbers() throws Exception {
+        Path file = writeFile(HEADER,
+                "Peter Tan,S9123456B,1991-01-01,1 Simei Road,ptan@gmail.com,91111111,M,",
+                "Bad Nric,S91234,1991-01-01,1 Simei Road,bad@gmail.com,91111111,M,",
+                "Alice Again,S1111111A,1990-01-01,1 Admiralty Road,alice@gmail.com,91111111,F,",
+                "Peter Again,S9123456B,1991-01-01,1 Simei Road,ptan@gmail.com,91111111,M,",
+                "Too Short,S9123458D");
+
+        CommandResult result = new ImportPatientCommand(file).execute(modelManager, history);
+
+        String expectedMessage = String.format(ImportPatientCommand.MESSAGE_SUCCESS, 1, file)
+                + String.format(ImportPatientCommand.MESSAGE_REJECTED, 4)
+                + String.format(ImportPatientCommand.MESSAGE_REJECTED_ROW, 3, Nric.NRIC_CONSTRAINTS)
+                + String.format(ImportPatientCommand.MESSAGE_REJECTED_ROW, 4, AddPatientCommand.CONFLICTING_NRIC)
+                + String.format(ImportPatientCommand.MESSAGE_REJECTED_ROW, 5,
+                        String.format(ImportPatientCommand.MESSAGE_DUPLICATE_NRIC, 2))
+                + String.format(ImportPatientCommand.MESSAGE_REJECTED_ROW, 6,
+                        String.format(ImportPatientCommand.MESSAGE_WRONG_VALUE_COUNT, 8, 2));
+        assertEquals(expectedMessage, result.getFeedbackToUser());
+        assertEquals(2, modelManager.getQuickDocs().getPatientManager().getPatientList().size());
+    }
+
+    @Test
+    public void execute_unpaddedDob_patientAddedWithNormalisedDob() throws Exception {
+        Path file = writeFile(HEADER,
+                "Peter Tan,S9123456B,1990-1-5,1 Simei Road,ptan@gmail.com,91111111,M,",
+                "Bad Date,S9123457C,1990-2-30,1 Simei Road,bad@gmail.com,91111111,M,");
+
+        CommandResult result = new ImportPatientCommand(file).execute(modelManager, history);
+
+        String expectedMessage = String.format(ImportPatientCommand.MESSAGE_SUCCESS, 1, file)
+                + String.format(ImportPatientCommand.MESSAGE_REJECTED, 1)
+                + String.format(ImportPatientCommand.MESSAGE_REJECTED_ROW, 3, Dob.FEBURARY_CONSTRAINT);
+        assertEquals(expectedMessage, result.getFeedbackToUser());
+        assertEquals("1990-01-05", modelManager.getPatientByNric("S9123456B").getDob().toString());
+    }
+
+    @Test
+    public void execute_manyInvalidRows_onlyFirstRowsListed() throws Exception {
+        String[] lines = new String[ImportPatientCommand.REJECTED_ROWS_SHOWN + 6];
+        lines[0] = HEADER;
+        for (int i = 1; i < lines.length; i++) {
+            lines[i] = "Peter Tan,S9123456B,1991-01-01,1 Simei Road,ptan@gmail.com,123,M,";
+        }
+        Path file = writeFile(lines);
+
+        CommandResult result = new ImportPatientCommand(file).execute(modelManager, history);
+
+        String lastListed = String.format(ImportPatientCommand.MESSAGE_REJECTED_ROW,
+                ImportPatientCommand.REJECTED_ROWS_SHOWN + 1, Contact.CONTACT_CONSTRAINTS);
+        assertTrue(result.getFeedbackToUser().endsWith(lastListed
+                + String.format(ImportPatientCommand.MESSAGE_MORE_REJECTED, 5)));
+    }
+
+    @Test
+    public void execute_missingColumn_throwsCommandException() throws Exception {
+        Path file = writeFile("name,nric,dob,address,email,gender",
+                "Peter Tan,S9123456B,1991-01-01,1 Simei Road,ptan@gmail.com,M");
+
+        ImportPatientCommand command = new ImportPatientCommand(file);
+        Assert.assertThrows(CommandException.class,
+                String.format(ImportPatientCommand.MESSAGE_MISSING_COLUMN, ImportPatientCommand.COLUMN_CONTACT), () ->
+                command.execute(modelManager, history));
+        assertEquals(1, modelManager.getQuickDocs().getPatientManager().getPatientList().size());
+    }
+
+    @Test
+    public void execute_missingFile_throwsCommandException() {
+        Path file = testFolder.getRoot().toPath().resolve("missing.csv");
+        ImportPatientCommand command = new ImportPatientCommand(file);
+        Assert.assertThrows(CommandException.class, () -> command.execute(modelManager, history));
+    }
+
+    /**
+     * Prints the time taken to import a file of {@value #BENCHMARK_ROWS} patients.
+     * Only run when the {@code quickdocs.benchmark} system property is set.
+     */
+    @Test
+    public void benchmark_importPatients() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("quickdocs.benchmark"));
+
+        Path file = testFolder.getRoot().toPath().resolve("patients.csv");
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            writer.write(HEADER);
+            writer.newLine();
+            for (int i = 0; i < BENCHMARK_ROWS; i++) {
+                writer.write(String.format("Patient %d,T%07dA,1990-01-01,\"%d, Clementi Ave 2\","
+                        + "patient%d@gmail.com,9%07d,F,diabetes", i, i, i, i, i));
+                writer.newLine();
+            }
+        }
+
+        long start = System.nanoTime();
+        new ImportPatientCommand(file).execute(modelManager, history);
+        long importMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(BENCHMARK_ROWS + 1, modelManager.getQuickDocs().getPatientManager().getPatientList().size());
+        System.out.println(String.format("%d rows: imported in %dms", BENCHMARK_ROWS, importMillis));
+    }
+
+    private Path writeFile(String... lines) throws Exception {
+        Path file = testFolder.newFile().toPath();
+        Files.write(file, Arrays.asList(lines), StandardCharsets.UTF_8);
+        return file;
+    }
+}
@@ -1,13 +1,16 @@
 package quickdocs.logic.commands;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 import static quickdocs.testutil.TypicalAppointments.APP_A;
 import static quickdocs.testutil.TypicalAppointments.APP_B;
 import static quickdocs.testutil.TypicalAppointments.getTypicalAppointmentsQuickDocs;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 
 import org.junit.Rule;
 import org.junit.Test;
@@ -19,6 +22,7 @@ import quickdocs.model.Model;
 import quickdocs.model.ModelManager;
 import quickdocs.model.QuickDocs;
 import quickdocs.model.UserPrefs;
+import quickdocs.model.appointment.Appointment;
 import quickdocs.model.patient.Nric;
 import quickdocs.testutil.TypicalPatients;
 
@@ -62,6 +66,29 @@ public class ListAppCommandTest {
         assertEquals(result.getFeedbackToUser(), expected);
     }
 
+    @Test
+    public void executeListApp_upcomingOrPastByNric_success() throws Exception {
+        Nric nric = TypicalPatients.ALICE.getNric();
+        Appointment past = new Appointment(TypicalPatients.ALICE, LocalDate.now().minusDays(1),
+                LocalTime.parse("09:00"), LocalTime.parse("10:00"), "Checkup");
+        Appointment upcoming = new Appointment(TypicalPatients.ALICE, LocalDate.now().plusDays(1),
+                LocalTime.parse("09:00"), LocalTime.parse("10:00"), "Checkup");
+        model.addApp(past);
+        model.addApp(upcoming);
+
+        CommandResult result = new ListAppCommand(nric, ListAppCommand.View.UPCOMING).execute(model, commandHistory);
+        assertTrue(result.getFeedbackToUser().startsWith(
+                String.format(ListAppCommand.MESSAGE_SUCCESS_UPCOMING, TypicalPatients.ALICE.getName())));
+        assertTrue(result.getFeedbackToUser().contains(upcoming.toString()));
+        assertFalse(result.getFeedbackToUser().contains(past.toString()));
+
+        result = new ListAppCommand(nric, ListAppCommand.View.PAST).execute(model, commandHistory);
+        assertTrue(result.getFeedbackToUser().startsWith(
+                String.format(ListAppCommand.MESSAGE_SUCCESS_PAST, TypicalPatients.ALICE.getName())));
+        assertTrue(result.getFeedbackToUser().contains(past.toString()));
+        assertFalse(result.getFeedbackToUser().contains(upcoming.toString()));
+    }
+
     @Test
     public void executeListApp_searchByNric_failure() throws Exception {
         Nric nric = TypicalPatients.EVE.getNric();
@@ -115,5 +142,10 @@ public class ListAppCommandTest {
         // null NRIC -> returns false
         listAppB = new ListAppCommand(null);
         assertNotEquals(listAppA, listAppB);
+
+        // different view -> returns false
+        listAppB = new ListAppCommand(APP_A.getPatient().getNric(), ListAppCommand.View.UPCOMING);
+        assertNotEquals(listAppA, listAppB);
+        assertEquals(listAppB, new ListAppCommand(APP_A.getPatient().getNric(), ListAppCommand.View.UPCOMING));
     }
 }
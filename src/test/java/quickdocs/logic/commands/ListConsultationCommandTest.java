@@ -1,7 +1,13 @@
 package quickdocs.logic.commands;
 
+import static quickdocs.testutil.TypicalPatients.ALICE;
+import static quickdocs.testutil.TypicalPatients.BOB;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.junit.Test;
 
@@ -119,4 +125,40 @@ public class ListConsultationCommandTest {
         }
     }
 
+    @Test
+    public void rangeOfDates_filtersAppliedWithinRange() throws Exception {
+        LocalDateTime session = LocalDateTime.of(2019, 3, 1, 9, 0);
+        String[] assessments = {"flu", "gout", "Flu", "flu"};
+        ArrayList<Consultation> consultations = new ArrayList<>();
+        // a consultation every five days from 1 March, alternating between the patients
+        for (int i = 0; i < assessments.length; i++) {
+            Patient patient = i % 2 == 0 ? ALICE : BOB;
+            Diagnosis diagnosis = new Diagnosis(new Assessment(assessments[i]),
+                    new ArrayList<>(Arrays.asList(new Symptom("cough"))));
+            Consultation consultation = new Consultation(i, patient, session.plusDays(5 * i), diagnosis,
+                    new ArrayList<>());
+            modelManager.getQuickDocs().getConsultationManager().addConsultation(consultation);
+            consultations.add(consultation);
+        }
+
+        ListConsultationCommand command = new ListConsultationCommand(LocalDate.of(2019, 3, 1),
+                LocalDate.of(2019, 3, 11), null, null);
+        org.junit.Assert.assertEquals(command.listingConsultations(new ArrayList<>(consultations.subList(0, 3))),
+                command.execute(modelManager, history).getFeedbackToUser());
+
+        command = new ListConsultationCommand(LocalDate.of(2019, 3, 6), LocalDate.MAX, null, "FLU");
+        org.junit.Assert.assertEquals(command.listingConsultations(new ArrayList<>(consultations.subList(2, 4))),
+                command.execute(modelManager, history).getFeedbackToUser());
+
+        command = new ListConsultationCommand(LocalDate.MIN, LocalDate.of(2019, 3, 11),
+                ALICE.getNric().toString(), "flu");
+        org.junit.Assert.assertEquals(command.listingConsultations(new ArrayList<>(Arrays.asList(
+                consultations.get(0), consultations.get(2)))),
+                command.execute(modelManager, history).getFeedbackToUser());
+
+        command = new ListConsultationCommand(LocalDate.of(2019, 4, 1), LocalDate.MAX, null, null);
+        org.junit.Assert.assertTrue(command.execute(modelManager, history).getFeedbackToUser()
+                .endsWith(ListConsultationCommand.NO_RECORDS));
+    }
+
 }
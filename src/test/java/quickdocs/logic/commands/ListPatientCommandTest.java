@@ -1,6 +1,7 @@
 package quickdocs.logic.commands;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 
 import org.junit.Assert;
 import org.junit.Before;
@@ -17,7 +18,9 @@ import quickdocs.model.patient.Gender;
 import quickdocs.model.patient.Name;
 import quickdocs.model.patient.Nric;
 import quickdocs.model.patient.Patient;
+import quickdocs.model.patient.PatientManager;
 import quickdocs.model.tag.Tag;
+import quickdocs.model.tag.TagQuery;
 
 public class ListPatientCommandTest {
 
@@ -247,6 +250,33 @@ public class ListPatientCommandTest {
         }
     }
 
+    @Test
+    public void listPatient_tagQuery_matchingPatientsListed() throws Exception {
+        String header = "Listing patients:\n" + "==============================\n";
+
+        // and
+        ListPatientCommand listPatientCommand = new ListPatientCommand(
+                TagQuery.parse(Arrays.asList("Diabetes", "Highbloodpressure")));
+        Assert.assertEquals(header + patient3.toString(),
+                listPatientCommand.execute(modelManager, history).getFeedbackToUser());
+
+        // not
+        listPatientCommand = new ListPatientCommand(TagQuery.parse(Arrays.asList("Diabetes", "!Highbloodpressure")));
+        Assert.assertEquals(header + patient1.toString(),
+                listPatientCommand.execute(modelManager, history).getFeedbackToUser());
+
+        // or
+        listPatientCommand = new ListPatientCommand(TagQuery.parse(Arrays.asList("Gout|Highbloodpressure")));
+        Assert.assertEquals(header + PatientManager.formatMultiplePatients(
+                new ArrayList<>(Arrays.asList(patient2, patient3)), new ArrayList<>(Arrays.asList(2, 3))),
+                listPatientCommand.execute(modelManager, history).getFeedbackToUser());
+
+        ListPatientCommand noMatchCommand = new ListPatientCommand(TagQuery.parse(Arrays.asList("!Diabetes",
+                "!Highbloodpressure")));
+        quickdocs.testutil.Assert.assertThrows(CommandException.class, () ->
+                noMatchCommand.execute(modelManager, history));
+    }
+
     @Test
     public void listPatient_noArgs_success() {
 
@@ -280,6 +310,25 @@ public class ListPatientCommandTest {
         }
     }
 
+    @Test
+    public void listPatient_pageOrNricCursor_pageListed() throws Exception {
+        String header = "Listing patients:\n" + "==============================\n";
+
+        // patients after S9123456A in the order of their NRICs are S9132456C and S9142356B
+        CommandResult result = ListPatientCommand.afterNric("S9123456A").execute(modelManager, history);
+        Assert.assertEquals(header + PatientManager.formatMultiplePatients(
+                new ArrayList<>(Arrays.asList(patient3, patient2)), new ArrayList<>(Arrays.asList(3, 2))),
+                result.getFeedbackToUser());
+
+        Assert.assertEquals(new ListPatientCommand().execute(modelManager, history).getFeedbackToUser(),
+                ListPatientCommand.onPage(1).execute(modelManager, history).getFeedbackToUser());
+
+        quickdocs.testutil.Assert.assertThrows(CommandException.class, () ->
+                ListPatientCommand.onPage(2).execute(modelManager, history));
+        quickdocs.testutil.Assert.assertThrows(CommandException.class, () ->
+                ListPatientCommand.afterNric("S9142356B").execute(modelManager, history));
+    }
+
     @Test
     public void equals() {
         ListPatientCommand lpc = new ListPatientCommand();
@@ -318,5 +367,11 @@ public class ListPatientCommandTest {
         Assert.assertEquals(lpc, lpc2);
         lpc2 = new ListPatientCommand(new Tag("b"));
         Assert.assertNotEquals(lpc, lpc2);
+
+        // page check
+        Assert.assertEquals(ListPatientCommand.onPage(2), ListPatientCommand.onPage(2));
+        Assert.assertNotEquals(ListPatientCommand.onPage(2), ListPatientCommand.onPage(3));
+        Assert.assertEquals(ListPatientCommand.afterNric("S92"), ListPatientCommand.afterNric("S92"));
+        Assert.assertNotEquals(ListPatientCommand.afterNric("S92"), ListPatientCommand.afterNric("S93"));
     }
 }
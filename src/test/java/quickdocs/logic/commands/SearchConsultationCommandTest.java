@@ -0,0 +1,74 @@
+package quickdocs.logic.commands;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static quickdocs.testutil.TypicalPatients.ALICE;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import quickdocs.logic.CommandHistory;
+import quickdocs.model.ModelManager;
+import quickdocs.model.consultation.Assessment;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.consultation.ConsultationTextQuery;
+import quickdocs.model.consultation.Diagnosis;
+import quickdocs.model.consultation.Symptom;
+
+public class SearchConsultationCommandTest {
+
+    private static final LocalDateTime SESSION = LocalDateTime.of(2019, 1, 1, 9, 0);
+
+    private ModelManager modelManager = new ModelManager();
+    private final CommandHistory history = new CommandHistory();
+
+    @Before
+    public void init() {
+        modelManager.addPatient(ALICE);
+        // a consultation each month, with a rash in every other one
+        for (int i = 0; i < 4; i++) {
+            Diagnosis diagnosis = new Diagnosis(new Assessment(i % 2 == 0 ? "eczema" : "flu"),
+                    new ArrayList<>(Arrays.asList(new Symptom(i % 2 == 0 ? "itchy rash" : "fever"))));
+            modelManager.getQuickDocs().getConsultationManager().addConsultation(new Consultation(i, ALICE,
+                    SESSION.plusMonths(i), diagnosis, new ArrayList<>()));
+        }
+    }
+
+    @Test
+    public void execute_matchingConsultations_listedWithinRange() throws Exception {
+        ConsultationTextQuery query = ConsultationTextQuery.parse("itchy rash");
+        String result = new SearchConsultationCommand(query, LocalDate.of(2019, 2, 1), LocalDate.MAX)
+                .execute(modelManager, history).getFeedbackToUser();
+
+        assertEquals(String.format(SearchConsultationCommand.MESSAGE_HEADER, 1, query)
+                + "====================\n"
+                + "3)  visit for eczema  on 2019-03-01 09:00 with itchy rash\n", result);
+    }
+
+    @Test
+    public void execute_noMatches_noRecordsMessage() throws Exception {
+        String result = new SearchConsultationCommand(ConsultationTextQuery.parse("rash fever"), LocalDate.MIN,
+                LocalDate.MAX).execute(modelManager, history).getFeedbackToUser();
+        assertTrue(result.endsWith(ListConsultationCommand.NO_RECORDS));
+    }
+
+    @Test
+    public void execute_manyMatches_onlyFirstResultsListed() throws Exception {
+        // a consultation with fever for every result listed, after the two already added
+        for (int i = 4; i < SearchConsultationCommand.RESULTS_SHOWN + 3; i++) {
+            Diagnosis diagnosis = new Diagnosis(new Assessment("flu"),
+                    new ArrayList<>(Arrays.asList(new Symptom("fever"))));
+            modelManager.getQuickDocs().getConsultationManager().addConsultation(new Consultation(i, ALICE,
+                    SESSION.plusMonths(i), diagnosis, new ArrayList<>()));
+        }
+
+        String result = new SearchConsultationCommand(ConsultationTextQuery.parse("fever"), LocalDate.MIN,
+                LocalDate.MAX).execute(modelManager, history).getFeedbackToUser();
+        assertTrue(result.endsWith(String.format(SearchConsultationCommand.MESSAGE_MORE_RESULTS, 1)));
+    }
+}
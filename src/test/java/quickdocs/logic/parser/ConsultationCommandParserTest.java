@@ -5,7 +5,9 @@ import static quickdocs.logic.parser.CommandParserTestUtil.assertParseSuccess;
 
 import org.junit.Test;
 
+import quickdocs.logic.commands.AbortConsultationCommand;
 import quickdocs.logic.commands.ConsultationCommand;
+import quickdocs.logic.commands.EndConsultationCommand;
 
 
 public class ConsultationCommandParserTest {
@@ -32,4 +34,16 @@ public class ConsultationCommandParserTest {
         String args = " r/S9123456A";
         assertParseSuccess(parser, args, new ConsultationCommand("S9123456A"));
     }
+
+    @Test
+    public void parseConsult_doctorOrRoom_sessionOfDoctorOrRoom() {
+        assertParseSuccess(parser, " r/S9123456A id/room-2", new ConsultationCommand("S9123456A", "room-2"));
+        assertParseFailure(parser, " r/S9123456A id/room 2", ConsultationCommandParser.INVALID_SESSION_ID);
+        assertParseFailure(parser, " r/S9123456A id/", ConsultationCommandParser.INVALID_SESSION_ID);
+
+        assertParseSuccess(new EndConsultationCommandParser(), " id/drtan", new EndConsultationCommand("drtan"));
+        assertParseSuccess(new EndConsultationCommandParser(), "", new EndConsultationCommand());
+        assertParseSuccess(new AbortConsultationCommandParser(), " id/drtan",
+                new AbortConsultationCommand("drtan"));
+    }
 }
@@ -33,6 +33,13 @@ public class DiagnosePatientCommandParserTest {
         symptoms.add(new Symptom("5ymptom5 2"));
         assertParseSuccess(parser, input, new DiagnosePatientCommand(new Diagnosis(assessment, symptoms)));
 
+        // diagnosis in the session of a doctor or room
+        input = " s/sympt0m 1 a/m1gr4n3 id/drtan";
+        assessment = new Assessment("m1gr4n3");
+        symptoms = new ArrayList<>();
+        symptoms.add(new Symptom("sympt0m 1"));
+        assertParseSuccess(parser, input, new DiagnosePatientCommand(new Diagnosis(assessment, symptoms), "drtan"));
+
         // minimum requirement
         input = " s/sympt0m 1 a/m1gr4n3";
         assessment = new Assessment("m1gr4n3");
@@ -0,0 +1,51 @@
+package quickdocs.logic.parser;
+
+import static quickdocs.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static quickdocs.logic.parser.CommandParserTestUtil.assertParseFailure;
+import static quickdocs.logic.parser.CommandParserTestUtil.assertParseSuccess;
+
+import java.nio.file.Paths;
+import java.time.LocalDate;
+
+import org.junit.Test;
+
+import quickdocs.logic.commands.ExportConsultationCommand;
+import quickdocs.logic.commands.ExportPatientCommand;
+
+public class ExportPatientParserTest {
+
+    private ExportPatientParser parser = new ExportPatientParser();
+
+    @Test
+    public void parseExportPatient_noFilePath_failure() {
+        assertParseFailure(parser, " r/S92",
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, ExportPatientCommand.MESSAGE_USAGE));
+    }
+
+    @Test
+    public void parseExportPatient_filePathOnly_everyPatientExported() {
+        assertParseSuccess(parser, " patients.csv",
+                new ExportPatientCommand(Paths.get("patients.csv"), "", LocalDate.MIN, LocalDate.MAX));
+    }
+
+    @Test
+    public void parseExportPatient_filters_success() {
+        assertParseSuccess(parser, " audit/patients.ndjson r/s92 from/1990-01-01 to/1999-12-31",
+                new ExportPatientCommand(Paths.get("audit", "patients.ndjson"), "S92",
+                        LocalDate.of(1990, 1, 1), LocalDate.of(1999, 12, 31)));
+    }
+
+    @Test
+    public void parseExportPatient_invalidDates_failure() {
+        assertParseFailure(parser, " patients.csv from/1990-13-01", ParserUtil.MESSAGE_INVALID_DATE);
+        assertParseFailure(parser, " patients.csv from/1999-01-01 to/1990-01-01",
+                ExportArguments.INVALID_DATE_RANGE);
+    }
+
+    @Test
+    public void parseExportConsultation_filters_success() {
+        assertParseSuccess(new ExportConsultationParser(), " consultations.csv to/2019-03-31",
+                new ExportConsultationCommand(Paths.get("consultations.csv"), "", LocalDate.MIN,
+                        LocalDate.of(2019, 3, 31)));
+    }
+}
@@ -0,0 +1,28 @@
+package quickdocs.logic.parser;
+
+import static quickdocs.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static quickdocs.logic.parser.CommandParserTestUtil.assertParseFailure;
+import static quickdocs.logic.parser.CommandParserTestUtil.assertParseSuccess;
+
+import java.nio.file.Paths;
+
+import org.junit.Test;
+
+import quickdocs.logic.commands.ImportPatientCommand;
+
+public class ImportPatientParserTest {
+
+    private ImportPatientParser parser = new ImportPatientParser();
+
+    @Test
+    public void parseImportPatient_noFilePath_failure() {
+        assertParseFailure(parser, "   ",
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, ImportPatientCommand.MESSAGE_USAGE));
+    }
+
+    @Test
+    public void parseImportPatient_filePath_success() {
+        assertParseSuccess(parser, " data/patients.csv ",
+                new ImportPatientCommand(Paths.get("data", "patients.csv")));
+    }
+}
@@ -54,6 +54,20 @@ public class ListAppCommandParserTest {
                 new ListAppCommand(nric));
     }
 
+    @Test
+    public void parse_nricAndView_success() {
+        assertParseSuccess(parser, " " + PREFIX_NRIC + nricString + " " + PREFIX_FORMAT + "upcoming",
+                new ListAppCommand(nric, ListAppCommand.View.UPCOMING));
+        assertParseSuccess(parser, " " + PREFIX_FORMAT + "PAST " + PREFIX_NRIC + nricString,
+                new ListAppCommand(nric, ListAppCommand.View.PAST));
+    }
+
+    @Test
+    public void parse_invalidView_failure() {
+        assertParseFailure(parser, " " + PREFIX_NRIC + nricString + " " + PREFIX_FORMAT + formatStringWeek,
+                ListAppCommandParser.MESSAGE_INVALID_VIEW);
+    }
+
     @Test
     public void parse_allPrefixPresent_failure() {
         String expectedMessage = String.format(MESSAGE_INVALID_COMMAND_FORMAT, ListAppCommand.MESSAGE_USAGE);
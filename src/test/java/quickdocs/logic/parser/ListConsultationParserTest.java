@@ -3,6 +3,8 @@ package quickdocs.logic.parser;
 import static quickdocs.logic.parser.CommandParserTestUtil.assertParseFailure;
 import static quickdocs.logic.parser.CommandParserTestUtil.assertParseSuccess;
 
+import java.time.LocalDate;
+
 import org.junit.Assert;
 import org.junit.Test;
 
@@ -80,4 +82,22 @@ public class ListConsultationParserTest {
         }
     }
 
+    @Test
+    public void listConsultation_validRange_success() {
+        assertParseSuccess(parser, " from/2019-03-01 to/2019-03-15",
+                new ListConsultationCommand(LocalDate.of(2019, 3, 1), LocalDate.of(2019, 3, 15), null, null));
+        assertParseSuccess(parser, " from/2019-03-01 r/S1234567A a/flu",
+                new ListConsultationCommand(LocalDate.of(2019, 3, 1), LocalDate.MAX, "S1234567A", "flu"));
+        assertParseSuccess(parser, " to/2019-03-15",
+                new ListConsultationCommand(LocalDate.MIN, LocalDate.of(2019, 3, 15), null, null));
+    }
+
+    @Test
+    public void listConsultation_invalidRange_failure() {
+        assertParseFailure(parser, " from/2019-03-15 to/2019-03-01",
+                ListConsultationCommandParser.INVALID_DATE_RANGE);
+        assertParseFailure(parser, " from/15-03-2019", ParserUtil.MESSAGE_INVALID_DATE);
+        assertParseFailure(parser, " a/flu", ListConsultationCommandParser.NO_LIST_ARGUMENTS);
+    }
+
 }
@@ -4,6 +4,8 @@ import static quickdocs.logic.parser.CommandParserTestUtil.assertParseFailure;
 import static quickdocs.logic.parser.CommandParserTestUtil.assertParseSuccess;
 import static quickdocs.testutil.Assert.assertThrows;
 
+import java.util.Arrays;
+
 import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
@@ -11,6 +13,7 @@ import org.junit.Test;
 import quickdocs.logic.commands.ListPatientCommand;
 import quickdocs.logic.parser.exceptions.ParseException;
 import quickdocs.model.tag.Tag;
+import quickdocs.model.tag.TagQuery;
 
 public class ListPatientParserTest {
 
@@ -83,6 +86,32 @@ public class ListPatientParserTest {
         assertParseSuccess(parser, userInput, new ListPatientCommand(tag));
     }
 
+    @Test
+    public void parseListPatient_listByTags_success() {
+        String userInput = " t/Diabetes t/Gout|Asthma t/!Smoker";
+        assertParseSuccess(parser, userInput, new ListPatientCommand(
+                TagQuery.parse(Arrays.asList("Diabetes", "Gout|Asthma", "!Smoker"))));
+    }
+
+    @Test
+    public void parseListPatient_listPage_success() {
+        assertParseSuccess(parser, " page/3", ListPatientCommand.onPage(3));
+        assertParseSuccess(parser, " after/S9214538C", ListPatientCommand.afterNric("S9214538C"));
+    }
+
+    @Test
+    public void parseListPatient_listByFuzzyName_success() {
+        assertParseSuccess(parser, " f/Tan Ah Kou", ListPatientCommand.byFuzzyName("Tan Ah Kou"));
+    }
+
+    @Test
+    public void parseListPatient_invalidPage_failure() {
+        assertParseFailure(parser, " page/0", ListPatientParser.PAGE_INVALID);
+        assertParseFailure(parser, " page/-1", ListPatientParser.PAGE_INVALID);
+        assertParseFailure(parser, " page/abc", ListPatientParser.PAGE_INVALID);
+        assertParseFailure(parser, " page/99999999999", ListPatientParser.PAGE_INVALID);
+    }
+
     @Test
     public void parseListPatient_invalidTag_failure() {
         String userInput = " t/D1@b3t35";
@@ -0,0 +1,36 @@
+package quickdocs.logic.parser;
+
+import static quickdocs.commons.core.Messages.MESSAGE_INVALID_COMMAND_FORMAT;
+import static quickdocs.logic.parser.CommandParserTestUtil.assertParseFailure;
+import static quickdocs.logic.parser.CommandParserTestUtil.assertParseSuccess;
+
+import java.time.LocalDate;
+
+import org.junit.Test;
+
+import quickdocs.logic.commands.SearchConsultationCommand;
+import quickdocs.model.consultation.ConsultationTextQuery;
+
+public class SearchConsultationParserTest {
+
+    private SearchConsultationParser parser = new SearchConsultationParser();
+
+    @Test
+    public void parse_validArgs_returnsSearchConsultationCommand() {
+        assertParseSuccess(parser, " rash AND \"sore throat\"", new SearchConsultationCommand(
+                ConsultationTextQuery.parse("rash \"sore throat\""), LocalDate.MIN, LocalDate.MAX));
+        assertParseSuccess(parser, " rash from/2019-01-01 to/2019-12-31", new SearchConsultationCommand(
+                ConsultationTextQuery.parse("rash"), LocalDate.of(2019, 1, 1), LocalDate.of(2019, 12, 31)));
+    }
+
+    @Test
+    public void parse_invalidArgs_throwsParseException() {
+        assertParseFailure(parser, " ",
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, SearchConsultationCommand.MESSAGE_USAGE));
+        assertParseFailure(parser, " from/2019-01-01",
+                String.format(MESSAGE_INVALID_COMMAND_FORMAT, SearchConsultationCommand.MESSAGE_USAGE));
+        assertParseFailure(parser, " \"\" AND", ConsultationTextQuery.MESSAGE_EMPTY_QUERY);
+        assertParseFailure(parser, " rash from/2019-12-31 to/2019-01-01",
+                ListConsultationCommandParser.INVALID_DATE_RANGE);
+    }
+}
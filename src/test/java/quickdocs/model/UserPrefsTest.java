@@ -18,4 +18,10 @@ public class UserPrefsTest {
         Assert.assertThrows(NullPointerException.class, () -> userPrefs.setQuickDocsFilePath(null));
     }
 
+    @Test
+    public void setOpeningHours_nullOpeningHours_throwsNullPointerException() {
+        UserPrefs userPrefs = new UserPrefs();
+        Assert.assertThrows(NullPointerException.class, () -> userPrefs.setOpeningHours(null));
+    }
+
 }
@@ -1,21 +1,221 @@
 package quickdocs.model.appointment;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 import static quickdocs.testutil.TypicalAppointments.APP_A;
+import static quickdocs.testutil.TypicalAppointments.APP_B;
 import static quickdocs.testutil.TypicalAppointments.APP_C;
 import static quickdocs.testutil.TypicalAppointments.APP_E;
 import static quickdocs.testutil.TypicalAppointments.getTypicalAppointments;
+import static quickdocs.testutil.TypicalPatients.ALICE;
+import static quickdocs.testutil.TypicalPatients.BOB;
 
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
+import java.util.Optional;
 
+import org.junit.Assume;
 import org.junit.Test;
 
+import quickdocs.testutil.Assert;
+
 /**
  * Contains unit tests for {@code AppointmentManager}. Most methods are already tested by commands related
- * to {@code Appointment}s. Hence {@code AppointmentManagerTest} will only test for equals() method.
+ * to {@code Appointment}s. Hence {@code AppointmentManagerTest} mainly tests how the appointments are kept
+ * in order by date and time, and the equals() method.
  */
 public class AppointmentManagerTest {
+    private static final int BENCHMARK_DAYS = 365;
+
+    private static final LocalDate DATE = LocalDate.parse("2019-10-23");
+
+    @Test
+    public void addAppointment_unsortedAppointments_listedInOrder() {
+        AppointmentManager appMan = new AppointmentManager();
+        Appointment later = createAppointment(DATE, "15:00", "16:00");
+        Appointment earlier = createAppointment(DATE, "10:00", "11:00");
+        appMan.addAppointment(APP_C);
+        appMan.addAppointment(later);
+        appMan.addAppointment(APP_A);
+        appMan.addAppointment(earlier);
+
+        assertEquals(Arrays.asList(earlier, APP_A, later, APP_C), appMan.getAppointmentList());
+    }
+
+    @Test
+    public void hasTimeConflicts() {
+        AppointmentManager appMan = new AppointmentManager();
+        appMan.addAppointment(createAppointment(DATE, "10:00", "11:00"));
+        appMan.addAppointment(createAppointment(DATE, "13:00", "14:00"));
+
+        // back to back with existing appointments -> returns false
+        assertFalse(appMan.hasTimeConflicts(createAppointment(DATE, "11:00", "13:00")));
+        assertFalse(appMan.hasTimeConflicts(createAppointment(DATE, "09:00", "10:00")));
+        assertFalse(appMan.hasTimeConflicts(createAppointment(DATE, "14:00", "18:00")));
+
+        // same times on another day -> returns false
+        assertFalse(appMan.hasTimeConflicts(createAppointment(DATE.plusDays(1), "10:00", "11:00")));
+
+        // overlapping the start, the end or the whole of an existing appointment -> returns true
+        assertTrue(appMan.hasTimeConflicts(createAppointment(DATE, "09:00", "10:30")));
+        assertTrue(appMan.hasTimeConflicts(createAppointment(DATE, "10:30", "12:00")));
+        assertTrue(appMan.hasTimeConflicts(createAppointment(DATE, "12:00", "15:00")));
+        assertTrue(appMan.hasTimeConflicts(createAppointment(DATE, "13:15", "13:45")));
+    }
+
+    @Test
+    public void hasTimeConflicts_overlappingAppointmentsLoaded_conflictWithEarlierLongerAppointmentFound() {
+        AppointmentManager appMan = new AppointmentManager();
+        // older data files may hold appointments that overlap, which are loaded without checking for conflicts
+        assertTrue(appMan.addAllAppointments(Arrays.asList(createAppointment(DATE, "09:00", "12:00"),
+                createAppointment(DATE, "10:00", "10:30"))));
+
+        assertTrue(appMan.hasTimeConflicts(createAppointment(DATE, "11:00", "11:30")));
+        assertTrue(appMan.hasTimeConflicts(createAppointment(DATE, "11:30", "13:00")));
+        assertFalse(appMan.hasTimeConflicts(createAppointment(DATE, "12:00", "13:00")));
+        assertFalse(appMan.hasTimeConflicts(createAppointment(DATE, "08:00", "09:00")));
+    }
+
+    @Test
+    public void getAppointment() {
+        AppointmentManager appMan = new AppointmentManager();
+        appMan.addAppointment(APP_A);
+        appMan.addAppointment(APP_B);
+
+        assertEquals(Optional.of(APP_A), appMan.getAppointment(APP_A.getDate(), APP_A.getStart()));
+        assertEquals(Optional.empty(), appMan.getAppointment(APP_A.getDate(), APP_B.getStart()));
+        assertEquals(Optional.empty(), appMan.getAppointment(APP_C.getDate(), APP_C.getStart()));
+    }
+
+    @Test
+    public void delete_lastAppointmentOfDay_dayNoLongerListed() {
+        AppointmentManager appMan = new AppointmentManager();
+        appMan.addAppointment(APP_A);
+        appMan.addAppointment(APP_B);
+
+        appMan.delete(APP_A);
+        assertEquals(Collections.singletonList(APP_B), appMan.getAppointmentList());
+        assertEquals("", appMan.listAppointments(APP_A.getDate(), APP_A.getDate()));
+        assertFalse(appMan.hasDuplicateAppointment(APP_A));
+        assertFalse(appMan.hasTimeConflicts(APP_A));
+
+        // deleting an appointment that is not there leaves the appointments unchanged
+        appMan.delete(APP_A);
+        assertEquals(1, appMan.getAppointmentList().size());
+    }
+
+    @Test
+    public void listAppointments_dateRange_onlyAppointmentsInRangeListed() {
+        AppointmentManager appMan = new AppointmentManager();
+        for (Appointment app : getTypicalAppointments()) {
+            appMan.addAppointment(app);
+        }
+
+        assertEquals(appMan.listAppointments(Arrays.asList(APP_B, APP_C)),
+                appMan.listAppointments(APP_B.getDate(), APP_C.getDate()));
+        assertEquals("", appMan.listAppointments(APP_C.getDate(), APP_B.getDate()));
+    }
+
+    @Test
+    public void getAppointments_byNric_onlyAppointmentsOfPatientInOrder() {
+        AppointmentManager appMan = new AppointmentManager();
+        Appointment later = createAppointment(APP_B.getDate(), "09:00", "10:00");
+        appMan.addAppointment(later);
+        appMan.addAppointment(APP_B);
+        appMan.addAppointment(APP_A);
+
+        assertEquals(Arrays.asList(APP_A, later), new ArrayList<>(appMan.getAppointments(ALICE.getNric())));
+        assertEquals(Collections.singletonList(APP_B), new ArrayList<>(appMan.getAppointments(BOB.getNric())));
+        assertTrue(appMan.getAppointments(APP_C.getPatient().getNric()).isEmpty());
+        Assert.assertThrows(UnsupportedOperationException.class, () ->
+                appMan.getAppointments(ALICE.getNric()).clear());
+
+        appMan.delete(APP_A);
+        assertEquals(Collections.singletonList(later), new ArrayList<>(appMan.getAppointments(ALICE.getNric())));
+        appMan.delete(later);
+        assertTrue(appMan.getAppointments(ALICE.getNric()).isEmpty());
+    }
+
+    @Test
+    public void getUpcomingAndPastAppointments() {
+        AppointmentManager appMan = new AppointmentManager();
+        Appointment morning = createAppointment(DATE, "09:00", "10:00");
+        Appointment noon = createAppointment(DATE, "12:00", "13:00");
+        Appointment nextDay = createAppointment(DATE.plusDays(1), "09:00", "10:00");
+        assertTrue(appMan.addAllAppointments(Arrays.asList(nextDay, noon, morning, APP_B)));
+
+        // an appointment starting now is upcoming
+        LocalDateTime now = LocalDateTime.of(DATE, LocalTime.parse("12:00"));
+        assertEquals(Arrays.asList(noon, nextDay),
+                new ArrayList<>(appMan.getUpcomingAppointments(ALICE.getNric(), now)));
+        assertEquals(Collections.singletonList(morning),
+                new ArrayList<>(appMan.getPastAppointments(ALICE.getNric(), now)));
+
+        now = LocalDateTime.of(DATE, LocalTime.parse("12:01"));
+        assertEquals(Collections.singletonList(nextDay),
+                new ArrayList<>(appMan.getUpcomingAppointments(ALICE.getNric(), now)));
+        assertEquals(Arrays.asList(morning, noon),
+                new ArrayList<>(appMan.getPastAppointments(ALICE.getNric(), now)));
+
+        assertEquals(appMan.listAppointments(Arrays.asList(noon, nextDay)),
+                appMan.listAppointments(ALICE, DATE.atTime(12, 0), true));
+        assertEquals(appMan.listAppointments(Collections.singletonList(morning)),
+                appMan.listAppointments(ALICE, DATE.atTime(12, 0), false));
+        assertEquals("", appMan.listAppointments(BOB, LocalDateTime.MAX, true));
+    }
+
+    @Test
+    public void addAllAppointments_sameStartTime_keptInOrderAdded() {
+        // older data files may hold appointments that start at the same time
+        Appointment first = createAppointment(DATE, "10:00", "11:00");
+        Appointment second = new Appointment(BOB, DATE, LocalTime.parse("10:00"), LocalTime.parse("10:30"), "");
+        AppointmentManager appMan = new AppointmentManager();
+        assertTrue(appMan.addAllAppointments(Arrays.asList(first, second)));
+
+        assertEquals(Arrays.asList(first, second), appMan.getAppointmentList());
+        assertEquals(Optional.of(first), appMan.getAppointment(DATE, first.getStart()));
+        assertTrue(appMan.hasTimeConflicts(createAppointment(DATE, "10:45", "11:30")));
+
+        appMan.delete(first);
+        assertEquals(Optional.of(second), appMan.getAppointment(DATE, first.getStart()));
+    }
+
+    @Test
+    public void addAllAppointments_unsortedAppointments_sameOrderAsAddedOneByOne() {
+        List<Appointment> appointments = new ArrayList<>(getTypicalAppointments());
+        Collections.reverse(appointments);
+        AppointmentManager expected = new AppointmentManager();
+        for (Appointment app : appointments) {
+            expected.addAppointment(app);
+        }
+
+        AppointmentManager appMan = new AppointmentManager();
+        appMan.addAppointment(appointments.get(0));
+        assertTrue(appMan.addAllAppointments(appointments.subList(1, appointments.size())));
+        assertEquals(expected, appMan);
+    }
+
+    @Test
+    public void addAllAppointments_duplicateAppointments_returnsFalse() {
+        AppointmentManager appMan = new AppointmentManager();
+        appMan.addAppointment(APP_A);
+
+        // duplicate of an existing appointment
+        List<Appointment> appointments = new ArrayList<>(getTypicalAppointments());
+        assertFalse(appMan.addAllAppointments(appointments));
+
+        // duplicates within the added appointments
+        assertFalse(new AppointmentManager().addAllAppointments(Arrays.asList(APP_C, APP_E, APP_C)));
+        assertEquals(1, appMan.getAppointmentList().size());
+    }
+
     @Test
     public void equals() {
         // add some sample appointments into the manager
@@ -56,4 +256,53 @@ public class AppointmentManagerTest {
         appManB = new AppointmentManager();
         assertNotEquals(appManA, appManB);
     }
+
+    /**
+     * Prints the time taken to schedule and list a day of appointments after a year of appointments
+     * has been made, against the time taken with no earlier appointments.
+     * Only run when the {@code quickdocs.benchmark} system property is set.
+     */
+    @Test
+    public void benchmark_scheduleAfterYearOfAppointments() {
+        Assume.assumeTrue(Boolean.getBoolean("quickdocs.benchmark"));
+
+        AppointmentManager appMan = new AppointmentManager();
+        for (int day = 0; day < BENCHMARK_DAYS; day++) {
+            addDayOfAppointments(appMan, DATE.plusDays(day));
+        }
+        // warm up before timing
+        timeDayOfAppointments(new AppointmentManager(), DATE);
+        long emptyNanos = timeDayOfAppointments(new AppointmentManager(), DATE.plusDays(BENCHMARK_DAYS));
+        long fullNanos = timeDayOfAppointments(appMan, DATE.plusDays(BENCHMARK_DAYS));
+
+        System.out.println(String.format("%d appointments made: a day scheduled in %dus, against %dus with none",
+                appMan.getAppointmentList().size(), fullNanos / 1000, emptyNanos / 1000));
+    }
+
+    /**
+     * Returns the nanoseconds taken to add a day of appointments on {@code date} to {@code appMan},
+     * checking each for conflicts, and to list them.
+     */
+    private static long timeDayOfAppointments(AppointmentManager appMan, LocalDate date) {
+        long start = System.nanoTime();
+        addDayOfAppointments(appMan, date);
+        appMan.listAppointments(date, date);
+        return System.nanoTime() - start;
+    }
+
+    /**
+     * Adds appointments every 15 minutes of opening hours on {@code date} to {@code appMan}.
+     */
+    private static void addDayOfAppointments(AppointmentManager appMan, LocalDate date) {
+        for (LocalTime start = AppointmentManager.OPENING_HOUR; start.isBefore(AppointmentManager.CLOSING_HOUR);
+                start = start.plusMinutes(15)) {
+            Appointment app = new Appointment(ALICE, date, start, start.plusMinutes(15), "");
+            assertFalse(appMan.hasTimeConflicts(app));
+            appMan.addAppointment(app);
+        }
+    }
+
+    private static Appointment createAppointment(LocalDate date, String start, String end) {
+        return new Appointment(ALICE, date, LocalTime.parse(start), LocalTime.parse(end), "");
+    }
 }
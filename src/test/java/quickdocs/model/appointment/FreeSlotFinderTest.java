@@ -0,0 +1,138 @@
+package quickdocs.model.appointment;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static quickdocs.testutil.TypicalAppointments.APP_A;
+import static quickdocs.testutil.TypicalAppointments.APP_B;
+import static quickdocs.testutil.TypicalAppointments.APP_E;
+import static quickdocs.testutil.TypicalPatients.ALICE;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.EnumMap;
+import java.util.Map;
+
+import org.junit.Assume;
+import org.junit.Test;
+
+import quickdocs.commons.core.OpeningHours;
+
+/**
+ * Contains unit tests for {@code FreeSlotFinder}, and for listing free slots through {@code AppointmentManager}.
+ */
+public class FreeSlotFinderTest {
+    private static final int BENCHMARK_DAYS = 366;
+
+    // a Monday
+    private static final LocalDate MONDAY = LocalDate.parse("2019-10-21");
+
+    private final AppointmentManager appMan = new AppointmentManager();
+
+    @Test
+    public void listFreeSlots_defaultOpeningHours() {
+        appMan.addAppointment(APP_A);
+        appMan.addAppointment(APP_B);
+        appMan.addAppointment(APP_E);
+
+        // the day of APP_E is fully booked, and is left out
+        assertEquals("\n2019-10-22: " + FreeSlotFinder.MESSAGE_WHOLE_DAY_FREE
+                + "\n2019-10-23: 09:00 to 12:00, 13:00 to 18:00"
+                + "\n2019-10-24: 09:00 to 13:00, 14:00 to 18:00"
+                + "\n2019-10-25: " + FreeSlotFinder.MESSAGE_WHOLE_DAY_FREE
+                + "\n2019-10-27: " + FreeSlotFinder.MESSAGE_WHOLE_DAY_FREE,
+                appMan.listFreeSlots(LocalDate.parse("2019-10-22"), LocalDate.parse("2019-10-27")));
+    }
+
+    @Test
+    public void listFreeSlots_backToBackAppointments_noEmptySlots() {
+        appMan.addAppointment(createAppointment(MONDAY, "09:30", "10:15"));
+        appMan.addAppointment(createAppointment(MONDAY, "10:15", "10:45"));
+        appMan.addAppointment(createAppointment(MONDAY, "17:45", "18:00"));
+
+        assertEquals("\n2019-10-21: 09:00 to 09:30, 10:45 to 17:45", appMan.listFreeSlots(MONDAY, MONDAY));
+    }
+
+    @Test
+    public void listFreeSlots_openingHoursAndLunchBreaks() {
+        Map<DayOfWeek, OpeningHours> openingHours = new EnumMap<>(DayOfWeek.class);
+        openingHours.put(DayOfWeek.MONDAY, new OpeningHours(LocalTime.of(8, 30), LocalTime.of(17, 0),
+                LocalTime.of(12, 0), LocalTime.of(13, 0)));
+        openingHours.put(DayOfWeek.TUESDAY, new OpeningHours(LocalTime.of(10, 0), LocalTime.of(14, 0)));
+
+        // appointments outside of the opening hours or in the lunch break do not change the free slots
+        appMan.addAppointment(createAppointment(MONDAY, "12:15", "12:45"));
+        appMan.addAppointment(createAppointment(MONDAY, "16:30", "18:00"));
+        appMan.addAppointment(createAppointment(MONDAY.plusDays(1), "09:00", "10:00"));
+
+        // the clinic is closed from Wednesday to Sunday
+        assertEquals("\n2019-10-21: 08:30 to 12:00, 13:00 to 16:30"
+                + "\n2019-10-22: " + FreeSlotFinder.MESSAGE_WHOLE_DAY_FREE
+                + "\n2019-10-28: 08:30 to 12:00, 13:00 to 17:00",
+                appMan.listFreeSlots(MONDAY, MONDAY.plusDays(7), openingHours));
+
+        assertEquals("", appMan.listFreeSlots(MONDAY, MONDAY.plusDays(7), new EnumMap<>(DayOfWeek.class)));
+        assertEquals("", appMan.listFreeSlots(MONDAY.plusDays(1), MONDAY));
+    }
+
+    @Test
+    public void getFreeMinutes() {
+        DaySchedule schedule = new DaySchedule();
+        schedule.add(createAppointment(MONDAY, "10:00", "11:30"));
+        FreeSlotFinder finder = new FreeSlotFinder(OpeningHours.getDefaultWeek());
+
+        BitSet expected = new BitSet(FreeSlotFinder.MINUTES_PER_DAY);
+        expected.set(9 * 60, 10 * 60);
+        expected.set(11 * 60 + 30, 18 * 60);
+        assertEquals(expected, finder.getFreeMinutes(MONDAY, schedule));
+
+        expected.set(10 * 60, 11 * 60 + 30);
+        assertEquals(expected, finder.getFreeMinutes(MONDAY, null));
+        assertTrue(new FreeSlotFinder(new EnumMap<>(DayOfWeek.class)).getFreeMinutes(MONDAY, null).isEmpty());
+    }
+
+    @Test
+    public void listFreeSlots_longRange_sameAsEachDayInOrder() {
+        int days = FreeSlotFinder.PARALLEL_CHUNK_DAYS * 3 + 5;
+        for (int day = 0; day < days; day += 3) {
+            appMan.addAppointment(createAppointment(MONDAY.plusDays(day), "11:00", "12:30"));
+        }
+
+        StringBuilder expected = new StringBuilder();
+        for (int day = 0; day < days; day++) {
+            expected.append(appMan.listFreeSlots(MONDAY.plusDays(day), MONDAY.plusDays(day)));
+        }
+        assertEquals(expected.toString(), appMan.listFreeSlots(MONDAY, MONDAY.plusDays(days - 1)));
+    }
+
+    /**
+     * Prints the time taken to list the free slots of {@value #BENCHMARK_DAYS} days, with appointments every
+     * half an hour on every other day.
+     * Only run when the {@code quickdocs.benchmark} system property is set.
+     */
+    @Test
+    public void benchmark_listFreeSlots() {
+        Assume.assumeTrue(Boolean.getBoolean("quickdocs.benchmark"));
+
+        for (int day = 0; day < BENCHMARK_DAYS; day += 2) {
+            for (LocalTime start = LocalTime.of(9, 0); start.isBefore(LocalTime.of(18, 0));
+                    start = start.plusMinutes(60)) {
+                appMan.addAppointment(new Appointment(ALICE, MONDAY.plusDays(day), start, start.plusMinutes(30), ""));
+            }
+        }
+
+        // warm up before timing
+        appMan.listFreeSlots(MONDAY, MONDAY.plusDays(BENCHMARK_DAYS - 1));
+        long start = System.nanoTime();
+        String slots = appMan.listFreeSlots(MONDAY, MONDAY.plusDays(BENCHMARK_DAYS - 1));
+        long listMicros = (System.nanoTime() - start) / 1000;
+
+        System.out.println(String.format("%d days: free slots listed in %dus (%d characters)",
+                BENCHMARK_DAYS, listMicros, slots.length()));
+    }
+
+    private static Appointment createAppointment(LocalDate date, String start, String end) {
+        return new Appointment(ALICE, date, LocalTime.parse(start), LocalTime.parse(end), "");
+    }
+}
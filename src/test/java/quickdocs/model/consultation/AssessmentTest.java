@@ -1,6 +1,7 @@
 package quickdocs.model.consultation;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -36,4 +37,10 @@ public class AssessmentTest {
         assertFalse(assessment1.equals("abc"));
     }
 
+    @Test
+    public void of_sameAssessment_sameInstance() {
+        Assessment assessment = Assessment.of("Fever");
+        assertSame(assessment, Assessment.of(new String("Fever")));
+        assertSame(assessment, Assessment.intern(new Assessment("Fever")));
+    }
 }
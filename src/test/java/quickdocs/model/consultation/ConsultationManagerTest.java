@@ -1,11 +1,18 @@
 package quickdocs.model.consultation;
 
+import java.io.IOException;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.Before;
 import org.junit.Test;
 
+import quickdocs.commons.exceptions.DataConversionException;
 import quickdocs.model.medicine.Medicine;
 import quickdocs.model.patient.Address;
 import quickdocs.model.patient.Contact;
@@ -122,4 +129,259 @@ public class ConsultationManagerTest {
         org.junit.Assert.assertTrue(consultationManager.getConsultationList().size() == 1);
     }
 
+    @Test
+    public void listConsultation_storedConsultations_onlyLookedUpConsultationsLoaded() {
+        ConsultationManager lazyManager = new ConsultationManager(2);
+        ArrayList<Long> loadedLocations = new ArrayList<>();
+        ConsultationLoader loader = location -> {
+            loadedLocations.add(location);
+            return new Consultation((int) location, patient1, LocalDateTime.of(2019, 1, 1, 9, 0), null,
+                    new ArrayList<>());
+        };
+        for (int i = 0; i < 5; i++) {
+            String nric = i % 2 == 0 ? patient1.getNric().toString() : "S1234567A";
+            lazyManager.addStoredConsultation(ConsultationIndexEntry.ofStored(i, nric,
+                    LocalDateTime.of(2019, 1, 1, 9, 0), i), loader);
+        }
+
+        org.junit.Assert.assertEquals(5, lazyManager.getConsultationList().size());
+        org.junit.Assert.assertTrue(loadedLocations.isEmpty());
+
+        // only consultations of the patient are loaded
+        org.junit.Assert.assertEquals(3, lazyManager.listConsultation(patient1.getNric().toString()).size());
+        org.junit.Assert.assertEquals(Arrays.asList(0L, 2L, 4L), loadedLocations);
+
+        // consultations still in the cache are not loaded again, evicted ones are
+        Consultation cached = lazyManager.listConsultation(5);
+        org.junit.Assert.assertSame(cached, lazyManager.listConsultation(5));
+        lazyManager.listConsultation(1);
+        org.junit.Assert.assertEquals(Arrays.asList(0L, 2L, 4L, 0L), loadedLocations);
+    }
+
+    @Test
+    public void listConsultation_loadFails_throwsIllegalStateException() {
+        ConsultationLoader loader = location -> {
+            throw new DataConversionException(new IOException("missing"));
+        };
+        consultationManager.addStoredConsultation(ConsultationIndexEntry.ofStored(0,
+                patient1.getNric().toString(), LocalDateTime.of(2019, 1, 1, 9, 0), 0), loader);
+        Assert.assertThrows(IllegalStateException.class, () -> consultationManager.listConsultation(1));
+    }
+
+    @Test
+    public void listConsultation_addedOutOfOrder_patientConsultationsInSessionOrder() {
+        Patient otherPatient = new Patient(new Name("Mary Lim"), new Nric("S9123457C"), new Email("mlim@gmail.com"),
+                new Address("1 Simei Road"), new Contact("92222222"), new Gender("F"), new Dob("1992-02-02"),
+                new ArrayList<>());
+        consultationManager.addConsultation(new Consultation(0, patient1, LocalDateTime.of(2019, 3, 1, 9, 0),
+                null, new ArrayList<>()));
+        consultationManager.addConsultation(new Consultation(1, otherPatient, LocalDateTime.of(2019, 2, 1, 9, 0),
+                null, new ArrayList<>()));
+        consultationManager.addConsultation(new Consultation(2, patient1, LocalDateTime.of(2019, 1, 1, 9, 0),
+                null, new ArrayList<>()));
+        consultationManager.addConsultation(new Consultation(3, patient1, LocalDateTime.of(2019, 2, 1, 9, 0),
+                null, new ArrayList<>()));
+
+        ArrayList<Consultation> consultations = consultationManager.listConsultation(patient1.getNric().toString());
+        org.junit.Assert.assertEquals(3, consultations.size());
+        org.junit.Assert.assertEquals(2, consultations.get(0).getIndex());
+        org.junit.Assert.assertEquals(3, consultations.get(1).getIndex());
+        org.junit.Assert.assertEquals(0, consultations.get(2).getIndex());
+        org.junit.Assert.assertEquals(1, consultationManager.listConsultation("S9123457C").size());
+        org.junit.Assert.assertTrue(consultationManager.listConsultation("S1234567A").isEmpty());
+    }
+
+    @Test
+    public void listConsultation_afterEndConsultation_consultationListed() {
+        consultationManager.createConsultation(patient1);
+        Consultation consultation = consultationManager.getCurrentConsultation();
+        consultationManager.endConsultation();
+
+        ArrayList<Consultation> consultations = consultationManager.listConsultation(patient1.getNric().toString());
+        org.junit.Assert.assertEquals(1, consultations.size());
+        org.junit.Assert.assertSame(consultation, consultations.get(0));
+    }
+
+    @Test
+    public void listConsultation_rangeOfTime_consultationsWithinRangeInSessionOrder() {
+        // no consultations are kept in the cache, so every one looked up is loaded
+        ConsultationManager lazyManager = new ConsultationManager(0);
+        ArrayList<Long> loadedLocations = new ArrayList<>();
+        ConsultationLoader loader = location -> {
+            loadedLocations.add(location);
+            return new Consultation((int) location, patient1, LocalDateTime.of(2019, 3, 1, 9, 0), null,
+                    new ArrayList<>());
+        };
+        int[] days = {20, 1, 15, 10, 10, 28};
+        for (int i = 0; i < days.length; i++) {
+            String nric = i == 3 ? "S1234567A" : patient1.getNric().toString();
+            lazyManager.addStoredConsultation(ConsultationIndexEntry.ofStored(i, nric,
+                    LocalDateTime.of(2019, 3, days[i], 9, 0), i), loader);
+        }
+
+        // only the consultations within the range are loaded, in the order they were held
+        org.junit.Assert.assertEquals(4, lazyManager.listConsultation(LocalDateTime.of(2019, 3, 1, 9, 0),
+                LocalDateTime.of(2019, 3, 15, 9, 0), entry -> true).size());
+        org.junit.Assert.assertEquals(Arrays.asList(1L, 3L, 4L, 2L), loadedLocations);
+
+        // the filter is checked on the index before the consultations are loaded
+        loadedLocations.clear();
+        org.junit.Assert.assertEquals(1, lazyManager.listConsultation(LocalDateTime.of(2019, 3, 10, 0, 0),
+                LocalDateTime.of(2019, 3, 20, 0, 0), entry -> entry.getNric().equals("S1234567A")).size());
+        org.junit.Assert.assertEquals(Arrays.asList(3L), loadedLocations);
+
+        // both ends of the range are included
+        org.junit.Assert.assertEquals(1, lazyManager.listConsultation(LocalDateTime.of(2019, 3, 28, 9, 0),
+                LocalDateTime.of(2019, 3, 28, 9, 0), entry -> true).size());
+
+        org.junit.Assert.assertTrue(lazyManager.listConsultation(LocalDateTime.of(2019, 4, 1, 0, 0),
+                LocalDateTime.MAX, entry -> true).isEmpty());
+    }
+
+    @Test
+    public void searchConsultations_storedConsultations_indexedInParallelOnce() {
+        int count = 3 * ConsultationManager.TEXT_INDEX_CHUNK_SIZE + 5;
+        ConsultationManager lazyManager = new ConsultationManager(0);
+        AtomicInteger loadCount = new AtomicInteger();
+        ConsultationLoader loader = location -> {
+            loadCount.incrementAndGet();
+            String assessment = location % 100 == 0 ? "skin rash" : "fever";
+            return new Consultation((int) location, patient1, LocalDateTime.of(2019, 1, 1, 9, 0),
+                    new Diagnosis(new Assessment(assessment), new ArrayList<>(Arrays.asList(new Symptom("cough")))),
+                    new ArrayList<>());
+        };
+        for (int i = 0; i < count; i++) {
+            String nric = i == 100 ? "S1234567A" : patient1.getNric().toString();
+            lazyManager.addStoredConsultation(ConsultationIndexEntry.ofStored(i, nric,
+                    LocalDateTime.of(2019, 1, 1, 9, 0), i), loader);
+        }
+
+        List<Integer> positions = lazyManager.searchConsultations(ConsultationTextQuery.parse("rash cough"),
+            entry -> true);
+        org.junit.Assert.assertEquals((count + 99) / 100, positions.size());
+        org.junit.Assert.assertEquals(count, loadCount.get());
+
+        // the index is not built again, and the filter is checked on the index entries
+        org.junit.Assert.assertEquals(Arrays.asList(100), lazyManager.searchConsultations(
+                ConsultationTextQuery.parse("\"skin rash\""), entry -> entry.getNric().equals("S1234567A")));
+        org.junit.Assert.assertEquals(count, loadCount.get());
+    }
+
+    @Test
+    public void searchConsultations_indexStoredConsultations_indexedInBackground() throws Exception {
+        ConsultationManager lazyManager = new ConsultationManager(0);
+        CountDownLatch buildStarted = new CountDownLatch(1);
+        CountDownLatch loadsReleased = new CountDownLatch(1);
+        ConsultationLoader loader = location -> {
+            buildStarted.countDown();
+            try {
+                loadsReleased.await();
+            } catch (InterruptedException ie) {
+                throw new DataConversionException(ie);
+            }
+            return new Consultation((int) location, patient1, LocalDateTime.of(2019, 1, 1, 9, 0),
+                    new Diagnosis(new Assessment("skin rash"), new ArrayList<>(Arrays.asList(new Symptom("itch")))),
+                    new ArrayList<>());
+        };
+        for (int i = 0; i < 3; i++) {
+            lazyManager.addStoredConsultation(ConsultationIndexEntry.ofStored(i, patient1.getNric().toString(),
+                    LocalDateTime.of(2019, 1, 1, 9, 0), i), loader);
+        }
+
+        // the stored consultations are loaded without a search, and consultations can be ended meanwhile
+        lazyManager.indexStoredConsultations();
+        org.junit.Assert.assertTrue(buildStarted.await(10, TimeUnit.SECONDS));
+        lazyManager.createConsultation(patient1);
+        lazyManager.diagnosePatient(new Diagnosis(new Assessment("Gout"),
+                new ArrayList<>(Arrays.asList(new Symptom("swollen toe")))));
+        lazyManager.endConsultation();
+        loadsReleased.countDown();
+
+        org.junit.Assert.assertEquals(Arrays.asList(2, 1, 0), lazyManager.searchConsultations(
+                ConsultationTextQuery.parse("rash"), entry -> true));
+        org.junit.Assert.assertEquals(Arrays.asList(3), lazyManager.searchConsultations(
+                ConsultationTextQuery.parse("gout"), entry -> true));
+    }
+
+    @Test
+    public void searchConsultations_storedConsultationFailsToLoad_throwsIllegalStateException() {
+        ConsultationLoader loader = location -> {
+            throw new DataConversionException(new IOException("missing"));
+        };
+        consultationManager.addStoredConsultation(ConsultationIndexEntry.ofStored(0,
+                patient1.getNric().toString(), LocalDateTime.of(2019, 1, 1, 9, 0), 0), loader);
+        consultationManager.indexStoredConsultations();
+
+        // the failed build is not kept, so the next search tries to load the consultation again
+        Assert.assertThrows(IllegalStateException.class, () -> consultationManager.searchConsultations(
+                ConsultationTextQuery.parse("rash"), entry -> true));
+        Assert.assertThrows(IllegalStateException.class, () -> consultationManager.searchConsultations(
+                ConsultationTextQuery.parse("rash"), entry -> true));
+    }
+
+    @Test
+    public void searchConsultations_endConsultation_consultationIndexed() {
+        org.junit.Assert.assertTrue(consultationManager.searchConsultations(ConsultationTextQuery.parse("gout"),
+            entry -> true).isEmpty());
+
+        consultationManager.createConsultation(patient1);
+        consultationManager.diagnosePatient(new Diagnosis(new Assessment("Gout"),
+                new ArrayList<>(Arrays.asList(new Symptom("swollen toe")))));
+        consultationManager.endConsultation();
+
+        org.junit.Assert.assertEquals(Arrays.asList(0), consultationManager.searchConsultations(
+                ConsultationTextQuery.parse("gout \"swollen toe\""), entry -> true));
+    }
+
+    @Test
+    public void consultationSessions_severalDoctors_consultationsKeptApart() {
+        Patient patient2 = new Patient(new Name("Mary Lim"), new Nric("S9123457C"), new Email("mlim@gmail.com"),
+                new Address("1 Simei Road"), new Contact("92222222"), new Gender("F"), new Dob("1992-02-02"),
+                new ArrayList<>());
+        consultationManager.createConsultation("drtan", patient1);
+        consultationManager.createConsultation("drlim", patient2);
+        org.junit.Assert.assertFalse(consultationManager.checkConsultation());
+
+        Diagnosis diagnosis = new Diagnosis(new Assessment("flu"), new ArrayList<>(Arrays.asList(
+                new Symptom("fever"))));
+        consultationManager.diagnosePatient("drlim", diagnosis);
+        org.junit.Assert.assertNull(consultationManager.getCurrentConsultation("drtan").getDiagnosis());
+        Assert.assertThrows(IllegalArgumentException.class, () ->
+                consultationManager.diagnosePatient("drwong", diagnosis));
+
+        org.junit.Assert.assertEquals(diagnosis, consultationManager.endConsultation("drlim").getDiagnosis());
+        org.junit.Assert.assertFalse(consultationManager.checkConsultation("drlim"));
+        org.junit.Assert.assertTrue(consultationManager.checkConsultation("drtan"));
+        org.junit.Assert.assertEquals(1, consultationManager.listConsultation("S9123457C").size());
+
+        consultationManager.abortConsultation("drtan");
+        org.junit.Assert.assertFalse(consultationManager.checkConsultation("drtan"));
+    }
+
+    @Test
+    public void endConsultation_whileListingAndSearching_allConsultationsIndexed() throws Exception {
+        int count = 2000;
+        Thread doctor = new Thread(() -> {
+            for (int i = 0; i < count; i++) {
+                consultationManager.createConsultation("drtan", patient1);
+                consultationManager.diagnosePatient("drtan", new Diagnosis(new Assessment("Gout"),
+                        new ArrayList<>(Arrays.asList(new Symptom("swollen toe")))));
+                consultationManager.endConsultation("drtan");
+            }
+        });
+        doctor.start();
+
+        // consultations ended on the other thread are listed and searched while they are being indexed
+        while (doctor.isAlive()) {
+            consultationManager.listConsultation(patient1.getNric().toString());
+            consultationManager.searchConsultations(ConsultationTextQuery.parse("gout"), entry -> true);
+        }
+        doctor.join();
+
+        org.junit.Assert.assertEquals(count, consultationManager.listConsultation(
+                patient1.getNric().toString()).size());
+        org.junit.Assert.assertEquals(count, consultationManager.searchConsultations(
+                ConsultationTextQuery.parse("gout"), entry -> true).size());
+    }
+
 }
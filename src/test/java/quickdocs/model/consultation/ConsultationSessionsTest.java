@@ -0,0 +1,133 @@
+package quickdocs.model.consultation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static quickdocs.testutil.TypicalPatients.ALICE;
+import static quickdocs.testutil.TypicalPatients.BOB;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+import quickdocs.model.patient.Address;
+import quickdocs.model.patient.Contact;
+import quickdocs.model.patient.Dob;
+import quickdocs.model.patient.Email;
+import quickdocs.model.patient.Gender;
+import quickdocs.model.patient.Name;
+import quickdocs.model.patient.Nric;
+import quickdocs.model.patient.Patient;
+import quickdocs.testutil.Assert;
+
+public class ConsultationSessionsTest {
+
+    private static final int THREAD_COUNT = 8;
+
+    private final ConsultationSessions sessions = new ConsultationSessions();
+
+    @Test
+    public void start_severalSessions_eachHeldSeparately() {
+        Consultation first = sessions.start("room1", ALICE);
+        Consultation second = sessions.start("room2", BOB);
+
+        assertSame(first, sessions.get("room1").get());
+        assertSame(second, sessions.get("room2").get());
+        assertFalse(sessions.get(ConsultationSessions.DEFAULT_SESSION_ID).isPresent());
+        assertEquals(2, sessions.getSessions().size());
+    }
+
+    @Test
+    public void start_sessionInProgressOrPatientInAnotherSession_throwsIllegalArgumentException() {
+        sessions.start("room1", ALICE);
+        Assert.assertThrows(IllegalArgumentException.class, ConsultationSessions.MESSAGE_SESSION_IN_PROGRESS, () ->
+                sessions.start("room1", BOB));
+        Assert.assertThrows(IllegalArgumentException.class,
+                String.format(ConsultationSessions.MESSAGE_PATIENT_IN_SESSION, ALICE.getNric()), () ->
+                sessions.start("room2", ALICE));
+    }
+
+    @Test
+    public void updateAndEnd_sessionInProgressOrNot() {
+        assertFalse(sessions.update("room1", consultation -> consultation.setPrescriptions(new ArrayList<>())));
+        assertNull(sessions.end("room1"));
+
+        Consultation consultation = sessions.start("room1", ALICE);
+        assertTrue(sessions.update("room1", started -> started.setPrescriptions(new ArrayList<>())));
+        assertTrue(consultation.getPrescriptions().isEmpty());
+        assertSame(consultation, sessions.end("room1"));
+        assertFalse(sessions.get("room1").isPresent());
+
+        // the session can be used again once it is ended
+        sessions.start("room1", ALICE);
+    }
+
+    @Test
+    public void start_samePatientFromSeveralThreads_onlyOneSessionStarted() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Callable<Boolean>> tasks = new ArrayList<>();
+            for (int i = 0; i < THREAD_COUNT; i++) {
+                String sessionId = "room" + i;
+                tasks.add(() -> {
+                    try {
+                        sessions.start(sessionId, ALICE);
+                        return true;
+                    } catch (IllegalArgumentException iae) {
+                        return false;
+                    }
+                });
+            }
+
+            int startedCount = 0;
+            for (Future<Boolean> started : executor.invokeAll(tasks)) {
+                startedCount += started.get() ? 1 : 0;
+            }
+            assertEquals(1, startedCount);
+            assertEquals(1, sessions.getSessions().size());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    public void endConsultation_sessionsEndedFromSeveralThreads_allIndexed() throws Exception {
+        ConsultationManager consultationManager = new ConsultationManager();
+        int sessionCount = THREAD_COUNT * 50;
+        for (int i = 0; i < sessionCount; i++) {
+            consultationManager.createConsultation("room" + i, patient(i));
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        try {
+            List<Callable<Consultation>> tasks = new ArrayList<>();
+            for (int i = 0; i < sessionCount; i++) {
+                String sessionId = "room" + i;
+                tasks.add(() -> consultationManager.endConsultation(sessionId));
+            }
+            executor.invokeAll(tasks);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(sessionCount, consultationManager.getConsultationCount());
+        assertTrue(consultationManager.getSessions().getSessions().isEmpty());
+        // each consultation is given its own index
+        for (int i = 0; i < sessionCount; i++) {
+            assertEquals(i, consultationManager.getConsultationList().get(i).getIndex());
+        }
+    }
+
+    private static Patient patient(int number) {
+        return new Patient(new Name("Patient " + number), new Nric(String.format("S%07dA", number)),
+                new Email("patient@gmail.com"), new Address("1 Simei Road"), new Contact("91111111"),
+                new Gender("F"), new Dob("1990-01-01"), new ArrayList<>());
+    }
+}
@@ -0,0 +1,77 @@
+package quickdocs.model.consultation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static quickdocs.testutil.TypicalPatients.ALICE;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ConsultationTextIndexTest {
+
+    private ConsultationTextIndex index;
+
+    @Before
+    public void init() {
+        index = new ConsultationTextIndex();
+        index.add(0, consultation("viral fever", "sore throat", "rash"));
+        index.add(1, consultation("eczema", "itchy rash", "rash on arms"));
+        index.add(2, consultation("throat infection", "sore", "cough"));
+        index.add(3, consultation("flu", "sore throat", "fever"));
+        index.add(4, new Consultation(4, ALICE, LocalDateTime.of(2019, 1, 1, 9, 0), null, new ArrayList<>()));
+    }
+
+    @Test
+    public void search_term_consultationsWithTerm() {
+        assertEquals(Arrays.asList(3, 0), index.search(ConsultationTextQuery.parse("fever")));
+        assertTrue(index.search(ConsultationTextQuery.parse("headache")).isEmpty());
+    }
+
+    @Test
+    public void search_phrase_wordsNextToEachOtherWithinField() {
+        // consultation 2 has both words, but in different fields
+        assertEquals(Arrays.asList(3, 0), index.search(ConsultationTextQuery.parse("\"sore throat\"")));
+        assertTrue(index.search(ConsultationTextQuery.parse("\"throat sore\"")).isEmpty());
+        assertEquals(Arrays.asList(3, 2, 0), index.search(ConsultationTextQuery.parse("sore throat")));
+    }
+
+    @Test
+    public void search_severalClauses_consultationsMatchingAll() {
+        assertEquals(Arrays.asList(0), index.search(ConsultationTextQuery.parse("rash AND \"sore throat\"")));
+        assertTrue(index.search(ConsultationTextQuery.parse("eczema fever")).isEmpty());
+    }
+
+    @Test
+    public void search_ranking_frequentAndRareWordsFirst() {
+        // rash is found twice in consultation 1
+        assertEquals(Arrays.asList(1, 0), index.search(ConsultationTextQuery.parse("rash")));
+        // cough is rarer than sore, so it counts for more
+        assertEquals(Arrays.asList(2), index.search(ConsultationTextQuery.parse("cough sore")));
+    }
+
+    @Test
+    public void addAll_laterConsultations_searchedTogether() {
+        ConsultationTextIndex laterIndex = new ConsultationTextIndex();
+        laterIndex.add(5, consultation("fever", "rash"));
+        index.addAll(laterIndex);
+
+        assertEquals(6, index.getConsultationCount());
+        assertEquals(Arrays.asList(5, 0), index.search(ConsultationTextQuery.parse("fever rash")));
+    }
+
+    /**
+     * Returns a consultation diagnosed with {@code assessment} and {@code symptoms}.
+     */
+    private static Consultation consultation(String assessment, String... symptoms) {
+        ArrayList<Symptom> symptomList = new ArrayList<>();
+        for (String symptom : symptoms) {
+            symptomList.add(new Symptom(symptom));
+        }
+        return new Consultation(0, ALICE, LocalDateTime.of(2019, 1, 1, 9, 0),
+                new Diagnosis(new Assessment(assessment), symptomList), new ArrayList<>());
+    }
+}
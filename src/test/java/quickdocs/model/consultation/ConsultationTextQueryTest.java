@@ -0,0 +1,41 @@
+package quickdocs.model.consultation;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import quickdocs.testutil.Assert;
+
+public class ConsultationTextQueryTest {
+
+    @Test
+    public void parse_termsAndPhrases_clausesInOrder() {
+        ConsultationTextQuery query = ConsultationTextQuery.parse("Rash AND \"sore  Throat\" fever");
+        assertEquals(Arrays.asList(Collections.singletonList("rash"), Arrays.asList("sore", "throat"),
+                Collections.singletonList("fever")), query.getClauses());
+        assertEquals("rash AND \"sore throat\" AND fever", query.toString());
+    }
+
+    @Test
+    public void parse_repeatedAndJoinedTerms_repeatsDroppedAndJoinedTermsAsPhrases() {
+        ConsultationTextQuery query = ConsultationTextQuery.parse("rash RASH sore-throat \"unclosed phrase");
+        assertEquals(Arrays.asList(Collections.singletonList("rash"), Arrays.asList("sore", "throat"),
+                Arrays.asList("unclosed", "phrase")), query.getClauses());
+    }
+
+    @Test
+    public void parse_noWords_throwsIllegalArgumentException() {
+        Assert.assertThrows(IllegalArgumentException.class, ConsultationTextQuery.MESSAGE_EMPTY_QUERY, () ->
+                ConsultationTextQuery.parse(" AND \"\" - "));
+    }
+
+    @Test
+    public void equals() {
+        assertEquals(ConsultationTextQuery.parse("rash fever"), ConsultationTextQuery.parse("Rash AND fever"));
+        assertNotEquals(ConsultationTextQuery.parse("rash fever"), ConsultationTextQuery.parse("\"rash fever\""));
+    }
+}
@@ -1,6 +1,7 @@
 package quickdocs.model.consultation;
 
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertTrue;
 
 import org.junit.Test;
@@ -35,4 +36,12 @@ public class SymptomTest {
 
         assertFalse(symptom1.equals("1"));
     }
+
+    @Test
+    public void of_sameSymptom_sameInstance() {
+        Symptom symptom = Symptom.of("Runny nose");
+        assertSame(symptom, Symptom.of(new String("Runny nose")));
+        assertSame(symptom, Symptom.intern(new Symptom("Runny nose")));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Symptom.of("Coughing&"));
+    }
 }
@@ -1,5 +1,6 @@
 package quickdocs.model.patient;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -50,6 +51,12 @@ public class DobTest {
 
     }
 
+    @Test
+    public void constructor_unpaddedMonthAndDay_normalised() {
+        assertEquals("1990-01-05", new Dob("1990-1-5").toString());
+        assertTrue(new Dob("1990-01-05").equals(new Dob("1990-1-05")));
+    }
+
     @Test
     public void equals() {
         Dob dob1 = new Dob("1999-09-09");
@@ -0,0 +1,77 @@
+package quickdocs.model.patient;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+import quickdocs.model.tag.Tag;
+
+public class FuzzyNameIndexTest {
+
+    private static final String[] NAME_PARTS = {"tan", "lim", "ng", "ah", "kow", "kou", "mei", "ling", "wei", "lee"};
+
+    @Test
+    public void getEditDistance() {
+        assertEquals(0, FuzzyNameIndex.getEditDistance("tan ah kow", "tan ah kow"));
+        assertEquals(1, FuzzyNameIndex.getEditDistance("tan ah kow", "tan ah kou"));
+        assertEquals(2, FuzzyNameIndex.getEditDistance("tan ah kow", "tan a kou"));
+        assertEquals(3, FuzzyNameIndex.getEditDistance("", "tan"));
+        assertEquals(3, FuzzyNameIndex.getEditDistance("kitten", "sitting"));
+    }
+
+    @Test
+    public void toPhoneticKey_soundAlikeNames_sameKey() {
+        assertEquals("T500 A000 K000", FuzzyNameIndex.toPhoneticKey("tan ah kow"));
+        assertEquals(FuzzyNameIndex.toPhoneticKey("tan ah kow"), FuzzyNameIndex.toPhoneticKey("tan ah kou"));
+        assertEquals("R163", FuzzyNameIndex.toPhoneticKey("robert"));
+        assertEquals(FuzzyNameIndex.toPhoneticKey("robert"), FuzzyNameIndex.toPhoneticKey("rupert"));
+        assertEquals("A261", FuzzyNameIndex.toPhoneticKey("ashcraft"));
+        assertEquals("007", FuzzyNameIndex.toPhoneticKey("007"));
+    }
+
+    @Test
+    public void search_randomNames_sameAsCheckingEveryName() {
+        Random random = new Random(2019);
+        FuzzyNameIndex index = new FuzzyNameIndex();
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            String name = NAME_PARTS[random.nextInt(NAME_PARTS.length)] + " "
+                    + NAME_PARTS[random.nextInt(NAME_PARTS.length)];
+            Patient patient = createPatient(name, String.format("T%07dA", i));
+            patients.add(patient);
+            index.add(patient);
+        }
+        for (Patient patient : patients.subList(0, 100)) {
+            index.remove(patient);
+        }
+
+        for (String search : new String[] {"tan ah", "lim mei", "ng wei", "le ling", "kow"}) {
+            for (int maxDistance = 0; maxDistance <= 3; maxDistance++) {
+                Map<Nric, Integer> expected = new HashMap<>();
+                for (Patient patient : patients.subList(100, patients.size())) {
+                    int distance = FuzzyNameIndex.getEditDistance(search, patient.getName().toString());
+                    if (distance <= maxDistance) {
+                        expected.put(patient.getNric(), distance);
+                    }
+                }
+                assertEquals(search + " " + maxDistance, expected, index.search(search, maxDistance));
+            }
+        }
+        assertTrue(index.searchSoundAlikes("tan ah").stream().noneMatch(nric -> patients.subList(0, 100)
+                .stream().anyMatch(patient -> patient.getNric().equals(nric))));
+    }
+
+    private Patient createPatient(String name, String nric) {
+        return new Patient(new Name(name), new Nric(nric), new Email("ptoh@gmail.com"), new Address("2 Simei Road"),
+                new Contact("92222222"), new Gender("F"), new Dob("1993-03-03"), new ArrayList<Tag>(
+                Collections.emptyList()));
+    }
+}
@@ -1,5 +1,6 @@
 package quickdocs.model.patient;
 
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
@@ -58,4 +59,9 @@ public class NricTest {
         Nric nric3 = new Nric("S5072487E");
         assertFalse(nric.equals(nric3));
     }
+
+    @Test
+    public void hashCode_equalNrics_sameHashCode() {
+        assertEquals(new Nric("F2131944U").hashCode(), new Nric("F2131944U").hashCode());
+    }
 }
@@ -5,14 +5,21 @@ import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 
 import org.junit.Assert;
+import org.junit.Assume;
 import org.junit.Before;
 import org.junit.Test;
 
 import quickdocs.model.tag.Tag;
+import quickdocs.model.tag.TagQuery;
 
 public class PatientManagerTest {
+    private static final int BENCHMARK_PATIENTS = 1_000_000;
+
     private static PatientManager patientManager;
 
     @Before
@@ -75,6 +82,27 @@ public class PatientManagerTest {
         Assert.assertTrue(patientManager.getPatientList().size() == 2);
     }
 
+    @Test
+    public void addAllPatients_noDuplicates_patientsAddedInOrder() {
+        Patient patient2 = createPatient("Pepper Toh", "S9123456B");
+        Patient patient3 = createPatient("Paul Lim", "S9123456C");
+        assertTrue(patientManager.addAllPatients(Arrays.asList(patient2, patient3)));
+        assertEquals(Arrays.asList(patientManager.getPatientAtIndex(0), patient2, patient3),
+                patientManager.getPatientList());
+    }
+
+    @Test
+    public void addAllPatients_duplicateNric_patientsUnchanged() {
+        Patient patient2 = createPatient("Pepper Toh", "S9123456B");
+
+        // same NRIC as an existing patient
+        assertFalse(patientManager.addAllPatients(Arrays.asList(patient2, createPatient("Paul Lim", "S9123456A"))));
+
+        // same NRIC within the added patients
+        assertFalse(patientManager.addAllPatients(Arrays.asList(patient2, createPatient("Paul Lim", "S9123456B"))));
+        assertEquals(1, patientManager.getPatientList().size());
+    }
+
     @Test
     public void isPatientListEmpty_isEmpty_returnsTrue() {
         patientManager = new PatientManager();
@@ -239,6 +267,204 @@ public class PatientManagerTest {
         assertEquals(patientManager.findPatientsByNric("S88"), "No patient record found");
     }
 
+    @Test
+    public void findPatientsByName_afterEditsAndDeletions_sameAsCheckingEveryName() {
+        String[] names = {"Tan Ah Kow", "Tania Lim", "Stan Lee", "Lim Tan", "Ng Tian Seng", "Natan", "Ahmad"};
+        for (int i = 0; i < names.length; i++) {
+            patientManager.addPatient(createPatient(names[i], String.format("T%07dA", i)));
+        }
+        patientManager.replacePatient(2, createPatient("Stanley Ng", "T0000001A"));
+        patientManager.replacePatient(5, createPatient("Tanaka", "S9876543Z"));
+        patientManager.deletePatientByNric("T0000003A");
+
+        for (String search : new String[] {"tan", "TAN", "an", "n", "tan ", "ng", "lee", "kow", "stanley", "ana",
+            "xyz", "Tan Ah Kow", ""}) {
+            ArrayList<Patient> expectedPatients = new ArrayList<>();
+            ArrayList<Integer> expectedIndexes = new ArrayList<>();
+            for (int i = 0; i < patientManager.getPatientList().size(); i++) {
+                Patient patient = patientManager.getPatientAtIndex(i);
+                if (patient.getName().toString().toLowerCase().contains(search.toLowerCase())) {
+                    expectedPatients.add(patient);
+                    expectedIndexes.add(i + 1);
+                }
+            }
+
+            String expected = expectedPatients.isEmpty() ? "No patient record found"
+                    : expectedPatients.size() == 1 ? expectedPatients.get(0).toString()
+                    : PatientManager.formatMultiplePatients(expectedPatients, expectedIndexes);
+            assertEquals(search, expected, patientManager.findPatientsByName(search));
+        }
+    }
+
+    @Test
+    public void findPatientsByTags_afterEditsAndDeletions_positionsUpdated() {
+        Tag diabetes = new Tag("diabetes");
+        Tag gout = new Tag("gout");
+        Patient patient2 = createPatient("Pepper Toh", "S9123456B");
+        patient2.getTagList().add(diabetes);
+        Patient patient3 = createPatient("Paul Lim", "S9123456C");
+        patient3.getTagList().add(diabetes);
+        patient3.getTagList().add(gout);
+        Patient patient4 = createPatient("Perry Ng", "S9123456D");
+        patientManager.addAllPatients(Arrays.asList(patient2, patient3, patient4));
+
+        patientManager.deletePatientByNric("S9123456A");
+        Patient editedPatient4 = createPatient("Perry Ng", "S9123456D");
+        editedPatient4.getTagList().add(gout);
+        patientManager.replacePatient(2, editedPatient4);
+
+        assertEquals(PatientManager.formatMultiplePatients(new ArrayList<>(Arrays.asList(patient2, patient3)),
+                new ArrayList<>(Arrays.asList(1, 2))), patientManager.findPatientsByTag(diabetes));
+        assertEquals(patient3.toString(), patientManager.findPatientsByTags(
+                TagQuery.parse(Arrays.asList("diabetes", "gout"))));
+        assertEquals(editedPatient4.toString(), patientManager.findPatientsByTags(
+                TagQuery.parse(Arrays.asList("gout|asthma", "!diabetes"))));
+        assertEquals("No patient record found", patientManager.findPatientsByTag(new Tag("asthma")));
+    }
+
+    @Test
+    public void findPatientsByFuzzyName_misspeltName_closestPatientsListed() {
+        Patient tanAhKow = createPatient("Tan Ah Kow", "S9123456B");
+        Patient tanAhKau = createPatient("Tan Ah Kau", "S9123456C");
+        Patient robert = createPatient("Robert Lim", "S9123456D");
+        patientManager.addAllPatients(Arrays.asList(tanAhKow, tanAhKau, robert));
+
+        // the closest names are listed first
+        assertEquals(PatientManager.formatMultiplePatients(new ArrayList<>(Arrays.asList(tanAhKow, tanAhKau)),
+                new ArrayList<>(Arrays.asList(2, 3))), patientManager.findPatientsByFuzzyName("tan ah kou"));
+
+        // names that sound the same are found even when their spellings are far apart
+        assertEquals(robert.toString(), patientManager.findPatientsByFuzzyName("Rupert Lym"));
+
+        patientManager.deletePatientByNric("S9123456D");
+        assertEquals("No patient record found", patientManager.findPatientsByFuzzyName("Rupert Lym"));
+    }
+
+    @Test
+    public void findPatientsByFuzzyName_changedWhileIndexing_changesApplied() {
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            patients.add(createPatient("Peter Tan", String.format("T%07dA", i)));
+        }
+        Patient robert = createPatient("Robert Lim", "S9123456D");
+        patients.add(robert);
+        patientManager = new PatientManager();
+        patientManager.addAllPatients(patients);
+
+        // changes made before the index of names is built are applied once it is
+        patientManager.deletePatientByNric("S9123456D");
+        patientManager.addPatient(createPatient("Mary Lim", "S9123456E"));
+        patientManager.addAllPatients(Arrays.asList(robert));
+        patientManager.replacePatient(0, createPatient("Susan Tan", "T0000000A"));
+
+        assertEquals(robert.toString(), patientManager.findPatientsByFuzzyName("Rupert Lym"));
+        assertEquals(patientManager.getPatientByNric("S9123456E").toString(),
+                patientManager.findPatientsByFuzzyName("Marie Lim"));
+        assertEquals(patientManager.getPatientAtIndex(0).toString(),
+                patientManager.findPatientsByFuzzyName("Suzan Tan"));
+    }
+
+    /**
+     * Prints the time taken for searches by misspelt names among {@value #BENCHMARK_PATIENTS} patients.
+     * Only run when the {@code quickdocs.benchmark} system property is set.
+     */
+    @Test
+    public void benchmark_fuzzyNameSearch() {
+        Assume.assumeTrue(Boolean.getBoolean("quickdocs.benchmark"));
+
+        String[] surnames = {"Tan", "Lim", "Lee", "Ng", "Ong", "Wong", "Goh", "Chua", "Chan", "Koh", "Teo", "Ang"};
+        Random random = new Random(2019);
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < BENCHMARK_PATIENTS; i++) {
+            StringBuilder givenName = new StringBuilder();
+            for (int j = 0; j < 6; j++) {
+                givenName.append((char) ('a' + random.nextInt(26)));
+            }
+            patients.add(createPatient(surnames[random.nextInt(surnames.length)] + " " + givenName,
+                    String.format("T%07dA", i)));
+        }
+        patientManager = new PatientManager();
+        long start = System.nanoTime();
+        patientManager.addAllPatients(patients);
+        long addMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // the first search waits for the index of names to be built in the background
+        start = System.nanoTime();
+        patientManager.findPatientsByFuzzyName("Tan");
+        long indexMillis = (System.nanoTime() - start) / 1_000_000;
+
+        int searches = 100;
+        start = System.nanoTime();
+        for (int i = 0; i < searches; i++) {
+            String name = patients.get(random.nextInt(BENCHMARK_PATIENTS)).getName().toString();
+            String misspeltName = name.substring(0, name.length() - 1) + "x";
+            assertFalse(patientManager.findPatientsByFuzzyName(misspeltName).equals("No patient record found"));
+        }
+        long searchMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println(String.format("%d patients: added in %dms, first search %dms, %d fuzzy searches %dms",
+                BENCHMARK_PATIENTS, addMillis, indexMillis, searches, searchMillis));
+    }
+
+    @Test
+    public void listPatientsOnPage_manyPatients_onlyPageListed() {
+        patientManager = new PatientManager();
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < PatientManager.PAGE_SIZE * 2 + 1; i++) {
+            patients.add(createPatient("Peter Tan", String.format("T%07dA", i)));
+        }
+        patientManager.addAllPatients(patients);
+
+        String secondPage = patientManager.listPatientsOnPage(2);
+        assertTrue(secondPage.startsWith((PatientManager.PAGE_SIZE + 1) + ") Peter Tan T0000050A"));
+        assertTrue(secondPage.contains(PatientManager.PAGE_SIZE * 2 + ") Peter Tan T0000099A"));
+        assertTrue(secondPage.endsWith(String.format(PatientManager.MESSAGE_NEXT_PAGE, 3)));
+
+        // the last page has no next page
+        assertEquals(PatientManager.formatMultiplePatients(new ArrayList<>(patients.subList(100, 101)),
+                new ArrayList<>(Arrays.asList(101))), patientManager.listPatientsOnPage(3));
+        assertEquals("No patient record found", patientManager.listPatientsOnPage(4));
+        assertEquals("No patient record found", patientManager.listPatientsOnPage(Integer.MAX_VALUE));
+    }
+
+    @Test
+    public void listPatientsAfterNric_manyPatients_nextNricsListed() {
+        patientManager = new PatientManager();
+        List<Patient> patients = new ArrayList<>();
+        for (int i = PatientManager.PAGE_SIZE * 2; i >= 0; i--) {
+            patients.add(createPatient("Peter Tan", String.format("T%07dA", i)));
+        }
+        patientManager.addAllPatients(patients);
+
+        // patients are listed in the order of their NRICs, with their index in the patient list
+        String page = patientManager.listPatientsAfterNric("t0000009a");
+        assertTrue(page.startsWith("91) Peter Tan T0000010A"));
+        assertTrue(page.endsWith(String.format(PatientManager.MESSAGE_NEXT_NRIC_PAGE, "T0000059A")));
+
+        assertEquals(PatientManager.formatMultiplePatients(new ArrayList<>(patients.subList(0, 1)),
+                new ArrayList<>(Arrays.asList(1))), patientManager.listPatientsAfterNric("T0000099A"));
+        assertEquals("No patient record found", patientManager.listPatientsAfterNric("T0000100A"));
+    }
+
+    @Test
+    public void findPatientsByNric_prefixSearch_listOrderAndLiteralMatch() {
+        Patient patient2 = createPatient("Pepper Toh", "S9123457B");
+        Patient patient3 = createPatient("Paul Lim", "S9023456C");
+        patientManager.addPatient(patient2);
+        patientManager.addPatient(patient3);
+        patientManager.deletePatientByNric("S9123456A");
+
+        // matches are listed in the order of the patient list, ignoring case
+        assertEquals(PatientManager.formatMultiplePatients(new ArrayList<>(Arrays.asList(patient2, patient3)),
+                new ArrayList<>(Arrays.asList(1, 2))), patientManager.findPatientsByNric("s9"));
+        assertEquals(patient3.toString(), patientManager.findPatientsByNric("S902"));
+
+        // regular expression characters are matched literally
+        assertEquals("No patient record found", patientManager.findPatientsByNric("S9.2"));
+        assertEquals("No patient record found", patientManager.findPatientsByNric("S9[0"));
+        assertEquals("No patient record found", patientManager.findPatientsByNric("S9123456A"));
+    }
+
 
     @Test
     public void findPatientByTag() {
@@ -327,6 +553,69 @@ public class PatientManagerTest {
         assertTrue(patientManager.getPatientList().size() == 0);
     }
 
+    @Test
+    public void deletePatientByNric_patientsAfterDeleted_stillFoundByNric() {
+        Patient patient2 = createPatient("Pepper Toh", "S9123456B");
+        Patient patient3 = createPatient("Paul Lim", "S9123456C");
+        patientManager.addPatient(patient2);
+        patientManager.addPatient(patient3);
+
+        patientManager.deletePatientByNric("S9123456A");
+        assertEquals(0, patientManager.getIndexByNric(new Nric("S9123456B")));
+        assertEquals(1, patientManager.getIndexByNric(new Nric("S9123456C")));
+        assertEquals(-1, patientManager.getIndexByNric(new Nric("S9123456A")));
+        assertEquals(patient3, patientManager.getPatientByNric(new Nric("S9123456C")).get());
+
+        // invalid NRICs cannot belong to any patient
+        patientManager.deletePatientByNric("not an nric");
+        assertEquals(null, patientManager.getPatientByNric("not an nric"));
+        assertEquals(2, patientManager.getPatientList().size());
+    }
+
+    @Test
+    public void replacePatient_nricChanged_foundByNewNric() {
+        patientManager.addPatient(createPatient("Pepper Toh", "S9123456B"));
+        Patient editedPatient = createPatient("Peter Tan", "S9123456C");
+        patientManager.replacePatient(0, editedPatient);
+
+        assertFalse(patientManager.getPatientByNric(new Nric("S9123456A")).isPresent());
+        assertEquals(0, patientManager.getIndexByNric(new Nric("S9123456C")));
+        assertTrue(patientManager.isDuplicatePatient(editedPatient));
+        assertFalse(patientManager.checkDuplicatePatientAfterEdit(0, editedPatient));
+        assertTrue(patientManager.checkDuplicatePatientAfterEdit(1, editedPatient));
+    }
+
+    /**
+     * Prints the time taken to add {@value #BENCHMARK_PATIENTS} patients and to look each of them up
+     * by NRIC.
+     * Only run when the {@code quickdocs.benchmark} system property is set.
+     */
+    @Test
+    public void benchmark_nricLookups() {
+        Assume.assumeTrue(Boolean.getBoolean("quickdocs.benchmark"));
+
+        List<Patient> patients = new ArrayList<>();
+        for (int i = 0; i < BENCHMARK_PATIENTS; i++) {
+            patients.add(createPatient("Peter Tan", String.format("T%07dA", i)));
+        }
+        patientManager = new PatientManager();
+        long start = System.nanoTime();
+        assertTrue(patientManager.addAllPatients(patients));
+        long addMillis = (System.nanoTime() - start) / 1_000_000;
+
+        start = System.nanoTime();
+        for (int i = 0; i < BENCHMARK_PATIENTS; i++) {
+            Patient patient = patients.get(i);
+            assertEquals(i, patientManager.getIndexByNric(patient.getNric()));
+            assertTrue(patientManager.isDuplicatePatient(patient));
+            assertEquals(patient, patientManager.getPatientByNric(patient.getNric().toString()));
+        }
+        long lookupMillis = (System.nanoTime() - start) / 1_000_000;
+
+        System.out.println(String.format("%d patients: add %dms, %d lookups of each kind %dms",
+                BENCHMARK_PATIENTS, addMillis, BENCHMARK_PATIENTS, lookupMillis));
+    }
+
     @Test
     public void equalTest() {
 
@@ -351,4 +640,12 @@ public class PatientManagerTest {
 
 
     }
+
+    /**
+     * Returns a patient with the given name and NRIC, and the same details otherwise.
+     */
+    private Patient createPatient(String name, String nric) {
+        return new Patient(new Name(name), new Nric(nric), new Email("ptoh@gmail.com"), new Address("2 Simei Road"),
+                new Contact("92222222"), new Gender("F"), new Dob("1993-03-03"), new ArrayList<Tag>());
+    }
 }
@@ -1,7 +1,9 @@
 package quickdocs.model.reminder;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
 
 import static quickdocs.testutil.TypicalAppointments.APP_A;
 import static quickdocs.testutil.TypicalAppointments.APP_B;
@@ -10,6 +12,9 @@ import static quickdocs.testutil.TypicalReminders.REM_D;
 import static quickdocs.testutil.TypicalReminders.REM_E;
 import static quickdocs.testutil.TypicalReminders.getTypicalReminders;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
@@ -41,6 +46,30 @@ public class ReminderManagerTest {
         assertEquals(Optional.empty(), expectedRem);
     }
 
+    @Test
+    public void addAllReminders_unsortedReminders_sameOrderAsAddedOneByOne() {
+        List<Reminder> unsorted = new ArrayList<>(reminders);
+        Collections.reverse(unsorted);
+        ReminderManager expected = new ReminderManager();
+        for (Reminder rem : unsorted) {
+            expected.addReminder(rem);
+        }
+
+        remMan.addReminder(unsorted.get(0));
+        assertTrue(remMan.addAllReminders(unsorted.subList(1, unsorted.size())));
+        assertEquals(expected, remMan);
+        assertEquals(expected.getObservableReminderList(), remMan.getObservableReminderList());
+    }
+
+    @Test
+    public void addAllReminders_duplicateReminders_returnsFalse() {
+        remMan.addReminder(REM_A);
+        assertFalse(remMan.addAllReminders(reminders));
+        assertFalse(new ReminderManager().addAllReminders(Arrays.asList(REM_D, REM_E, REM_D)));
+        assertEquals(Arrays.asList(REM_A), remMan.getReminderList());
+        assertEquals(Arrays.asList(REM_A), remMan.getObservableReminderList());
+    }
+
     @Test
     public void equals() {
         // add some sample reminders into the manager
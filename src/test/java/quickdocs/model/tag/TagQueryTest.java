@@ -0,0 +1,47 @@
+package quickdocs.model.tag;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+
+import org.junit.Test;
+
+import quickdocs.testutil.Assert;
+
+public class TagQueryTest {
+
+    @Test
+    public void parse_andOrNotTerms_success() {
+        TagQuery expected = new TagQuery(Arrays.asList(Collections.singleton(new Tag("diabetes")),
+                new LinkedHashSet<>(Arrays.asList(new Tag("hypertension"), new Tag("gout")))),
+                Collections.singleton(new Tag("smoker")));
+        assertEquals(expected, TagQuery.parse(Arrays.asList("diabetes", "hypertension|gout", "!smoker")));
+        assertEquals(expected, TagQuery.parse(Arrays.asList(" diabetes ", "hypertension | gout", "! smoker")));
+    }
+
+    @Test
+    public void parse_invalidTagName_throwsIllegalArgumentException() {
+        Assert.assertThrows(IllegalArgumentException.class, () -> TagQuery.parse(Arrays.asList("diabetes|")));
+        Assert.assertThrows(IllegalArgumentException.class, () -> TagQuery.parse(Arrays.asList("!")));
+        Assert.assertThrows(IllegalArgumentException.class, () -> TagQuery.parse(Arrays.asList("D1@b3t35")));
+    }
+
+    @Test
+    public void equals() {
+        TagQuery query = TagQuery.of(new Tag("diabetes"));
+        assertEquals(query, TagQuery.parse(Arrays.asList("diabetes")));
+        assertEquals(query.hashCode(), TagQuery.parse(Arrays.asList("diabetes")).hashCode());
+        assertNotEquals(query, TagQuery.parse(Arrays.asList("!diabetes")));
+        assertNotEquals(query, new Tag("diabetes"));
+    }
+
+    @Test
+    public void toStringMethod() {
+        assertEquals("[diabetes]", TagQuery.of(new Tag("diabetes")).toString());
+        assertEquals("[diabetes] and ([hypertension] or [gout]) and not [smoker]",
+                TagQuery.parse(Arrays.asList("diabetes", "hypertension|gout", "!smoker")).toString());
+    }
+}
@@ -1,5 +1,8 @@
 package quickdocs.model.tag;
 
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+
 import org.junit.Test;
 
 import quickdocs.testutil.Assert;
@@ -23,4 +26,10 @@ public class TagTest {
         Assert.assertThrows(NullPointerException.class, () -> Tag.isValidTagName(null));
     }
 
+    @Test
+    public void of_sameTagName_sameInstance() {
+        assertSame(Tag.of("diabetes"), Tag.of(new String("diabetes")));
+        assertNotSame(Tag.of("diabetes"), Tag.of("gout"));
+        Assert.assertThrows(IllegalArgumentException.class, () -> Tag.of(""));
+    }
 }
@@ -0,0 +1,199 @@
+package quickdocs.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static quickdocs.testutil.TypicalPatients.ALICE;
+import static quickdocs.testutil.TypicalPatients.getTypicalPatientQuickDocs;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import quickdocs.model.QuickDocs;
+
+public class AsyncQuickDocsStorageTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void saveQuickDocs_flushed_dataWritten() throws Exception {
+        Path filePath = testFolder.getRoot().toPath().resolve("TempQuickDocs.json");
+        JsonQuickDocsStorage jsonQuickDocsStorage = new JsonQuickDocsStorage(filePath);
+        AsyncQuickDocsStorage asyncStorage = new AsyncQuickDocsStorage(jsonQuickDocsStorage);
+        QuickDocs original = getTypicalPatientQuickDocs();
+
+        asyncStorage.saveQuickDocs(original);
+        asyncStorage.flush();
+        assertEquals(original, jsonQuickDocsStorage.readQuickDocs().get());
+
+        // data saved is read back without flushing
+        original.getPatientManager().deletePatientByNric(ALICE.getNric().toString());
+        asyncStorage.saveQuickDocs(original);
+        assertEquals(original, asyncStorage.readQuickDocs().get());
+    }
+
+    @Test
+    public void saveQuickDocs_whileWriting_savesMergedIntoOneWrite() throws Exception {
+        QuickDocsStorageStub storageStub = new QuickDocsStorageStub();
+        AsyncQuickDocsStorage asyncStorage = new AsyncQuickDocsStorage(storageStub);
+
+        storageStub.blockWrites();
+        asyncStorage.saveQuickDocs(new QuickDocs());
+        storageStub.awaitWriteStarted();
+        asyncStorage.saveQuickDocs(new QuickDocs());
+        asyncStorage.saveQuickDocs(new QuickDocs());
+        asyncStorage.saveQuickDocs(new QuickDocs());
+        storageStub.unblockWrites();
+        asyncStorage.flush();
+
+        // the first save is written alone, the others are written together
+        assertEquals(2, storageStub.writes.size());
+        assertEquals(Integer.valueOf(1), storageStub.writes.get(0));
+        assertEquals(Integer.valueOf(3), storageStub.writes.get(1));
+    }
+
+    @Test
+    public void saveQuickDocs_writeFailed_failureHandledAndRetried() throws Exception {
+        QuickDocsStorageStub storageStub = new QuickDocsStorageStub();
+        AsyncQuickDocsStorage asyncStorage = new AsyncQuickDocsStorage(storageStub);
+        List<IOException> failures = new ArrayList<>();
+        asyncStorage.setWriteFailureHandler(ioe -> {
+            synchronized (failures) {
+                failures.add(ioe);
+            }
+        });
+
+        storageStub.setFailWrites(true);
+        asyncStorage.saveQuickDocs(new QuickDocs());
+        awaitFailures(failures, 1);
+        assertEquals(QuickDocsStorageStub.MESSAGE_WRITE_FAILED, failures.get(0).getMessage());
+        assertTrue(storageStub.writes.isEmpty());
+
+        // the failed save is written with the next save
+        storageStub.setFailWrites(false);
+        asyncStorage.saveQuickDocs(new QuickDocs());
+        asyncStorage.flush();
+        assertEquals(1, storageStub.writes.size());
+        assertEquals(Integer.valueOf(2), storageStub.writes.get(0));
+    }
+
+    @Test
+    public void flush_writeFailed_throwsIoException() throws Exception {
+        QuickDocsStorageStub storageStub = new QuickDocsStorageStub();
+        AsyncQuickDocsStorage asyncStorage = new AsyncQuickDocsStorage(storageStub);
+        storageStub.setFailWrites(true);
+        asyncStorage.saveQuickDocs(new QuickDocs());
+
+        thrown.expect(IOException.class);
+        asyncStorage.flush();
+    }
+
+    /**
+     * Waits until {@code failures} holds {@code count} failures.
+     */
+    private void awaitFailures(List<IOException> failures, int count) throws InterruptedException {
+        for (int i = 0; i < 100; i++) {
+            synchronized (failures) {
+                if (failures.size() >= count) {
+                    return;
+                }
+            }
+            Thread.sleep(100);
+        }
+        throw new AssertionError("Write failure was not handled.");
+    }
+
+    /**
+     * A {@code QuickDocsStorage} stub that keeps the number of saves merged into each write.
+     */
+    private static class QuickDocsStorageStub implements QuickDocsStorage {
+        static final String MESSAGE_WRITE_FAILED = "Write failed";
+
+        final List<Integer> writes = new ArrayList<>();
+        private volatile boolean failWrites = false;
+        private CountDownLatch writeStarted = new CountDownLatch(0);
+        private CountDownLatch writeUnblocked = new CountDownLatch(0);
+
+        void setFailWrites(boolean failWrites) {
+            this.failWrites = failWrites;
+        }
+
+        void blockWrites() {
+            writeStarted = new CountDownLatch(1);
+            writeUnblocked = new CountDownLatch(1);
+        }
+
+        void awaitWriteStarted() throws InterruptedException {
+            assertTrue(writeStarted.await(10, TimeUnit.SECONDS));
+        }
+
+        void unblockWrites() {
+            writeUnblocked.countDown();
+        }
+
+        @Override
+        public Path getFilePath() {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public Optional<QuickDocs> readQuickDocs() {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public void saveQuickDocs(QuickDocs quickDocs) {
+            throw new AssertionError("This method should not be called.");
+        }
+
+        @Override
+        public PendingSave prepareSave(QuickDocs quickDocs) {
+            return new MergeCountingSave(1);
+        }
+
+        /**
+         * A {@code PendingSave} that counts the saves merged into it.
+         */
+        private class MergeCountingSave implements PendingSave {
+            private final int saveCount;
+
+            MergeCountingSave(int saveCount) {
+                this.saveCount = saveCount;
+            }
+
+            @Override
+            public void write() throws IOException {
+                writeStarted.countDown();
+                try {
+                    writeUnblocked.await();
+                } catch (InterruptedException ie) {
+                    throw new AssertionError(ie);
+                }
+                if (failWrites) {
+                    throw new IOException(MESSAGE_WRITE_FAILED);
+                }
+                synchronized (writes) {
+                    writes.add(saveCount);
+                }
+            }
+
+            @Override
+            public PendingSave mergeWith(PendingSave later) {
+                return new MergeCountingSave(saveCount + ((MergeCountingSave) later).saveCount);
+            }
+        }
+    }
+}
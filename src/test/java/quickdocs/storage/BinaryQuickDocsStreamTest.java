@@ -0,0 +1,206 @@
+package quickdocs.storage;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static quickdocs.testutil.TypicalPatients.ALICE;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_ASSESSMENT;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_PRESCRIPTION_A;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_SYMPTOM_COUGH;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import quickdocs.commons.util.FileUtil;
+import quickdocs.commons.util.JsonUtil;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.consultation.Diagnosis;
+import quickdocs.model.consultation.Prescription;
+import quickdocs.model.medicine.Medicine;
+import quickdocs.storage.ShardedQuickDocsStorage.Module;
+
+public class BinaryQuickDocsStreamTest {
+
+    private static final Path TEST_DATA_FOLDER = Paths.get("src", "test", "data", "JsonSerializableQuickDocsTest");
+    private static final String[] TYPICAL_FILES = {"typicalPatientsQuickDocs.json", "typicalAppointmentsQuickDocs.json",
+        "typicalRemindersQuickDocs.json", "typicalStatisticsQuickDocs.json"};
+
+    private static final int[] BENCHMARK_CONSULTATIONS = {10_000, 100_000, 1_000_000};
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void writeAndRead_typicalFiles_sameAsJson() throws Exception {
+        for (String fileName : TYPICAL_FILES) {
+            QuickDocs expected = JsonUtil.readJsonFile(TEST_DATA_FOLDER.resolve(fileName),
+                    JsonSerializableQuickDocs.class).get().toModelType();
+
+            Path filePath = testFolder.getRoot().toPath().resolve("typical.bin");
+            BinaryQuickDocsStream.write(filePath, expected);
+            QuickDocs readBack = new QuickDocs();
+            BinaryQuickDocsStream.read(filePath, readBack);
+            assertEquals(expected, readBack);
+            assertEquals(expected.getStatisticsManager().getConsultationFee(),
+                    readBack.getStatisticsManager().getConsultationFee());
+            assertEquals(expected.getMedicineManager().getListOfMedicine().toString(),
+                    readBack.getMedicineManager().getListOfMedicine().toString());
+        }
+    }
+
+    @Test
+    public void writeAndRead_consultations_referencesResolved() throws Exception {
+        QuickDocs original = createConsultationQuickDocs(3);
+        Path filePath = testFolder.getRoot().toPath().resolve("consultations.bin");
+        BinaryQuickDocsStream.write(filePath, original);
+
+        QuickDocs readBack = new QuickDocs();
+        BinaryQuickDocsStream.read(filePath, readBack);
+        List<Consultation> consultations = readBack.getConsultationManager().getConsultationList();
+        assertEquals(3, consultations.size());
+        assertSame(readBack.getPatientManager().getPatientList().get(0), consultations.get(0).getPatient());
+        assertSame(readBack.getMedicineManager().findMedicine("ibuprofen").get(),
+                consultations.get(0).getPrescriptions().get(0).getMedicine());
+
+        // everything read back is encoded the same way again
+        assertArrayEquals(BinaryQuickDocsStream.encode(original, EnumSet.allOf(Module.class)),
+                BinaryQuickDocsStream.encode(readBack, EnumSet.allOf(Module.class)));
+    }
+
+    @Test
+    public void write_consultations_smallerThanJson() throws Exception {
+        QuickDocs quickDocs = createConsultationQuickDocs(100);
+        Path jsonPath = testFolder.getRoot().toPath().resolve("consultations.json");
+        Path binaryPath = testFolder.getRoot().toPath().resolve("consultations.bin");
+        JsonQuickDocsStream.write(jsonPath, quickDocs);
+        BinaryQuickDocsStream.write(binaryPath, quickDocs);
+        assertTrue(Files.size(binaryPath) * 4 < Files.size(jsonPath));
+    }
+
+    @Test
+    public void readAnyFormat_jsonAndBinaryFiles_formatDetected() throws Exception {
+        QuickDocs original = createConsultationQuickDocs(2);
+        Path jsonPath = testFolder.getRoot().toPath().resolve("data.json");
+        Path binaryPath = testFolder.getRoot().toPath().resolve("data.bin");
+        JsonQuickDocsStream.write(jsonPath, original);
+        BinaryQuickDocsStream.write(binaryPath, original);
+        assertFalse(BinaryQuickDocsStream.isBinaryFile(jsonPath));
+        assertTrue(BinaryQuickDocsStream.isBinaryFile(binaryPath));
+
+        QuickDocs fromJson = new QuickDocs();
+        QuickDocs fromBinary = new QuickDocs();
+        BinaryQuickDocsStream.readAnyFormat(jsonPath, fromJson);
+        BinaryQuickDocsStream.readAnyFormat(binaryPath, fromBinary);
+        assertEquals(2, fromBinary.getConsultationManager().getConsultationList().size());
+        assertArrayEquals(BinaryQuickDocsStream.encode(fromJson, EnumSet.allOf(Module.class)),
+                BinaryQuickDocsStream.encode(fromBinary, EnumSet.allOf(Module.class)));
+    }
+
+    @Test
+    public void read_notBinaryFile_throwsIoException() throws Exception {
+        Path filePath = testFolder.getRoot().toPath().resolve("data.json");
+        FileUtil.writeToFile(filePath, "{ \"patientList\" : [ ] }");
+
+        thrown.expect(IOException.class);
+        thrown.expectMessage(BinaryQuickDocsStream.MESSAGE_NOT_BINARY);
+        BinaryQuickDocsStream.read(filePath, new QuickDocs());
+    }
+
+    @Test
+    public void read_unsupportedVersion_throwsIoException() throws Exception {
+        Path filePath = testFolder.getRoot().toPath().resolve("future.bin");
+        Files.write(filePath, new byte[] {'Q', 'D', 'O', 'C', 2, 0});
+
+        thrown.expect(IOException.class);
+        thrown.expectMessage(String.format(BinaryQuickDocsStream.MESSAGE_UNSUPPORTED_VERSION, 2));
+        BinaryQuickDocsStream.read(filePath, new QuickDocs());
+    }
+
+    @Test
+    public void read_truncatedFile_throwsIoException() throws Exception {
+        byte[] data = BinaryQuickDocsStream.encode(createConsultationQuickDocs(3), EnumSet.allOf(Module.class));
+        Path filePath = testFolder.getRoot().toPath().resolve("truncated.bin");
+        Files.write(filePath, Arrays.copyOf(data, data.length - 10));
+
+        thrown.expect(IOException.class);
+        thrown.expectMessage(BinaryQuickDocsStream.MESSAGE_CORRUPTED);
+        BinaryQuickDocsStream.read(filePath, new QuickDocs());
+    }
+
+    /**
+     * Prints the time taken to write and read files of consultations in the json and binary formats,
+     * along with the size of the files.
+     * Only run when the {@code quickdocs.benchmark} system property is set, as the largest file needs
+     * a heap of about 3GB.
+     */
+    @Test
+    public void benchmark_jsonAndBinaryFormats() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("quickdocs.benchmark"));
+
+        for (int count : BENCHMARK_CONSULTATIONS) {
+            QuickDocs quickDocs = createConsultationQuickDocs(count);
+            Path jsonPath = testFolder.getRoot().toPath().resolve("benchmark.json");
+            Path binaryPath = testFolder.getRoot().toPath().resolve("benchmark.bin");
+
+            long start = System.nanoTime();
+            JsonQuickDocsStream.write(jsonPath, quickDocs);
+            long jsonWriteMillis = (System.nanoTime() - start) / 1_000_000;
+            start = System.nanoTime();
+            JsonQuickDocsStream.read(jsonPath, new QuickDocs());
+            long jsonReadMillis = (System.nanoTime() - start) / 1_000_000;
+
+            start = System.nanoTime();
+            BinaryQuickDocsStream.write(binaryPath, quickDocs);
+            long binaryWriteMillis = (System.nanoTime() - start) / 1_000_000;
+            start = System.nanoTime();
+            QuickDocs readBack = new QuickDocs();
+            BinaryQuickDocsStream.read(binaryPath, readBack);
+            long binaryReadMillis = (System.nanoTime() - start) / 1_000_000;
+
+            assertEquals(count, readBack.getConsultationManager().getConsultationList().size());
+            System.out.println(String.format("%d consultations: json %d bytes, write %dms, read %dms; "
+                    + "binary %d bytes, write %dms, read %dms", count, Files.size(jsonPath), jsonWriteMillis,
+                    jsonReadMillis, Files.size(binaryPath), binaryWriteMillis, binaryReadMillis));
+            Files.delete(jsonPath);
+            Files.delete(binaryPath);
+        }
+    }
+
+    /**
+     * Returns a {@code QuickDocs} holding {@code count} consultations of a patient in the patient list,
+     * each prescribed a medicine in the medicine list and a medicine that is not.
+     */
+    private QuickDocs createConsultationQuickDocs(int count) {
+        QuickDocs quickDocs = new QuickDocs();
+        quickDocs.getPatientManager().addPatient(ALICE);
+        Medicine medicine = quickDocs.getMedicineManager().addMedicine("ibuprofen", 10, new String[] {"root"},
+                BigDecimal.ONE);
+        LocalDateTime session = LocalDateTime.of(2019, 1, 1, 9, 0);
+        Diagnosis diagnosis = new Diagnosis(SAMPLE_ASSESSMENT, new ArrayList<>(Arrays.asList(SAMPLE_SYMPTOM_COUGH)));
+        for (int i = 0; i < count; i++) {
+            quickDocs.getConsultationManager().addConsultation(new Consultation(i + 1, ALICE, session.plusMinutes(i),
+                    diagnosis, new ArrayList<>(Arrays.asList(new Prescription(medicine, 1), SAMPLE_PRESCRIPTION_A))));
+        }
+        return quickDocs;
+    }
+}
@@ -0,0 +1,283 @@
+package quickdocs.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static quickdocs.testutil.TypicalPatients.ALICE;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_ASSESSMENT;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_PRESCRIPTION_A;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_SYMPTOM_COUGH;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import quickdocs.model.QuickDocs;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.consultation.ConsultationIndexEntry;
+import quickdocs.model.consultation.ConsultationManager;
+import quickdocs.model.consultation.Diagnosis;
+import quickdocs.model.consultation.Prescription;
+import quickdocs.model.medicine.Medicine;
+import quickdocs.testutil.Assert;
+
+public class ConsultationSegmentTest {
+
+    private static final LocalDateTime SESSION = LocalDateTime.of(2019, 1, 1, 9, 0);
+
+    private static final int LOAD_TEST_CONSULTATIONS = 500_000;
+    private static final long LOAD_TEST_MAX_MILLIS = 5_000;
+    private static final long LOAD_TEST_MAX_BYTES_PER_CONSULTATION = 250;
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private Path basePath;
+
+    @Before
+    public void setUp() {
+        basePath = testFolder.getRoot().toPath().resolve("consultations");
+    }
+
+    @Test
+    public void readIndex_missingSegment_returnsFalse() throws Exception {
+        assertFalse(new ConsultationSegment(basePath).readIndex(new QuickDocs()));
+    }
+
+    @Test
+    public void readIndex_savedConsultations_onlyIndexRead() throws Exception {
+        new ConsultationSegment(basePath).prepareSave(createConsultationQuickDocs(3), false).write();
+
+        QuickDocs readBack = createConsultationQuickDocs(0);
+        assertTrue(new ConsultationSegment(basePath).readIndex(readBack));
+        ConsultationManager consultationManager = readBack.getConsultationManager();
+        List<ConsultationIndexEntry> index = consultationManager.getConsultationIndex();
+        assertEquals(3, index.size());
+        assertEquals(ALICE.getNric().toString(), index.get(2).getNric());
+        assertEquals(SESSION.plusMinutes(2), index.get(2).getSession());
+        assertNull(index.get(2).getHeldConsultation());
+
+        // the consultation is loaded with the current records of its patient and medicines
+        Consultation consultation = consultationManager.listConsultation(3);
+        assertEquals(3, consultation.getIndex());
+        assertSame(readBack.getPatientManager().getPatientList().get(0), consultation.getPatient());
+        assertSame(readBack.getMedicineManager().findMedicine("ibuprofen").get(),
+                consultation.getPrescriptions().get(0).getMedicine());
+    }
+
+    @Test
+    public void prepareSave_savedQuickDocs_onlyNewConsultationsAppended() throws Exception {
+        ConsultationSegment segment = new ConsultationSegment(basePath);
+        segment.prepareSave(createConsultationQuickDocs(3), false).write();
+        QuickDocs quickDocs = createConsultationQuickDocs(0);
+        segment.readIndex(quickDocs);
+        assertNull(segment.prepareSave(quickDocs, true));
+
+        addConsultation(quickDocs, 4);
+        long segmentLength = Files.size(segment.getSegmentPath());
+        segment.prepareSave(quickDocs, true).write();
+        assertNull(segment.prepareSave(quickDocs, true));
+
+        // records already in the segment are not written again
+        byte[] segmentBytes = Files.readAllBytes(segment.getSegmentPath());
+        assertTrue(segmentBytes.length - segmentLength < segmentLength / 2);
+        assertEquals(4, readIndex().getConsultationManager().getConsultationCount());
+    }
+
+    @Test
+    public void write_failedSaveRetried_consultationsNotDuplicated() throws Exception {
+        ConsultationSegment segment = new ConsultationSegment(basePath);
+        segment.prepareSave(createConsultationQuickDocs(3), false).write();
+        QuickDocs quickDocs = createConsultationQuickDocs(0);
+        segment.readIndex(quickDocs);
+
+        addConsultation(quickDocs, 4);
+        PendingSave firstSave = segment.prepareSave(quickDocs, true);
+        addConsultation(quickDocs, 5);
+        PendingSave secondSave = segment.prepareSave(quickDocs, true);
+        firstSave.write();
+        firstSave.mergeWith(secondSave).write();
+
+        ConsultationManager readBack = readIndex().getConsultationManager();
+        assertEquals(5, readBack.getConsultationCount());
+        assertEquals(5, readBack.listConsultation(5).getIndex());
+    }
+
+    @Test
+    public void write_failedSaveNotMerged_consultationsCapturedAgain() throws Exception {
+        ConsultationSegment segment = new ConsultationSegment(basePath);
+        segment.prepareSave(createConsultationQuickDocs(3), false).write();
+        QuickDocs quickDocs = createConsultationQuickDocs(0);
+        segment.readIndex(quickDocs);
+
+        // the segment cannot be appended to while a directory is in its place
+        byte[] segmentBytes = Files.readAllBytes(segment.getSegmentPath());
+        Files.delete(segment.getSegmentPath());
+        Files.createDirectory(segment.getSegmentPath());
+        addConsultation(quickDocs, 4);
+        try {
+            segment.prepareSave(quickDocs, true).write();
+            fail("Appending to a directory should fail");
+        } catch (IOException ioe) {
+            // the consultation is captured again by the next save
+        }
+
+        Files.delete(segment.getSegmentPath());
+        Files.write(segment.getSegmentPath(), segmentBytes);
+        addConsultation(quickDocs, 5);
+        segment.prepareSave(quickDocs, true).write();
+
+        ConsultationManager readBack = readIndex().getConsultationManager();
+        assertEquals(5, readBack.getConsultationCount());
+        assertEquals(4, readBack.listConsultation(4).getIndex());
+    }
+
+    @Test
+    public void prepareSave_patientInPatientList_onlyNricWritten() throws Exception {
+        ConsultationSegment segment = new ConsultationSegment(basePath);
+        segment.prepareSave(createConsultationQuickDocs(3), false).write();
+
+        String segmentText = new String(Files.readAllBytes(segment.getSegmentPath()), StandardCharsets.UTF_8);
+        assertTrue(segmentText.contains(ALICE.getNric().toString()));
+        assertFalse(segmentText.contains(ALICE.getAddress().toString()));
+        assertFalse(Files.exists(segment.getFormerPatientsPath())
+                && new String(Files.readAllBytes(segment.getFormerPatientsPath()), StandardCharsets.UTF_8)
+                        .contains(ALICE.getNric().toString()));
+    }
+
+    @Test
+    public void listConsultation_patientDeletedAfterWrite_loadedWithFormerPatient() throws Exception {
+        ConsultationSegment segment = new ConsultationSegment(basePath);
+        segment.prepareSave(createConsultationQuickDocs(3), false).write();
+        QuickDocs quickDocs = createConsultationQuickDocs(0);
+        segment.readIndex(quickDocs);
+
+        quickDocs.deletePatient(ALICE.getNric().toString());
+        segment.prepareSave(quickDocs, true).write();
+        assertNull(segment.prepareSave(quickDocs, true));
+
+        QuickDocs readBack = createConsultationQuickDocs(0);
+        readBack.deletePatient(ALICE.getNric().toString());
+        new ConsultationSegment(basePath).readIndex(readBack);
+        assertEquals(ALICE, readBack.getConsultationManager().listConsultation(2).getPatient());
+    }
+
+    @Test
+    public void readIndex_incompleteRecord_recordDiscarded() throws Exception {
+        ConsultationSegment segment = new ConsultationSegment(basePath);
+        segment.prepareSave(createConsultationQuickDocs(3), false).write();
+        long segmentLength = Files.size(segment.getSegmentPath());
+        Files.write(segment.getSegmentPath(), new byte[] {0, 0, 1, 0, '{'}, StandardOpenOption.APPEND);
+
+        assertEquals(3, readIndex().getConsultationManager().getConsultationCount());
+        assertEquals(segmentLength, Files.size(segment.getSegmentPath()));
+    }
+
+    @Test
+    public void readIndex_indexFileMissing_segmentIndexedAgain() throws Exception {
+        ConsultationSegment segment = new ConsultationSegment(basePath);
+        segment.prepareSave(createConsultationQuickDocs(3), false).write();
+        byte[] indexBytes = Files.readAllBytes(segment.getIndexPath());
+        Files.delete(segment.getIndexPath());
+
+        QuickDocs readBack = readIndex();
+        assertEquals(3, readBack.getConsultationManager().getConsultationCount());
+        assertEquals(2, readBack.getConsultationManager().listConsultation(2).getIndex());
+        assertTrue(Arrays.equals(indexBytes, Files.readAllBytes(segment.getIndexPath())));
+    }
+
+    @Test
+    public void listConsultation_segmentRewrittenAfterRead_throwsIllegalStateException() throws Exception {
+        ConsultationSegment segment = new ConsultationSegment(basePath);
+        segment.prepareSave(createConsultationQuickDocs(3), false).write();
+        QuickDocs readBack = new QuickDocs();
+        segment.readIndex(readBack);
+
+        segment.prepareSave(createConsultationQuickDocs(2), false).write();
+        Assert.assertThrows(IllegalStateException.class, () -> readBack.getConsultationManager()
+                .listConsultation(1));
+    }
+
+    /**
+     * Reads the index of {@value #LOAD_TEST_CONSULTATIONS} consultations, checking that it is fast and only
+     * takes a small amount of heap for each consultation.
+     * Only run when the {@code quickdocs.loadTest} system property is set, as it needs a heap of about 2GB
+     * to create the consultations.
+     */
+    @Test
+    public void readIndex_largeSegment_heapAndTimeBounded() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("quickdocs.loadTest"));
+
+        new ConsultationSegment(basePath).prepareSave(createConsultationQuickDocs(LOAD_TEST_CONSULTATIONS), false)
+                .write();
+        long baseline = getUsedHeapAfterGc();
+
+        long start = System.nanoTime();
+        QuickDocs quickDocs = createConsultationQuickDocs(0);
+        new ConsultationSegment(basePath).readIndex(quickDocs);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long retained = getUsedHeapAfterGc() - baseline;
+        assertEquals(LOAD_TEST_CONSULTATIONS, quickDocs.getConsultationManager().getConsultationCount());
+        assertTrue("Indexing took " + elapsedMillis + "ms", elapsedMillis < LOAD_TEST_MAX_MILLIS);
+        assertTrue("Index took " + retained + " bytes",
+                retained < LOAD_TEST_MAX_BYTES_PER_CONSULTATION * LOAD_TEST_CONSULTATIONS);
+    }
+
+    /**
+     * Returns a {@code QuickDocs} holding the consultations indexed in the files at {@code basePath}.
+     */
+    private QuickDocs readIndex() throws Exception {
+        QuickDocs quickDocs = createConsultationQuickDocs(0);
+        new ConsultationSegment(basePath).readIndex(quickDocs);
+        return quickDocs;
+    }
+
+    /**
+     * Returns a {@code QuickDocs} holding {@code count} consultations of a patient in the patient list,
+     * each prescribed a medicine in the medicine list and a medicine that is not.
+     */
+    private QuickDocs createConsultationQuickDocs(int count) {
+        QuickDocs quickDocs = new QuickDocs();
+        quickDocs.getPatientManager().addPatient(ALICE);
+        quickDocs.getMedicineManager().addMedicine("ibuprofen", 10, new String[] {"root"}, BigDecimal.ONE);
+        for (int i = 1; i <= count; i++) {
+            addConsultation(quickDocs, i);
+        }
+        return quickDocs;
+    }
+
+    /**
+     * Adds a consultation with the given {@code index} to {@code quickDocs}, created by
+     * {@link #createConsultationQuickDocs(int)}.
+     */
+    private void addConsultation(QuickDocs quickDocs, int index) {
+        Medicine medicine = quickDocs.getMedicineManager().findMedicine("ibuprofen").get();
+        Diagnosis diagnosis = new Diagnosis(SAMPLE_ASSESSMENT, new ArrayList<>(Arrays.asList(SAMPLE_SYMPTOM_COUGH)));
+        quickDocs.getConsultationManager().addConsultation(new Consultation(index, ALICE,
+                SESSION.plusMinutes(index - 1), diagnosis,
+                new ArrayList<>(Arrays.asList(new Prescription(medicine, 1), SAMPLE_PRESCRIPTION_A))));
+    }
+
+    private long getUsedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+}
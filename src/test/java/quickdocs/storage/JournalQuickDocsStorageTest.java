@@ -0,0 +1,266 @@
+package quickdocs.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static quickdocs.testutil.TypicalAppointments.APP_E;
+import static quickdocs.testutil.TypicalPatients.ALICE;
+import static quickdocs.testutil.TypicalPatients.EDITED_BOB;
+import static quickdocs.testutil.TypicalPatients.EVE;
+import static quickdocs.testutil.TypicalPatients.getTypicalPatientQuickDocs;
+import static quickdocs.testutil.TypicalReminders.REM_A;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import quickdocs.commons.util.FileUtil;
+import quickdocs.commons.util.JsonUtil;
+import quickdocs.model.ModelManager;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.UserPrefs;
+import quickdocs.model.medicine.MedicineManager;
+
+public class JournalQuickDocsStorageTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    private Path filePath;
+    private JsonQuickDocsStorage snapshotStorage;
+
+    @Before
+    public void setUp() {
+        filePath = testFolder.getRoot().toPath().resolve("TempQuickDocs.json");
+        snapshotStorage = new JsonQuickDocsStorage(filePath);
+    }
+
+    @Test
+    public void read_missingFile_emptyResult() throws Exception {
+        assertFalse(new JournalQuickDocsStorage(snapshotStorage).readQuickDocs().isPresent());
+    }
+
+    @Test
+    public void saveQuickDocs_recordedChanges_appendedToJournal() throws Exception {
+        JournalQuickDocsStorage journalStorage = new JournalQuickDocsStorage(snapshotStorage);
+        QuickDocs original = getTypicalPatientQuickDocs();
+        journalStorage.saveQuickDocs(original);
+        long snapshotChecksum = FileUtil.getChecksum(filePath);
+
+        ModelManager modelManager = new ModelManager(original, new UserPrefs());
+        modelManager.addPatient(EVE);
+        modelManager.replacePatient(1, EDITED_BOB);
+        saveAndClearChanges(journalStorage, original);
+        modelManager.deletePatientByNric(ALICE.getNric().toString());
+        modelManager.addApp(APP_E);
+        saveAndClearChanges(journalStorage, original);
+
+        // snapshot is untouched, header and one line for each change is in the journal
+        assertEquals(snapshotChecksum, FileUtil.getChecksum(filePath));
+        assertEquals(6, Files.readAllLines(journalStorage.getJournalPath()).size());
+
+        QuickDocs readBack = new JournalQuickDocsStorage(snapshotStorage).readQuickDocs().get();
+        assertEquals(original, readBack);
+    }
+
+    @Test
+    public void saveQuickDocs_compactionThresholdReached_journalCompacted() throws Exception {
+        JournalQuickDocsStorage journalStorage = new JournalQuickDocsStorage(snapshotStorage, 2);
+        QuickDocs original = getTypicalPatientQuickDocs();
+        journalStorage.saveQuickDocs(original);
+
+        ModelManager modelManager = new ModelManager(original, new UserPrefs());
+        modelManager.addPatient(EVE);
+        saveAndClearChanges(journalStorage, original);
+        modelManager.deletePatientByNric(ALICE.getNric().toString());
+        saveAndClearChanges(journalStorage, original);
+
+        // only the header is left in the journal
+        assertEquals(1, Files.readAllLines(journalStorage.getJournalPath()).size());
+        assertEquals(original, snapshotStorage.readQuickDocs().get());
+        assertEquals(original, new JournalQuickDocsStorage(snapshotStorage).readQuickDocs().get());
+    }
+
+    @Test
+    public void saveQuickDocs_medicineChanges_onlyChangedMedicinesJournaled() throws Exception {
+        JournalQuickDocsStorage journalStorage = new JournalQuickDocsStorage(snapshotStorage);
+        QuickDocs original = getTypicalPatientQuickDocs();
+        ModelManager modelManager = new ModelManager(original, new UserPrefs());
+        modelManager.addDirectory("Painkillers", new String[] {"root"});
+        for (int i = 0; i < 20; i++) {
+            modelManager.addMedicine("Unchanged" + i, 10, new String[] {"root"}, BigDecimal.ONE);
+        }
+        modelManager.addMedicine("Aspirin", 10, new String[] {"root"}, BigDecimal.ONE);
+        saveAndClearChanges(journalStorage, original);
+
+        modelManager.addDirectory("Syrups", new String[] {"root", "Painkillers"});
+        modelManager.addMedicine("Codeine", 5, new String[] {"root", "Painkillers", "Syrups"}, BigDecimal.TEN);
+        modelManager.addExistingMedicineToDirectory(modelManager.findMedicine("Aspirin").get(),
+                new String[] {"root", "Painkillers"});
+        modelManager.setThreshold(modelManager.findDirectory(new String[] {"root", "Painkillers"}).get(), 15);
+        modelManager.purchaseMedicine("Aspirin", 20, BigDecimal.ONE);
+        modelManager.setPrice(modelManager.findMedicine("Codeine").get(), new BigDecimal("12.50"));
+        saveAndClearChanges(journalStorage, original);
+
+        // the records hold only the medicines and directories that were changed, not the whole formulary
+        List<String> records = Files.readAllLines(journalStorage.getJournalPath());
+        assertTrue(records.stream().noneMatch(record -> record.contains("Unchanged")));
+
+        QuickDocs readBack = new JournalQuickDocsStorage(snapshotStorage).readQuickDocs().get();
+        assertSameMedicines(original.getMedicineManager(), readBack.getMedicineManager());
+    }
+
+    @Test
+    public void saveQuickDocs_unrecordedChanges_journalCompacted() throws Exception {
+        JournalQuickDocsStorage journalStorage = new JournalQuickDocsStorage(snapshotStorage);
+        QuickDocs original = getTypicalPatientQuickDocs();
+        journalStorage.saveQuickDocs(original);
+
+        original.getPatientManager().addPatient(EVE);
+        original.indicateModification(true);
+        journalStorage.saveQuickDocs(original);
+
+        assertEquals(original, snapshotStorage.readQuickDocs().get());
+    }
+
+    @Test
+    public void prepareSave_savesMerged_changesAppendedTogether() throws Exception {
+        JournalQuickDocsStorage journalStorage = new JournalQuickDocsStorage(snapshotStorage);
+        QuickDocs original = getTypicalPatientQuickDocs();
+        PendingSave snapshotSave = journalStorage.prepareSave(original);
+
+        ModelManager modelManager = new ModelManager(original, new UserPrefs());
+        modelManager.addPatient(EVE);
+        PendingSave firstSave = journalStorage.prepareSave(original);
+        original.indicateModification(false);
+        modelManager.deletePatientByNric(ALICE.getNric().toString());
+        PendingSave secondSave = journalStorage.prepareSave(original);
+        original.indicateModification(false);
+
+        // the changes are written into the new journal along with the snapshot
+        snapshotSave.mergeWith(firstSave).mergeWith(secondSave).write();
+        assertEquals(3, Files.readAllLines(journalStorage.getJournalPath()).size());
+        assertEquals(original, new JournalQuickDocsStorage(snapshotStorage).readQuickDocs().get());
+    }
+
+    @Test
+    public void saveQuickDocs_shardedSnapshot_journaledManagersWrittenOnCompaction() throws Exception {
+        ShardedQuickDocsStorage shardedStorage = new ShardedQuickDocsStorage(filePath);
+        JournalQuickDocsStorage journalStorage = new JournalQuickDocsStorage(shardedStorage, 3);
+        QuickDocs original = getTypicalPatientQuickDocs();
+        saveAndClearChanges(journalStorage, original);
+
+        ModelManager modelManager = new ModelManager(original, new UserPrefs());
+        modelManager.addPatient(EVE);
+        saveAndClearChanges(journalStorage, original);
+        modelManager.addApp(APP_E);
+        saveAndClearChanges(journalStorage, original);
+
+        // the patients added before the last save are written along with the appointment
+        assertEquals(1, Files.readAllLines(journalStorage.getJournalPath()).size());
+        assertEquals(original, new ShardedQuickDocsStorage(filePath).readQuickDocs().get());
+        assertEquals(original, new JournalQuickDocsStorage(shardedStorage).readQuickDocs().get());
+    }
+
+    @Test
+    public void mergeWith_failedShardedCompaction_writtenWithLaterCompaction() throws Exception {
+        ShardedQuickDocsStorage shardedStorage = new ShardedQuickDocsStorage(filePath);
+        JournalQuickDocsStorage journalStorage = new JournalQuickDocsStorage(shardedStorage, 1);
+        QuickDocs original = getTypicalPatientQuickDocs();
+        saveAndClearChanges(journalStorage, original);
+
+        // the patients cannot be written while a directory is in the place of their file
+        Path patientsPath = shardedStorage.getModuleFilePath(ShardedQuickDocsStorage.Module.PATIENTS);
+        Files.delete(patientsPath);
+        Files.createDirectories(patientsPath.resolve("obstacle"));
+        ModelManager modelManager = new ModelManager(original, new UserPrefs());
+        modelManager.addPatient(EVE);
+        PendingSave failedSave = journalStorage.prepareSave(original);
+        original.indicateModification(false);
+        try {
+            failedSave.write();
+            fail("The patients should not be written");
+        } catch (IOException ioe) {
+            // expected
+        }
+
+        // the failed save is retried along with the next one, the same way AsyncQuickDocsStorage does
+        Files.delete(patientsPath.resolve("obstacle"));
+        Files.delete(patientsPath);
+        modelManager.addRem(REM_A);
+        PendingSave laterSave = journalStorage.prepareSave(original);
+        original.indicateModification(false);
+        failedSave.mergeWith(laterSave).write();
+
+        assertEquals(original, new JournalQuickDocsStorage(new ShardedQuickDocsStorage(filePath)).readQuickDocs()
+                .get());
+    }
+
+    @Test
+    public void readQuickDocs_journalAlreadyCompacted_journalDiscarded() throws Exception {
+        JournalQuickDocsStorage journalStorage = new JournalQuickDocsStorage(snapshotStorage);
+        QuickDocs original = getTypicalPatientQuickDocs();
+        journalStorage.saveQuickDocs(original);
+
+        ModelManager modelManager = new ModelManager(original, new UserPrefs());
+        modelManager.addPatient(EVE);
+        saveAndClearChanges(journalStorage, original);
+
+        // snapshot written by a compaction that did not get to replace the journal
+        snapshotStorage.saveQuickDocs(original);
+
+        QuickDocs readBack = new JournalQuickDocsStorage(snapshotStorage).readQuickDocs().get();
+        assertEquals(original, readBack);
+    }
+
+    @Test
+    public void readQuickDocs_incompleteLastChange_changeDiscarded() throws Exception {
+        JournalQuickDocsStorage journalStorage = new JournalQuickDocsStorage(snapshotStorage);
+        QuickDocs original = getTypicalPatientQuickDocs();
+        journalStorage.saveQuickDocs(original);
+
+        ModelManager modelManager = new ModelManager(original, new UserPrefs());
+        modelManager.addPatient(EVE);
+        saveAndClearChanges(journalStorage, original);
+        FileUtil.appendToFile(journalStorage.getJournalPath(), "{\"type\":\"ADD_PAT");
+
+        JournalQuickDocsStorage newJournalStorage = new JournalQuickDocsStorage(snapshotStorage);
+        QuickDocs readBack = newJournalStorage.readQuickDocs().get();
+        assertEquals(original, readBack);
+
+        // journal cannot be appended to, so the next save is a compaction
+        newJournalStorage.saveQuickDocs(readBack);
+        assertEquals(original, snapshotStorage.readQuickDocs().get());
+        assertEquals(1, Files.readAllLines(journalStorage.getJournalPath()).size());
+    }
+
+    /**
+     * Asserts that the medicines and directories of {@code actual} have the same details as those of
+     * {@code expected}.
+     */
+    private void assertSameMedicines(MedicineManager expected, MedicineManager actual) throws Exception {
+        assertEquals(JsonUtil.toJsonString(new JsonAdaptedDirectory(expected.getRoot())),
+                JsonUtil.toJsonString(new JsonAdaptedDirectory(actual.getRoot())));
+        assertEquals(JsonUtil.toJsonString(expected.getListOfMedicine().stream().map(JsonAdaptedMedicine::new)
+                        .collect(Collectors.toList())),
+                JsonUtil.toJsonString(actual.getListOfMedicine().stream().map(JsonAdaptedMedicine::new)
+                        .collect(Collectors.toList())));
+    }
+
+    /**
+     * Saves {@code quickDocs} and clears its recorded changes, the same way {@code LogicManager} does.
+     */
+    private void saveAndClearChanges(JournalQuickDocsStorage journalStorage, QuickDocs quickDocs) throws Exception {
+        journalStorage.saveQuickDocs(quickDocs);
+        quickDocs.indicateModification(false);
+    }
+}
@@ -1,13 +1,26 @@
 package quickdocs.storage;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Set;
 
+import org.junit.Assume;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.ExpectedException;
+
+import quickdocs.commons.exceptions.IllegalValueException;
+import quickdocs.commons.util.JsonUtil;
 
 import quickdocs.model.consultation.Assessment;
 import quickdocs.model.consultation.Consultation;
@@ -15,6 +28,7 @@ import quickdocs.model.consultation.Diagnosis;
 import quickdocs.model.consultation.Prescription;
 import quickdocs.model.consultation.Symptom;
 import quickdocs.model.medicine.Medicine;
+import quickdocs.model.medicine.MedicineManager;
 import quickdocs.model.patient.Address;
 import quickdocs.model.patient.Contact;
 import quickdocs.model.patient.Dob;
@@ -23,10 +37,16 @@ import quickdocs.model.patient.Gender;
 import quickdocs.model.patient.Name;
 import quickdocs.model.patient.Nric;
 import quickdocs.model.patient.Patient;
+import quickdocs.model.patient.PatientManager;
 import quickdocs.model.tag.Tag;
 
 public class JsonAdaptedConsultationTest {
 
+    private static final int FOOTPRINT_CONSULTATIONS = 2000;
+    private static final int FOOTPRINT_ASSESSMENTS = 20;
+    private static final int FOOTPRINT_SYMPTOMS = 50;
+    private static final int BENCHMARK_CONSULTATIONS = 200_000;
+
     private static final int VALID_INDEX = 1;
     private static final LocalDateTime VALID_LOCALDATETIME = LocalDateTime.now();
 
@@ -67,18 +87,186 @@ public class JsonAdaptedConsultationTest {
             VALID_INDEX, VALID_PATIENT, VALID_LOCALDATETIME, VALID_DIAGNOSIS, VALID_PRESCRIPTIONS
     );
 
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
 
     @Test
     public void toModelType_validConsultationDetails_returnsConsultation() throws Exception {
+        List<JsonAdaptedPrescription> prescriptions = Arrays.asList(new JsonAdaptedPrescription(null, MED1, 1),
+                new JsonAdaptedPrescription(null, MED2, 1));
+        JsonAdaptedConsultation consultation = new JsonAdaptedConsultation(VALID_INDEX, VALID_LOCALDATETIME,
+                null, VALID_PATIENT, VALID_DIAGNOSIS, prescriptions);
+
+        assertEquals(EXPECTED.toString(),
+                consultation.toModelType(new PatientManager(), new MedicineManager()).toString());
+
+        JsonAdaptedConsultation consultation2 = new JsonAdaptedConsultation(EXPECTED, new PatientManager(),
+                new MedicineManager());
+        assertEquals(consultation2.toModelType(new PatientManager(), new MedicineManager()).toString(),
+                consultation.toModelType(new PatientManager(), new MedicineManager()).toString());
+    }
+
+    @Test
+    public void toModelType_patientAndMedicinesInManagers_savedAsReferences() throws Exception {
+        PatientManager patientManager = new PatientManager();
+        patientManager.addPatient(VALID_PATIENT);
+        MedicineManager medicineManager = new MedicineManager();
+        Medicine ibuprofen = medicineManager.addMedicine(MED1.name, 2, new String[] {"root"}, BigDecimal.ONE);
+        Consultation source = new Consultation(VALID_INDEX, VALID_PATIENT, VALID_LOCALDATETIME, VALID_DIAGNOSIS,
+                new ArrayList<>(Arrays.asList(new Prescription(ibuprofen, 1))));
 
+        String json = JsonUtil.toCompactJsonString(
+                new JsonAdaptedConsultation(source, patientManager, medicineManager));
+        assertTrue(json.contains("\"patientNric\":\"" + VALID_NRIC + "\""));
+        assertFalse(json.contains("\"patient\":"));
+        assertFalse(json.contains("\"medicine\":"));
+
+        // the consultation refers to the current records of the patient and medicine
+        Patient editedPatient = new Patient(new Name("Rachel Tan"), new Nric(VALID_NRIC), new Email(VALID_EMAIL),
+                new Address(VALID_ADDRESS), new Contact(VALID_CONTACT), new Gender(VALID_GENDER), new Dob(VALID_DOB),
+                new ArrayList<>());
+        patientManager.replacePatient(0, editedPatient);
+        Consultation consultation = JsonUtil.fromJsonString(json, JsonAdaptedConsultation.class)
+                .toModelType(patientManager, medicineManager);
+        assertSame(editedPatient, consultation.getPatient());
+        assertSame(ibuprofen, consultation.getPrescriptions().get(0).getMedicine());
+    }
+
+    @Test
+    public void toModelType_unknownPatientWithoutCopy_throwsIllegalValueException() throws Exception {
         JsonAdaptedConsultation consultation = new JsonAdaptedConsultation(VALID_INDEX, VALID_LOCALDATETIME,
-                VALID_PATIENT, VALID_DIAGNOSIS, VALID_PRESCRIPTIONS);
+                VALID_NRIC, null, VALID_DIAGNOSIS, new ArrayList<>());
+        thrown.expect(IllegalValueException.class);
+        thrown.expectMessage(String.format(JsonAdaptedConsultation.MESSAGE_UNKNOWN_PATIENT, VALID_NRIC));
+        consultation.toModelType(new PatientManager(), new MedicineManager());
+    }
+
+    @Test
+    public void toModelType_unknownMedicineWithoutCopy_throwsIllegalValueException() throws Exception {
+        JsonAdaptedConsultation consultation = new JsonAdaptedConsultation(VALID_INDEX, VALID_LOCALDATETIME,
+                null, VALID_PATIENT, VALID_DIAGNOSIS, Arrays.asList(new JsonAdaptedPrescription(MED1.name, null, 1)));
+        thrown.expect(IllegalValueException.class);
+        thrown.expectMessage(String.format(JsonAdaptedPrescription.MESSAGE_UNKNOWN_MEDICINE, MED1.name));
+        consultation.toModelType(new PatientManager(), new MedicineManager());
+    }
+
+    @Test
+    public void toModelType_repeatedValues_instancesShared() throws Exception {
+        PatientManager patientManager = new PatientManager();
+        patientManager.addPatient(VALID_PATIENT);
+        String json = JsonUtil.toCompactJsonString(new JsonAdaptedConsultation(EXPECTED, patientManager,
+                new MedicineManager()));
 
-        assertEquals(EXPECTED.toString(), consultation.toModelType().toString());
+        Diagnosis first = JsonUtil.fromJsonString(json, JsonAdaptedConsultation.class)
+                .toModelType(patientManager, new MedicineManager()).getDiagnosis();
+        Diagnosis second = JsonUtil.fromJsonString(json, JsonAdaptedConsultation.class)
+                .toModelType(patientManager, new MedicineManager()).getDiagnosis();
+        assertSame(first.getAssessment(), second.getAssessment());
+        assertSame(first.getSymptoms().get(0), second.getSymptoms().get(0));
+        assertSame(Symptom.of("Sore throat"), first.getSymptoms().get(0));
 
-        JsonAdaptedConsultation consultation2 = new JsonAdaptedConsultation(EXPECTED);
-        assertEquals(consultation2.toModelType().toString(), consultation.toModelType().toString());
+        assertSame(new JsonAdaptedTag("Diabetes").toModelType(), new JsonAdaptedTag("Diabetes").toModelType());
+    }
+
+    /**
+     * Shows the reduction in the heap used by the symptoms and assessments of {@value #FOOTPRINT_CONSULTATIONS}
+     * consultations read from storage, with the same few values repeated across them.
+     * Only the instances that are kept are counted, so that the result does not depend on the garbage collector.
+     */
+    @Test
+    public void toModelType_manyConsultations_fewerInstancesKept() throws Exception {
+        Set<Object> sharedInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+        Set<Object> copiedInstances = Collections.newSetFromMap(new IdentityHashMap<>());
+        PatientManager patientManager = new PatientManager();
+        patientManager.addPatient(VALID_PATIENT);
+        for (Diagnosis diagnosis : createDiagnoses(FOOTPRINT_CONSULTATIONS)) {
+            JsonAdaptedConsultation adapted = JsonUtil.fromJsonString(toConsultationJson(diagnosis),
+                    JsonAdaptedConsultation.class);
+            addValueInstances(adapted.toModelType(patientManager, new MedicineManager()).getDiagnosis(),
+                    sharedInstances);
+
+            // a diagnosis read without sharing its values holds its own copies of them
+            addValueInstances(JsonUtil.fromJsonString(JsonUtil.toCompactJsonString(diagnosis), Diagnosis.class),
+                    copiedInstances);
+        }
+
+        // one assessment and two symptoms for each consultation, against one for each distinct value
+        assertEquals(3 * FOOTPRINT_CONSULTATIONS, copiedInstances.size());
+        assertEquals(FOOTPRINT_ASSESSMENTS + FOOTPRINT_SYMPTOMS, sharedInstances.size());
+    }
+
+    /**
+     * Prints the heap used by {@value #BENCHMARK_CONSULTATIONS} consultations read from storage,
+     * with and without sharing the instances of their symptoms and assessments.
+     * Only run when the {@code quickdocs.benchmark} system property is set.
+     */
+    @Test
+    public void benchmark_heapFootprint() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("quickdocs.benchmark"));
+
+        PatientManager patientManager = new PatientManager();
+        patientManager.addPatient(VALID_PATIENT);
+        List<String> diagnosisJsons = new ArrayList<>();
+        List<String> consultationJsons = new ArrayList<>();
+        for (Diagnosis diagnosis : createDiagnoses(BENCHMARK_CONSULTATIONS)) {
+            diagnosisJsons.add(JsonUtil.toCompactJsonString(diagnosis));
+            consultationJsons.add(toConsultationJson(diagnosis));
+        }
+
+        long before = usedHeap();
+        List<Diagnosis> copied = new ArrayList<>();
+        for (String json : diagnosisJsons) {
+            copied.add(JsonUtil.fromJsonString(json, Diagnosis.class));
+        }
+        long copiedBytes = usedHeap() - before;
+        copied.clear();
+
+        before = usedHeap();
+        List<Diagnosis> shared = new ArrayList<>();
+        for (String json : consultationJsons) {
+            shared.add(JsonUtil.fromJsonString(json, JsonAdaptedConsultation.class)
+                    .toModelType(patientManager, new MedicineManager()).getDiagnosis());
+        }
+        long sharedBytes = usedHeap() - before;
+
+        assertEquals(BENCHMARK_CONSULTATIONS, shared.size());
+        System.out.println(String.format("%d diagnoses: %dKB with copied values, %dKB with shared values",
+                BENCHMARK_CONSULTATIONS, copiedBytes / 1024, sharedBytes / 1024));
+    }
+
+    /**
+     * Returns {@code count} diagnoses, each with one of a few assessments and two of a few symptoms.
+     */
+    private static List<Diagnosis> createDiagnoses(int count) {
+        List<Diagnosis> diagnoses = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            ArrayList<Symptom> symptoms = new ArrayList<>(Arrays.asList(
+                    new Symptom("symptom " + i % FOOTPRINT_SYMPTOMS),
+                    new Symptom("symptom " + (i + 1) % FOOTPRINT_SYMPTOMS)));
+            diagnoses.add(new Diagnosis(new Assessment("assessment " + i % FOOTPRINT_ASSESSMENTS), symptoms));
+        }
+        return diagnoses;
+    }
+
+    private static String toConsultationJson(Diagnosis diagnosis) throws Exception {
+        return JsonUtil.toCompactJsonString(new JsonAdaptedConsultation(VALID_INDEX, VALID_LOCALDATETIME,
+                VALID_NRIC, null, diagnosis, new ArrayList<>()));
+    }
+
+    private static void addValueInstances(Diagnosis diagnosis, Set<Object> instances) {
+        instances.add(diagnosis.getAssessment());
+        instances.addAll(diagnosis.getSymptoms());
+    }
 
+    /**
+     * Returns the bytes of heap in use after collecting garbage.
+     */
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
     }
 
 }
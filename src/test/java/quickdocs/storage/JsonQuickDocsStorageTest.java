@@ -16,6 +16,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 
 import quickdocs.commons.exceptions.DataConversionException;
+import quickdocs.commons.util.FileUtil;
 import quickdocs.model.QuickDocs;
 
 public class JsonQuickDocsStorageTest {
@@ -91,6 +92,24 @@ public class JsonQuickDocsStorageTest {
         assertEquals(original, readBack);
     }
 
+    @Test
+    public void prepareSave_changedAfterCapture_capturedDataWritten() throws Exception {
+        Path filePath = testFolder.getRoot().toPath().resolve("TempQuickDocs.json");
+        Path expectedFilePath = testFolder.getRoot().toPath().resolve("ExpectedQuickDocs.json");
+        QuickDocs original = getTypicalPatientQuickDocs();
+        JsonQuickDocsStorage jsonQuickDocsStorage = new JsonQuickDocsStorage(filePath);
+        jsonQuickDocsStorage.saveQuickDocs(original, expectedFilePath);
+
+        PendingSave pendingSave = jsonQuickDocsStorage.prepareSave(original);
+        original.getPatientManager().addPatient(EVE);
+        pendingSave.write();
+
+        // the data is written as it was captured, the same way as it is saved directly
+        assertEquals(FileUtil.readFromFile(expectedFilePath), FileUtil.readFromFile(filePath));
+        original.getPatientManager().deletePatientByNric(EVE.getNric().toString());
+        assertEquals(original, jsonQuickDocsStorage.readQuickDocs().get());
+    }
+
     @Test
     public void saveQuickDocs_nullQuickDocs_throwsNullPointerException() {
         thrown.expect(NullPointerException.class);
@@ -0,0 +1,215 @@
+package quickdocs.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static quickdocs.testutil.TypicalPatients.ALICE;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_ASSESSMENT;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_PRESCRIPTION_A;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_SYMPTOM_COUGH;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import quickdocs.commons.exceptions.IllegalValueException;
+import quickdocs.commons.util.FileUtil;
+import quickdocs.commons.util.JsonUtil;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.consultation.Diagnosis;
+import quickdocs.model.consultation.Prescription;
+import quickdocs.model.medicine.Medicine;
+import quickdocs.model.patient.Patient;
+
+public class JsonQuickDocsStreamTest {
+
+    private static final Path TEST_DATA_FOLDER = Paths.get("src", "test", "data", "JsonSerializableQuickDocsTest");
+    private static final Path LEGACY_CONSULTATION_FILE =
+            Paths.get("src", "test", "data", "JsonQuickDocsStreamTest", "legacyConsultationQuickDocs.json");
+    private static final String[] TYPICAL_FILES = {"typicalPatientsQuickDocs.json", "typicalAppointmentsQuickDocs.json",
+        "typicalRemindersQuickDocs.json", "typicalStatisticsQuickDocs.json"};
+
+    private static final int LOAD_TEST_CONSULTATIONS = 500_000;
+    private static final long LOAD_TEST_MAX_MILLIS = 60_000;
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void read_typicalFiles_sameAsJsonSerializableQuickDocs() throws Exception {
+        for (String fileName : TYPICAL_FILES) {
+            Path filePath = TEST_DATA_FOLDER.resolve(fileName);
+            QuickDocs expected = JsonUtil.readJsonFile(filePath, JsonSerializableQuickDocs.class).get().toModelType();
+
+            QuickDocs streamed = new QuickDocs();
+            JsonQuickDocsStream.read(filePath, streamed);
+            assertEquals(expected, streamed);
+            assertEquals(expected.getStatisticsManager().getConsultationFee(),
+                    streamed.getStatisticsManager().getConsultationFee());
+        }
+    }
+
+    @Test
+    public void write_typicalFiles_sameFormatAsJsonSerializableQuickDocs() throws Exception {
+        for (String fileName : TYPICAL_FILES) {
+            QuickDocs quickDocs = new QuickDocs();
+            JsonQuickDocsStream.read(TEST_DATA_FOLDER.resolve(fileName), quickDocs);
+            assertSameFormat(quickDocs);
+        }
+    }
+
+    @Test
+    public void write_consultations_sameFormatAsJsonSerializableQuickDocs() throws Exception {
+        QuickDocs quickDocs = createConsultationQuickDocs(3);
+        assertSameFormat(quickDocs);
+
+        // consultations read back are written the same way
+        Path filePath = testFolder.getRoot().toPath().resolve("consultations.json");
+        JsonQuickDocsStream.write(filePath, quickDocs);
+        QuickDocs readBack = new QuickDocs();
+        JsonQuickDocsStream.read(filePath, readBack);
+        assertEquals(3, readBack.getConsultationManager().getConsultationList().size());
+        assertSameFormat(readBack);
+    }
+
+    @Test
+    public void read_legacyConsultations_resolvedAndSavedAsReferences() throws Exception {
+        QuickDocs quickDocs = new QuickDocs();
+        JsonQuickDocsStream.read(LEGACY_CONSULTATION_FILE, quickDocs);
+
+        // the stale copy of the patient is replaced by the current record, the deleted patient is kept as a copy
+        Patient alice = quickDocs.getPatientManager().getPatientList().get(0);
+        List<Consultation> consultations = quickDocs.getConsultationManager().getConsultationList();
+        assertSame(alice, consultations.get(0).getPatient());
+        assertEquals("S2222222A", consultations.get(1).getPatient().getNric().toString());
+        assertTrue(quickDocs.getConsultationManager().isModified());
+
+        Path filePath = testFolder.getRoot().toPath().resolve("migrated.json");
+        JsonQuickDocsStream.write(filePath, quickDocs);
+        String migrated = FileUtil.readFromFile(filePath);
+        assertEquals(1, migrated.split("\"patient\" :").length - 1);
+        assertEquals(2, migrated.split("\"patientNric\" :").length - 1);
+
+        QuickDocs readBack = new QuickDocs();
+        JsonQuickDocsStream.read(filePath, readBack);
+        List<Consultation> readBackConsultations = readBack.getConsultationManager().getConsultationList();
+        assertSame(readBack.getPatientManager().getPatientList().get(0), readBackConsultations.get(0).getPatient());
+        assertSame(readBack.getMedicineManager().findMedicine("paracetamol").get(),
+                readBackConsultations.get(0).getPrescriptions().get(0).getMedicine());
+        assertEquals(consultations.get(1).getPatient(), readBackConsultations.get(1).getPatient());
+        assertFalse(readBack.getConsultationManager().isModified());
+    }
+
+    @Test
+    public void read_duplicatePatients_throwsIllegalValueException() throws Exception {
+        thrown.expect(IllegalValueException.class);
+        thrown.expectMessage(JsonSerializableQuickDocs.MESSAGE_DUPLICATE_PATIENT);
+        JsonQuickDocsStream.read(TEST_DATA_FOLDER.resolve("duplicatePatientQuickDocs.json"), new QuickDocs());
+    }
+
+    @Test
+    public void read_notJsonObject_throwsIoException() throws Exception {
+        Path filePath = testFolder.getRoot().toPath().resolve("array.json");
+        FileUtil.writeToFile(filePath, "[]");
+
+        thrown.expect(IOException.class);
+        JsonQuickDocsStream.read(filePath, new QuickDocs());
+    }
+
+    @Test
+    public void read_patientListNotArray_throwsIoException() throws Exception {
+        Path filePath = testFolder.getRoot().toPath().resolve("patientObject.json");
+        FileUtil.writeToFile(filePath, "{ \"patientList\" : { } }");
+
+        thrown.expect(IOException.class);
+        JsonQuickDocsStream.read(filePath, new QuickDocs());
+    }
+
+    /**
+     * Loads a file of {@value #LOAD_TEST_CONSULTATIONS} consultations, checking that the heap used while
+     * loading stays below twice the heap used by the loaded consultations.
+     * Only run when the {@code quickdocs.loadTest} system property is set, as it needs a heap of about 2GB.
+     */
+    @Test
+    public void read_largeFile_heapAndTimeBounded() throws Exception {
+        Assume.assumeTrue(Boolean.getBoolean("quickdocs.loadTest"));
+
+        Path filePath = testFolder.getRoot().toPath().resolve("large.json");
+        JsonQuickDocsStream.write(filePath, createConsultationQuickDocs(LOAD_TEST_CONSULTATIONS));
+
+        long baseline = getUsedHeapAfterGc();
+        ManagementFactory.getMemoryPoolMXBeans().forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long start = System.nanoTime();
+        QuickDocs quickDocs = new QuickDocs();
+        JsonQuickDocsStream.read(filePath, quickDocs);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        long peak = getPeakHeap() - baseline;
+        long retained = getUsedHeapAfterGc() - baseline;
+        assertEquals(LOAD_TEST_CONSULTATIONS, quickDocs.getConsultationManager().getConsultationList().size());
+        assertTrue("Loading took " + elapsedMillis + "ms", elapsedMillis < LOAD_TEST_MAX_MILLIS);
+        assertTrue("Peak heap " + peak + " bytes, retained " + retained + " bytes", peak < 2 * retained);
+    }
+
+    /**
+     * Asserts that {@code quickDocs} is written the same way by {@code JsonQuickDocsStream}
+     * and by saving a {@code JsonSerializableQuickDocs}.
+     */
+    private void assertSameFormat(QuickDocs quickDocs) throws Exception {
+        Path streamedPath = testFolder.getRoot().toPath().resolve("streamed.json");
+        Path serializedPath = testFolder.getRoot().toPath().resolve("serialized.json");
+        JsonQuickDocsStream.write(streamedPath, quickDocs);
+        JsonUtil.saveJsonFile(new JsonSerializableQuickDocs(quickDocs), serializedPath);
+        assertEquals(FileUtil.readFromFile(serializedPath), FileUtil.readFromFile(streamedPath));
+    }
+
+    /**
+     * Returns a {@code QuickDocs} holding {@code count} consultations of a patient in the patient list,
+     * each prescribed a medicine in the medicine list and a medicine that is not.
+     */
+    private QuickDocs createConsultationQuickDocs(int count) {
+        QuickDocs quickDocs = new QuickDocs();
+        quickDocs.getPatientManager().addPatient(ALICE);
+        Medicine medicine = quickDocs.getMedicineManager().addMedicine("ibuprofen", 10, new String[] {"root"},
+                BigDecimal.ONE);
+        LocalDateTime session = LocalDateTime.of(2019, 1, 1, 9, 0);
+        Diagnosis diagnosis = new Diagnosis(SAMPLE_ASSESSMENT, new ArrayList<>(Arrays.asList(SAMPLE_SYMPTOM_COUGH)));
+        for (int i = 0; i < count; i++) {
+            quickDocs.getConsultationManager().addConsultation(new Consultation(i + 1, ALICE, session.plusMinutes(i),
+                    diagnosis, new ArrayList<>(Arrays.asList(new Prescription(medicine, 1), SAMPLE_PRESCRIPTION_A))));
+        }
+        return quickDocs;
+    }
+
+    private long getUsedHeapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private long getPeakHeap() {
+        return ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .mapToLong(pool -> pool.getPeakUsage().getUsed())
+                .sum();
+    }
+}
@@ -6,6 +6,10 @@ import static org.junit.Assert.assertFalse;
 import java.io.IOException;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.DayOfWeek;
+import java.time.LocalTime;
+import java.util.EnumMap;
+import java.util.Map;
 import java.util.Optional;
 
 import org.junit.Rule;
@@ -14,6 +18,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.rules.TemporaryFolder;
 
 import quickdocs.commons.core.GuiSettings;
+import quickdocs.commons.core.OpeningHours;
 import quickdocs.commons.exceptions.DataConversionException;
 import quickdocs.model.UserPrefs;
 
@@ -80,6 +85,19 @@ public class JsonUserPrefsStorageTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    public void readUserPrefs_openingHoursInFile_daysLeftOutClosed() throws DataConversionException {
+        UserPrefs expected = getTypicalUserPrefs();
+        Map<DayOfWeek, OpeningHours> openingHours = new EnumMap<>(DayOfWeek.class);
+        openingHours.put(DayOfWeek.MONDAY, new OpeningHours(LocalTime.of(8, 30), LocalTime.of(17, 30),
+                LocalTime.of(12, 30), LocalTime.of(13, 30)));
+        openingHours.put(DayOfWeek.SATURDAY, new OpeningHours(LocalTime.of(9, 0), LocalTime.of(12, 0)));
+        expected.setOpeningHours(openingHours);
+
+        UserPrefs actual = readUserPrefs("OpeningHoursUserPref.json").get();
+        assertEquals(expected, actual);
+    }
+
     private UserPrefs getTypicalUserPrefs() {
         UserPrefs userPrefs = new UserPrefs();
         userPrefs.setGuiSettings(new GuiSettings(1000, 500, 300, 100));
@@ -126,6 +144,10 @@ public class JsonUserPrefsStorageTest {
 
         //Try saving when the file exists
         original.setGuiSettings(new GuiSettings(5, 5, 5, 5));
+        Map<DayOfWeek, OpeningHours> openingHours = new EnumMap<>(DayOfWeek.class);
+        openingHours.put(DayOfWeek.FRIDAY, new OpeningHours(LocalTime.of(10, 0), LocalTime.of(20, 0),
+                LocalTime.of(14, 0), LocalTime.of(15, 0)));
+        original.setOpeningHours(openingHours);
         jsonUserPrefsStorage.saveUserPrefs(original);
         readBack = jsonUserPrefsStorage.readUserPrefs().get();
         assertEquals(original, readBack);
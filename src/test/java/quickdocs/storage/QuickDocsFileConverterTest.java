@@ -0,0 +1,50 @@
+package quickdocs.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static quickdocs.testutil.TypicalPatients.getTypicalPatientQuickDocs;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import quickdocs.commons.core.StorageFormat;
+import quickdocs.commons.util.FileUtil;
+import quickdocs.model.QuickDocs;
+
+public class QuickDocsFileConverterTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    @Test
+    public void convert_jsonToBinaryAndBack_sameData() throws Exception {
+        Path jsonPath = testFolder.getRoot().toPath().resolve("data.json");
+        Path binaryPath = testFolder.getRoot().toPath().resolve("data.bin");
+        Path convertedPath = testFolder.getRoot().toPath().resolve("converted.json");
+        QuickDocs original = getTypicalPatientQuickDocs();
+        new JsonQuickDocsStorage(jsonPath).saveQuickDocs(original);
+
+        QuickDocsFileConverter.convert(jsonPath, binaryPath, StorageFormat.BINARY);
+        assertTrue(BinaryQuickDocsStream.isBinaryFile(binaryPath));
+        QuickDocsFileConverter.convert(binaryPath, convertedPath, StorageFormat.JSON);
+        assertFalse(BinaryQuickDocsStream.isBinaryFile(convertedPath));
+
+        assertEquals(FileUtil.readFromFile(jsonPath), FileUtil.readFromFile(convertedPath));
+    }
+
+    @Test
+    public void convert_missingSource_throwsIoException() throws Exception {
+        thrown.expect(IOException.class);
+        QuickDocsFileConverter.convert(testFolder.getRoot().toPath().resolve("missing.json"),
+                testFolder.getRoot().toPath().resolve("target.bin"), StorageFormat.BINARY);
+    }
+}
@@ -0,0 +1,229 @@
+package quickdocs.storage;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertTrue;
+import static quickdocs.testutil.TypicalAppointments.APP_E;
+import static quickdocs.testutil.TypicalPatients.ALICE;
+import static quickdocs.testutil.TypicalPatients.EVE;
+import static quickdocs.testutil.TypicalPatients.getTypicalPatientQuickDocs;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_ASSESSMENT;
+import static quickdocs.testutil.TypicalStatistics.SAMPLE_SYMPTOM_COUGH;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.ExpectedException;
+import org.junit.rules.TemporaryFolder;
+
+import quickdocs.commons.core.StorageFormat;
+import quickdocs.commons.exceptions.DataConversionException;
+import quickdocs.commons.util.FileUtil;
+import quickdocs.commons.util.JsonUtil;
+import quickdocs.model.ModelManager;
+import quickdocs.model.QuickDocs;
+import quickdocs.model.UserPrefs;
+import quickdocs.model.consultation.Consultation;
+import quickdocs.model.consultation.Diagnosis;
+import quickdocs.storage.ShardedQuickDocsStorage.Module;
+
+public class ShardedQuickDocsStorageTest {
+
+    @Rule
+    public TemporaryFolder testFolder = new TemporaryFolder();
+
+    @Rule
+    public ExpectedException thrown = ExpectedException.none();
+
+    private Path filePath;
+    private ShardedQuickDocsStorage shardedStorage;
+
+    @Before
+    public void setUp() {
+        filePath = testFolder.getRoot().toPath().resolve("TempQuickDocs.json");
+        shardedStorage = new ShardedQuickDocsStorage(filePath);
+    }
+
+    @Test
+    public void getFilePath_directoryNamedAfterDataFile() {
+        assertEquals(testFolder.getRoot().toPath().resolve("TempQuickDocs"), shardedStorage.getFilePath());
+        assertEquals(testFolder.getRoot().toPath().resolve("TempQuickDocs").resolve("patients.json"),
+                shardedStorage.getModuleFilePath(Module.PATIENTS));
+    }
+
+    @Test
+    public void read_missingFiles_emptyResult() throws Exception {
+        assertFalse(shardedStorage.readQuickDocs().isPresent());
+    }
+
+    @Test
+    public void readAndSaveQuickDocs_allInOrder_success() throws Exception {
+        QuickDocs original = getTypicalPatientQuickDocs();
+        shardedStorage.saveQuickDocs(original);
+        for (Module module : Module.values()) {
+            assertTrue(FileUtil.isFileExists(shardedStorage.getModuleFilePath(module)));
+        }
+
+        QuickDocs readBack = new ShardedQuickDocsStorage(filePath).readQuickDocs().get();
+        assertEquals(original, readBack);
+    }
+
+    @Test
+    public void saveQuickDocs_savedQuickDocs_onlyModifiedManagersWritten() throws Exception {
+        QuickDocs original = getTypicalPatientQuickDocs();
+        shardedStorage.saveQuickDocs(original);
+        Files.delete(shardedStorage.getModuleFilePath(Module.PATIENTS));
+        long checksum = shardedStorage.getChecksum();
+
+        ModelManager modelManager = new ModelManager(original, new UserPrefs());
+        modelManager.addApp(APP_E);
+        shardedStorage.saveQuickDocs(original);
+        original.indicateModification(false);
+
+        // patients are not modified, so they are not written again
+        assertFalse(FileUtil.isFileExists(shardedStorage.getModuleFilePath(Module.PATIENTS)));
+        assertNotEquals(checksum, shardedStorage.getChecksum());
+        assertEquals(original.getAppointmentManager(),
+                new ShardedQuickDocsStorage(filePath).readQuickDocs().get().getAppointmentManager());
+
+        modelManager.addPatient(EVE);
+        shardedStorage.saveQuickDocs(original);
+        assertEquals(original, new ShardedQuickDocsStorage(filePath).readQuickDocs().get());
+    }
+
+    @Test
+    public void saveQuickDocs_patientOfConsultationDeleted_consultationsWrittenWithPatient() throws Exception {
+        QuickDocs original = getTypicalPatientQuickDocs();
+        Diagnosis diagnosis = new Diagnosis(SAMPLE_ASSESSMENT, new ArrayList<>(Arrays.asList(SAMPLE_SYMPTOM_COUGH)));
+        original.getConsultationManager().addConsultation(new Consultation(1, ALICE,
+                LocalDateTime.of(2019, 1, 1, 9, 0), diagnosis, new ArrayList<>()));
+        shardedStorage.saveQuickDocs(original);
+        original.indicateModification(false);
+
+        ModelManager modelManager = new ModelManager(original, new UserPrefs());
+        modelManager.deletePatientByNric(ALICE.getNric().toString());
+        assertTrue(original.getConsultationManager().isModified());
+        shardedStorage.saveQuickDocs(original);
+
+        // the consultation keeps a copy of the deleted patient
+        QuickDocs readBack = new ShardedQuickDocsStorage(filePath).readQuickDocs().get();
+        assertEquals(ALICE, readBack.getConsultationManager().getConsultationList().get(0).getPatient());
+    }
+
+    @Test
+    public void saveQuickDocs_consultationsInManagerFile_movedToSegment() throws Exception {
+        QuickDocs original = getTypicalPatientQuickDocs();
+        shardedStorage.saveQuickDocs(original);
+        Diagnosis diagnosis = new Diagnosis(SAMPLE_ASSESSMENT, new ArrayList<>(Arrays.asList(SAMPLE_SYMPTOM_COUGH)));
+        original.getConsultationManager().addConsultation(new Consultation(1, ALICE,
+                LocalDateTime.of(2019, 1, 1, 9, 0), diagnosis, new ArrayList<>()));
+        Path consultationFilePath = shardedStorage.getFilePath().resolve("consultations.json");
+        Files.delete(shardedStorage.getModuleFilePath(Module.CONSULTATIONS));
+        JsonUtil.saveJsonFile(JsonSerializableQuickDocsModule.ofConsultations(original.getConsultationManager(),
+                original.getPatientManager(), original.getMedicineManager()), consultationFilePath);
+
+        ShardedQuickDocsStorage newStorage = new ShardedQuickDocsStorage(filePath);
+        QuickDocs readBack = newStorage.readQuickDocs().get();
+        assertEquals(1, readBack.getConsultationManager().getConsultationCount());
+
+        newStorage.saveQuickDocs(readBack);
+        assertFalse(FileUtil.isFileExists(consultationFilePath));
+        QuickDocs migrated = new ShardedQuickDocsStorage(filePath).readQuickDocs().get();
+        assertEquals(ALICE, migrated.getConsultationManager().listConsultation(1).getPatient());
+    }
+
+    @Test
+    public void saveQuickDocs_differentQuickDocs_allManagersWritten() throws Exception {
+        shardedStorage.saveQuickDocs(new QuickDocs());
+        QuickDocs original = getTypicalPatientQuickDocs();
+        shardedStorage.saveQuickDocs(original);
+        assertEquals(original, new ShardedQuickDocsStorage(filePath).readQuickDocs().get());
+    }
+
+    @Test
+    public void readQuickDocs_singleDataFile_migratedToManagerFiles() throws Exception {
+        QuickDocs original = getTypicalPatientQuickDocs();
+        new JsonQuickDocsStorage(filePath).saveQuickDocs(original);
+
+        QuickDocs readBack = shardedStorage.readQuickDocs().get();
+        assertEquals(original, readBack);
+
+        shardedStorage.saveQuickDocs(readBack);
+        assertTrue(Files.isDirectory(shardedStorage.getFilePath()));
+        assertEquals(original, new ShardedQuickDocsStorage(filePath).readQuickDocs().get());
+    }
+
+    @Test
+    public void readAndSaveQuickDocs_binaryFormat_success() throws Exception {
+        ShardedQuickDocsStorage binaryStorage = new ShardedQuickDocsStorage(filePath, StorageFormat.BINARY);
+        assertEquals(testFolder.getRoot().toPath().resolve("TempQuickDocs").resolve("patients.bin"),
+                binaryStorage.getModuleFilePath(Module.PATIENTS));
+
+        QuickDocs original = getTypicalPatientQuickDocs();
+        binaryStorage.saveQuickDocs(original);
+        for (Module module : Module.values()) {
+            if (module != Module.CONSULTATIONS) {
+                assertTrue(BinaryQuickDocsStream.isBinaryFile(binaryStorage.getModuleFilePath(module)));
+            }
+        }
+        assertEquals(original, new ShardedQuickDocsStorage(filePath, StorageFormat.BINARY).readQuickDocs().get());
+    }
+
+    @Test
+    public void saveQuickDocs_formatChanged_modifiedManagersConverted() throws Exception {
+        QuickDocs original = getTypicalPatientQuickDocs();
+        shardedStorage.saveQuickDocs(original);
+        original.indicateModification(false);
+
+        // files of the previous format are read until their managers are saved again
+        ShardedQuickDocsStorage binaryStorage = new ShardedQuickDocsStorage(filePath, StorageFormat.BINARY);
+        QuickDocs readBack = binaryStorage.readQuickDocs().get();
+        assertEquals(original, readBack);
+
+        new ModelManager(readBack, new UserPrefs()).addPatient(EVE);
+        binaryStorage.saveQuickDocs(readBack);
+        assertTrue(FileUtil.isFileExists(binaryStorage.getModuleFilePath(Module.PATIENTS)));
+        assertFalse(FileUtil.isFileExists(shardedStorage.getModuleFilePath(Module.PATIENTS)));
+        assertTrue(FileUtil.isFileExists(shardedStorage.getModuleFilePath(Module.APPOINTMENTS)));
+
+        assertEquals(readBack, new ShardedQuickDocsStorage(filePath, StorageFormat.BINARY).readQuickDocs().get());
+        assertEquals(readBack, new ShardedQuickDocsStorage(filePath).readQuickDocs().get());
+    }
+
+    @Test
+    public void readQuickDocs_invalidManagerFile_throwsDataConversionException() throws Exception {
+        shardedStorage.saveQuickDocs(getTypicalPatientQuickDocs());
+        FileUtil.writeToFile(shardedStorage.getModuleFilePath(Module.REMINDERS), "not json format!");
+
+        thrown.expect(DataConversionException.class);
+        new ShardedQuickDocsStorage(filePath).readQuickDocs();
+    }
+
+    @Test
+    public void readQuickDocs_invalidDependencyOfConsultations_throwsDataConversionException() throws Exception {
+        shardedStorage.saveQuickDocs(getTypicalPatientQuickDocs());
+        FileUtil.writeToFile(shardedStorage.getModuleFilePath(Module.PATIENTS), "not json format!");
+
+        thrown.expect(DataConversionException.class);
+        new ShardedQuickDocsStorage(filePath).readQuickDocs();
+    }
+
+    @Test
+    public void getDependencies_consultations_patientsAndMedicines() {
+        assertEquals(EnumSet.of(Module.PATIENTS, Module.MEDICINES), Module.CONSULTATIONS.getDependencies());
+        for (Module module : Module.values()) {
+            for (Module dependency : module.getDependencies()) {
+                // dependencies are read first, as modules are started in the order they are declared
+                assertTrue(dependency.compareTo(module) < 0);
+            }
+        }
+    }
+}